@@ -0,0 +1,142 @@
+package benchmark.jmh;
+
+import manager.PlayerManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import types.PlayerEnhanced;
+import types.Position;
+import util.ArrayStore;
+import util.EnumIntAccumulator;
+import util.Entry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for a mix of one player update and readsPerWrite reads of
+ * the injured count and the QB yards. The maintained side updates through
+ * {@link PlayerManager#updatePlayerStats} and reads the aggregates, the scan
+ * side updates the table directly and scans every player per read as
+ * {@link PlayerManager} used to.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class AggregateBenchmark {
+
+    /**
+     * 5000 comes from the csv file, 1M is synthetic.
+     */
+    @Param({"5000", "1000000"})
+    public int size;
+
+    @Param({"1", "10"})
+    public int readsPerWrite;
+
+    private PlayerManager myManager;
+
+    /**
+     * two versions of every player, an update swaps between them so the aggregates change.
+     */
+    private PlayerEnhanced[] myPlayers;
+
+    private PlayerEnhanced[] myChanged;
+
+    private int myNext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        myManager = PlayerManager.withIndexes();
+        ArrayStore<PlayerEnhanced> players = BenchmarkData.players(size);
+        myPlayers = new PlayerEnhanced[players.size()];
+        myChanged = new PlayerEnhanced[players.size()];
+        for (int i = 0; i < myPlayers.length; i++) {
+            PlayerEnhanced player = players.get(i);
+            myPlayers[i] = player;
+            myManager.addPlayer(player);
+            myChanged[i] = new PlayerEnhanced(player.player_id(), player.name(), player.position(),
+                    player.yards() + 7, player.touchdowns(), !player.injured());
+        }
+    }
+
+    // ======================  mixed ===========================
+
+    @Benchmark
+    public long maintained() {
+        myManager.updatePlayerStats(nextUpdate());
+        long result = 0;
+        for (int i = 0; i < readsPerWrite; i++) {
+            result += myManager.countInjuredPlayers() + myManager.getTotalYardsByPosition(Position.QB);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long scan() {
+        PlayerEnhanced update = nextUpdate();
+        myManager.getData().compute(update.id(), (id, current) -> current == null ? null : update);
+        long result = 0;
+        for (int i = 0; i < readsPerWrite; i++) {
+            result += scanInjured() + scanYards().get(Position.QB);
+        }
+        return result;
+    }
+
+    // ======================  write only ===========================
+
+    /**
+     * The cost the aggregates add to every write.
+     */
+    @Benchmark
+    public void maintainedWrite() {
+        myManager.updatePlayerStats(nextUpdate());
+    }
+
+    @Benchmark
+    public void directWrite() {
+        PlayerEnhanced update = nextUpdate();
+        myManager.getData().compute(update.id(), (id, current) -> current == null ? null : update);
+    }
+
+    // ======================  helpers ===========================
+
+    private PlayerEnhanced nextUpdate() {
+        int i = myNext;
+        myNext = (i + 1) % myPlayers.length;
+        // the current version of player i is replaced by the other one
+        PlayerEnhanced current = myManager.getData().get(myPlayers[i].id());
+        return current == myPlayers[i] ? myChanged[i] : myPlayers[i];
+    }
+
+    private int scanInjured() {
+        int count = 0;
+        for (Entry<Integer, PlayerEnhanced> entry : myManager.getData()) {
+            if (entry.value().injured()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private EnumIntAccumulator<Position> scanYards() {
+        EnumIntAccumulator<Position> totals = new EnumIntAccumulator<>(Position.class);
+        for (Entry<Integer, PlayerEnhanced> entry : myManager.getData()) {
+            totals.add(entry.value().position(), entry.value().yards());
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,88 @@
+package benchmark.jmh;
+
+import loader.DataLoader;
+import results.PlayerResults;
+import types.DataType;
+import types.Drill;
+import types.PlayerEnhanced;
+import util.ArrayStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.IntFunction;
+
+/**
+ * Loads the data sets used by the JMH benchmarks.
+ * <p>
+ * The sizes 50, 500 and 5000 are read from the same csv files the
+ * {@code results} experiments use. Any other size is generated so the
+ * benchmarks can also run at sizes we have no csv file for.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+final class BenchmarkData {
+
+    static final String DRILLS = "data/seahawks_drills_%d.csv";
+
+    static final String PLAYERS = "data/seahawks_players_%d.csv";
+
+    private BenchmarkData() {
+        super();
+    }
+
+    /**
+     * @param theSize the number of drills.
+     * @return the drills csv for 50/500/5000, otherwise synthetic drills.
+     */
+    static ArrayStore<Drill> drills(int theSize) {
+        return load(Drill.class, DRILLS, theSize, BenchmarkData::syntheticDrill);
+    }
+
+    /**
+     * @param theSize the number of players.
+     * @return the players csv for 50/500/5000, otherwise synthetic players.
+     */
+    static ArrayStore<PlayerEnhanced> players(int theSize) {
+        return load(PlayerEnhanced.class, PLAYERS, theSize, PlayerResults::syntheticPlayer);
+    }
+
+    /**
+     * @param i the index of the drill.
+     * @return a drill with a unique id and a spread of urgencies.
+     */
+    static Drill syntheticDrill(int i) {
+        return new Drill(
+                2001 + i,
+                "Drill " + i,
+                1 + (i * 7) % 10,
+                5 + i % 30,
+                1 + i % 10,
+                1 + i % 14);
+    }
+
+    private static <T extends DataType> ArrayStore<T> load(
+            Class<T> theDataClass,
+            String theFileFormat,
+            int theSize,
+            IntFunction<T> theGenerator) {
+
+        switch (theSize) {
+            case 50, 500, 5000 -> {
+                DataLoader<T> loader = new DataLoader<>(theDataClass, () -> new ArrayStore<>(theDataClass));
+                try {
+                    return (ArrayStore<T>) loader.loadData(String.format(theFileFormat, theSize));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            default -> {
+                ArrayStore<T> data = new ArrayStore<>(theDataClass, theSize);
+                for (int i = 0; i < theSize; i++) {
+                    data.add(theGenerator.apply(i));
+                }
+                return data;
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package benchmark.jmh;
+
+import manager.PlayerManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import types.PlayerEnhanced;
+import types.Position;
+import util.ArrayStore;
+import util.Entry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for filtering and counting players by position and injury
+ * status, by scanning every player and from the bitmap index of
+ * {@link PlayerManager}.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class BitmapIndexBenchmark {
+
+    /**
+     * 5000 comes from the csv file, 1M is synthetic.
+     */
+    @Param({"5000", "1000000"})
+    public int size;
+
+    private PlayerManager myManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        myManager = PlayerManager.withIndexes();
+        for (PlayerEnhanced player : BenchmarkData.players(size)) {
+            myManager.addPlayer(player);
+        }
+    }
+
+    // ======================  players at a position ===========================
+
+    @Benchmark
+    public ArrayStore<PlayerEnhanced> scanList() {
+        ArrayStore<PlayerEnhanced> result = new ArrayStore<>(PlayerEnhanced.class, 64);
+        for (Entry<Integer, PlayerEnhanced> entry : myManager.getData()) {
+            if (entry.value().position() == Position.QB) {
+                result.add(entry.value());
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ArrayStore<PlayerEnhanced> indexList() {
+        return myManager.listPlayersByPosition(Position.QB);
+    }
+
+    // ======================  injured players at a position ===========================
+
+    @Benchmark
+    public ArrayStore<PlayerEnhanced> scanListInjured() {
+        ArrayStore<PlayerEnhanced> result = new ArrayStore<>(PlayerEnhanced.class, 64);
+        for (Entry<Integer, PlayerEnhanced> entry : myManager.getData()) {
+            if (entry.value().position() == Position.QB && entry.value().injured()) {
+                result.add(entry.value());
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ArrayStore<PlayerEnhanced> indexListInjured() {
+        return myManager.listInjuredPlayersByPosition(Position.QB);
+    }
+
+    @Benchmark
+    public int scanCountInjured() {
+        int count = 0;
+        for (Entry<Integer, PlayerEnhanced> entry : myManager.getData()) {
+            if (entry.value().position() == Position.QB && entry.value().injured()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int indexCountInjured() {
+        return myManager.countInjuredPlayersByPosition(Position.QB);
+    }
+
+    // ======================  healthy players, a NOT ===========================
+
+    @Benchmark
+    public int scanCountHealthy() {
+        int count = 0;
+        for (Entry<Integer, PlayerEnhanced> entry : myManager.getData()) {
+            if (!entry.value().injured()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int indexCountHealthy() {
+        return myManager.notPlayers(myManager.playersByInjury(true)).cardinality();
+    }
+}
@@ -0,0 +1,125 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import types.Drill;
+import util.ArrayStack;
+import util.ArrayStore;
+import util.BinaryHeapPQ;
+import util.DataContainer;
+import util.LinkedQueue;
+import util.SinglyLinkedList;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * JMH benchmarks for the {@link DataContainer} implementations.
+ * <p>
+ * Each benchmark is a whole pass over the data set, the same unit of work
+ * {@code Results.addNTimes()} and {@code Results.removeNTimes()} time,
+ * so the scores can be compared with the old {@code results/*.txt} tables.
+ * Operation counting is compiled out in the forked JVMs.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class ContainerBenchmark {
+
+    /**
+     * The container under test, see {@link #supplier(String)}.
+     */
+    @Param({"ArrayStore", "SinglyLinkedList", "LinkedQueue", "ArrayStack", "BinaryHeapPQ"})
+    public String container;
+
+    /**
+     * 50, 500 and 5000 come from the csv files, larger sizes are synthetic.
+     */
+    @Param({"50", "500", "5000", "100000", "1000000"})
+    public int size;
+
+    private Supplier<DataContainer<Drill>> mySupplier;
+
+    private ArrayStore<Drill> myData;
+
+    private DataContainer<Drill> myFilled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mySupplier = supplier(container);
+        myData = BenchmarkData.drills(size);
+        myFilled = fill(mySupplier.get());
+    }
+
+    /**
+     * The same suppliers the {@code Results} subclasses benchmark.
+     * @param theContainer the simple name of the container.
+     * @return a supplier of empty containers.
+     */
+    static Supplier<DataContainer<Drill>> supplier(String theContainer) {
+        return switch (theContainer) {
+            case "ArrayStore" -> () -> new ArrayStore<>(Drill.class, 16);
+            case "SinglyLinkedList" -> SinglyLinkedList::new;
+            case "LinkedQueue" -> LinkedQueue::new;
+            case "ArrayStack" -> () -> new ArrayStack<>(Drill.class);
+            case "BinaryHeapPQ" -> () -> new BinaryHeapPQ<>(Drill.class,
+                    (a, b) -> Integer.compare(b.urgency(), a.urgency()));
+            default -> throw new IllegalArgumentException("Unknown container: " + theContainer);
+        };
+    }
+
+    private DataContainer<Drill> fill(DataContainer<Drill> theContainer) {
+        for (Drill drill : myData) {
+            theContainer.add(drill);
+        }
+        return theContainer;
+    }
+
+    // ======================  benchmarks ===========================
+
+    /**
+     * Adds every drill to an empty container.
+     */
+    @Benchmark
+    public DataContainer<Drill> add() {
+        return fill(mySupplier.get());
+    }
+
+    /**
+     * Adds every drill then removes them all again using {@link DataContainer#remove()}.
+     */
+    @Benchmark
+    public void addThenRemove(Blackhole theBlackhole) {
+        DataContainer<Drill> container = fill(mySupplier.get());
+        while (!container.isEmpty()) {
+            theBlackhole.consume(container.remove());
+        }
+    }
+
+    /**
+     * Walks a filled container with its iterator.
+     */
+    @Benchmark
+    public void iterate(Blackhole theBlackhole) {
+        for (Drill drill : myFilled) {
+            theBlackhole.consume(drill);
+        }
+    }
+}
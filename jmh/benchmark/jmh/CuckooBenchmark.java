@@ -0,0 +1,111 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import results.PlayerResults;
+import types.PlayerEnhanced;
+import util.ArrayStore;
+import util.CuckooHashTable;
+import util.HashTable;
+import util.MapContainer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing single lookups in the {@link CuckooHashTable}
+ * with the chained {@link HashTable}. Each invocation gets one player, in a
+ * shuffled order, so {@link Mode#SampleTime} reports the p99 and the max of
+ * a single get next to the throughput.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class CuckooBenchmark {
+
+    @Param({"HashTable", "CuckooHashTable"})
+    public String table;
+
+    /**
+     * 5000 comes from the csv file, 1M is synthetic.
+     */
+    @Param({"5000", "1000000"})
+    public int size;
+
+    /**
+     * sequential ids, or ids {@code PlayerResults.ID_STRIDE} apart that share their low bits.
+     */
+    @Param({"sequential", "strided"})
+    public String ids;
+
+    private MapContainer<Integer, PlayerEnhanced> myTable;
+
+    /**
+     * the ids to get, in a shuffled order.
+     */
+    private int[] myIds;
+
+    private int myNext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        myTable = switch (table) {
+            case "HashTable" -> new HashTable<>(Integer.class, PlayerEnhanced.class);
+            case "CuckooHashTable" -> new CuckooHashTable<>();
+            default -> throw new IllegalArgumentException("Unknown table: " + table);
+        };
+        ArrayStore<PlayerEnhanced> players = switch (ids) {
+            case "sequential" -> BenchmarkData.players(size);
+            case "strided" -> strided(size);
+            default -> throw new IllegalArgumentException("Unknown ids: " + ids);
+        };
+        myIds = new int[players.size()];
+        int i = 0;
+        for (PlayerEnhanced player : players) {
+            myTable.put(player.id(), player);
+            myIds[i++] = player.id();
+        }
+        Random random = new Random(size);
+        for (int j = myIds.length - 1; j > 0; j--) {
+            int k = random.nextInt(j + 1);
+            int id = myIds[j];
+            myIds[j] = myIds[k];
+            myIds[k] = id;
+        }
+    }
+
+    private static ArrayStore<PlayerEnhanced> strided(int theSize) {
+        ArrayStore<PlayerEnhanced> players = new ArrayStore<>(PlayerEnhanced.class, theSize);
+        for (int i = 0; i < theSize; i++) {
+            players.add(PlayerResults.stridedPlayer(i));
+        }
+        return players;
+    }
+
+    // ======================  benchmarks ===========================
+
+    /**
+     * Gets the next player of the shuffled ids.
+     */
+    @Benchmark
+    public PlayerEnhanced get() {
+        int next = myNext;
+        myNext = next + 1 == myIds.length ? 0 : next + 1;
+        return myTable.get(myIds[next]);
+    }
+}
@@ -0,0 +1,152 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import types.PlayerEnhanced;
+import util.ArrayStore;
+import util.Entry;
+import util.EytzingerTable;
+import util.HashTable;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing the {@link EytzingerTable} with a {@link HashTable}
+ * and a plain binary search over the sorted ids, for point lookups in a
+ * shuffled order and for a range of {@link #RANGE_WIDTH} ids.
+ * <p>
+ * The difference between the binary search and the Eytzinger search is how
+ * often they miss the cache, run with {@code -prof perfnorm} on Linux to
+ * see the cache misses and branch misses per lookup next to the times.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class EytzingerBenchmark {
+
+    /**
+     * the number of ids in a range query, ie: players 1000 to 2000.
+     */
+    static final int RANGE_WIDTH = 1000;
+
+    /**
+     * 5000 comes from the csv file, 1M is synthetic.
+     */
+    @Param({"5000", "1000000"})
+    public int size;
+
+    /**
+     * the id of every player in a shuffled order.
+     */
+    private int[] myIds;
+
+    private HashTable<Integer, PlayerEnhanced> myHashTable;
+
+    private EytzingerTable<PlayerEnhanced> myEytzinger;
+
+    /**
+     * the ids in ascending order and the player of each, for the binary search.
+     */
+    private int[] mySortedIds;
+
+    private PlayerEnhanced[] mySortedPlayers;
+
+    /**
+     * the first id of the range queries, in the middle of the ids.
+     */
+    private int myRangeStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayStore<PlayerEnhanced> players = BenchmarkData.players(size);
+        myHashTable = new HashTable<>(Integer.class, PlayerEnhanced.class);
+        for (PlayerEnhanced player : players) {
+            myHashTable.put(player.id(), player);
+        }
+        myEytzinger = new EytzingerTable<>(players, PlayerEnhanced::id);
+
+        mySortedIds = new int[myEytzinger.size()];
+        mySortedPlayers = new PlayerEnhanced[myEytzinger.size()];
+        int i = 0;
+        for (Entry<Integer, PlayerEnhanced> entry : myEytzinger) {
+            mySortedIds[i] = entry.key();
+            mySortedPlayers[i] = entry.value();
+            i++;
+        }
+        myRangeStart = mySortedIds[mySortedIds.length / 2];
+
+        myIds = mySortedIds.clone();
+        Random random = new Random(size);
+        for (int j = myIds.length - 1; j > 0; j--) {
+            int k = random.nextInt(j + 1);
+            int id = myIds[j];
+            myIds[j] = myIds[k];
+            myIds[k] = id;
+        }
+    }
+
+    // ======================  point lookups ===========================
+
+    @Benchmark
+    public void hashTableGet(Blackhole theBlackhole) {
+        for (int id : myIds) {
+            theBlackhole.consume(myHashTable.get(id));
+        }
+    }
+
+    @Benchmark
+    public void binarySearchGet(Blackhole theBlackhole) {
+        for (int id : myIds) {
+            int index = Arrays.binarySearch(mySortedIds, id);
+            theBlackhole.consume(index < 0 ? null : mySortedPlayers[index]);
+        }
+    }
+
+    @Benchmark
+    public void eytzingerGet(Blackhole theBlackhole) {
+        for (int id : myIds) {
+            theBlackhole.consume(myEytzinger.getInt(id));
+        }
+    }
+
+    // ======================  range queries ===========================
+
+    /**
+     * Without an order the whole table is scanned for the ids in the range.
+     */
+    @Benchmark
+    public void hashTableRange(Blackhole theBlackhole) {
+        int end = myRangeStart + RANGE_WIDTH;
+        for (Entry<Integer, PlayerEnhanced> entry : myHashTable) {
+            if (entry.key() >= myRangeStart && entry.key() <= end) {
+                theBlackhole.consume(entry.value());
+            }
+        }
+    }
+
+    @Benchmark
+    public void eytzingerRange(Blackhole theBlackhole) {
+        for (Entry<Integer, PlayerEnhanced> entry : myEytzinger.range(myRangeStart, myRangeStart + RANGE_WIDTH)) {
+            theBlackhole.consume(entry.value());
+        }
+    }
+}
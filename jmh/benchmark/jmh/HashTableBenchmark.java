@@ -0,0 +1,120 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import types.PlayerEnhanced;
+import util.ArrayStore;
+import util.DirectAddressTable;
+import util.HashTable;
+import util.IntHashTable;
+import util.MapContainer;
+import util.RehashMode;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * JMH benchmarks for the {@link MapContainer} implementations
+ * keyed by player id, mirroring the {@code PlayerResults} experiments.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class HashTableBenchmark {
+
+    /**
+     * The table under test, see {@link #supplier(String)}.
+     */
+    @Param({"HashTable", "IncrementalHashTable", "IntHashTable", "DirectAddressTable"})
+    public String table;
+
+    /**
+     * 50, 500 and 5000 come from the csv files, larger sizes are synthetic.
+     */
+    @Param({"50", "500", "5000", "100000", "1000000"})
+    public int size;
+
+    private Supplier<MapContainer<Integer, PlayerEnhanced>> mySupplier;
+
+    private ArrayStore<PlayerEnhanced> myData;
+
+    private MapContainer<Integer, PlayerEnhanced> myFilled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mySupplier = supplier(table);
+        myData = BenchmarkData.players(size);
+        myFilled = fill(mySupplier.get());
+    }
+
+    /**
+     * The same suppliers {@code PlayerResults} benchmarks.
+     * @param theTable the name of the table.
+     * @return a supplier of empty tables.
+     */
+    static Supplier<MapContainer<Integer, PlayerEnhanced>> supplier(String theTable) {
+        return switch (theTable) {
+            case "HashTable" -> () -> new HashTable<>(Integer.class, PlayerEnhanced.class);
+            case "IncrementalHashTable" -> () -> new HashTable<>(
+                    Integer.class, PlayerEnhanced.class, 16, RehashMode.INCREMENTAL);
+            case "IntHashTable" -> IntHashTable::new;
+            // starts empty and grows its window as the ids arrive, like a manager loading a csv.
+            case "DirectAddressTable" -> DirectAddressTable::new;
+            default -> throw new IllegalArgumentException("Unknown table: " + theTable);
+        };
+    }
+
+    private MapContainer<Integer, PlayerEnhanced> fill(MapContainer<Integer, PlayerEnhanced> theTable) {
+        for (PlayerEnhanced player : myData) {
+            theTable.put(player.id(), player);
+        }
+        return theTable;
+    }
+
+    // ======================  benchmarks ===========================
+
+    /**
+     * Puts every player into an empty table.
+     */
+    @Benchmark
+    public MapContainer<Integer, PlayerEnhanced> put() {
+        return fill(mySupplier.get());
+    }
+
+    /**
+     * Looks up every player in a filled table.
+     */
+    @Benchmark
+    public void get(Blackhole theBlackhole) {
+        for (PlayerEnhanced player : myData) {
+            theBlackhole.consume(myFilled.get(player.id()));
+        }
+    }
+
+    /**
+     * Puts every player then deletes them all again.
+     */
+    @Benchmark
+    public void putThenDelete(Blackhole theBlackhole) {
+        MapContainer<Integer, PlayerEnhanced> table = fill(mySupplier.get());
+        for (PlayerEnhanced player : myData) {
+            theBlackhole.consume(table.delete(player.id()));
+        }
+    }
+}
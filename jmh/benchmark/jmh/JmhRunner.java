@@ -0,0 +1,51 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.LocalDate;
+
+/**
+ * Runs the JMH benchmarks and writes a machine readable report.
+ * <p>
+ * Accepts the usual JMH command line options, e.g.
+ * {@code ContainerBenchmark -p size=5000 -rf csv}. Unless {@code -rf}/{@code -rff}
+ * are given the report is written as JSON to {@code results/jmh/jmh-<date>.json},
+ * so reports from different builds can be diffed to spot regressions.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class JmhRunner {
+
+    static final String REPORT_DIRECTORY = "results/jmh";
+
+    private JmhRunner() {
+        super();
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        ResultFormatType format = commandLine.getResultFormat().orElse(ResultFormatType.JSON);
+        String fileName = commandLine.getResult().orElse(
+                REPORT_DIRECTORY + "/jmh-" + LocalDate.now() + "." + format.toString().toLowerCase());
+        new File(fileName).getAbsoluteFile().getParentFile().mkdirs();
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(format)
+                .result(fileName);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("benchmark\\.jmh\\..*");
+        }
+
+        new Runner(options.build()).run();
+    }
+}
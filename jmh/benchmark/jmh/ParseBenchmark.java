@@ -0,0 +1,135 @@
+package benchmark.jmh;
+
+import loader.CodecRegistry;
+import loader.CsvLine;
+import loader.RecordCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import types.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of turning a csv line into a record.
+ * <p>
+ * {@link #legacy(Blackhole)} is the parser the {@code DataLoader} used before
+ * the {@link CodecRegistry}: a {@link String#split(String)} followed by an
+ * if/else over the record classes on every row. It is kept here as the
+ * baseline for {@link #codec(Blackhole)}, which resolves the
+ * {@link RecordCodec} once and scans the fields of a reused {@link CsvLine}.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class ParseBenchmark {
+
+    /**
+     * every {@code _5000} csv has this many rows.
+     */
+    private static final int ROWS = 5000;
+
+    @Param({"Player", "Drill", "Transaction", "Action", "FanRequest", "PlayerEnhanced"})
+    public String type;
+
+    private Class<? extends DataType> myDataClass;
+
+    private RecordCodec<? extends DataType> myCodec;
+
+    private final CsvLine myLine = new CsvLine();
+
+    private String[] myRows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String file = switch (type) {
+            case "Player" -> "data/seahawks_roster_5000.csv";
+            case "Drill" -> "data/seahawks_drills_5000.csv";
+            case "Transaction" -> "data/seahawks_transactions_5000.csv";
+            case "Action" -> "data/seahawks_undo_actions_5000.csv";
+            case "FanRequest" -> "data/seahawks_fan_queue_5000.csv";
+            case "PlayerEnhanced" -> "data/seahawks_players_5000.csv";
+            default -> throw new IllegalArgumentException("Unknown type " + type);
+        };
+        List<String> lines = Files.readAllLines(Path.of(file));
+        myRows = lines.subList(1, lines.size()).toArray(new String[0]);
+        if (myRows.length != ROWS) {
+            throw new IllegalStateException(file + " has " + myRows.length + " rows, expected " + ROWS);
+        }
+
+        myDataClass = switch (type) {
+            case "Player" -> Player.class;
+            case "Drill" -> Drill.class;
+            case "Transaction" -> Transaction.class;
+            case "Action" -> Action.class;
+            case "FanRequest" -> FanRequest.class;
+            default -> PlayerEnhanced.class;
+        };
+        myCodec = CodecRegistry.forType(myDataClass);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacy(Blackhole theBlackhole) {
+        for (String row : myRows) {
+            theBlackhole.consume(legacyParse(myDataClass, row));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void codec(Blackhole theBlackhole) {
+        for (String row : myRows) {
+            theBlackhole.consume(myCodec.decode(myLine.reset(row)));
+        }
+    }
+
+    /**
+     * The row parser of {@code DataLoader} 1.4.
+     */
+    private static Object legacyParse(Class<?> theDataClass, String theCsvRow) {
+        String[] row = theCsvRow.split(",");
+        try {
+            if (theDataClass == Player.class) {
+                return new Player(Integer.parseInt(row[0]), row[1], row[2],
+                        Integer.parseInt(row[3]), Integer.parseInt(row[4]));
+            } else if (theDataClass == Drill.class) {
+                return new Drill(Integer.parseInt(row[0]), row[1], Integer.parseInt(row[2]),
+                        Integer.parseInt(row[3]), Integer.parseInt(row[4]), Integer.parseInt(row[5]));
+            } else if (theDataClass == Transaction.class) {
+                return new Transaction(Integer.parseInt(row[0]), row[1], row[2], row[3]);
+            } else if (theDataClass == Action.class) {
+                return new Action(Integer.parseInt(row[0]), ActionType.valueOf(row[1]), row[2], row[3]);
+            } else if (theDataClass == FanRequest.class) {
+                return new FanRequest(Integer.parseInt(row[0]), row[1], row[2], row[3]);
+            } else if (theDataClass == PlayerEnhanced.class) {
+                return new PlayerEnhanced(Integer.parseInt(row[0]), row[1], Position.valueOf(row[2]),
+                        Integer.parseInt(row[3]), Integer.parseInt(row[4]), Boolean.parseBoolean(row[5]));
+            }
+            throw new IllegalArgumentException(theDataClass.getName() + " is not a supported data type");
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Encountered malformed column input in the csv.");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import types.PlayerEnhanced;
+import util.ArrayStore;
+import util.MapContainer;
+import util.PerfectHashTable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing a filled {@link MapContainer} with the
+ * {@link PerfectHashTable} frozen from it: the time to build each from the
+ * players, and the time to get every player back out. Players are looked up in
+ * a shuffled order, like requests to a read mostly service, so a table whose
+ * buckets follow the id order does not get every lookup from the cache.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class PerfectHashBenchmark {
+
+    /**
+     * The table the perfect hash is frozen from, see {@link HashTableBenchmark#supplier(String)}.
+     */
+    @Param({"HashTable", "IntHashTable"})
+    public String table;
+
+    /**
+     * 5000 comes from the csv file, 1M is synthetic.
+     */
+    @Param({"5000", "1000000"})
+    public int size;
+
+    private ArrayStore<PlayerEnhanced> myData;
+
+    /**
+     * the id of every player in a shuffled order.
+     */
+    private int[] myIds;
+
+    private MapContainer<Integer, PlayerEnhanced> myFilled;
+
+    private PerfectHashTable<PlayerEnhanced> myFrozen;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        myData = BenchmarkData.players(size);
+        myIds = new int[myData.size()];
+        for (int i = 0; i < myIds.length; i++) {
+            myIds[i] = myData.get(i).id();
+        }
+        Random random = new Random(size);
+        for (int i = myIds.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int id = myIds[i];
+            myIds[i] = myIds[j];
+            myIds[j] = id;
+        }
+        myFilled = fill();
+        myFrozen = new PerfectHashTable<>(myFilled);
+    }
+
+    private MapContainer<Integer, PlayerEnhanced> fill() {
+        MapContainer<Integer, PlayerEnhanced> filled = HashTableBenchmark.supplier(table).get();
+        for (PlayerEnhanced player : myData) {
+            filled.put(player.id(), player);
+        }
+        return filled;
+    }
+
+    // ======================  benchmarks ===========================
+
+    /**
+     * Puts every player into an empty table.
+     */
+    @Benchmark
+    public MapContainer<Integer, PlayerEnhanced> buildTable() {
+        return fill();
+    }
+
+    /**
+     * Builds the perfect hash from the filled table.
+     */
+    @Benchmark
+    public PerfectHashTable<PlayerEnhanced> freeze() {
+        return new PerfectHashTable<>(myFilled);
+    }
+
+    /**
+     * Looks up every player in the filled table.
+     */
+    @Benchmark
+    public void tableGet(Blackhole theBlackhole) {
+        for (int id : myIds) {
+            theBlackhole.consume(myFilled.get(id));
+        }
+    }
+
+    /**
+     * Looks up every player in the perfect hash.
+     */
+    @Benchmark
+    public void frozenGet(Blackhole theBlackhole) {
+        for (int id : myIds) {
+            theBlackhole.consume(myFrozen.getInt(id));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import types.PlayerEnhanced;
+import util.ArrayStore;
+import util.Entry;
+import util.HashTable;
+import util.PersistentHashTable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing the {@link PersistentHashTable} with the mutable
+ * {@link HashTable}: the cost of a snapshot, which the HashTable can only
+ * take by copying every entry, and the cost of each get, put and update,
+ * where the persistent table pays for copying the path to the key.
+ * Players are read and updated in a shuffled order.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class PersistentHashBenchmark {
+
+    /**
+     * 5000 comes from the csv file, 1M is synthetic.
+     */
+    @Param({"5000", "1000000"})
+    public int size;
+
+    private ArrayStore<PlayerEnhanced> myPlayers;
+
+    /**
+     * the players in a shuffled order.
+     */
+    private PlayerEnhanced[] myShuffled;
+
+    /**
+     * a new record for each shuffled player, with one more yard.
+     */
+    private PlayerEnhanced[] myUpdated;
+
+    private HashTable<Integer, PlayerEnhanced> myHashTable;
+
+    private PersistentHashTable<Integer, PlayerEnhanced> myPersistent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        myPlayers = BenchmarkData.players(size);
+        myHashTable = new HashTable<>(Integer.class, PlayerEnhanced.class);
+        myPersistent = new PersistentHashTable<>();
+        myShuffled = new PlayerEnhanced[myPlayers.size()];
+        int i = 0;
+        for (PlayerEnhanced player : myPlayers) {
+            myHashTable.put(player.id(), player);
+            myPersistent.put(player.id(), player);
+            myShuffled[i++] = player;
+        }
+        Random random = new Random(size);
+        for (int j = myShuffled.length - 1; j > 0; j--) {
+            int k = random.nextInt(j + 1);
+            PlayerEnhanced player = myShuffled[j];
+            myShuffled[j] = myShuffled[k];
+            myShuffled[k] = player;
+        }
+        myUpdated = new PlayerEnhanced[myShuffled.length];
+        for (int j = 0; j < myShuffled.length; j++) {
+            PlayerEnhanced player = myShuffled[j];
+            myUpdated[j] = new PlayerEnhanced(player.player_id(), player.name(), player.position(),
+                    player.yards() + 1, player.touchdowns(), player.injured());
+        }
+    }
+
+    // ======================  snapshots ===========================
+
+    /**
+     * A mutable table is snapshot by copying it.
+     */
+    @Benchmark
+    public HashTable<Integer, PlayerEnhanced> hashTableSnapshot() {
+        HashTable<Integer, PlayerEnhanced> copy = new HashTable<>(Integer.class, PlayerEnhanced.class);
+        for (Entry<Integer, PlayerEnhanced> entry : myHashTable) {
+            copy.put(entry.key(), entry.value());
+        }
+        return copy;
+    }
+
+    @Benchmark
+    public PersistentHashTable<Integer, PlayerEnhanced> persistentSnapshot() {
+        return myPersistent.snapshot();
+    }
+
+    // ======================  per operation ===========================
+
+    @Benchmark
+    public void hashTableGet(Blackhole theBlackhole) {
+        for (PlayerEnhanced player : myShuffled) {
+            theBlackhole.consume(myHashTable.get(player.id()));
+        }
+    }
+
+    @Benchmark
+    public void persistentGet(Blackhole theBlackhole) {
+        for (PlayerEnhanced player : myShuffled) {
+            theBlackhole.consume(myPersistent.get(player.id()));
+        }
+    }
+
+    /**
+     * Puts every player into an empty table.
+     */
+    @Benchmark
+    public HashTable<Integer, PlayerEnhanced> hashTablePut() {
+        HashTable<Integer, PlayerEnhanced> table = new HashTable<>(Integer.class, PlayerEnhanced.class);
+        for (PlayerEnhanced player : myPlayers) {
+            table.put(player.id(), player);
+        }
+        return table;
+    }
+
+    @Benchmark
+    public PersistentHashTable<Integer, PlayerEnhanced> persistentPut() {
+        PersistentHashTable<Integer, PlayerEnhanced> table = new PersistentHashTable<>();
+        for (PlayerEnhanced player : myPlayers) {
+            table.put(player.id(), player);
+        }
+        return table;
+    }
+
+    /**
+     * Replaces every player of a filled table with a new record, alternating
+     * between the updated and the original records so each put changes the value.
+     */
+    @Benchmark
+    public void hashTableUpdate() {
+        PlayerEnhanced[] records = myHashTable.get(myShuffled[0].id()) == myShuffled[0] ? myUpdated : myShuffled;
+        for (PlayerEnhanced player : records) {
+            myHashTable.put(player.id(), player);
+        }
+    }
+
+    @Benchmark
+    public void persistentUpdate() {
+        PlayerEnhanced[] records = myPersistent.get(myShuffled[0].id()) == myShuffled[0] ? myUpdated : myShuffled;
+        for (PlayerEnhanced player : records) {
+            myPersistent.put(player.id(), player);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark.jmh;
+
+import manager.PlayerManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import types.PlayerEnhanced;
+import types.Position;
+import util.EnumDictionary;
+import util.Entry;
+import util.HashTable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the yards by position aggregates of {@link PlayerManager},
+ * summed into a {@link HashTable} with a boxing merge per player as they used
+ * to be, and into an int per position as they are now. Run with
+ * {@code -prof gc} to see the bytes allocated per operation.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class PositionTotalsBenchmark {
+
+    /**
+     * 5000 comes from the csv file, 1M is synthetic.
+     */
+    @Param({"5000", "1000000"})
+    public int size;
+
+    private PlayerManager myManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        myManager = new PlayerManager();
+        for (PlayerEnhanced player : BenchmarkData.players(size)) {
+            myManager.addPlayer(player);
+        }
+    }
+
+    // ======================  all positions ===========================
+
+    @Benchmark
+    public HashTable<Position, Integer> hashTableTotals() {
+        HashTable<Position, Integer> table = new HashTable<>(Position.class, Integer.class);
+        for (Entry<Integer, PlayerEnhanced> entry : myManager.getData()) {
+            table.merge(entry.value().position(), entry.value().yards(), Integer::sum);
+        }
+        return table;
+    }
+
+    @Benchmark
+    public EnumDictionary<Position, Integer> enumTotals() {
+        return myManager.computeTotalYardsByPosition();
+    }
+
+    // ======================  one position ===========================
+
+    /**
+     * Builds the totals of every position to read one of them.
+     */
+    @Benchmark
+    public int hashTableOnePosition() {
+        return hashTableTotals().get(Position.QB);
+    }
+
+    @Benchmark
+    public int onePosition() {
+        return myManager.getTotalYardsByPosition(Position.QB);
+    }
+}
@@ -0,0 +1,134 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.ArrayStack;
+import util.ArrayStore;
+import util.BinaryHeapPQ;
+import util.IntArrayStack;
+import util.IntArrayStore;
+import util.IntBinaryHeapPQ;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for filling and draining the boxed {@link ArrayStore},
+ * {@link ArrayStack} and {@link BinaryHeapPQ} against their int
+ * specializations. Values are drawn from a wide range so {@link Integer}
+ * caching does not hide the boxing, run with {@code -prof gc} to see it.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class PrimitiveCollectionsBenchmark {
+
+    @Param({"5000", "1000000"})
+    public int size;
+
+    private int[] myValues;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(25);
+        myValues = new int[size];
+        for (int i = 0; i < size; i++) {
+            myValues[i] = random.nextInt(1_000_000);
+        }
+    }
+
+    // ======================  store: add then sum ===========================
+
+    @Benchmark
+    public long boxedStore() {
+        ArrayStore<Integer> store = new ArrayStore<>(Integer.class);
+        for (int value : myValues) {
+            store.add(value);
+        }
+        long sum = 0;
+        for (int i = 0; i < store.size(); i++) {
+            sum += store.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveStore() {
+        IntArrayStore store = new IntArrayStore();
+        for (int value : myValues) {
+            store.add(value);
+        }
+        return store.sum();
+    }
+
+    // ======================  stack: push all then pop all ===========================
+
+    @Benchmark
+    public long boxedStack() {
+        ArrayStack<Integer> stack = new ArrayStack<>(Integer.class);
+        for (int value : myValues) {
+            stack.push(value);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveStack() {
+        IntArrayStack stack = new IntArrayStack();
+        for (int value : myValues) {
+            stack.push(value);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    // ======================  heap: insert all then extract all ===========================
+
+    @Benchmark
+    public long boxedHeap() {
+        BinaryHeapPQ<Integer> heap = new BinaryHeapPQ<>(Integer.class);
+        for (int value : myValues) {
+            heap.insert(value);
+        }
+        long sum = 0;
+        for (int i = 0; i < myValues.length; i++) {
+            sum += heap.extract();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveHeap() {
+        IntBinaryHeapPQ heap = new IntBinaryHeapPQ();
+        for (int value : myValues) {
+            heap.insert(value);
+        }
+        long sum = 0;
+        while (!heap.isEmpty()) {
+            sum += heap.extract();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,99 @@
+package benchmark.jmh;
+
+import manager.PlayerManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import types.PlayerEnhanced;
+import types.Position;
+import util.ArrayStore;
+import util.CompactHashTable;
+import util.EnumDictionary;
+import util.EnumIntAccumulator;
+import util.Entry;
+import util.HashTable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for scanning every player of a {@link PlayerManager}, with
+ * the players kept in the chained {@link HashTable} or in the insertion
+ * ordered {@link CompactHashTable}. The manager answers these from its
+ * aggregates and bitmap index, so the scans are written out here.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dsoas.countOperations=false")
+public class ScanBenchmark {
+
+    @Param({"HashTable", "CompactHashTable"})
+    public String table;
+
+    /**
+     * 5000 comes from the csv file, larger sizes are synthetic.
+     */
+    @Param({"5000", "100000", "1000000"})
+    public int size;
+
+    private PlayerManager myManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        myManager = switch (table) {
+            case "HashTable" -> new PlayerManager();
+            case "CompactHashTable" -> new PlayerManager(CompactHashTable::new);
+            default -> throw new IllegalArgumentException("Unknown table: " + table);
+        };
+        ArrayStore<PlayerEnhanced> players = BenchmarkData.players(size);
+        for (PlayerEnhanced player : players) {
+            myManager.addPlayer(player);
+        }
+    }
+
+    // ======================  benchmarks ===========================
+
+    @Benchmark
+    public int countInjuredPlayers() {
+        int count = 0;
+        for (Entry<Integer, PlayerEnhanced> entry : myManager.getData()) {
+            if (entry.value().injured()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public ArrayStore<PlayerEnhanced> listPlayersByPosition() {
+        ArrayStore<PlayerEnhanced> result = new ArrayStore<>(PlayerEnhanced.class, 64);
+        for (Entry<Integer, PlayerEnhanced> entry : myManager.getData()) {
+            if (entry.value().position() == Position.WR) {
+                result.add(entry.value());
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public EnumDictionary<Position, Integer> computeTotalYardsByPosition() {
+        EnumIntAccumulator<Position> totals = new EnumIntAccumulator<>(Position.class);
+        for (Entry<Integer, PlayerEnhanced> entry : myManager.getData()) {
+            totals.add(entry.value().position(), entry.value().yards());
+        }
+        return totals.toDictionary();
+    }
+}
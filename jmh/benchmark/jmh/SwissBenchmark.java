@@ -0,0 +1,141 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import results.PlayerResults;
+import types.PlayerEnhanced;
+import util.Entry;
+import util.HashTable;
+import util.MapContainer;
+import util.SwissHashTable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing the {@link SwissHashTable} with the chained
+ * {@link HashTable} at several load factors. Both tables are created with
+ * {@link #capacity} slots and filled to {@link #loadFactor} of them, the
+ * HashTable doubles once past 0.75 so it never runs at 0.875.
+ * <p>
+ * These forks compare groups with the SWAR fallback,
+ * {@link SwissVectorBenchmark} runs the same benchmarks with the Vector API.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Dsoas.countOperations=false", "-Dsoas.vectorGroups=false"})
+public class SwissBenchmark {
+
+    @Param({"HashTable", "SwissHashTable"})
+    public String table;
+
+    /**
+     * the number of slots or buckets the table starts with.
+     */
+    @Param({"8192", "1048576"})
+    public int capacity;
+
+    @Param({"0.25", "0.5", "0.75", "0.875"})
+    public double loadFactor;
+
+    private MapContainer<Integer, PlayerEnhanced> myTable;
+
+    /**
+     * the ids of the players in the table, in a shuffled order.
+     */
+    private int[] myHits;
+
+    /**
+     * ids no player has, as many as there are hits, in a shuffled order.
+     */
+    private int[] myMisses;
+
+    /**
+     * @return the {@link SwissHashTable#groupMatching()} these forks are meant to measure.
+     */
+    protected String groupMatching() {
+        return "swar";
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (!groupMatching().equals(SwissHashTable.groupMatching())) {
+            throw new IllegalStateException("Expected " + groupMatching()
+                    + " group matching, the fork runs " + SwissHashTable.groupMatching());
+        }
+        myTable = switch (table) {
+            case "HashTable" -> new HashTable<>(Integer.class, PlayerEnhanced.class, capacity);
+            case "SwissHashTable" -> new SwissHashTable<>(capacity);
+            default -> throw new IllegalArgumentException("Unknown table: " + table);
+        };
+        int size = (int) (capacity * loadFactor);
+        myHits = new int[size];
+        myMisses = new int[size];
+        for (int i = 0; i < size; i++) {
+            PlayerEnhanced player = PlayerResults.syntheticPlayer(i);
+            myTable.put(player.id(), player);
+            myHits[i] = player.id();
+            myMisses[i] = -1 - i;
+        }
+        Random random = new Random(size);
+        shuffle(myHits, random);
+        shuffle(myMisses, random);
+    }
+
+    /**
+     * Misses are shuffled too, in order they would walk a chained table's buckets one after the other.
+     */
+    private static void shuffle(int[] theIds, Random theRandom) {
+        for (int j = theIds.length - 1; j > 0; j--) {
+            int k = theRandom.nextInt(j + 1);
+            int id = theIds[j];
+            theIds[j] = theIds[k];
+            theIds[k] = id;
+        }
+    }
+
+    // ======================  benchmarks ===========================
+
+    @Benchmark
+    public void getHit(Blackhole theBlackhole) {
+        for (int id : myHits) {
+            theBlackhole.consume(myTable.get(id));
+        }
+    }
+
+    @Benchmark
+    public void getMiss(Blackhole theBlackhole) {
+        for (int id : myMisses) {
+            theBlackhole.consume(myTable.get(id));
+        }
+    }
+
+    /**
+     * Sums the yards of every player, the scan {@code computeTotalYardsByPosition} makes.
+     */
+    @Benchmark
+    public long sumYards() {
+        long total = 0;
+        for (Entry<Integer, PlayerEnhanced> entry : myTable) {
+            total += entry.value().yards();
+        }
+        return total;
+    }
+}
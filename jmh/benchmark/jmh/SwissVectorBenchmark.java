@@ -0,0 +1,20 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Fork;
+import util.SwissHashTable;
+
+/**
+ * The {@link SwissBenchmark} benchmarks with the jdk.incubator.vector module
+ * added to the forks, so the {@link SwissHashTable} compares each group with
+ * one {@code ByteVector} instruction instead of SWAR word operations.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+@Fork(value = 2, jvmArgsAppend = {"-Dsoas.countOperations=false", "--add-modules=jdk.incubator.vector"})
+public class SwissVectorBenchmark extends SwissBenchmark {
+
+    @Override
+    protected String groupMatching() {
+        return "vector";
+    }
+}
@@ -16,7 +16,7 @@ import java.util.logging.Logger;
  * to interact with different statistics from the Seattle Seahawks.
  * @author Chris Chun
  * @author Ayush
- * @version 1.4
+ * @version 1.5
  */
 public class Main {
     public static final String ANSI_GREEN = "\u001B[32m";
@@ -62,7 +62,7 @@ public class Main {
 
     public static void main(String[] args) throws IOException {
 
-        PlayerManager PM = new PlayerManager();
+        PlayerManager PM = PlayerManager.withIndexes();
 
         boolean running = true;
 
@@ -2,7 +2,7 @@ package benchmark;
 
 /**
  * @author Chris Chun, Ayush
- * @version 1.1
+ * @version 1.2
  */
 public interface Benchmark {
 
@@ -15,4 +15,13 @@ public interface Benchmark {
     double runSpeedTest(int theTimesToRun, Runnable theTask);
 
     double runSpeedTestWithSetup(int theTimesToRun, Runnable theSetUpTask, Runnable theTask);
+
+    /**
+     * Runs a speed test after warming up and times each run separately.
+     * @param theTimesToRun the number of timed runs.
+     * @param theSetUpTask the untimed task to run before each run.
+     * @param theTask the task/ method to be timed.
+     * @return the distribution of the run times and the allocation per run.
+     */
+    BenchmarkStats runWithStats(int theTimesToRun, Runnable theSetUpTask, Runnable theTask);
 }
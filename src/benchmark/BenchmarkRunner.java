@@ -1,20 +1,52 @@
 package benchmark;
 
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
 /**
  * Provides an implementation for benchmarking the execution time of tasks.
  * This class allows for simple speed tests as well as tests requiring
  * a setup phase before each iteration to ensure a clean state.
+ * <p>
+ * {@link #runWithStats(int, Runnable, Runnable)} first runs untimed warmup
+ * iterations so the JIT has compiled the task, then records every timed run
+ * in a {@link LatencyHistogram} and reports the tail as well as the mean.
+ * </p>
  * @author Chris Chun, Ayush
- * @version 1.3
+ * @version 1.4
  */
 public class BenchmarkRunner implements Benchmark {
 
     /**
-     * Constructs a new BenchmarkRunner.
+     * The number of untimed iterations used by the default constructor.
+     */
+    public static final int DEFAULT_WARMUP_RUNS = 5;
+
+    private final int myWarmupRuns;
+
+    /**
+     * Constructs a new BenchmarkRunner with {@link #DEFAULT_WARMUP_RUNS} warmup iterations.
      */
     public BenchmarkRunner() {
+        this(DEFAULT_WARMUP_RUNS);
+    }
+
+    /**
+     * Constructs a new BenchmarkRunner.
+     * @param theWarmupRuns the number of untimed iterations to run before measuring.
+     * @throws IllegalArgumentException if theWarmupRuns is negative.
+     */
+    public BenchmarkRunner(int theWarmupRuns) {
         super();
+        if (theWarmupRuns < 0) {
+            throw new IllegalArgumentException("Warmup runs cannot be negative");
+        }
+        myWarmupRuns = theWarmupRuns;
+    }
+
+    public int getWarmupRuns() {
+        return myWarmupRuns;
     }
 
     /**
@@ -26,6 +58,7 @@ public class BenchmarkRunner implements Benchmark {
      * @param theSetupTask the task to run before each iteration (not timed).
      * @param theTask the main task to be benchmarked.
      * @return the average execution time per iteration in milliseconds (ms).
+     * @see #runWithStats(int, Runnable, Runnable)
      */
     @Override
     public double
@@ -34,21 +67,57 @@ public class BenchmarkRunner implements Benchmark {
             Runnable theSetupTask,
             Runnable theTask) {
 
-        double totalTime = 0.0;
+        return runWithStats(theTimesToRun, theSetupTask, theTask).mean();
+    }
 
-        for (int i = 0; i < theTimesToRun; i++) {
+    /**
+     * Runs the warmup iterations, then times every iteration of the task on its own.
+     * The setup task runs before each iteration and is neither timed nor
+     * included in the allocation count.
+     * @param theTimesToRun the number of timed iterations to perform.
+     * @param theSetupTask the task to run before each iteration (not timed).
+     * @param theTask the main task to be benchmarked.
+     * @return the min/mean/percentile/max times in milliseconds and the
+     * bytes allocated by an average iteration.
+     */
+    @Override
+    public BenchmarkStats runWithStats(int theTimesToRun, Runnable theSetupTask, Runnable theTask) {
+        if (theTimesToRun <= 0) {
+            throw new IllegalArgumentException("The task must run at least once");
+        }
 
+        for (int i = 0; i < myWarmupRuns; i++) {
             theSetupTask.run();
+            theTask.run();
+        }
 
-            totalTime += runSpeedTest(1, theTask);
+        LatencyHistogram histogram = new LatencyHistogram();
+        boolean measureAllocation = AllocationMeter.isSupported();
+        long allocated = 0;
+
+        for (int i = 0; i < theTimesToRun; i++) {
+            theSetupTask.run();
+
+            long bytesBefore = measureAllocation ? AllocationMeter.allocatedBytes() : 0;
+            long startTime = System.nanoTime();
+            theTask.run();
+            long endTime = System.nanoTime();
+            if (measureAllocation) {
+                allocated += AllocationMeter.allocatedBytes() - bytesBefore;
+            }
+
+            histogram.record(endTime - startTime);
         }
 
-        return totalTime/theTimesToRun;
+        return BenchmarkStats.from(histogram,
+                measureAllocation ? allocated / theTimesToRun : BenchmarkStats.ALLOCATION_UNSUPPORTED);
     }
 
     /**
      * Runs a speed test for a specified number of iterations and
      * calculates the average execution time.
+     * The loop is timed as a whole and no warmup is performed,
+     * use {@link #runWithStats(int, Runnable, Runnable)} for steady state numbers.
      * @param theTimesToRun the number of iterations to perform.
      * @param theTask the task to be benchmarked.
      * @return the average execution time per iteration in milliseconds (ms).
@@ -65,4 +134,33 @@ public class BenchmarkRunner implements Benchmark {
         long totalTime = endTime - startTime;
         return (double) totalTime / theTimesToRun / 1_000_000 ;
     }
+
+    // ====================   utility classes =========================
+
+    /**
+     * Reads the bytes allocated by the current thread through the HotSpot
+     * extension of {@link ThreadMXBean}, if the JVM provides it.
+     */
+    private static final class AllocationMeter {
+
+        private static final com.sun.management.ThreadMXBean THREAD_BEAN = findBean();
+
+        private static com.sun.management.ThreadMXBean findBean() {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean hotSpotBean
+                    && hotSpotBean.isThreadAllocatedMemorySupported()) {
+                hotSpotBean.setThreadAllocatedMemoryEnabled(true);
+                return hotSpotBean;
+            }
+            return null;
+        }
+
+        static boolean isSupported() {
+            return THREAD_BEAN != null;
+        }
+
+        static long allocatedBytes() {
+            return THREAD_BEAN.getCurrentThreadAllocatedBytes();
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package benchmark;
+
+/**
+ * Summary statistics of a benchmark, all times are in milliseconds.
+ * @param samples the number of timed runs.
+ * @param min the fastest run.
+ * @param mean the average run.
+ * @param p50 the median run.
+ * @param p90 the 90th percentile run.
+ * @param p99 the 99th percentile run.
+ * @param max the slowest run.
+ * @param stdDev the standard deviation of the runs.
+ * @param allocatedBytes the average bytes allocated by one run, or
+ * {@link #ALLOCATION_UNSUPPORTED} if the JVM cannot measure allocation.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public record BenchmarkStats(long samples,
+                             double min,
+                             double mean,
+                             double p50,
+                             double p90,
+                             double p99,
+                             double max,
+                             double stdDev,
+                             long allocatedBytes) {
+
+    public static final long ALLOCATION_UNSUPPORTED = -1;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * @param theHistogram the timings of every run in nanoseconds.
+     * @param theAllocatedBytes the average bytes allocated by one run.
+     * @return the statistics of theHistogram in milliseconds.
+     */
+    public static BenchmarkStats from(LatencyHistogram theHistogram, long theAllocatedBytes) {
+        return new BenchmarkStats(
+                theHistogram.getCount(),
+                theHistogram.getMin() / NANOS_PER_MILLI,
+                theHistogram.getMean() / NANOS_PER_MILLI,
+                theHistogram.getPercentile(50) / NANOS_PER_MILLI,
+                theHistogram.getPercentile(90) / NANOS_PER_MILLI,
+                theHistogram.getPercentile(99) / NANOS_PER_MILLI,
+                theHistogram.getMax() / NANOS_PER_MILLI,
+                theHistogram.getStdDev() / NANOS_PER_MILLI,
+                theAllocatedBytes);
+    }
+
+    /**
+     * @return true if {@link #allocatedBytes()} was measured.
+     */
+    public boolean hasAllocation() {
+        return allocatedBytes != ALLOCATION_UNSUPPORTED;
+    }
+}
@@ -0,0 +1,151 @@
+package benchmark;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size histogram of timings in nanoseconds.
+ * <p>
+ * Buckets are log-linear: values below 64ns get a bucket each, above that
+ * every power of two range is split into 32 equal buckets, so a percentile is
+ * reported within about 3% of the true sample while the histogram stays at a
+ * constant ~15KB no matter how many samples are recorded.
+ * Min, max, mean and standard deviation are tracked exactly.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * log2 of the number of buckets each power of two range is split into.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * enough buckets to index {@link Long#MAX_VALUE}.
+     */
+    private static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] myCounts = new long[BUCKETS];
+
+    private long myCount;
+
+    private long myMin = Long.MAX_VALUE;
+
+    private long myMax;
+
+    private double mySum;
+
+    private double mySumOfSquares;
+
+    public LatencyHistogram() {
+        super();
+    }
+
+    // ======================  recording ===========================
+
+    /**
+     * Records one sample.
+     * @param theNanos the time taken in nanoseconds.
+     * @throws IllegalArgumentException if the sample is negative.
+     */
+    public void record(long theNanos) {
+        if (theNanos < 0) {
+            throw new IllegalArgumentException("A sample cannot be negative: " + theNanos);
+        }
+        myCounts[bucketIndex(theNanos)]++;
+        myCount++;
+        myMin = Math.min(myMin, theNanos);
+        myMax = Math.max(myMax, theNanos);
+        mySum += theNanos;
+        mySumOfSquares += (double) theNanos * theNanos;
+    }
+
+    /**
+     * Clears all samples.
+     */
+    public void reset() {
+        Arrays.fill(myCounts, 0);
+        myCount = 0;
+        myMin = Long.MAX_VALUE;
+        myMax = 0;
+        mySum = 0;
+        mySumOfSquares = 0;
+    }
+
+    // ======================  getters ===========================
+
+    public long getCount() {
+        return myCount;
+    }
+
+    public long getMin() {
+        return myCount == 0 ? 0 : myMin;
+    }
+
+    public long getMax() {
+        return myMax;
+    }
+
+    public double getMean() {
+        return myCount == 0 ? 0 : mySum / myCount;
+    }
+
+    /**
+     * @return the population standard deviation of the samples in nanoseconds.
+     */
+    public double getStdDev() {
+        if (myCount == 0) {
+            return 0;
+        }
+        double mean = getMean();
+        return Math.sqrt(Math.max(0, mySumOfSquares / myCount - mean * mean));
+    }
+
+    /**
+     * @param thePercentile a value between 0 and 100, ie: 99 for the p99.
+     * @return the smallest recorded value that thePercentile of the samples are at or below.
+     * @throws IllegalArgumentException if thePercentile is not between 0 and 100.
+     */
+    public long getPercentile(double thePercentile) {
+        if (thePercentile < 0 || thePercentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + thePercentile);
+        }
+        if (myCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(myCount * thePercentile / 100));
+        if (rank >= myCount) {
+            return myMax;
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += myCounts[i];
+            if (seen >= rank) {
+                // the bucket's midpoint is the best estimate, but never report
+                // a value outside the range we actually saw.
+                return Math.clamp(bucketMidpoint(i), getMin(), myMax);
+            }
+        }
+        return myMax;
+    }
+
+    // ====================   private helper methods =========================
+
+    private static int bucketIndex(long theValue) {
+        int msb = 63 - Long.numberOfLeadingZeros(theValue);
+        int shift = Math.max(0, msb - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (theValue >>> shift);
+    }
+
+    private static long bucketMidpoint(int theIndex) {
+        if (theIndex < 2 * SUB_BUCKETS) {
+            return theIndex;
+        }
+        int shift = (theIndex >>> SUB_BUCKET_BITS) - 1;
+        long lowerBound = (long) (theIndex - (shift << SUB_BUCKET_BITS)) << shift;
+        return lowerBound + ((1L << shift) >>> 1);
+    }
+}
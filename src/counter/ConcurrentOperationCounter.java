@@ -0,0 +1,58 @@
+package counter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe version of {@link OperationCounter}.
+ * Each operation is counted with a {@link LongAdder} so many threads
+ * can increment the same operation without contending on a single lock
+ * or losing updates.
+ * @author Chris Chun, Ayush
+ * @version 2.0
+ */
+public class ConcurrentOperationCounter extends OperationCounter {
+
+    /**
+     * count of each operation indexed by {@link Operation#ordinal()}.
+     */
+    private final LongAdder[] counts;
+
+    public ConcurrentOperationCounter() {
+        super();
+        counts = new LongAdder[Operation.values().length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void increment(Operation theOperation) {
+        if (isCountingEnabled()) {
+            counts[theOperation.ordinal()].increment();
+        }
+    }
+
+    @Override
+    public void increment(Operation theOperation, long theCount) {
+        if (isCountingEnabled()) {
+            counts[theOperation.ordinal()].add(theCount);
+        }
+    }
+
+    @Override
+    public long getCount(Operation theOperation) {
+        return counts[theOperation.ordinal()].sum();
+    }
+
+    @Override
+    public void reset(Operation theOperation) {
+        counts[theOperation.ordinal()].reset();
+    }
+
+    @Override
+    public void resetAll() {
+        for (LongAdder adder : counts) {
+            adder.reset();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package counter;
+
+/**
+ * An {@link OperationCounter} that never counts.
+ * {@link OperationCounter#create()} hands out the shared {@link #INSTANCE}
+ * when the JVM runs with {@code -Dsoas.countOperations=false}; its empty
+ * methods are inlined by the JIT so counting costs nothing in production runs.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class NoOpOperationCounter extends OperationCounter {
+
+    /**
+     * The counter holds no state so a single instance is shared.
+     */
+    public static final NoOpOperationCounter INSTANCE = new NoOpOperationCounter();
+
+    private NoOpOperationCounter() {
+        super();
+    }
+
+    @Override
+    public void increment(Operation theOperation) {
+        // counting is compiled out.
+    }
+
+    @Override
+    public void increment(Operation theOperation, long theCount) {
+        // counting is compiled out.
+    }
+
+    @Override
+    public long getCount(Operation theOperation) {
+        return 0;
+    }
+
+    @Override
+    public void reset(Operation theOperation) {
+        // nothing to reset.
+    }
+
+    @Override
+    public void resetAll() {
+        // nothing to reset.
+    }
+}
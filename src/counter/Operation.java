@@ -0,0 +1,46 @@
+package counter;
+
+/**
+ * The kinds of operations an {@link OperationCounter} tracks.
+ * The ordinal of each constant is its slot in the counter's array.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+public enum Operation {
+    COMPARISONS("comparisons"),
+    SWAPS("swaps"),
+    /**
+     * A table rebuilt with new hash functions because a key could not be placed.
+     */
+    REHASHES("rehashes");
+
+    private static final Operation[] VALUES = values();
+
+    private final String myName;
+
+    Operation(String theName) {
+        myName = theName;
+    }
+
+    /**
+     * @return the lower case name used in reports, ie: "comparisons".
+     */
+    public String getName() {
+        return myName;
+    }
+
+    /**
+     * Looks up an operation by its report name.
+     * @param theName the name of the operation ie: "comparisons" or "swaps".
+     * @return the matching operation.
+     * @throws IllegalArgumentException if no operation has that name.
+     */
+    public static Operation fromName(String theName) {
+        for (Operation operation : VALUES) {
+            if (operation.myName.equals(theName)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported operation: " + theName);
+    }
+}
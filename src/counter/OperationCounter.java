@@ -1,90 +1,177 @@
 package counter;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * A utility class that stores the number of times
- * a given operation was performed using a HashMap.
+ * a given {@link Operation} was performed.
+ * <p>
+ * Counts are kept in a {@code long[]} indexed by the operation's ordinal,
+ * so incrementing is a single array write with no hashing, boxing or allocation.
+ * Use {@link ConcurrentOperationCounter} when several threads share a counter.
+ * </p>
+ * Counting can be turned off in two ways:
+ * <ul>
+ *     <li>{@link #setCountingEnabled(boolean)} pauses every counter at runtime,
+ *     which lets a benchmark time the same containers with and without counting.</li>
+ *     <li>Running with {@code -Dsoas.countOperations=false} makes {@link #create()}
+ *     hand out the shared {@link NoOpOperationCounter}, whose empty methods the JIT
+ *     inlines away, compiling counting out entirely for production runs.</li>
+ * </ul>
  * @author Chris Chun, Ayush
- * @version 1.2
+ * @version 2.0
  */
 public class OperationCounter implements Counter {
 
-    // @NOTE maybe String is too flexible as a key for tracking operations.
-    // Maybe we should declare an Enum of the supported operation types
-    // that way if the developer does something like put("add",5) vs put("Add",5)
-    // they do not get treated as different operations.
-    // Although this can be solved by scrubbing the key before insertion into the set
-    // it doesn't prevent say (Add data) being treated differently then add.
-    // just for consideration. 
+    /**
+     * False when the JVM was started with {@code -Dsoas.countOperations=false}.
+     */
+    public static final boolean COUNTING_ENABLED =
+            !"false".equalsIgnoreCase(System.getProperty("soas.countOperations"));
 
     /**
-     * Map containing operation, ie "comparison", or "swap" and their
-     * corresponding count.
+     * Runtime switch shared by every counter, see {@link #setCountingEnabled(boolean)}.
      */
-    final private Map<String, Integer> counts;
+    private static boolean ourCountingEnabled = true;
 
+    /**
+     * count of each operation indexed by {@link Operation#ordinal()}.
+     */
+    private final long[] counts;
 
     public OperationCounter() {
-        counts = new HashMap<>();
+        counts = new long[Operation.values().length];
+    }
+
+    // ======================  factories ===========================
+
+    /**
+     * @return a new single threaded counter, or the shared no-op counter
+     * if counting was disabled with {@code -Dsoas.countOperations=false}.
+     */
+    public static OperationCounter create() {
+        return COUNTING_ENABLED ? new OperationCounter() : NoOpOperationCounter.INSTANCE;
+    }
+
+    /**
+     * @return a new thread safe counter, or the shared no-op counter
+     * if counting was disabled with {@code -Dsoas.countOperations=false}.
+     */
+    public static OperationCounter createConcurrent() {
+        return COUNTING_ENABLED ? new ConcurrentOperationCounter() : NoOpOperationCounter.INSTANCE;
+    }
+
+    /**
+     * Pauses or resumes counting for every counter.
+     * @param theEnabled false to stop counting, true to resume.
+     */
+    public static void setCountingEnabled(boolean theEnabled) {
+        ourCountingEnabled = theEnabled;
+    }
+
+    /**
+     * @return true if counters are currently counting.
+     */
+    public static boolean isCountingEnabled() {
+        return ourCountingEnabled;
+    }
+
+    // ======================  counting ===========================
+
+    /**
+     * Adds 1 to the count for an operation.
+     * @param theOperation the operation performed.
+     */
+    public void increment(Operation theOperation) {
+        if (ourCountingEnabled) {
+            counts[theOperation.ordinal()]++;
+        }
+    }
+
+    /**
+     * Adds the specified count to the operation.
+     * @param theOperation the operation performed.
+     * @param theCount the value you wish to increment the operation count by.
+     */
+    public void increment(Operation theOperation, long theCount) {
+        if (ourCountingEnabled) {
+            counts[theOperation.ordinal()] += theCount;
+        }
+    }
+
+    /**
+     * Gets how many times an operation was counted.
+     * @param theOperation the operation to check.
+     * @return number of times counted.
+     */
+    public long getCount(Operation theOperation) {
+        return counts[theOperation.ordinal()];
+    }
+
+    /**
+     * Sets one operation back to 0.
+     * @param theOperation the operation to reset.
+     */
+    public void reset(Operation theOperation) {
+        counts[theOperation.ordinal()] = 0;
     }
 
+    /**
+     * Clears all counts and starts over.
+     */
+    public void resetAll() {
+        Arrays.fill(counts, 0);
+    }
+
+    // ======================  named operations ===========================
+
     /**
      * Adds 1 to the count for an operation.
      * @param operationName name of the operation like "comparisons" or "swaps"
+     * @see #increment(Operation)
      */
     public void increment(String operationName) {
-        if (counts.containsKey(operationName)) {
-            counts.put(operationName, counts.get(operationName) + 1);
-        } else {
-            counts.put(operationName, 1);
-        }
+        increment(Operation.fromName(operationName));
     }
 
     /**
      * Adds the specified count to the operation.
      * @param operationName name of the operation ie: "comparisons" or "swaps
      * @param count the integer value you wish to increment the operation count by.
+     * @see #increment(Operation, long)
      */
     public void increment(String operationName, int count){
-        counts.merge(operationName, count, Integer::sum);
+        increment(Operation.fromName(operationName), count);
     }
 
     /**
      * Gets how many times an operation was counted.
      * @param operationName name of the operation to check
-     * @return number of times counted, or 0 if not found
+     * @return number of times counted
+     * @see #getCount(Operation)
      */
     public int getCount(String operationName) {
-        if (counts.containsKey(operationName)) {
-            return counts.get(operationName);
-        }
-        return 0;
+        return (int) getCount(Operation.fromName(operationName));
     }
 
     /**
      * Sets one operation back to 0.
      * @param operationName name of the operation to reset
+     * @see #reset(Operation)
      */
     public void reset(String operationName) {
-        counts.put(operationName, 0);
+        reset(Operation.fromName(operationName));
     }
 
-    /**
-     * Clears all counts and starts over.
-     */
-    public void resetAll() {
-        counts.clear();
-    }
+    // ======================  reporting ===========================
 
     /**
      * Prints all operations and their counts.
      */
     public void printReport() {
         System.out.println("\n--- Operation Counts ---");
-        for (String op : counts.keySet()) {
-            System.out.println(op + ": " + counts.get(op));
+        for (Operation op : Operation.values()) {
+            System.out.println(op.getName() + ": " + getCount(op));
         }
         System.out.println("------------------------\n");
     }
@@ -99,11 +186,11 @@ public class OperationCounter implements Counter {
         resetAll();
         theTask.run();
         // return total of all operations counted
-        int total = 0;
-        for (int count : counts.values()) {
-            total += count;
+        long total = 0;
+        for (Operation op : Operation.values()) {
+            total += getCount(op);
         }
-        return total;
+        return (int) total;
     }
 
-}
\ No newline at end of file
+}
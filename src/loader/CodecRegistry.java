@@ -0,0 +1,115 @@
+package loader;
+
+import types.*;
+import util.HashTable;
+
+/**
+ * The {@link RecordCodec} of every {@link DataType} the {@link DataLoader} can read.
+ * <p>
+ * The csv types are registered here, a new record type only needs its own
+ * {@link #register(RecordCodec)} call instead of another branch in the loader.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class CodecRegistry {
+
+    @SuppressWarnings("unchecked")
+    private static final HashTable<Class<?>, RecordCodec<?>> CODECS = new HashTable<>(
+            (Class<Class<?>>) (Class<?>) Class.class,
+            (Class<RecordCodec<?>>) (Class<?>) RecordCodec.class);
+
+    static {
+        register(new RecordCodec<>(Player.class,
+                "player_id,name,position,jersey,yards",
+                row -> new Player(
+                        row.readInt(),      // player_id
+                        row.readString(),   // name
+                        row.readString(),   // position
+                        row.readInt(),      // jersey
+                        row.readInt())));   // yards
+
+        register(new RecordCodec<>(Drill.class,
+                "drill_id,name,urgency,duration_min,fatigue_cost,install_by_day",
+                row -> new Drill(
+                        row.readInt(),      // drill_id
+                        row.readString(),   // name
+                        row.readInt(),      // urgency
+                        row.readInt(),      // duration_min
+                        row.readInt(),      // fatigue_cost
+                        row.readInt())));   // install_by_day
+
+        register(new RecordCodec<>(Transaction.class,
+                "trans_id,type,player,timestamp",
+                row -> new Transaction(
+                        row.readInt(),      // trans_id
+                        row.readString(),   // type
+                        row.readString(),   // player
+                        row.readString()))); // timestamp
+
+        register(new RecordCodec<>(Action.class,
+                "action_id,action_type,target,timestamp",
+                row -> new Action(
+                        row.readInt(),                      // action_id
+                        row.readEnum(ActionType.values()),  // action_type
+                        row.readString(),                   // target
+                        row.readString())));                // timestamp
+
+        register(new RecordCodec<>(FanRequest.class,
+                "fan_id,name,service_type,arrival_time",
+                row -> new FanRequest(
+                        row.readInt(),      // fan_id
+                        row.readString(),   // name
+                        row.readString(),   // service_type
+                        row.readString()))); // arrival_time
+
+        register(new RecordCodec<>(PlayerEnhanced.class,
+                "playerId,name,position,yards,touchdowns,injured",
+                row -> new PlayerEnhanced(
+                        row.readInt(),                      // player_id
+                        row.readString(),                   // name
+                        row.readEnum(Position.values()),    // position
+                        row.readInt(),                      // yards
+                        row.readInt(),                      // touchdowns
+                        row.readBoolean())));               // injured
+    }
+
+    private CodecRegistry() {
+        super();
+    }
+
+    /**
+     * Registers the codec for its type, replacing any codec the type already had.
+     * @param theCodec the codec to use for {@code theCodec.type()}.
+     * @throws IllegalArgumentException if theCodec is null.
+     */
+    public static synchronized <T extends DataType> void register(RecordCodec<T> theCodec) {
+        if (theCodec == null) {
+            throw new IllegalArgumentException("Codec cannot be null");
+        }
+        CODECS.put(theCodec.type(), theCodec);
+    }
+
+    /**
+     * @param theDataClass a record type.
+     * @return true if a codec is registered for theDataClass.
+     */
+    public static synchronized boolean isSupported(Class<? extends DataType> theDataClass) {
+        return CODECS.containsKey(theDataClass);
+    }
+
+    /**
+     * @param theDataClass a record type.
+     * @return the codec registered for theDataClass.
+     * @throws IllegalArgumentException if no codec is registered for theDataClass.
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <T extends DataType> RecordCodec<T> forType(Class<T> theDataClass) {
+        RecordCodec<?> codec = theDataClass == null ? null : CODECS.get(theDataClass);
+        if (codec == null) {
+            throw new IllegalArgumentException(
+                    (theDataClass == null ? "null" : theDataClass.getName()) + " is not a supported data type");
+        }
+        return (RecordCodec<T>) codec;
+    }
+}
@@ -0,0 +1,91 @@
+package loader;
+
+/**
+ * A {@link CsvRow} over a single line of text.
+ * <p>
+ * Fields are found by scanning for {@code ','} instead of
+ * {@link String#split(String)}, so reading a row allocates no array and
+ * numeric and enum columns allocate nothing at all. One instance is reused
+ * for every line of a file through {@link #reset(String)}.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class CsvLine implements CsvRow {
+
+    private static final String MALFORMED = "Encountered malformed column input in the csv.";
+
+    private String myLine = "";
+
+    /**
+     * index of the next field, past the end of the line once every field is read.
+     */
+    private int myPosition;
+
+    public CsvLine() {
+        super();
+    }
+
+    /**
+     * Starts reading a new line from its first field.
+     * @param theLine a comma separated string of values.
+     * @return this row.
+     */
+    public CsvLine reset(String theLine) {
+        myLine = theLine;
+        myPosition = 0;
+        return this;
+    }
+
+    @Override
+    public int readInt() {
+        int end = fieldEnd();
+        int value = Integer.parseInt(myLine, myPosition, end, 10);
+        myPosition = end + 1;
+        return value;
+    }
+
+    @Override
+    public String readString() {
+        int end = fieldEnd();
+        String field = myLine.substring(myPosition, end);
+        myPosition = end + 1;
+        return field;
+    }
+
+    @Override
+    public boolean readBoolean() {
+        int end = fieldEnd();
+        boolean result = end - myPosition == 4 && myLine.regionMatches(true, myPosition, "true", 0, 4);
+        myPosition = end + 1;
+        return result;
+    }
+
+    @Override
+    public <E extends Enum<E>> E readEnum(E[] theConstants) {
+        int end = fieldEnd();
+        int length = end - myPosition;
+        for (E constant : theConstants) {
+            String name = constant.name();
+            if (name.length() == length && myLine.startsWith(name, myPosition)) {
+                myPosition = end + 1;
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("No enum constant " + myLine.substring(myPosition, end));
+    }
+
+    // ====================   private helper methods =========================
+
+    /**
+     * @return the index one past the current field.
+     * @throws IllegalArgumentException if the row has no more fields.
+     */
+    private int fieldEnd() {
+        if (myPosition > myLine.length()) {
+            throw new IllegalArgumentException(MALFORMED);
+        }
+        int comma = myLine.indexOf(',', myPosition);
+        return comma < 0 ? myLine.length() : comma;
+    }
+}
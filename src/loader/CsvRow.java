@@ -0,0 +1,39 @@
+package loader;
+
+/**
+ * One row of a csv file read field by field, left to right.
+ * <p>
+ * A {@link RecordCodec} decodes a row through this interface, so the same
+ * codec works for a row read as a {@code String} ({@link CsvLine}) and for a
+ * row read straight from a memory mapped file ({@link MappedCsvReader}).
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public interface CsvRow {
+
+    /**
+     * Parses the next field as a base 10 int.
+     * @throws IllegalArgumentException if the row has no more fields or the field is not a number.
+     */
+    int readInt();
+
+    /**
+     * @return the next field as a String.
+     * @throws IllegalArgumentException if the row has no more fields.
+     */
+    String readString();
+
+    /**
+     * Parses the next field like {@link Boolean#parseBoolean(String)}.
+     * @throws IllegalArgumentException if the row has no more fields.
+     */
+    boolean readBoolean();
+
+    /**
+     * Matches the next field against the constant names.
+     * @param theConstants the values of the enum, ie: {@code Position.values()}.
+     * @throws IllegalArgumentException if the field is not the name of a constant.
+     */
+    <E extends Enum<E>> E readEnum(E[] theConstants);
+}
@@ -1,10 +1,16 @@
 package loader;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 
-import types.*;
+import types.DataType;
+import util.ArrayStore;
+import util.BinaryHeapPQ;
 import util.DataContainer;
 
 /**
@@ -14,12 +20,14 @@ import util.DataContainer;
  * underlying storage mechanism. It can populate any structure that implements
  * {@link DataContainer}, whether it be an array-based store, a linked list,
  * or a LIFO/FIFO structure.</p>
- * * <p>The loader uses the {@code dataClass} to reflectively cast parsed
- * objects, ensuring strict type safety at runtime without the need for
- * specialized loader subclasses.</p>
+ * * <p>The loader looks up the {@link RecordCodec} of its {@code dataClass} in the
+ * {@link CodecRegistry} once per load, the codec checks the header and parses
+ * every row, so no specialized loader subclasses are needed.</p>
+ * * <p>{@link #forEachRow(String, Consumer)} streams the parsed rows to a consumer
+ * instead, for callers that keep the rows in a structure of their own.</p>
  *
  * @author Chris Chun, Ayush
- * @version 1.3
+ * @version 1.7
  * @param <T> The {@link DataType} this loader is configured to handle.
  */
 public class DataLoader <T extends DataType> {
@@ -27,14 +35,51 @@ public class DataLoader <T extends DataType> {
     public static final String ANSI_GREEN = "\u001B[32m";
     public static final String ANSI_RESET = "\u001B[0m";
 
+    /**
+     * {@link LoadMode#PARALLEL} never splits a file into chunks smaller than this.
+     */
+    static final long MIN_CHUNK_BYTES = 16 * 1024;
+
     private final Supplier<DataContainer<T>> myContainerSupplier;
     private final Class<T> myDataClass;
+    private final LoadMode myLoadMode;
+    private final int myParallelism;
 
     public DataLoader(Class<T> theDataClass, Supplier<DataContainer<T>> theSupplier){
+        this(theDataClass, theSupplier, LoadMode.BUFFERED);
+    }
+
+    /**
+     * @param theDataClass the type of the rows in the csv.
+     * @param theSupplier supplies the empty container the rows are loaded into.
+     * @param theLoadMode how the csv file is read.
+     */
+    public DataLoader(Class<T> theDataClass, Supplier<DataContainer<T>> theSupplier, LoadMode theLoadMode){
+        this(theDataClass, theSupplier, theLoadMode, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param theDataClass the type of the rows in the csv.
+     * @param theSupplier supplies the empty container the rows are loaded into.
+     * @param theLoadMode how the csv file is read.
+     * @param theParallelism the most threads {@link LoadMode#PARALLEL} parses with.
+     */
+    public DataLoader(Class<T> theDataClass,
+                      Supplier<DataContainer<T>> theSupplier,
+                      LoadMode theLoadMode,
+                      int theParallelism){
         super();
         myContainerSupplier = theSupplier;
         myDataClass = theDataClass;
+        myLoadMode = theLoadMode;
+        myParallelism = theParallelism;
         validateConstructor(theDataClass, theSupplier);
+        if (theLoadMode == null) {
+            throw new IllegalArgumentException("Load mode cannot be null");
+        }
+        if (theParallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
     }
 
     private static final Logger logger = Logger.getLogger(DataLoader.class.getName());
@@ -52,85 +97,12 @@ public class DataLoader <T extends DataType> {
         return myContainerSupplier.get().getClass();
     }
 
-    /**
-     * Parses Data from a csv row into its corresponding data type.
-     * @param theCsvRow a comma separated string of values.
-     * @return A DataType object either: Player, Drills, or Transaction
-     */
-    private T parseData(String theCsvRow)
-            throws IllegalArgumentException {
-
-        String[] row = theCsvRow.split(",");
-
-        Object result;
-
-        try {
-            if (myDataClass == Player.class) {
-
-                result = new Player(
-                        Integer.parseInt(row[0]),  // player_id
-                        row[1],                    // name
-                        row[2],                    // position
-                        Integer.parseInt(row[3]),  // jersey
-                        Integer.parseInt(row[4])); // yards
-            }else
-            if(myDataClass == Drill.class) {
-
-                result = new Drill(
-                        Integer.parseInt(row[0]), // drill_id
-                        row[1],                   // name
-                        Integer.parseInt(row[2]), // urgency
-                        Integer.parseInt(row[3]), // duration_min
-                        Integer.parseInt(row[4]), // fatigue_cost
-                        Integer.parseInt(row[5])  // install_by_day
-                        );
-
-            }else
-            if (myDataClass == Transaction.class) {
-
-                result = new Transaction(
-                        Integer.parseInt(row[0]), // trans_id
-                        row[1],                   // type
-                        row[2],                   // player
-                        row[3]);                  // timestamp
-
-            }else
-            if (myDataClass == Action.class){
-
-                result = new Action(
-                        Integer.parseInt(row[0]),   // action_id
-                        ActionType.valueOf(row[1]), // action_type
-                        row[2],                     // target
-                        row[3]);                    // timestamp
-
-            }else
-            if (myDataClass == FanRequest.class) {
-                result = new FanRequest(
-                        Integer.parseInt(row[0]),  // fan_id
-                        row[1],                    // name
-                        row[2],                    // service_type
-                        row[3]);                   // arrival_time
-            }else
-            if (myDataClass == PlayerEnhanced.class) {
-                result = new PlayerEnhanced(
-                        Integer.parseInt(row[0]),       // player_id
-                        row[1],                         // name
-                        Position.valueOf(row[2]),       // position
-                        Integer.parseInt(row[3]),       // yards
-                        Integer.parseInt(row[4]),       // touchdowns
-                        Boolean.parseBoolean(row[5]));  // injured
-            }
-            else {
-
-                throw new IllegalArgumentException(myDataClass.getName() + " is not a supported data type");
-            }
-
-        }catch(IndexOutOfBoundsException e) {
-
-            throw new IllegalArgumentException("Encountered malformed column input in the csv.");
-        }
+    public LoadMode getLoadMode() {
+        return myLoadMode;
+    }
 
-        return myDataClass.cast(result);
+    public int getParallelism() {
+        return myParallelism;
     }
 
     /**
@@ -143,6 +115,55 @@ public class DataLoader <T extends DataType> {
             throws IllegalArgumentException, IOException{
 
         DataContainer<T> dataContainer = myContainerSupplier.get();
+        if (myLoadMode == LoadMode.PARALLEL && dataContainer instanceof BinaryHeapPQ<T> heap) {
+            // heapify all the rows at once instead of sifting up one at a time.
+            heap.buildHeap(loadParallel(theFilePath));
+            return dataContainer;
+        }
+
+        forEachRow(theFilePath, dataContainer::add);
+        return dataContainer;
+    }
+
+    /**
+     * Streams the rows of a csv file to a consumer as they are parsed, in file order,
+     * so the caller can insert them straight into its own structure without the
+     * whole file ever sitting in an intermediate container.
+     * <p>
+     * {@link LoadMode#BUFFERED} and {@link LoadMode#MAPPED} hand over every row as
+     * soon as it is parsed. {@link LoadMode#PARALLEL} hands over a chunk's rows once
+     * that chunk is parsed and then drops the chunk, so at most the chunks parsed
+     * ahead of the consumer are held.
+     * </p>
+     * If the file is malformed the rows before the bad row have already been consumed.
+     * @param theFilePath a string path to resource csv file.
+     * @param theConsumer receives each row, on the calling thread.
+     * @throws IllegalArgumentException if the file is empty, has the wrong header or a malformed row.
+     * @throws FileNotFoundException if the file does not exist.
+     */
+    public void forEachRow(String theFilePath, Consumer<? super T> theConsumer)
+            throws IllegalArgumentException, IOException {
+
+        if (theConsumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        RecordCodec<T> codec = CodecRegistry.forType(myDataClass);
+        switch (myLoadMode) {
+            case BUFFERED -> streamBuffered(theFilePath, codec, theConsumer);
+            case MAPPED -> streamMapped(theFilePath, codec, theConsumer);
+            case PARALLEL -> forEachChunk(theFilePath, codec, chunk -> {
+                for (T row : chunk) {
+                    theConsumer.accept(row);
+                }
+            });
+        }
+    }
+
+    /**
+     * Streams a csv file read line by line through a {@link BufferedReader}.
+     */
+    private void streamBuffered(String theFilePath, RecordCodec<T> theCodec, Consumer<? super T> theConsumer)
+            throws IllegalArgumentException, IOException {
 
         try(BufferedReader br = new BufferedReader(new FileReader(theFilePath))){
 
@@ -152,44 +173,188 @@ public class DataLoader <T extends DataType> {
                 throw new IllegalArgumentException("the CSV is empty");
             }
 
-            validateHeaders(headerColumns, theFilePath);
+            validateHeaders(theCodec, headerColumns, theFilePath);
 
+            CsvLine line = new CsvLine();
             String nextLine;
             while ( (nextLine = br.readLine()) != null) {
+                T row;
                 try {
 
-                    dataContainer.add(parseData(nextLine));
+                    row = theCodec.decode(line.reset(nextLine));
 
                 } catch (IllegalArgumentException e) {
-                    // Catch errors from parseData (bad columns, bad numbers)
+                    // Catch errors from the codec (bad columns, bad numbers)
                     logger.severe("Data error in " + theFilePath + ": " + e.getMessage());
                     throw new IllegalArgumentException("File " + theFilePath + " is malformed.", e);
                 }
+                theConsumer.accept(row);
+            }
+        } catch (FileNotFoundException e) {
+            logger.severe(e.getMessage());
+            throw new FileNotFoundException("");
+        }
+    }
+
+    /**
+     * Streams a csv file through a {@link MappedCsvReader}.
+     */
+    private void streamMapped(String theFilePath, RecordCodec<T> theCodec, Consumer<? super T> theConsumer)
+            throws IllegalArgumentException, IOException {
+
+        try (MappedCsvReader reader = new MappedCsvReader(theFilePath)) {
 
+            // see if csv is empty
+            if (!reader.nextRow()) {
+                throw new IllegalArgumentException("the CSV is empty");
+            }
+
+            validateHeaders(theCodec, reader.restOfRow(), theFilePath);
+
+            while (reader.nextRow()) {
+                T row;
+                try {
+
+                    row = theCodec.decode(reader);
+
+                } catch (IllegalArgumentException e) {
+                    // Catch errors from the codec (bad columns, bad numbers)
+                    logger.severe("Data error in " + theFilePath + ": " + e.getMessage());
+                    throw new IllegalArgumentException("File " + theFilePath + " is malformed.", e);
+                }
+                theConsumer.accept(row);
             }
         } catch (FileNotFoundException e) {
             logger.severe(e.getMessage());
             throw new FileNotFoundException("");
         }
+    }
 
-        return dataContainer;
+    /**
+     * Loads every row of a csv file into an {@link ArrayStore} in file order,
+     * regardless of the container this loader supplies. Useful to feed
+     * {@link BinaryHeapPQ#buildHeap(ArrayStore)}.
+     * @param theFilePath a string path to resource csv file.
+     * @return an array of the rows.
+     */
+    public ArrayStore<T> loadArray(String theFilePath)
+            throws IllegalArgumentException, IOException {
+        if (myLoadMode == LoadMode.PARALLEL) {
+            return loadParallel(theFilePath);
+        }
+        ArrayStore<T> rows = new ArrayStore<>(myDataClass);
+        forEachRow(theFilePath, rows::add);
+        return rows;
+    }
+
+    /**
+     * Parses the whole file with {@link #forEachChunk(String, RecordCodec, Consumer)} and
+     * appends the chunks in file order.
+     * @param theFilePath a string path to resource csv file.
+     * @return an array of the rows in file order.
+     */
+    private ArrayStore<T> loadParallel(String theFilePath)
+            throws IllegalArgumentException, IOException {
+        ArrayStore<T> rows = new ArrayStore<>(myDataClass);
+        forEachChunk(theFilePath, CodecRegistry.forType(myDataClass), rows::append);
+        return rows;
+    }
+
+    /**
+     * Splits the file into byte ranges that start and end on row boundaries,
+     * parses each range into its own {@link ArrayStore} on a {@link ForkJoinPool}
+     * and hands the chunks to the consumer in file order. A chunk is released
+     * as soon as it has been consumed.
+     * @param theFilePath a string path to resource csv file.
+     * @param theCodec parses the rows.
+     * @param theChunkConsumer receives each chunk, on the calling thread.
+     */
+    private void forEachChunk(String theFilePath,
+                              RecordCodec<T> theCodec,
+                              Consumer<ArrayStore<T>> theChunkConsumer)
+            throws IllegalArgumentException, IOException {
+
+        try (FileChannel channel = MappedCsvReader.open(theFilePath)) {
+
+            long dataStart;
+            try (MappedCsvReader header = new MappedCsvReader(channel, 0, -1, MappedCsvReader.MAX_WINDOW)) {
+                // see if csv is empty
+                if (!header.nextRow()) {
+                    throw new IllegalArgumentException("the CSV is empty");
+                }
+                validateHeaders(theCodec, header.restOfRow(), theFilePath);
+                dataStart = header.nextRowOffset();
+            }
+
+            long dataBytes = channel.size() - dataStart;
+            int chunks = (int) Math.max(1, Math.min(myParallelism, dataBytes / MIN_CHUNK_BYTES));
+            long[] boundaries = new long[chunks + 1];
+            boundaries[0] = dataStart;
+            for (int i = 1; i < chunks; i++) {
+                boundaries[i] = Math.max(boundaries[i - 1],
+                        MappedCsvReader.alignToRow(channel, dataStart + dataBytes * i / chunks));
+            }
+            boundaries[chunks] = channel.size();
+
+            try (ForkJoinPool pool = new ForkJoinPool(chunks)) {
+                ForkJoinTask<ArrayStore<T>>[] tasks = newTasks(chunks);
+                for (int i = 0; i < chunks; i++) {
+                    long start = boundaries[i];
+                    long end = boundaries[i + 1];
+                    tasks[i] = pool.submit(() -> parseChunk(channel, start, end, theCodec, theFilePath));
+                }
+
+                // join in submission order so the rows keep their file order.
+                for (int i = 0; i < chunks; i++) {
+                    ArrayStore<T> chunk = tasks[i].join();
+                    tasks[i] = null;
+                    theChunkConsumer.accept(chunk);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+        } catch (FileNotFoundException e) {
+            logger.severe(e.getMessage());
+            throw new FileNotFoundException("");
+        }
     }
 
-    private void validateHeaders(String theHeaderRow, String theFilePath){
-        boolean isValid = false;
-        theHeaderRow = theHeaderRow.trim();
+    /**
+     * Parses the rows in the byte range [theStart, theEnd).
+     */
+    private ArrayStore<T> parseChunk(FileChannel theChannel,
+                                     long theStart,
+                                     long theEnd,
+                                     RecordCodec<T> theCodec,
+                                     String theFilePath) {
+        // ~30 bytes per row is a good first guess for our csv files.
+        ArrayStore<T> rows = new ArrayStore<>(myDataClass, (int) Math.max(16, (theEnd - theStart) / 30));
+        try (MappedCsvReader reader = new MappedCsvReader(theChannel, theStart, theEnd, MappedCsvReader.MAX_WINDOW)) {
+            while (reader.nextRow()) {
+                try {
 
-        switch (myDataClass.getSimpleName()) {
-            case "Player" -> isValid = theHeaderRow.equals("player_id,name,position,jersey,yards");
-            case "Transaction" -> isValid = theHeaderRow.equals("trans_id,type,player,timestamp");
-            case "Drill" -> isValid = theHeaderRow.equals("drill_id,name,urgency,duration_min,fatigue_cost,install_by_day");
-            case "Action" -> isValid = theHeaderRow.equals("action_id,action_type,target,timestamp");
-            case "FanRequest" -> isValid = theHeaderRow.equals("fan_id,name,service_type,arrival_time");
-            case "PlayerEnhanced" -> isValid = theHeaderRow.equals("playerId,name,position,yards,touchdowns,injured");
-            default -> throw new RuntimeException("Unsupported DataType for loader");
+                    rows.add(theCodec.decode(reader));
+
+                } catch (IllegalArgumentException e) {
+                    // Catch errors from the codec (bad columns, bad numbers)
+                    logger.severe("Data error in " + theFilePath + ": " + e.getMessage());
+                    throw new IllegalArgumentException("File " + theFilePath + " is malformed.", e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return rows;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <R> ForkJoinTask<R>[] newTasks(int theLength) {
+        return (ForkJoinTask<R>[]) new ForkJoinTask[theLength];
+    }
 
-        if (!isValid) {
+    private void validateHeaders(RecordCodec<T> theCodec, String theHeaderRow, String theFilePath){
+        if (!theCodec.matchesHeader(theHeaderRow)) {
             throw new IllegalArgumentException(
                     "\nThe CSV data does match the expected header for " +
                             myDataClass.getSimpleName() + " please check the " +
@@ -197,4 +362,4 @@ public class DataLoader <T extends DataType> {
             );
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package loader;
+
+/**
+ * How a {@link DataLoader} reads a csv file.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+public enum LoadMode {
+    /**
+     * Reads line by line with a {@link java.io.BufferedReader} and scans
+     * each line field by field through a reused {@link CsvLine},
+     * only the line itself and text columns become Strings.
+     */
+    BUFFERED,
+    /**
+     * Memory maps the file and parses fields straight from the mapped bytes,
+     * only text columns become Strings.
+     */
+    MAPPED,
+    /**
+     * Splits the mapped file into chunks of whole rows and parses the chunks
+     * in parallel, the rows are still added to the container in file order.
+     */
+    PARALLEL
+}
@@ -0,0 +1,352 @@
+package loader;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a csv file through a memory mapped {@link FileChannel} one row at a time.
+ * <p>
+ * Rows are found by scanning the mapped bytes for {@code '\n'} and fields by
+ * scanning for {@code ','}; no line {@code String} is ever built. Numeric and
+ * enum columns are parsed straight from the bytes, only text columns are
+ * decoded into a {@code String}.
+ * </p>
+ * Files larger than a single mapping (2GB) are mapped in windows, each new
+ * window starting at the first row the previous one did not hold completely.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+final class MappedCsvReader implements CsvRow, Closeable {
+
+    /**
+     * Largest window mapped at once, a {@link MappedByteBuffer} is int indexed.
+     */
+    static final long MAX_WINDOW = Integer.MAX_VALUE;
+
+    private static final String MALFORMED = "Encountered malformed column input in the csv.";
+
+    private final FileChannel myChannel;
+
+    /**
+     * true if this reader opened the channel and must close it.
+     */
+    private final boolean myOwnsChannel;
+
+    /**
+     * the file offset one past the last byte this reader may read.
+     */
+    private final long myEnd;
+
+    private final long myWindowSize;
+
+    private MappedByteBuffer myWindow;
+
+    /**
+     * file offset of myWindow's first byte.
+     */
+    private long myWindowStart;
+
+    /**
+     * position of the next field in the window.
+     */
+    private int myPosition;
+
+    /**
+     * end of the current row in the window, excluding the line break.
+     */
+    private int myRowEnd;
+
+    /**
+     * start of the row after the current one in the window.
+     */
+    private int myNextRow;
+
+    /**
+     * scratch space for decoding text columns.
+     */
+    private byte[] myScratch = new byte[64];
+
+    /**
+     * Maps a whole file.
+     * @param theFilePath the csv file.
+     * @throws FileNotFoundException if the file does not exist.
+     */
+    MappedCsvReader(String theFilePath) throws IOException {
+        this(open(theFilePath), 0, -1, MAX_WINDOW, true);
+    }
+
+    /**
+     * Maps the bytes [theStart, theEnd) of a channel. The range must start at
+     * the beginning of a row, closing the reader does not close the channel.
+     * @param theChannel an open channel.
+     * @param theStart the file offset of the first row.
+     * @param theEnd the file offset one past the last row, or -1 for the end of the file.
+     * @param theWindowSize the most bytes to map at once.
+     */
+    MappedCsvReader(FileChannel theChannel, long theStart, long theEnd, long theWindowSize) throws IOException {
+        this(theChannel, theStart, theEnd, theWindowSize, false);
+    }
+
+    private MappedCsvReader(FileChannel theChannel,
+                            long theStart,
+                            long theEnd,
+                            long theWindowSize,
+                            boolean theOwnsChannel) throws IOException {
+        myChannel = theChannel;
+        myOwnsChannel = theOwnsChannel;
+        myEnd = theEnd < 0 ? theChannel.size() : theEnd;
+        myWindowSize = theWindowSize;
+        map(theStart);
+    }
+
+    static FileChannel open(String theFilePath) throws IOException {
+        try {
+            return FileChannel.open(Path.of(theFilePath), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(theFilePath);
+        }
+    }
+
+    /**
+     * Moves an offset forward to the start of the row it falls in, unless it
+     * already is the start of a row. Used to split a file into chunks of whole rows.
+     * @param theChannel an open channel.
+     * @param theOffset any offset in the file.
+     * @return the offset of the first row starting at or after theOffset.
+     */
+    static long alignToRow(FileChannel theChannel, long theOffset) throws IOException {
+        if (theOffset == 0) {
+            return 0;
+        }
+        long size = theChannel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        // start one byte early so an offset just after a '\n' stays where it is.
+        long position = theOffset - 1;
+        while (position < size) {
+            buffer.clear();
+            int read = theChannel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    // ======================  rows ===========================
+
+    /**
+     * @return the file offset of the row after the current one.
+     */
+    long nextRowOffset() {
+        return myWindowStart + myNextRow;
+    }
+
+    /**
+     * Moves to the next row.
+     * @return false once every row has been read.
+     * @throws IllegalArgumentException if a single row is larger than the mapping window.
+     */
+    boolean nextRow() throws IOException {
+        if (myWindowStart + myNextRow >= myEnd) {
+            return false;
+        }
+        int newline = indexOfNewline(myNextRow);
+        if (newline < 0 && myWindowStart + myWindow.limit() < myEnd) {
+            // the row continues past this window, remap starting at the row.
+            map(myWindowStart + myNextRow);
+            newline = indexOfNewline(0);
+            if (newline < 0 && myWindowStart + myWindow.limit() < myEnd) {
+                throw new IllegalArgumentException("A csv row is larger than " + myWindowSize + " bytes");
+            }
+        }
+
+        myPosition = myNextRow;
+        int rowEnd = newline < 0 ? myWindow.limit() : newline;
+        myNextRow = newline < 0 ? myWindow.limit() : newline + 1;
+        if (rowEnd > myPosition && myWindow.get(rowEnd - 1) == '\r') {
+            rowEnd--;
+        }
+        myRowEnd = rowEnd;
+        return true;
+    }
+
+    /**
+     * @return the remaining fields of the current row, used for the header row.
+     */
+    String restOfRow() {
+        String row = decode(myPosition, myRowEnd);
+        myPosition = myRowEnd;
+        return row;
+    }
+
+    // ======================  fields ===========================
+
+    /**
+     * Parses the next field as a base 10 int without building a String.
+     * @throws IllegalArgumentException if the row has no more fields or the field is not a number.
+     */
+    @Override
+    public int readInt() {
+        int end = fieldEnd();
+        int i = myPosition;
+        boolean negative = false;
+        if (i < end && (myWindow.get(i) == '-' || myWindow.get(i) == '+')) {
+            negative = myWindow.get(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw new NumberFormatException("Empty number in the csv.");
+        }
+
+        // accumulate as a negative number so Integer.MIN_VALUE fits.
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multiplyMin = limit / 10;
+        int result = 0;
+        for (; i < end; i++) {
+            int digit = myWindow.get(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyMin) {
+                throw new NumberFormatException("For input string: \"" + decode(myPosition, end) + "\"");
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new NumberFormatException("For input string: \"" + decode(myPosition, end) + "\"");
+            }
+            result -= digit;
+        }
+        skipField(end);
+        return negative ? result : -result;
+    }
+
+    /**
+     * Decodes the next field as a UTF-8 String.
+     * @throws IllegalArgumentException if the row has no more fields.
+     */
+    @Override
+    public String readString() {
+        int end = fieldEnd();
+        String field = decode(myPosition, end);
+        skipField(end);
+        return field;
+    }
+
+    /**
+     * Parses the next field like {@link Boolean#parseBoolean(String)}.
+     * @throws IllegalArgumentException if the row has no more fields.
+     */
+    @Override
+    public boolean readBoolean() {
+        int end = fieldEnd();
+        boolean result = end - myPosition == 4
+                && (myWindow.get(myPosition) | 0x20) == 't'
+                && (myWindow.get(myPosition + 1) | 0x20) == 'r'
+                && (myWindow.get(myPosition + 2) | 0x20) == 'u'
+                && (myWindow.get(myPosition + 3) | 0x20) == 'e';
+        skipField(end);
+        return result;
+    }
+
+    /**
+     * Matches the next field against the constant names without building a String.
+     * @param theConstants the values of the enum, ie: {@code Position.values()}.
+     * @throws IllegalArgumentException if the field is not the name of a constant.
+     */
+    @Override
+    public <E extends Enum<E>> E readEnum(E[] theConstants) {
+        int end = fieldEnd();
+        int length = end - myPosition;
+        for (E constant : theConstants) {
+            String name = constant.name();
+            if (name.length() == length && matches(name, myPosition)) {
+                skipField(end);
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("No enum constant " + decode(myPosition, end));
+    }
+
+    /**
+     * Closes the channel if this reader opened it.
+     */
+    @Override
+    public void close() throws IOException {
+        if (myOwnsChannel) {
+            myChannel.close();
+        }
+    }
+
+    // ====================   private helper methods =========================
+
+    private void map(long theStart) throws IOException {
+        myWindowStart = theStart;
+        long size = Math.min(myWindowSize, myEnd - theStart);
+        myWindow = myChannel.map(FileChannel.MapMode.READ_ONLY, theStart, size);
+        myPosition = 0;
+        myRowEnd = 0;
+        myNextRow = 0;
+    }
+
+    private int indexOfNewline(int theFrom) {
+        int limit = myWindow.limit();
+        for (int i = theFrom; i < limit; i++) {
+            if (myWindow.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index one past the current field.
+     * @throws IllegalArgumentException if the row has no more fields.
+     */
+    private int fieldEnd() {
+        if (myPosition > myRowEnd) {
+            throw new IllegalArgumentException(MALFORMED);
+        }
+        for (int i = myPosition; i < myRowEnd; i++) {
+            if (myWindow.get(i) == ',') {
+                return i;
+            }
+        }
+        return myRowEnd;
+    }
+
+    /**
+     * Moves past the delimiter, past the end of the row after the last field.
+     */
+    private void skipField(int theFieldEnd) {
+        myPosition = theFieldEnd + 1;
+    }
+
+    private boolean matches(String theName, int theFrom) {
+        for (int i = 0; i < theName.length(); i++) {
+            if (myWindow.get(theFrom + i) != theName.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decode(int theFrom, int theTo) {
+        int length = theTo - theFrom;
+        if (length > myScratch.length) {
+            myScratch = new byte[Math.max(length, myScratch.length * 2)];
+        }
+        myWindow.get(theFrom, myScratch, 0, length);
+        return new String(myScratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,47 @@
+package loader;
+
+import types.DataType;
+
+import java.util.function.Function;
+
+/**
+ * Describes how one {@link DataType} is stored in a csv file: the exact
+ * header row and a parser that reads the columns of a row in order.
+ * <p>
+ * A codec is looked up once per load through {@link CodecRegistry}, after
+ * that every row is handed straight to {@link #decode(CsvRow)}.
+ * </p>
+ * @param type the record the rows decode to.
+ * @param header the header row of the csv, without a line break.
+ * @param parser reads one row's columns left to right into a record.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ * @param <T> the record type.
+ */
+public record RecordCodec<T extends DataType>(Class<T> type,
+                                              String header,
+                                              Function<CsvRow, T> parser) {
+
+    public RecordCodec {
+        if (type == null || header == null || parser == null) {
+            throw new IllegalArgumentException("A codec needs a type, a header and a parser");
+        }
+    }
+
+    /**
+     * @param theRow a row positioned at its first field.
+     * @return the record the row holds.
+     * @throws IllegalArgumentException if a column is missing or cannot be parsed.
+     */
+    public T decode(CsvRow theRow) {
+        return parser.apply(theRow);
+    }
+
+    /**
+     * @param theHeaderRow the first row of a csv file.
+     * @return true if it is this codec's header, ignoring surrounding whitespace.
+     */
+    public boolean matchesHeader(String theHeaderRow) {
+        return header.equals(theHeaderRow.trim());
+    }
+}
@@ -0,0 +1,271 @@
+package manager;
+
+import util.Dictionary;
+import util.EnumDictionary;
+import util.Entry;
+import util.HashTable;
+
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A sum, count, min or max over the records of a {@link MapManager}, grouped
+ * by a key taken from each record, ie: the total yards per {@link types.Position}.
+ * <p>
+ * Once registered with {@link MapManager#registerAggregate(Aggregate)} the
+ * manager applies every add, remove and replace to it as a delta, so reading
+ * a group is a lookup instead of a scan of every record. A replace is a
+ * remove of the old record and an add of the new one, which also moves a
+ * record whose key changed to its new group. Sums and counts keep one
+ * {@code long} per group. Mins and maxes keep a count of every value in the
+ * group, sorted, so removing the current extreme finds the next one in
+ * O(log n) instead of rescanning the group.
+ * </p>
+ * Reads hold the lock the manager writes under, see {@link Derived}.
+ * Groups are kept in an {@link EnumDictionary} when the key is an enum and a
+ * {@link HashTable} otherwise. A group with no records is not present.
+ * @param <T> the class of the records.
+ * @param <K> the class of the group keys.
+ * @author Chris Chun, Ayush
+ * @version 1.2
+ */
+public final class Aggregate<T, K> extends Derived<T> {
+
+    /**
+     * What an aggregate computes over the values of a group.
+     */
+    public enum Kind {
+        SUM,
+        COUNT,
+        MIN,
+        MAX
+    }
+
+    private final Kind myKind;
+
+    private final Class<K> myKeyClass;
+
+    private final Function<? super T, ? extends K> myGroupBy;
+
+    private final ToLongFunction<? super T> myValue;
+
+    private Dictionary<K, Group> myGroups;
+
+    private Aggregate(Kind theKind,
+                      Class<K> theKeyClass,
+                      Function<? super T, ? extends K> theGroupBy,
+                      ToLongFunction<? super T> theValue) {
+        super();
+        if (theKeyClass == null || theGroupBy == null || theValue == null) {
+            throw new IllegalArgumentException("Aggregate arguments cannot be null");
+        }
+        myKind = theKind;
+        myKeyClass = theKeyClass;
+        myGroupBy = theGroupBy;
+        myValue = theValue;
+        myGroups = newGroups();
+    }
+
+    /**
+     * @param theKeyClass the class of the group keys.
+     * @param theGroupBy the group of a record, must not be null.
+     * @param theValue the value of a record to add up.
+     * @return an aggregate of the sum of theValue per group.
+     * @throws IllegalArgumentException if an argument is null.
+     */
+    public static <T, K> Aggregate<T, K> sum(Class<K> theKeyClass,
+                                             Function<? super T, ? extends K> theGroupBy,
+                                             ToLongFunction<? super T> theValue) {
+        return new Aggregate<>(Kind.SUM, theKeyClass, theGroupBy, theValue);
+    }
+
+    /**
+     * @param theKeyClass the class of the group keys.
+     * @param theGroupBy the group of a record, must not be null.
+     * @return an aggregate of the number of records per group.
+     * @throws IllegalArgumentException if an argument is null.
+     */
+    public static <T, K> Aggregate<T, K> count(Class<K> theKeyClass,
+                                               Function<? super T, ? extends K> theGroupBy) {
+        return new Aggregate<>(Kind.COUNT, theKeyClass, theGroupBy, theRecord -> 1);
+    }
+
+    /**
+     * @param theKeyClass the class of the group keys.
+     * @param theGroupBy the group of a record, must not be null.
+     * @param theValue the value of a record to compare.
+     * @return an aggregate of the smallest value per group.
+     * @throws IllegalArgumentException if an argument is null.
+     */
+    public static <T, K> Aggregate<T, K> min(Class<K> theKeyClass,
+                                             Function<? super T, ? extends K> theGroupBy,
+                                             ToLongFunction<? super T> theValue) {
+        return new Aggregate<>(Kind.MIN, theKeyClass, theGroupBy, theValue);
+    }
+
+    /**
+     * @param theKeyClass the class of the group keys.
+     * @param theGroupBy the group of a record, must not be null.
+     * @param theValue the value of a record to compare.
+     * @return an aggregate of the largest value per group.
+     * @throws IllegalArgumentException if an argument is null.
+     */
+    public static <T, K> Aggregate<T, K> max(Class<K> theKeyClass,
+                                             Function<? super T, ? extends K> theGroupBy,
+                                             ToLongFunction<? super T> theValue) {
+        return new Aggregate<>(Kind.MAX, theKeyClass, theGroupBy, theValue);
+    }
+
+    // ======================  reading ===========================
+
+    public Kind getKind() {
+        return myKind;
+    }
+
+    /**
+     * @param theGroup the group key.
+     * @return true if at least one record is in the group.
+     */
+    public boolean contains(K theGroup) {
+        Lock lock = readLock();
+        lock.lock();
+        try {
+            return myGroups.containsKey(theGroup);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param theGroup the group key.
+     * @return the sum or count of the group, 0 if it has no records,
+     * or the min or max of the group.
+     * @throws NoSuchElementException for the min or max of a group with no records.
+     */
+    public long get(K theGroup) {
+        Lock lock = readLock();
+        lock.lock();
+        try {
+            return value(theGroup, myGroups.get(theGroup));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of groups with at least one record.
+     */
+    public int groups() {
+        Lock lock = readLock();
+        lock.lock();
+        try {
+            return myGroups.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return a new dictionary of every present group and its value.
+     */
+    @SuppressWarnings("unchecked")
+    public Dictionary<K, Long> toDictionary() {
+        Dictionary<K, Long> result = newDictionary(myKeyClass, Long.class);
+        Lock lock = readLock();
+        lock.lock();
+        try {
+            for (Entry<K, Group> entry : (Iterable<Entry<K, Group>>) myGroups) {
+                result.put(entry.key(), value(entry.key(), entry.value()));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    // ======================  maintained by the manager ===========================
+
+    @Override
+    void add(T theRecord) {
+        K key = myGroupBy.apply(theRecord);
+        long value = myValue.applyAsLong(theRecord);
+        Group group = myGroups.computeIfAbsent(key, ignored -> new Group(myKind));
+        group.myCount++;
+        group.mySum += value;
+        if (group.myValues != null) {
+            group.myValues.merge(value, 1, Integer::sum);
+        }
+    }
+
+    @Override
+    void remove(T theRecord) {
+        K key = myGroupBy.apply(theRecord);
+        long value = myValue.applyAsLong(theRecord);
+        Group group = myGroups.get(key);
+        if (group == null) {
+            throw new IllegalStateException("Removed a record the aggregate never saw: " + theRecord);
+        }
+        if (--group.myCount == 0) {
+            myGroups.delete(key);
+            return;
+        }
+        group.mySum -= value;
+        if (group.myValues != null) {
+            group.myValues.computeIfPresent(value, (ignored, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    @Override
+    void clear() {
+        myGroups = newGroups();
+    }
+
+    // ====================   private helper methods =========================
+
+    /**
+     * @return the sum, count, min or max of theGroup, or 0 for the sum or count of a group with no records.
+     * @throws NoSuchElementException for the min or max of a group with no records.
+     */
+    private long value(K theKey, Group theGroup) {
+        if (theGroup == null) {
+            if (myKind == Kind.MIN || myKind == Kind.MAX) {
+                throw new NoSuchElementException("No records in group: " + theKey);
+            }
+            return 0;
+        }
+        return switch (myKind) {
+            case SUM -> theGroup.mySum;
+            case COUNT -> theGroup.myCount;
+            case MIN -> theGroup.myValues.firstKey();
+            case MAX -> theGroup.myValues.lastKey();
+        };
+    }
+
+    private Dictionary<K, Group> newGroups() {
+        return newDictionary(myKeyClass, Group.class);
+    }
+
+    // ====================   utility classes =========================
+
+    /**
+     * The records of one group, summed and counted, with the sorted values for a min or max.
+     */
+    private static final class Group {
+
+        private long myCount;
+
+        private long mySum;
+
+        /**
+         * the number of records of each value, null unless the aggregate is a min or max.
+         */
+        private final TreeMap<Long, Integer> myValues;
+
+        private Group(Kind theKind) {
+            myValues = theKind == Kind.MIN || theKind == Kind.MAX ? new TreeMap<>() : null;
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package manager;
+
+import types.DataType;
+import util.ArrayStore;
+import util.Dictionary;
+import util.HashStrategy;
+import util.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * Bitmap indexes over the records of a {@link MapManager}, for attributes
+ * with few values, ie: {@link types.Position} or whether a player is injured.
+ * <p>
+ * Every record gets a slot, a small int reused after the record is removed,
+ * so the slots stay dense. Each {@link Column} keeps a {@link RoaringBitmap}
+ * of the slots of the records with each value of its attribute. A filter is
+ * a set operation on bitmaps, ie: the injured QBs are
+ * {@code positions.matching(QB).and(injured.matching(true))}, and a count
+ * is the cardinality of a bitmap, neither reads a record. Only
+ * {@link #records(RoaringBitmap)} turns slots back into records. The columns
+ * of one index share the slots, so their bitmaps can be combined.
+ * </p>
+ * Once registered with {@link MapManager#registerBitmapIndex(BitmapIndex)}
+ * the manager passes it every write. A replace keeps the record's slot and
+ * only touches the columns whose attribute changed. The bitmaps returned are copies, and
+ * their slots are only meaningful until the next write. Queries hold the
+ * lock the manager writes under, see {@link Derived}, so the bitmaps are
+ * never read while a write changes them.
+ * @param <T> the class of the records.
+ * @author Chris Chun, Ayush
+ * @version 1.3
+ */
+public final class BitmapIndex<T extends DataType> extends Derived<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Class<T> myRecordClass;
+
+    /**
+     * the slot of each record by id.
+     */
+    private final SlotTable mySlots;
+
+    /**
+     * the record in each slot, null if the slot is free.
+     */
+    private T[] myRecords;
+
+    /**
+     * the slots of every record.
+     */
+    private final RoaringBitmap myLive;
+
+    /**
+     * slots freed by removes, reused last freed first so a replace keeps its slot.
+     */
+    private int[] myFreeSlots;
+
+    private int myFreeCount;
+
+    /**
+     * the number of slots ever handed out, every slot below it is live or free.
+     */
+    private int mySlotCount;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Column<T, ?>[] myColumns = new Column[0];
+
+    /**
+     * Creates an index with no columns.
+     * @param theRecordClass the class of the records.
+     * @throws IllegalArgumentException if theRecordClass is null.
+     */
+    @SuppressWarnings("unchecked")
+    public BitmapIndex(Class<T> theRecordClass) {
+        super();
+        if (theRecordClass == null) {
+            throw new IllegalArgumentException("record class cannot be null");
+        }
+        myRecordClass = theRecordClass;
+        mySlots = new SlotTable();
+        myRecords = (T[]) new DataType[DEFAULT_CAPACITY];
+        myLive = new RoaringBitmap();
+        myFreeSlots = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds a column indexing theAttribute of every record, ie:
+     * {@code index.column(Position.class, PlayerEnhanced::position)}.
+     * The records already indexed are added to it.
+     * @param theKeyClass the class of the attribute.
+     * @param theAttribute the attribute of a record, must not be null.
+     * @return the column, to query.
+     * @throws IllegalArgumentException if an argument is null.
+     */
+    public <K> Column<T, K> column(Class<K> theKeyClass, Function<? super T, ? extends K> theAttribute) {
+        if (theKeyClass == null || theAttribute == null) {
+            throw new IllegalArgumentException("Column arguments cannot be null");
+        }
+        Column<T, K> column = new Column<>(this, theKeyClass, theAttribute);
+        Lock lock = writeLock();
+        lock.lock();
+        try {
+            myLive.forEach(slot -> column.add(myRecords[slot], slot));
+            myColumns = Arrays.copyOf(myColumns, myColumns.length + 1);
+            myColumns[myColumns.length - 1] = column;
+        } finally {
+            lock.unlock();
+        }
+        return column;
+    }
+
+    // ======================  reading ===========================
+
+    /**
+     * @return the number of records indexed.
+     */
+    public int size() {
+        Lock lock = readLock();
+        lock.lock();
+        try {
+            return myLive.cardinality();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return a new bitmap of the slots of every record.
+     */
+    public RoaringBitmap all() {
+        Lock lock = readLock();
+        lock.lock();
+        try {
+            return myLive.copy();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param theSlots slots from this index.
+     * @return a new bitmap of the slots of every record not in theSlots.
+     * @throws IllegalArgumentException if theSlots is null.
+     */
+    public RoaringBitmap not(RoaringBitmap theSlots) {
+        Lock lock = readLock();
+        lock.lock();
+        try {
+            return myLive.andNot(theSlots);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The records with theFirstKey in theFirst column and theSecondKey in
+     * theSecond, intersected without copying either column's bitmap.
+     * @return a new bitmap of the slots of the records matching both.
+     */
+    public <A, B> RoaringBitmap matching(Column<T, A> theFirst, A theFirstKey,
+                                         Column<T, B> theSecond, B theSecondKey) {
+        Lock lock = readLock();
+        lock.lock();
+        try {
+            return theFirst.slots(theFirstKey).and(theSecond.slots(theSecondKey));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of records with theFirstKey in theFirst column and
+     * theSecondKey in theSecond, without building their bitmap.
+     */
+    public <A, B> int count(Column<T, A> theFirst, A theFirstKey,
+                            Column<T, B> theSecond, B theSecondKey) {
+        Lock lock = readLock();
+        lock.lock();
+        try {
+            return theFirst.slots(theFirstKey).andCardinality(theSecond.slots(theSecondKey));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param theSlots slots from this index, since the last write.
+     * @return the records in theSlots, in slot order.
+     * @throws IllegalArgumentException if theSlots is null.
+     */
+    public ArrayStore<T> records(RoaringBitmap theSlots) {
+        if (theSlots == null) {
+            throw new IllegalArgumentException("slots cannot be null");
+        }
+        ArrayStore<T> result = new ArrayStore<>(myRecordClass, Math.max(1, theSlots.cardinality()));
+        Lock lock = readLock();
+        lock.lock();
+        try {
+            theSlots.forEach(slot -> {
+                T record = slot >= 0 && slot < mySlotCount ? myRecords[slot] : null;
+                if (record != null) {
+                    result.add(record);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    // ======================  maintained by the manager ===========================
+
+    @Override
+    void add(T theRecord) {
+        int slot = myFreeCount > 0 ? myFreeSlots[--myFreeCount] : mySlotCount++;
+        if (slot == myRecords.length) {
+            myRecords = Arrays.copyOf(myRecords, myRecords.length * 2);
+        }
+        mySlots.put(theRecord.id(), slot);
+        myRecords[slot] = theRecord;
+        myLive.add(slot);
+        for (Column<T, ?> column : myColumns) {
+            column.add(theRecord, slot);
+        }
+    }
+
+    @Override
+    void remove(T theRecord) {
+        int slot = mySlots.delete(theRecord.id());
+        if (slot < 0) {
+            throw new IllegalStateException("Removed a record the index never saw: " + theRecord);
+        }
+        for (Column<T, ?> column : myColumns) {
+            column.remove(myRecords[slot], slot);
+        }
+        myLive.remove(slot);
+        myRecords[slot] = null;
+        if (myFreeCount == myFreeSlots.length) {
+            myFreeSlots = Arrays.copyOf(myFreeSlots, myFreeSlots.length * 2);
+        }
+        myFreeSlots[myFreeCount++] = slot;
+    }
+
+    /**
+     * A record replaced by one with the same id keeps its slot, and only the
+     * columns whose attribute changed move it to another bitmap.
+     */
+    @Override
+    void replace(T theOld, T theNew) {
+        if (theOld.id() != theNew.id()) {
+            super.replace(theOld, theNew);
+            return;
+        }
+        int slot = mySlots.get(theOld.id());
+        if (slot < 0) {
+            throw new IllegalStateException("Replaced a record the index never saw: " + theOld);
+        }
+        for (Column<T, ?> column : myColumns) {
+            column.replace(theOld, theNew, slot);
+        }
+        myRecords[slot] = theNew;
+    }
+
+    @Override
+    void clear() {
+        mySlots.clear();
+        Arrays.fill(myRecords, 0, mySlotCount, null);
+        myLive.clear();
+        myFreeCount = 0;
+        mySlotCount = 0;
+        for (Column<T, ?> column : myColumns) {
+            column.clear();
+        }
+    }
+
+    // ====================   utility classes =========================
+
+    /**
+     * The bitmap of slots of each value of one attribute of the records.
+     * A value no record has is not present.
+     * @param <T> the class of the records.
+     * @param <K> the class of the attribute.
+     */
+    public static final class Column<T, K> {
+
+        /**
+         * the index the column belongs to, whose lock guards the bitmaps.
+         */
+        private final Derived<?> myIndex;
+
+        private final Class<K> myKeyClass;
+
+        private final Function<? super T, ? extends K> myAttribute;
+
+        private Dictionary<K, RoaringBitmap> myBitmaps;
+
+        private Column(Derived<?> theIndex, Class<K> theKeyClass, Function<? super T, ? extends K> theAttribute) {
+            myIndex = theIndex;
+            myKeyClass = theKeyClass;
+            myAttribute = theAttribute;
+            myBitmaps = Derived.newDictionary(theKeyClass, RoaringBitmap.class);
+        }
+
+        /**
+         * @param theKey the value of the attribute.
+         * @return a new bitmap of the slots of the records with theKey.
+         */
+        public RoaringBitmap matching(K theKey) {
+            Lock lock = myIndex.readLock();
+            lock.lock();
+            try {
+                return slots(theKey).copy();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @param theKey the value of the attribute.
+         * @return the number of records with theKey.
+         */
+        public int count(K theKey) {
+            Lock lock = myIndex.readLock();
+            lock.lock();
+            try {
+                return slots(theKey).cardinality();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return the number of values at least one record has.
+         */
+        public int keys() {
+            Lock lock = myIndex.readLock();
+            lock.lock();
+            try {
+                return myBitmaps.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return the bitmap of theKey, not a copy, empty if no record has it. The caller holds the lock.
+         */
+        private RoaringBitmap slots(K theKey) {
+            RoaringBitmap slots = myBitmaps.get(theKey);
+            return slots == null ? new RoaringBitmap() : slots;
+        }
+
+        private void add(T theRecord, int theSlot) {
+            myBitmaps.computeIfAbsent(myAttribute.apply(theRecord), ignored -> new RoaringBitmap()).add(theSlot);
+        }
+
+        private void remove(T theRecord, int theSlot) {
+            K key = myAttribute.apply(theRecord);
+            RoaringBitmap slots = myBitmaps.get(key);
+            slots.remove(theSlot);
+            if (slots.isEmpty()) {
+                myBitmaps.delete(key);
+            }
+        }
+
+        private void replace(T theOld, T theNew, int theSlot) {
+            if (!Objects.equals(myAttribute.apply(theOld), myAttribute.apply(theNew))) {
+                remove(theOld, theSlot);
+                add(theNew, theSlot);
+            }
+        }
+
+        private void clear() {
+            myBitmaps = Derived.newDictionary(myKeyClass, RoaringBitmap.class);
+        }
+    }
+
+    /**
+     * The slot of each record by id, each id next to its slot in one linear
+     * probing int array, spread with {@link HashStrategy#FIBONACCI}.
+     */
+    private static final class SlotTable {
+
+        /**
+         * the id at 2 * i and the slot + 1 at 2 * i + 1 of entry i, a slot of 0 if the entry is empty.
+         */
+        private int[] myEntries;
+
+        /**
+         * the number of entries - 1, always a power of two - 1.
+         */
+        private int myMask;
+
+        private int mySize;
+
+        private SlotTable() {
+            allocate(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * @return the slot of theId, -1 if it has none.
+         */
+        private int get(int theId) {
+            return myEntries[2 * indexOf(theId) + 1] - 1;
+        }
+
+        private void put(int theId, int theSlot) {
+            if ((mySize + 1) * 4 > (myMask + 1) * 3) {
+                resize();
+            }
+            int index = indexOf(theId);
+            if (myEntries[2 * index + 1] == 0) {
+                mySize++;
+            }
+            myEntries[2 * index] = theId;
+            myEntries[2 * index + 1] = theSlot + 1;
+        }
+
+        /**
+         * @return the slot theId had, -1 if it had none.
+         */
+        private int delete(int theId) {
+            int hole = indexOf(theId);
+            int slot = myEntries[2 * hole + 1] - 1;
+            if (slot < 0) {
+                return -1;
+            }
+            // move back every entry that probed past the hole
+            for (int next = (hole + 1) & myMask; myEntries[2 * next + 1] != 0; next = (next + 1) & myMask) {
+                int home = home(myEntries[2 * next]);
+                if (((next - home) & myMask) >= ((next - hole) & myMask)) {
+                    myEntries[2 * hole] = myEntries[2 * next];
+                    myEntries[2 * hole + 1] = myEntries[2 * next + 1];
+                    hole = next;
+                }
+            }
+            myEntries[2 * hole + 1] = 0;
+            mySize--;
+            return slot;
+        }
+
+        private void clear() {
+            allocate(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * @return the entry holding theId, or the empty entry where it would go.
+         */
+        private int indexOf(int theId) {
+            int index = home(theId);
+            while (myEntries[2 * index + 1] != 0 && myEntries[2 * index] != theId) {
+                index = (index + 1) & myMask;
+            }
+            return index;
+        }
+
+        private int home(int theId) {
+            return HashStrategy.FIBONACCI.spread(theId) & myMask;
+        }
+
+        private void resize() {
+            int[] entries = myEntries;
+            allocate((myMask + 1) * 2);
+            for (int i = 1; i < entries.length; i += 2) {
+                if (entries[i] != 0) {
+                    put(entries[i - 1], entries[i] - 1);
+                }
+            }
+        }
+
+        private void allocate(int theCapacity) {
+            myEntries = new int[2 * theCapacity];
+            myMask = theCapacity - 1;
+            mySize = 0;
+        }
+    }
+}
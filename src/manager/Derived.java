@@ -0,0 +1,97 @@
+package manager;
+
+import util.Dictionary;
+import util.EnumDictionary;
+import util.HashTable;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Something computed from the records of a {@link MapManager}, ie: an
+ * {@link Aggregate} or a {@link BitmapIndex}, that the manager keeps up to
+ * date by passing it every record added, removed and replaced.
+ * <p>
+ * Its state is guarded by a {@link ReadWriteLock}: the manager holds the
+ * write lock while it applies a write, and every public read holds the read
+ * lock, so a reader never sees a write half applied even when the manager's
+ * table is a {@code ConcurrentHashTable} written from many threads. A manager
+ * shares one lock with everything it keeps up to date.
+ * </p>
+ * @param <T> the class of the records.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+abstract sealed class Derived<T> permits Aggregate, BitmapIndex {
+
+    /**
+     * true once a manager keeps this up to date.
+     */
+    private boolean myRegistered;
+
+    /**
+     * guards the state, the manager's lock once registered.
+     */
+    private ReadWriteLock myLock = new ReentrantReadWriteLock();
+
+    /**
+     * Marks this as kept up to date by a manager.
+     * @param theLock the manager's lock, held for writing whenever it calls add, remove, replace or clear.
+     * @throws IllegalArgumentException if a manager already keeps it.
+     */
+    final void register(ReadWriteLock theLock) {
+        if (myRegistered) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " is already registered with a manager");
+        }
+        myRegistered = true;
+        myLock = theLock;
+    }
+
+    /**
+     * @return the lock held while reading the state.
+     */
+    final Lock readLock() {
+        return myLock.readLock();
+    }
+
+    /**
+     * @return the lock held while changing the state outside of a manager's write.
+     */
+    final Lock writeLock() {
+        return myLock.writeLock();
+    }
+
+    abstract void add(T theRecord);
+
+    /**
+     * @throws IllegalStateException if theRecord was never added.
+     */
+    abstract void remove(T theRecord);
+
+    /**
+     * Applies a replace of theOld by theNew, a remove and an add unless
+     * overridden with something cheaper.
+     */
+    void replace(T theOld, T theNew) {
+        remove(theOld);
+        add(theNew);
+    }
+
+    /**
+     * Forgets every record.
+     */
+    abstract void clear();
+
+    /**
+     * @return an empty dictionary for keys of theKeyClass, an {@link EnumDictionary}
+     * when they are enum constants and a {@link HashTable} otherwise.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <K, V> Dictionary<K, V> newDictionary(Class<K> theKeyClass, Class<V> theValueClass) {
+        if (theKeyClass.isEnum()) {
+            return new EnumDictionary(theKeyClass);
+        }
+        return new HashTable<>(theKeyClass, theValueClass);
+    }
+}
@@ -1,6 +1,7 @@
 package manager;
 
 import loader.DataLoader;
+import loader.LoadMode;
 import types.Drill;
 import util.ArrayStore;
 import util.BinaryHeapPQ;
@@ -62,6 +63,8 @@ public class DrillManager extends DataManager<Drill> {
 
     /**
      * Allows a more efficient way of loading CSV data using buildHeap method.
+     * The csv is parsed in parallel chunks and streamed straight into the heap's
+     * array, which is heapified once in O(n) without an intermediate copy.
      * @param theFilePath the file path to the CSV data
      * @throws IOException if there are IO errors.
      */
@@ -70,20 +73,21 @@ public class DrillManager extends DataManager<Drill> {
             loadCsvData(theFilePath);
         }else {
 
-            // create temp array supplier
-            Supplier<DataContainer<Drill>> tempSup = () -> new ArrayStore<>(Drill.class);
+            // create temp loader that parses the csv across all cores
+            DataLoader<Drill> tempLoader =
+                    new DataLoader<>(Drill.class, () -> new ArrayStore<>(Drill.class), LoadMode.PARALLEL);
 
-            // create temp loader
-            DataLoader<Drill> tempLoader = new DataLoader<>(Drill.class, tempSup);
-
-            // create temp array to store csv data
-            ArrayStore<Drill> tempArray = (ArrayStore<Drill>) tempLoader.loadData(theFilePath);
+            BinaryHeapPQ<Drill> heap = (BinaryHeapPQ<Drill>) myData;
 
             // prevent accumulation.
-            myData.clear();
-
-            // build heap from temp array
-            ((BinaryHeapPQ<Drill>) myData).buildHeap(tempArray);
+            heap.clear();
+
+            try {
+                tempLoader.forEachRow(theFilePath, heap::addUnordered);
+            } finally {
+                // keep the heap valid even if the csv was malformed part way through.
+                heap.buildHeap();
+            }
         }
     }
 
@@ -61,6 +61,12 @@ public interface HashableManager<T extends DataType> {
      */
     void clearData();
 
+    /**
+     * Serves lookups by id from a read only copy of the current data
+     * until a record is added or removed, see {@link MapManager#freeze()}.
+     */
+    void freeze();
+
     // =====================  operation counting =======================
 
     /**
@@ -5,11 +5,58 @@ import types.DataType;
 import util.*;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 /**
  * This Manager uses a HashTable to manage {@link DataType} objects.
+ * The backing table is chosen at construction through a {@link Supplier}
+ * of {@link MapContainer}. Without one the manager picks the table itself:
+ * records start in a chained {@link HashTable}, and {@link #loadCsvData(String)}
+ * streams rows into a {@link DirectAddressTable}, kept when the ids are dense,
+ * ie: players 1001 to 6000, so a lookup is an array read.
+ * <p>
+ * Once the data is loaded, {@link #freeze()} copies the table into a
+ * {@link PerfectHashTable} and lookups by id are served from the copy without
+ * probing. The table stays the source of truth: replacing a record updates
+ * both, while adding, removing, loading or clearing data drops the frozen copy
+ * and lookups go back to the table until {@link #freeze()} is called again.
+ * </p>
+ * <p>
+ * {@link #snapshot()} captures the data as a {@link PersistentHashTable}, for
+ * undo, auditing or reading a consistent view while writes go on, and
+ * {@link #restore(PersistentHashTable)} puts a snapshot back. Both take O(1)
+ * when the manager is backed by a {@link PersistentHashTable}, ie:
+ * {@code new PlayerManager(PersistentHashTable::new)}, and copy every record otherwise.
+ * </p>
+ * <p>
+ * {@link #registerAggregate(Aggregate)} keeps a sum, count, min or max over
+ * the records up to date as they are added, removed, replaced or loaded, so
+ * reading it does not scan the table. Writes made straight to the table from
+ * {@link #getData()} are not seen, call {@link #refreshAggregates()} after them.
+ * {@link #registerBitmapIndex(BitmapIndex)} keeps bitmaps of the records with
+ * each value of an attribute the same way, for filters and counts that
+ * combine attributes without reading the records.
+ * </p>
+ * <p>
+ * Once anything is registered, every add, remove, replace, refresh and clear
+ * holds the write lock of one {@link ReentrantReadWriteLock} while it changes
+ * the table and the aggregates and indexes, and their reads hold the read
+ * lock. Writers on a {@code ConcurrentHashTable} are then applied one at a
+ * time, but a reader never sees a write half applied. Loading, restoring and
+ * freezing hold the write lock throughout, registered or not. Lookups by id
+ * do not take the lock. Other writes to a manager with nothing registered
+ * take only the read lock, which they share, so they still run concurrently
+ * while a registration waits for them and never misses one.
+ * </p>
  * @param <T> the DataType this manager manages.
+ * @author Chris Chun, Ayush
+ * @version 1.14
  */
 public abstract class MapManager <T extends DataType> implements HashableManager<T>  {
 
@@ -19,59 +66,337 @@ public abstract class MapManager <T extends DataType> implements HashableManager
     private static final Logger LOGGER = Logger.getLogger(MapManager.class.getName());
 
 
-    private final HashTable<Integer, T> myMap;
+    private MapContainer<Integer, T> myMap;
     private final DataLoader<T> myDataLoader;
 
+    /**
+     * the table used when the ids are not dense, null if the table was chosen by the caller.
+     */
+    private final Supplier<MapContainer<Integer, T>> myDefaultTable;
+
+    /**
+     * read only copy of myMap used for lookups, null until frozen and after the keys change.
+     */
+    private volatile PerfectHashTable<T> myFrozen;
+
+    /**
+     * the aggregates and indexes kept up to date on every write, in the order they were registered.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private volatile Derived<? super T>[] myDerived = new Derived[0];
+
+    /**
+     * guards the aggregates and indexes, shared with each of them when registered.
+     */
+    private final ReentrantReadWriteLock myDerivedLock = new ReentrantReadWriteLock();
+
 
     public MapManager(Class<T> theDataType) {
-        myMap = new HashTable<>(Integer.class, theDataType); // uses default inital capcity of 16 + resizing
+        // uses default inital capcity of 16 + resizing
+        this(theDataType, () -> new HashTable<>(Integer.class, theDataType), true);
+    }
+
+    /**
+     * Creates a MapManager backed by the table the supplier provides,
+     * ie: {@code IntHashTable::new} for primitive int keyed lookups.
+     * @param theDataType the class of the DataType this manager manages.
+     * @param theMapSupplier supplies the empty table used to store the data.
+     */
+    public MapManager(Class<T> theDataType, Supplier<MapContainer<Integer, T>> theMapSupplier) {
+        this(theDataType, theMapSupplier, false);
+    }
+
+    private MapManager(Class<T> theDataType, Supplier<MapContainer<Integer, T>> theMapSupplier,
+                       boolean theChoosesTable) {
+        if (theMapSupplier == null) {
+            throw new IllegalArgumentException("Supplier cannot be null");
+        }
+        myMap = theMapSupplier.get();
+        if (!myMap.isEmpty()) {
+            throw new IllegalArgumentException("Supplier returned a non empty table");
+        }
         myDataLoader = new DataLoader<>(theDataType, () -> new ArrayStore<>(theDataType));
+        myDefaultTable = theChoosesTable ? theMapSupplier : null;
     }
 
     /**
-     * Resets data to the loaded csv.
+     * Resets data to the loaded csv. Rows are put into the table as they are
+     * parsed, so the file is never held in a second container.
+     * If the csv is malformed the table keeps the rows before the bad one,
+     * and the aggregates and indexes are recomputed over them.
+     * <p>
+     * Unless the table was chosen at construction, rows are put into a new
+     * {@link DirectAddressTable}, whose window grows over the ids as they are
+     * read. Only if the ids turn out sparse are they copied into the default
+     * {@link HashTable}.
+     * </p>
      * @param theFilePath the file path to the data you want to load.
      * @throws IOException if file not found.
      */
     public void loadCsvData(String theFilePath) throws IOException {
-        DataContainer<T> loaderResults = myDataLoader.loadData(theFilePath);
-        myMap.clear();
-        for (T dataObject : loaderResults) {
-            myMap.put(dataObject.id(), dataObject);
+        Lock lock = myDerivedLock.writeLock();
+        lock.lock();
+        try {
+            myFrozen = null;
+            if (myDefaultTable != null) {
+                // a new window fits this file, not the range of an earlier load.
+                myMap = new DirectAddressTable<>();
+            } else {
+                myMap.clear();
+            }
+            IntSummaryStatistics ids = new IntSummaryStatistics();
+            myDataLoader.forEachRow(theFilePath, dataObject -> {
+                myMap.put(dataObject.id(), dataObject);
+                ids.accept(dataObject.id());
+            });
+            if (myDefaultTable != null
+                    && !DirectAddressTable.isDense(ids.getMin(), ids.getMax(), myMap.size())) {
+                moveToDefaultTable();
+            }
+        } finally {
+            // a bad row leaves part of the file in the table, the aggregates and indexes must match it.
+            try {
+                rebuildDerived();
+            } finally {
+                lock.unlock();
+            }
         }
     }
 
     public void addData(T dataObj) {
-        myMap.put(dataObj.id(), dataObj);
+        Lock lock = lockDerived();
+        try {
+            // read under the lock, a freeze cannot copy the table while a write is applied.
+            PerfectHashTable<T> frozen = myFrozen;
+            if (myDerived.length == 0 && frozen == null) {
+                myMap.put(dataObj.id(), dataObj);
+            } else {
+                // one probe finds the record being replaced, for the aggregates and indexes, and puts the new one.
+                Replaced<T> replaced = new Replaced<>();
+                myMap.compute(dataObj.id(), (id, current) -> {
+                    replaced.myRecord = current;
+                    updateFrozen(frozen, dataObj);
+                    return dataObj;
+                });
+                recordReplaced(replaced.myRecord, dataObj);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     public T removeData(T dataObj) {
-        return myMap.delete(dataObj.id());
+        Lock lock = lockDerived();
+        try {
+            // dropped before the delete, so no lookup finds the record in the copy once it is gone.
+            PerfectHashTable<T> frozen = myFrozen;
+            if (frozen != null && frozen.containsInt(dataObj.id())) {
+                myFrozen = null;
+            }
+            T removed = myMap.delete(dataObj.id());
+            if (removed != null) {
+                recordReplaced(removed, null);
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
     }
 
     public T searchById(int theId) {
-        if (containsRecord(theId)) {
-            return myMap.get(theId);
+        return lookupTable().get(theId);
+    }
+
+    /**
+     * Replaces a record in a single probe of the table.
+     * @param theNewRecord the record to replace the one with the same id.
+     * @return true if the record existed and was replaced, false if nothing changed.
+     */
+    public boolean updateRecord(T theNewRecord) {
+        Lock lock = lockDerived();
+        try {
+            PerfectHashTable<T> frozen = myFrozen;
+            Replaced<T> replaced = new Replaced<>();
+            if (myMap.compute(theNewRecord.id(), (id, current) -> {
+                if (current == null) {
+                    return null;
+                }
+                replaced.myRecord = current;
+                updateFrozen(frozen, theNewRecord);
+                return theNewRecord;
+            }) == null) {
+                return false;
+            }
+            recordReplaced(replaced.myRecord, theNewRecord);
+            return true;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
-    public void updateRecord(T theNewRecord) {
-        if (containsRecord(theNewRecord.id())) {
-            myMap.put(theNewRecord.id(), theNewRecord);
+    /**
+     * Adds theRecord, or replaces the record with its id by theRemapping of
+     * the two, in a single probe of the table, ie: crediting a player with a touchdown.
+     * @param theRecord the record to add, and the second argument of theRemapping.
+     * @param theRemapping computes the record to store from the current one and
+     *                     theRecord, must return a non null record with the same id.
+     * @return the record stored.
+     * @throws IllegalArgumentException if an argument is null or theRemapping returns null.
+     */
+    public T mergeRecord(T theRecord, BinaryOperator<T> theRemapping) {
+        if (theRecord == null || theRemapping == null) {
+            throw new IllegalArgumentException("Merge arguments cannot be null");
+        }
+        Lock lock = lockDerived();
+        try {
+            PerfectHashTable<T> frozen = myFrozen;
+            Replaced<T> replaced = new Replaced<>();
+            T merged = myMap.compute(theRecord.id(), (id, current) -> {
+                T result = current == null ? theRecord : theRemapping.apply(current, theRecord);
+                if (result == null) {
+                    throw new IllegalArgumentException("Merge cannot remove a record");
+                }
+                replaced.myRecord = current;
+                updateFrozen(frozen, result);
+                return result;
+            });
+            recordReplaced(replaced.myRecord, merged);
+            return merged;
+        } finally {
+            lock.unlock();
         }
     }
 
     public boolean containsRecord(int theId) {
-        return myMap.containsKey(theId);
+        return lookupTable().containsKey(theId);
+    }
+
+    // ======================  freezing ===========================
+
+    /**
+     * Builds a {@link PerfectHashTable} over the current data and serves
+     * lookups from it until a record is added or removed. Calling it again
+     * rebuilds the copy, ie: after a batch of writes. Holds the write lock,
+     * so no write is applied between copying the table and publishing the copy.
+     */
+    public void freeze() {
+        Lock lock = myDerivedLock.writeLock();
+        lock.lock();
+        try {
+            myFrozen = new PerfectHashTable<>(myMap);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if lookups are currently served by a {@link PerfectHashTable}.
+     */
+    public boolean isFrozen() {
+        return myFrozen != null;
+    }
+
+    // ======================  aggregates and indexes ===========================
+
+    /**
+     * Computes theAggregate over the current records, then keeps it up to date
+     * on every add, remove, replace, load, restore and clear.
+     * @param theAggregate a new aggregate, ie: {@code Aggregate.sum(Position.class,
+     *                     PlayerEnhanced::position, PlayerEnhanced::yards)}.
+     * @return theAggregate, to read from.
+     * @throws IllegalArgumentException if theAggregate is null or already registered.
+     */
+    public <K> Aggregate<? super T, K> registerAggregate(Aggregate<? super T, K> theAggregate) {
+        if (theAggregate == null) {
+            throw new IllegalArgumentException("Aggregate cannot be null");
+        }
+        register(theAggregate);
+        return theAggregate;
+    }
+
+    /**
+     * Indexes the current records, then keeps theIndex up to date
+     * on every add, remove, replace, load, restore and clear.
+     * @param theIndex a new index.
+     * @return theIndex, to add columns to and query.
+     * @throws IllegalArgumentException if theIndex is null or already registered.
+     */
+    public BitmapIndex<T> registerBitmapIndex(BitmapIndex<T> theIndex) {
+        if (theIndex == null) {
+            throw new IllegalArgumentException("BitmapIndex cannot be null");
+        }
+        register(theIndex);
+        return theIndex;
+    }
+
+    /**
+     * Recomputes every aggregate and index from the table in one scan, ie: after
+     * writes made straight to the table from {@link #getData()}.
+     */
+    public void refreshAggregates() {
+        Lock lock = lockDerived();
+        try {
+            rebuildDerived();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public HashTable<Integer, T> getData() {
+    // ======================  snapshots ===========================
+
+    /**
+     * Captures the current data, later writes to this manager do not change it.
+     * @return a table holding every record, shared with the manager's table in
+     * O(1) if it is a {@link PersistentHashTable} and copied otherwise.
+     */
+    public PersistentHashTable<Integer, T> snapshot() {
+        if (myMap instanceof PersistentHashTable<Integer, T> persistent) {
+            return persistent.snapshot();
+        }
+        PersistentHashTable<Integer, T> copy = new PersistentHashTable<>();
+        for (Entry<Integer, T> entry : myMap) {
+            copy.put(entry.key(), entry.value());
+        }
+        return copy;
+    }
+
+    /**
+     * Replaces the data with a snapshot, ie: to undo every write made since it was taken.
+     * The snapshot itself is not changed by later writes to this manager.
+     * @param theSnapshot a snapshot from {@link #snapshot()}.
+     * @throws IllegalArgumentException if theSnapshot is null.
+     */
+    public void restore(PersistentHashTable<Integer, T> theSnapshot) {
+        if (theSnapshot == null) {
+            throw new IllegalArgumentException("Snapshot cannot be null");
+        }
+        Lock lock = myDerivedLock.writeLock();
+        lock.lock();
+        try {
+            myFrozen = null;
+            if (myMap instanceof PersistentHashTable<Integer, T>) {
+                myMap = theSnapshot.snapshot();
+            } else {
+                myMap.clear();
+                for (Entry<Integer, T> entry : theSnapshot) {
+                    myMap.put(entry.key(), entry.value());
+                }
+            }
+        } finally {
+            try {
+                rebuildDerived();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public MapContainer<Integer, T> getData() {
         return myMap;
     }
 
     public T get(int theId) {
-        return myMap.get(theId);
+        return lookupTable().get(theId);
     }
 
     public void printData() {
@@ -90,12 +415,21 @@ public abstract class MapManager <T extends DataType> implements HashableManager
 
     @Override
     public T searchById(T theDataToFind) {
-       return myMap.get(theDataToFind.id());
+       return lookupTable().get(theDataToFind.id());
     }
 
     @Override
     public void clearData() {
-        myMap.clear();
+        Lock lock = lockDerived();
+        try {
+            myFrozen = null;
+            myMap.clear();
+            for (Derived<? super T> derived : myDerived) {
+                derived.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -105,12 +439,17 @@ public abstract class MapManager <T extends DataType> implements HashableManager
 
     @Override
     public int getComparisons() {
-        return myMap.getComparisons();
+        PerfectHashTable<T> frozen = myFrozen;
+        return myMap.getComparisons() + (frozen == null ? 0 : frozen.getComparisons());
     }
 
     @Override
     public void resetCounter() {
         myMap.resetCounter();
+        PerfectHashTable<T> frozen = myFrozen;
+        if (frozen != null) {
+            frozen.resetCounter();
+        }
     }
 
     @Override
@@ -123,4 +462,124 @@ public abstract class MapManager <T extends DataType> implements HashableManager
     public double getLoadFactor() {
         return myMap.loadFactor();
     }
+
+    // ====================   private helper methods =========================
+
+    /**
+     * Moves the data out of the {@link DirectAddressTable} it was loaded into
+     * and into the default table, when its ids are too sparse for a window.
+     */
+    private void moveToDefaultTable() {
+        MapContainer<Integer, T> table = myDefaultTable.get();
+        for (Entry<Integer, T> entry : myMap) {
+            table.put(entry.key(), entry.value());
+        }
+        myMap = table;
+    }
+
+    private void register(Derived<? super T> theDerived) {
+        theDerived.register(myDerivedLock);
+        Lock lock = myDerivedLock.writeLock();
+        lock.lock();
+        try {
+            for (Entry<Integer, T> entry : myMap) {
+                theDerived.add(entry.value());
+            }
+            Derived<? super T>[] derived = Arrays.copyOf(myDerived, myDerived.length + 1);
+            derived[derived.length - 1] = theDerived;
+            myDerived = derived;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the lock a write holds: the write lock when there are aggregates or
+     * indexes to keep up to date, otherwise the read lock, shared by writers so
+     * a registration waits for the writes it must see.
+     * @return the lock taken, myDerived cannot change until it is released.
+     */
+    private Lock lockDerived() {
+        Lock shared = myDerivedLock.readLock();
+        shared.lock();
+        if (myDerived.length == 0) {
+            return shared;
+        }
+        // a registration may have happened since the last write, read again under the write lock.
+        shared.unlock();
+        Lock exclusive = myDerivedLock.writeLock();
+        exclusive.lock();
+        return exclusive;
+    }
+
+    /**
+     * Recomputes every aggregate and index from the table, the write lock must be held.
+     */
+    private void rebuildDerived() {
+        for (Derived<? super T> derived : myDerived) {
+            derived.clear();
+        }
+        if (myDerived.length == 0) {
+            return;
+        }
+        for (Entry<Integer, T> entry : myMap) {
+            for (Derived<? super T> derived : myDerived) {
+                derived.add(entry.value());
+            }
+        }
+    }
+
+    /**
+     * Applies a write to every aggregate and index, once the table has stored it,
+     * so a write the table rejects, ie: a key a {@link CuckooHashTable} cannot
+     * place, never reaches them.
+     * @param theOld the record removed or replaced, null if a record was added.
+     * @param theNew the record added, null if a record was removed.
+     */
+    private void recordReplaced(T theOld, T theNew) {
+        for (Derived<? super T> derived : myDerived) {
+            if (theOld == null) {
+                derived.add(theNew);
+            } else if (theNew == null) {
+                derived.remove(theOld);
+            } else {
+                derived.replace(theOld, theNew);
+            }
+        }
+    }
+
+    /**
+     * Applies a write to the frozen copy read before it, from inside the table's
+     * write of the same id so writers to one id update both in the same order.
+     * @param theFrozen the frozen copy when the write started, null if there was none.
+     * @param theRecord the record written.
+     */
+    private void updateFrozen(PerfectHashTable<T> theFrozen, T theRecord) {
+        if (theFrozen == null) {
+            return;
+        }
+        if (theFrozen.containsInt(theRecord.id())) {
+            theFrozen.put(theRecord.id(), theRecord);
+        } else {
+            myFrozen = null;
+        }
+    }
+
+    private Dictionary<Integer, T> lookupTable() {
+        PerfectHashTable<T> frozen = myFrozen;
+        return frozen != null ? frozen : myMap;
+    }
+
+    // ====================   utility classes =========================
+
+    /**
+     * The record a write replaces, kept by the table's probe for the aggregates and indexes.
+     */
+    private static final class Replaced<T> {
+
+        /**
+         * the record replaced, null if the write added one.
+         */
+        private T myRecord;
+    }
 }
@@ -5,18 +5,79 @@ import types.Position;
 import util.*;
 
 import java.util.NoSuchElementException;
-import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * Manages Seahawks Players -update stats yards injury status etc.
+ * <p>
+ * A manager made by {@link #withIndexes()} registers the injured count and
+ * the yards by position as {@link Aggregate}s, kept up to date on every write
+ * instead of scanning the players on every read. Position and injury status
+ * are also kept in a {@link BitmapIndex}, so filters and counts on them, ie:
+ * the injured QBs, combine bitmaps instead of reading every player.
+ * </p>
+ * A manager made by a constructor keeps nothing but the table: the same
+ * reads scan the players, and writes only share the read lock instead of
+ * taking the write lock the aggregates need, so a {@link ConcurrentHashTable}
+ * keeps its concurrent writers. The bitmap queries need the index and throw
+ * without it.
  * @author Chris Chun, Ayush.
- * @version 1.1
+ * @version 1.6
  */
 public final class PlayerManager extends MapManager<PlayerEnhanced> {
 
+    /**
+     * the aggregates and index kept up to date on every write, null unless made by {@link #withIndexes()}.
+     */
+    private final Indexes myIndexes;
 
     public PlayerManager() {
         super(PlayerEnhanced.class);
+        myIndexes = null;
+    }
+
+    /**
+     * Creates a PlayerManager backed by the table the supplier provides.
+     * @param theMapSupplier supplies the empty table used to store players,
+     *                       ie: {@code IntHashTable::new}.
+     */
+    public PlayerManager(Supplier<MapContainer<Integer, PlayerEnhanced>> theMapSupplier) {
+        this(theMapSupplier, false);
+    }
+
+    private PlayerManager(Supplier<MapContainer<Integer, PlayerEnhanced>> theMapSupplier, boolean theIndexed) {
+        super(PlayerEnhanced.class, theMapSupplier);
+        myIndexes = theIndexed ? new Indexes(this) : null;
+    }
+
+    private PlayerManager(boolean theIndexed) {
+        super(PlayerEnhanced.class);
+        myIndexes = theIndexed ? new Indexes(this) : null;
+    }
+
+    /**
+     * @return a PlayerManager that keeps the injured count, the yards by
+     * position and the position and injury index up to date on every write.
+     */
+    public static PlayerManager withIndexes() {
+        return new PlayerManager(true);
+    }
+
+    /**
+     * @param theMapSupplier supplies the empty table used to store players.
+     * @return a PlayerManager backed by the supplied table that keeps the
+     * injured count, the yards by position and the position and injury index
+     * up to date on every write.
+     */
+    public static PlayerManager withIndexes(Supplier<MapContainer<Integer, PlayerEnhanced>> theMapSupplier) {
+        return new PlayerManager(theMapSupplier, true);
+    }
+
+    /**
+     * @return true if this manager was made by {@link #withIndexes()}.
+     */
+    public boolean hasIndexes() {
+        return myIndexes != null;
     }
 
     /**
@@ -55,88 +116,198 @@ public final class PlayerManager extends MapManager<PlayerEnhanced> {
      * @param thePlayer the new player object to update the stats with.
      */
     public void updatePlayerStats(PlayerEnhanced thePlayer) {
-        if (containsRecord(thePlayer.player_id())) {
-            addPlayer(thePlayer);
-        } else {
+        if (!updateRecord(thePlayer)) {
             throw new NoSuchElementException(
                     "Cannot update Player because they do not exist it the HashTable");
         }
     }
 
     /**
-     * Filters the list of players to only include players with the matching position.
+     * Filters the list of players to only include players with the matching position,
+     * read from the position index when there is one and by scanning every player otherwise.
      * @param position the filtering argument to list the players.
-     * @return an Array of the players sorted lexigraphically by position.
+     * @return an Array of the players with the position.
      */
     public ArrayStore<PlayerEnhanced> listPlayersByPosition(Position position) {
-
-        final ArrayStore<types.PlayerEnhanced> result =
-                new ArrayStore<>(PlayerEnhanced.class,64);
-
+        if (myIndexes != null) {
+            return myIndexes.myIndex.records(myIndexes.myPositions.matching(position));
+        }
+        ArrayStore<PlayerEnhanced> result = new ArrayStore<>(PlayerEnhanced.class, 64);
         for (Entry<Integer, PlayerEnhanced> entry : getData()) {
-
-            if (Objects.equals(entry.value().position(), position)) {
+            if (entry.value().position() == position) {
                 result.add(entry.value());
             }
         }
+        return result;
+    }
 
+    /**
+     * @param position the {@link Position} of the players eg QB, TE, etc.
+     * @return the injured players with the position.
+     */
+    public ArrayStore<PlayerEnhanced> listInjuredPlayersByPosition(Position position) {
+        if (myIndexes != null) {
+            return myIndexes.myIndex.records(myIndexes.myIndex.matching(
+                    myIndexes.myPositions, position, myIndexes.myInjuredIndex, true));
+        }
+        ArrayStore<PlayerEnhanced> result = new ArrayStore<>(PlayerEnhanced.class, 64);
+        for (Entry<Integer, PlayerEnhanced> entry : getData()) {
+            if (entry.value().position() == position && entry.value().injured()) {
+                result.add(entry.value());
+            }
+        }
         return result;
     }
 
     /**
-     *
-     * @return the number of injured players
+     * @param position the {@link Position} of the players eg QB, TE, etc.
+     * @return the number of injured players with the position, no player is read if indexed.
      */
-    public int countInjuredPlayers() {
+    public int countInjuredPlayersByPosition(Position position) {
+        if (myIndexes != null) {
+            return myIndexes.myIndex.count(myIndexes.myPositions, position, myIndexes.myInjuredIndex, true);
+        }
         int count = 0;
+        for (Entry<Integer, PlayerEnhanced> entry : getData()) {
+            if (entry.value().position() == position && entry.value().injured()) {
+                count++;
+            }
+        }
+        return count;
+    }
 
-        for (Entry<Integer, PlayerEnhanced> entry: getData()) {
-            if (entry.value().injured()) {
+    /**
+     * @param position the {@link Position} of the players eg QB, TE, etc.
+     * @return the number of players with the position, no player is read if indexed.
+     */
+    public int countPlayersByPosition(Position position) {
+        if (myIndexes != null) {
+            return myIndexes.myPositions.count(position);
+        }
+        int count = 0;
+        for (Entry<Integer, PlayerEnhanced> entry : getData()) {
+            if (entry.value().position() == position) {
                 count++;
             }
         }
         return count;
     }
 
+    // ======================  bitmap filters ===========================
+
     /**
-     * @return a hashmap where the keys are the positions and the values are total yards
-     * by position.
+     * @param position the {@link Position} of the players eg QB, TE, etc.
+     * @return a new bitmap of the players with the position, to combine with
+     * {@link RoaringBitmap#and}, {@link RoaringBitmap#or} and {@link #notPlayers}.
+     * @throws IllegalStateException if this manager was not made by {@link #withIndexes()}.
      */
-    public HashTable<Position, Integer> computeTotalYardsByPosition() {
+    public RoaringBitmap playersByPosition(Position position) {
+        return indexes().myPositions.matching(position);
+    }
 
-        HashTable<Position, Integer> table = new HashTable<>(Position.class, Integer.class);
+    /**
+     * @param injured true for the injured players, false for the healthy ones.
+     * @return a new bitmap of the players with the injury status.
+     * @throws IllegalStateException if this manager was not made by {@link #withIndexes()}.
+     */
+    public RoaringBitmap playersByInjury(boolean injured) {
+        return indexes().myInjuredIndex.matching(injured);
+    }
+
+    /**
+     * @param thePlayers a bitmap from this manager.
+     * @return a new bitmap of every player not in thePlayers.
+     * @throws IllegalStateException if this manager was not made by {@link #withIndexes()}.
+     */
+    public RoaringBitmap notPlayers(RoaringBitmap thePlayers) {
+        return indexes().myIndex.not(thePlayers);
+    }
+
+    /**
+     * @param thePlayers a bitmap from this manager, since its last write.
+     * @return the players in the bitmap.
+     * @throws IllegalStateException if this manager was not made by {@link #withIndexes()}.
+     */
+    public ArrayStore<PlayerEnhanced> listPlayers(RoaringBitmap thePlayers) {
+        return indexes().myIndex.records(thePlayers);
+    }
+
+    // ======================  aggregates ===========================
 
+    /**
+     * Read from the maintained count when indexed, otherwise every player is scanned.
+     * @return the number of injured players
+     */
+    public int countInjuredPlayers() {
+        if (myIndexes != null) {
+            return (int) myIndexes.myInjured.get(true);
+        }
+        int count = 0;
         for (Entry<Integer, PlayerEnhanced> entry : getData()) {
+            if (entry.value().injured()) {
+                count++;
+            }
+        }
+        return count;
+    }
 
-            Position position = entry.value().position();
-            int yards = entry.value().yards();
-            Integer currentYardsForPos = table.get(position);
+    /**
+     * Copies the maintained totals out when indexed, otherwise sums the yards
+     * into an int per position, nothing is boxed until the totals are copied out.
+     * @return a dictionary where the keys are the positions and the values are total yards
+     * by position, positions with no players are not present.
+     */
+    public EnumDictionary<Position, Integer> computeTotalYardsByPosition() {
 
-            table.put(position,
-                    Objects.isNull(currentYardsForPos)
-                    ? yards
-                    : currentYardsForPos + yards);
+        if (myIndexes == null) {
+            EnumIntAccumulator<Position> totals = new EnumIntAccumulator<>(Position.class);
+            for (Entry<Integer, PlayerEnhanced> entry : getData()) {
+                totals.add(entry.value().position(), entry.value().yards());
+            }
+            return totals.toDictionary();
+        }
 
+        EnumDictionary<Position, Integer> totals = new EnumDictionary<>(Position.class);
+
+        for (Position position : Position.values()) {
+            if (myIndexes.myYards.contains(position)) {
+                totals.put(position, (int) myIndexes.myYards.get(position));
+            }
         }
 
-        return table;
+        return totals;
     }
 
     /**
-     * get the total yards for a specific posiiton.
+     * get the total yards for a specific posiiton, from the maintained totals
+     * when indexed, otherwise summed in one pass without building the totals
+     * of the other positions.
      * @param position the {@link Position} of the player eg QB, TE, etc.
      * @return the total yards for playrs with the matching position.
      */
     public int getTotalYardsByPosition(Position position) {
 
-        HashTable<Position, Integer> table = computeTotalYardsByPosition();
+        if (myIndexes != null) {
+            if (position == null || !myIndexes.myYards.contains(position)) {
+                throw new RuntimeException("Unable to compute total yards for position: " + position);
+            }
+            return (int) myIndexes.myYards.get(position);
+        }
 
-        Integer result = table.get(position);
+        int total = 0;
+        boolean found = false;
 
-        if (Objects.isNull(result)) {
+        for (Entry<Integer, PlayerEnhanced> entry : getData()) {
+            if (entry.value().position() == position) {
+                total += entry.value().yards();
+                found = true;
+            }
+        }
+
+        if (!found) {
             throw new RuntimeException("Unable to compute total yards for position: " + position);
         }
-        return result;
+        return total;
     }
 
     @Override
@@ -144,4 +315,49 @@ public final class PlayerManager extends MapManager<PlayerEnhanced> {
         return PlayerManager.class;
     }
 
+    // ====================   private helper methods =========================
+
+    /**
+     * @return the index, for the queries only an index can answer.
+     * @throws IllegalStateException if this manager was not made by {@link #withIndexes()}.
+     */
+    private Indexes indexes() {
+        if (myIndexes == null) {
+            throw new IllegalStateException("Bitmap queries need a PlayerManager made by withIndexes()");
+        }
+        return myIndexes;
+    }
+
+    // ====================   utility classes =========================
+
+    /**
+     * The aggregates and bitmap index a {@link #withIndexes()} manager registers.
+     */
+    private static final class Indexes {
+
+        /**
+         * the number of players, grouped by whether they are injured.
+         */
+        private final Aggregate<? super PlayerEnhanced, Boolean> myInjured;
+
+        /**
+         * the total yards of the players of each position.
+         */
+        private final Aggregate<? super PlayerEnhanced, Position> myYards;
+
+        private final BitmapIndex<PlayerEnhanced> myIndex;
+
+        private final BitmapIndex.Column<PlayerEnhanced, Position> myPositions;
+
+        private final BitmapIndex.Column<PlayerEnhanced, Boolean> myInjuredIndex;
+
+        private Indexes(PlayerManager theManager) {
+            myInjured = theManager.registerAggregate(Aggregate.count(Boolean.class, PlayerEnhanced::injured));
+            myYards = theManager.registerAggregate(
+                    Aggregate.sum(Position.class, PlayerEnhanced::position, PlayerEnhanced::yards));
+            myIndex = theManager.registerBitmapIndex(new BitmapIndex<>(PlayerEnhanced.class));
+            myPositions = myIndex.column(Position.class, PlayerEnhanced::position);
+            myInjuredIndex = myIndex.column(Boolean.class, PlayerEnhanced::injured);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package results;
 
+import benchmark.BenchmarkStats;
 
 public class BenchmarkResult {
 
@@ -9,6 +10,13 @@ public class BenchmarkResult {
     private final OperationCounts myOperationCounts;
     private double myLoadFactor;
     private int myCollisions;
+    private double myP99Time;
+    private double myMaxTime;
+    private double myThroughput;
+    private double myUncountedTime;
+    private BenchmarkStats myStats;
+    private double myBytesPerEntry;
+    private int[] myProbeHistogram = new int[1];
 
     /**
      * Creates a new result object with core performance metrics.
@@ -44,6 +52,109 @@ public class BenchmarkResult {
         return myLoadFactor;
     }
 
+    /**
+     * @param theP99Time the 99th percentile time of a single operation in milliseconds.
+     */
+    public void setP99Time(double theP99Time) {
+        myP99Time = theP99Time;
+    }
+
+    public double getP99Time() {
+        return myP99Time;
+    }
+
+    /**
+     * @param theMaxTime the slowest single operation in milliseconds.
+     */
+    public void setMaxTime(double theMaxTime) {
+        myMaxTime = theMaxTime;
+    }
+
+    public double getMaxTime() {
+        return myMaxTime;
+    }
+
+    /**
+     * @param theThroughput the number of operations completed per millisecond.
+     */
+    public void setThroughput(double theThroughput) {
+        myThroughput = theThroughput;
+    }
+
+    public double getThroughput() {
+        return myThroughput;
+    }
+
+    /**
+     * @param theUncountedTime the average time in milliseconds measured
+     *                         with operation counting paused.
+     */
+    public void setUncountedTime(double theUncountedTime) {
+        myUncountedTime = theUncountedTime;
+    }
+
+    public double getUncountedTime() {
+        return myUncountedTime;
+    }
+
+    /**
+     * @param theStats the full timing distribution and allocation of the benchmark.
+     */
+    public void setStats(BenchmarkStats theStats) {
+        myStats = theStats;
+    }
+
+    /**
+     * @return the timing distribution, or null if only the average was measured.
+     */
+    public BenchmarkStats getStats() {
+        return myStats;
+    }
+
+    public boolean hasStats() {
+        return myStats != null;
+    }
+
+    /**
+     * @return the bytes allocated per element processed, or
+     * {@link BenchmarkStats#ALLOCATION_UNSUPPORTED} if allocation was not measured.
+     */
+    public long getAllocatedBytesPerOp() {
+        if (myStats == null || !myStats.hasAllocation()) {
+            return BenchmarkStats.ALLOCATION_UNSUPPORTED;
+        }
+        return myStats.allocatedBytes() / Math.max(1, myInputSize);
+    }
+
+    /**
+     * @param theBytesPerEntry the heap retained by a container divided by the entries it holds.
+     */
+    public void setBytesPerEntry(double theBytesPerEntry) {
+        myBytesPerEntry = theBytesPerEntry;
+    }
+
+    public double getBytesPerEntry() {
+        return myBytesPerEntry;
+    }
+
+    /**
+     * @param theProbeHistogram the table's {@link util.MapContainer#probeLengthHistogram()}.
+     */
+    public void setProbeHistogram(int[] theProbeHistogram) {
+        myProbeHistogram = theProbeHistogram;
+    }
+
+    public int[] getProbeHistogram() {
+        return myProbeHistogram;
+    }
+
+    /**
+     * @return the longest chain or probe sequence in the table, 0 if it was empty.
+     */
+    public int getMaxProbe() {
+        return myProbeHistogram.length - 1;
+    }
+
     public int getInputSize() {
         return myInputSize;
     }
@@ -0,0 +1,165 @@
+package results;
+
+import benchmark.BenchmarkRunner;
+import loader.DataLoader;
+import manager.PlayerManager;
+import types.PlayerEnhanced;
+import util.ArrayStore;
+import util.ConcurrentHashTable;
+import util.DataContainer;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Multi-threaded throughput benchmark for a {@link PlayerManager} backed by a
+ * {@link ConcurrentHashTable}.
+ * <p>
+ * Every thread performs a fixed number of operations against the same manager.
+ * Reads call {@link PlayerManager#searchById(int)} and writes call
+ * {@link PlayerManager#updatePlayerStats(PlayerEnhanced)} with a player picked at
+ * random. The experiment sweeps the thread count from 1 up to the number of
+ * available cores for several read/write mixes, so scaling across cores is visible.
+ * The manager's aggregates and indexes are kept exact by a lock every write
+ * holds, so the write mixes measure that lock as well as the table's stripes.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+public final class ConcurrentPlayerResults implements Experiment {
+
+    final static String PLAYER_5000 = "data/seahawks_players_5000.csv";
+
+    private static final int TRIAL_RUNS = 5;
+
+    private static final int OPS_PER_THREAD = 200_000;
+
+    /**
+     * percentage of operations that are reads.
+     */
+    private static final int[] READ_PERCENTAGES = {100, 90, 50};
+
+    private final PlayerManager myManager;
+    private final BenchmarkRunner myBenchmarkRunner = new BenchmarkRunner();
+    private final DataLoader<PlayerEnhanced> myDataLoader =
+            new DataLoader<>(PlayerEnhanced.class, () -> new ArrayStore<>(PlayerEnhanced.class));
+    private final ArrayStore<BenchmarkResult> myResults = new ArrayStore<>(BenchmarkResult.class);
+    private final ResultsDisplay myResultsDisplay;
+
+    private PlayerEnhanced[] myPlayers;
+
+    /**
+     * @param theStripes the number of lock stripes the manager's table uses.
+     */
+    public ConcurrentPlayerResults(int theStripes) {
+        myManager = new PlayerManager(() -> new ConcurrentHashTable<>(theStripes, 16));
+        myResultsDisplay = new ResultsDisplay(
+                ExperimentFormat.BENCHMARK_THROUGHPUT,
+                myManager.getClass().getSimpleName(),
+                "ConcurrentHashTable (" + theStripes + " stripes)");
+    }
+
+    /**
+     * Loads the players and fills the manager. Not timed.
+     * @param theFilePath the file path to the csv data.
+     * @throws IOException if the file cannot be read.
+     */
+    public void loadData(String theFilePath) throws IOException {
+        DataContainer<PlayerEnhanced> loaded = myDataLoader.loadData(theFilePath);
+        myPlayers = new PlayerEnhanced[loaded.size()];
+        int i = 0;
+        for (PlayerEnhanced player : loaded) {
+            myPlayers[i++] = player;
+        }
+        myManager.loadCsvData(theFilePath);
+    }
+
+    /**
+     * One thread's share of the workload.
+     * @param theReadPercentage the percentage of operations that are reads.
+     */
+    private void mixedOperations(int theReadPercentage) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < OPS_PER_THREAD; i++) {
+            PlayerEnhanced player = myPlayers[random.nextInt(myPlayers.length)];
+            if (random.nextInt(100) < theReadPercentage) {
+                myManager.searchById(player.player_id());
+            } else {
+                myManager.updatePlayerStats(player);
+            }
+        }
+    }
+
+    /**
+     * Runs the workload on {@code theThreads} threads and waits for all of them.
+     */
+    private void runOnThreads(ExecutorService thePool, int theThreads, int theReadPercentage) {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(theThreads);
+        for (int t = 0; t < theThreads; t++) {
+            thePool.execute(() -> {
+                try {
+                    start.await();
+                    mixedOperations(theReadPercentage);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for benchmark threads", e);
+        }
+    }
+
+    /**
+     * @return the throughput result for the given thread count and read/write mix.
+     */
+    public BenchmarkResult testThroughput(int theThreads, int theReadPercentage) {
+        try (ExecutorService pool = Executors.newFixedThreadPool(theThreads)) {
+            double avgTime = myBenchmarkRunner.runSpeedTest(
+                    TRIAL_RUNS,
+                    () -> runOnThreads(pool, theThreads, theReadPercentage));
+
+            long totalOps = (long) theThreads * OPS_PER_THREAD;
+            BenchmarkResult result = new BenchmarkResult(
+                    theThreads,
+                    theReadPercentage + "% reads",
+                    avgTime,
+                    new OperationCounts(myManager.getSwaps(), myManager.getComparisons()));
+            result.setThroughput(totalOps / avgTime);
+            return result;
+        }
+    }
+
+    @Override
+    public void runAllExperiments() throws IOException {
+        loadData(PLAYER_5000);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int readPercentage : READ_PERCENTAGES) {
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                myResults.add(testThroughput(threads, readPercentage));
+            }
+            if (Integer.bitCount(cores) != 1) {
+                myResults.add(testThroughput(cores, readPercentage));
+            }
+        }
+        myResultsDisplay.printResults(myResults);
+    }
+
+    public static void main(String[] args) throws IOException {
+        // a single stripe serializes every writer, 16 and 64 stripes spread them out.
+        new ConcurrentPlayerResults(1).runAllExperiments();
+        new ConcurrentPlayerResults(16).runAllExperiments();
+        new ConcurrentPlayerResults(64).runAllExperiments();
+    }
+}
@@ -3,11 +3,15 @@ package results;
 /**
  * Defines whether the experiment result
  * will include operation counting or not.
- * @version 1.1
+ * @version 1.3
  * @author Chris Chun, Ayush.
  */
 public enum ExperimentFormat {
     BENCHMARK_NO_OPS,
     BENCHMARK_W_OPS,
-    BENCHMARK_MAP
+    BENCHMARK_MAP,
+    BENCHMARK_LATENCY,
+    BENCHMARK_THROUGHPUT,
+    BENCHMARK_STATS,
+    BENCHMARK_MEMORY
 }
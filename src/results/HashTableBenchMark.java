@@ -1,6 +1,8 @@
 package results;
 
 import benchmark.BenchmarkRunner;
+import benchmark.BenchmarkStats;
+import benchmark.LatencyHistogram;
 import loader.DataLoader;
 import manager.HashableManager;
 import manager.MapManager;
@@ -10,8 +12,13 @@ import types.Player;
 import util.ArrayStore;
 import util.DataContainer;
 import util.Dictionary;
+import util.HashTable;
+import util.MapContainer;
 
 import java.io.IOException;
+import java.lang.ref.Reference;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 /**
  * An abstract orchestration layer for benchmarking {@link MapManager} performance
@@ -35,20 +42,43 @@ import java.io.IOException;
 public abstract class HashTableBenchMark<T extends DataType, M extends HashableManager<T>> implements Experiment {
 
     public DataContainer<T> myTestContainer;
+    private final Class<T> myDataClass;
     private final DataLoader<T> myDataLoader;
     protected final HashableManager<T> myManager;
     private final BenchmarkRunner myBenchmarkRunner = new BenchmarkRunner();
     private final ResultsDisplay myResultsDisplay;
     private final ArrayStore<BenchmarkResult> myResults = new ArrayStore<>(BenchmarkResult.class);
+    private final ResultsDisplay myLatencyDisplay;
+    private final ArrayStore<BenchmarkResult> myLatencyResults = new ArrayStore<>(BenchmarkResult.class);
+    private final ResultsDisplay myStatsDisplay;
+    private final ResultsDisplay myMemoryDisplay;
+    private final ArrayStore<BenchmarkResult> myMemoryResults = new ArrayStore<>(BenchmarkResult.class);
+    private final ResultsDisplay myComparisonDisplay;
+    private final ArrayStore<BenchmarkResult> myComparisonResults = new ArrayStore<>(BenchmarkResult.class);
     private static final int TRIAL_RUNS = 30;
 
+    /**
+     * number of tables built to measure the footprint, the smallest reading is kept.
+     */
+    private static final int FOOTPRINT_RUNS = 3;
+
+    /**
+     * entries measured per footprint reading, tables smaller than this are built several times.
+     */
+    private static final int FOOTPRINT_ENTRIES = 1_000_000;
+
 
     public HashTableBenchMark(Class<T> theDataClass, HashableManager<T> theManager, ExperimentFormat theExperimentFormat) {
         super();
         myTestContainer = new ArrayStore<>(theDataClass);
+        myDataClass = theDataClass;
         myDataLoader = new DataLoader<>(theDataClass, ()-> new ArrayStore<>(theDataClass));
         myManager = theManager;
         myResultsDisplay = new ResultsDisplay(theExperimentFormat, getManagerName(), getDataStructureName());
+        myLatencyDisplay = new ResultsDisplay(ExperimentFormat.BENCHMARK_LATENCY, getManagerName(), getDataStructureName());
+        myStatsDisplay = new ResultsDisplay(ExperimentFormat.BENCHMARK_STATS, getManagerName(), getDataStructureName());
+        myMemoryDisplay = new ResultsDisplay(ExperimentFormat.BENCHMARK_MEMORY, getManagerName(), getDataStructureName());
+        myComparisonDisplay = new ResultsDisplay(ExperimentFormat.BENCHMARK_W_OPS, getManagerName(), getDataStructureName());
     }
 
     private RosterResults initResults(ExperimentFormat theExperimentFormat) {
@@ -68,6 +98,20 @@ public abstract class HashTableBenchMark<T extends DataType, M extends HashableM
         myTestContainer = myDataLoader.loadData(theFilePath);
     }
 
+    /**
+     * Fills the test container with synthetic data for input sizes
+     * we do not ship csv files for (ie: 1M players).
+     * @param theSize the number of objects to generate.
+     * @param theGenerator creates the i-th data object.
+     */
+    public void loadData(int theSize, IntFunction<T> theGenerator) {
+        ArrayStore<T> generated = new ArrayStore<>(myDataClass, theSize);
+        for (int i = 0; i < theSize; i++) {
+            generated.add(theGenerator.apply(i));
+        }
+        myTestContainer = generated;
+    }
+
     //========================= Error handinling/ State Management =================================
 
     // ===== Error Handling to ensure coordinated state in experiment pipeline ==================
@@ -226,13 +270,13 @@ public abstract class HashTableBenchMark<T extends DataType, M extends HashableM
 
         int inputSize = myTestContainer.size();
 
-        double avgTime =
-                myBenchmarkRunner.runSpeedTestWithSetup(
+        BenchmarkStats stats =
+                myBenchmarkRunner.runWithStats(
                         TRIAL_RUNS,
                         this::setUpForAdd,
                         this::addNTimes);
 
-        return createBenchmarkResult(inputSize, theOperationName, avgTime, getOpCounts());
+        return createBenchmarkResult(inputSize, theOperationName, stats, getOpCounts());
     }
 
     /**
@@ -242,13 +286,13 @@ public abstract class HashTableBenchMark<T extends DataType, M extends HashableM
     // timed
     public BenchmarkResult testRemove(String theOperationName) {
         final int inputSize = myManager.getData().size();
-        final double avgTime =
-                myBenchmarkRunner.runSpeedTestWithSetup(
+        final BenchmarkStats stats =
+                myBenchmarkRunner.runWithStats(
                         TRIAL_RUNS,
                         this::setUpForRemove,
                         this::removeNTimes);
 
-        return createBenchmarkResult(inputSize, theOperationName, avgTime, getOpCounts());
+        return createBenchmarkResult(inputSize, theOperationName, stats, getOpCounts());
     }
 
     /**
@@ -260,14 +304,203 @@ public abstract class HashTableBenchMark<T extends DataType, M extends HashableM
     public BenchmarkResult testSearch(String theOperationName, Runnable theSearchTask) {
         final int inputSize = myManager.getData().size();
         this.setUpForSearch();
-        final double avgTime =
-                myBenchmarkRunner.runSpeedTestWithSetup(
+        final BenchmarkStats stats =
+                myBenchmarkRunner.runWithStats(
                         TRIAL_RUNS,
                         myManager::resetCounter, // reset operation counter for each trial run.
                         theSearchTask);
         // report result, note operation counts should be the same across trials
         // so the final result is the only one we measure.
-        return createBenchmarkResult(inputSize, theOperationName, avgTime, getOpCounts());
+        return createBenchmarkResult(inputSize, theOperationName, stats, getOpCounts());
+    }
+
+    /**
+     * Times freezing the manager's data into a read only copy, see {@link MapManager#freeze()}.
+     * The manager is filled like {@link #setUpForSearch()} and is left frozen,
+     * so the searches that follow are served by the copy until the data is cleared.
+     * @param theOperationName the name of operation - this will end up as the title for the benchmark result
+     * @return an {@link BenchmarkResult} with the time to build the copy.
+     */
+    public BenchmarkResult testFreeze(String theOperationName) {
+        this.setUpForSearch();
+        final int inputSize = myManager.getData().size();
+        final BenchmarkStats stats = myBenchmarkRunner.runWithStats(TRIAL_RUNS, () -> { }, myManager::freeze);
+        return createBenchmarkResult(inputSize, theOperationName, stats, new OperationCounts(0, 0));
+    }
+
+    /**
+     * Times every single insert on its own instead of the whole batch so that
+     * the stall of a resize shows up in the tail instead of being averaged away.
+     * Each trial starts from an empty manager.
+     * @param theOperationName the name of operation - this will end up as the title for the benchmark result
+     * @return an {@link BenchmarkResult} with the mean, p99 and max time of a single insert.
+     */
+    public BenchmarkResult testAddLatency(String theOperationName) {
+        final int inputSize = myTestContainer.size();
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int trial = 0; trial < TRIAL_RUNS; trial++) {
+            setUpForAdd();
+            for (T dataObj : myTestContainer) {
+                long start = System.nanoTime();
+                myManager.addData(dataObj);
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+
+        BenchmarkStats stats = BenchmarkStats.from(histogram, BenchmarkStats.ALLOCATION_UNSUPPORTED);
+        BenchmarkResult result = createBenchmarkResult(
+                inputSize,
+                theOperationName,
+                stats.mean(),
+                getOpCounts());
+        result.setP99Time(stats.p99());
+        result.setMaxTime(stats.max());
+        return result;
+    }
+
+    /**
+     * Times every single get on its own, like {@link #testAddLatency(String)},
+     * so a table whose lookups can walk a long chain shows it in the tail.
+     * The manager is filled once and the operation counts are those of the last trial.
+     * @param theOperationName the name of operation - this will end up as the title for the benchmark result
+     * @return an {@link BenchmarkResult} with the mean, p99 and max time of a single get.
+     */
+    public BenchmarkResult testSearchLatency(String theOperationName) {
+        this.setUpForSearch();
+        final int inputSize = myManager.getData().size();
+        final Dictionary<Integer, T> data = myManager.getData();
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int trial = 0; trial < TRIAL_RUNS; trial++) {
+            myManager.resetCounter();
+            for (T dataObj : myTestContainer) {
+                long start = System.nanoTime();
+                data.get(dataObj.id());
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+
+        BenchmarkStats stats = BenchmarkStats.from(histogram, BenchmarkStats.ALLOCATION_UNSUPPORTED);
+        BenchmarkResult result = createBenchmarkResult(
+                inputSize,
+                theOperationName,
+                stats.mean(),
+                getOpCounts());
+        result.setP99Time(stats.p99());
+        result.setMaxTime(stats.max());
+        return result;
+    }
+
+    /**
+     * Fills a table with keys chosen to collide, ie: ids that share their low
+     * bits or keys with equal hash codes, then times getting every key once.
+     * The table is built once and is not part of the timing.
+     * @param theOperationName the name of operation - this will end up as the title for the benchmark result
+     * @param theSize the number of keys.
+     * @param theKeys creates the i-th key.
+     * @param theTableSupplier supplies the empty table to fill.
+     * @return an {@link BenchmarkResult} with the time and comparisons of theSize gets,
+     * and the longest probe of the table.
+     */
+    public <K> BenchmarkResult testAdversarialGets(String theOperationName,
+                                                   int theSize,
+                                                   IntFunction<K> theKeys,
+                                                   Supplier<? extends MapContainer<K, Integer>> theTableSupplier) {
+        MapContainer<K, Integer> table = theTableSupplier.get();
+        for (int i = 0; i < theSize; i++) {
+            table.put(theKeys.apply(i), i);
+        }
+        BenchmarkStats stats = myBenchmarkRunner.runWithStats(TRIAL_RUNS, table::resetCounter, () -> {
+            for (int i = 0; i < theSize; i++) {
+                table.get(theKeys.apply(i));
+            }
+        });
+
+        BenchmarkResult result = new BenchmarkResult(
+                theSize,
+                theOperationName,
+                stats.mean(),
+                new OperationCounts(table.getSwaps(), table.getComparisons()));
+        result.setStats(stats);
+        result.setLoadFactor(table.loadFactor());
+        result.setCollisions(table.getCollisions());
+        result.setProbeHistogram(table.probeLengthHistogram());
+        return result;
+    }
+
+    /**
+     * Measures the heap a table retains for the test container keyed by id, and
+     * times building it. The records themselves are already on the heap in the
+     * test container, so the bytes per entry are the table's own overhead:
+     * buckets, entry nodes and boxed keys.
+     * @param theTableName the name of the table - this will end up as the title for the benchmark result
+     * @param theTableSupplier supplies a new empty table for every build.
+     * @return an {@link BenchmarkResult} with the build time and the bytes per entry.
+     */
+    public BenchmarkResult testFootprint(String theTableName,
+                                         Supplier<? extends MapContainer<Integer, T>> theTableSupplier) {
+        final int inputSize = myTestContainer.size();
+        ensureTestContainerNotEmpty();
+
+        // small tables are built many times over so the reading is well above the gc noise.
+        final int copies = Math.max(1, FOOTPRINT_ENTRIES / inputSize);
+        long retained = Long.MAX_VALUE;
+        double loadFactor = 0;
+        for (int run = 0; run < FOOTPRINT_RUNS; run++) {
+            Object[] tables = new Object[copies];
+            long before = usedHeapAfterGc();
+            for (int i = 0; i < copies; i++) {
+                tables[i] = buildTable(theTableSupplier);
+            }
+            retained = Math.min(retained, usedHeapAfterGc() - before);
+            loadFactor = ((MapContainer<?, ?>) tables[0]).loadFactor();
+            Reference.reachabilityFence(tables);
+        }
+
+        BenchmarkStats stats = myBenchmarkRunner.runWithStats(
+                TRIAL_RUNS, () -> { }, () -> buildTable(theTableSupplier));
+
+        BenchmarkResult result = new BenchmarkResult(inputSize, theTableName, stats.mean(), new OperationCounts(0, 0));
+        result.setStats(stats);
+        result.setLoadFactor(loadFactor);
+        result.setBytesPerEntry((double) retained / ((long) copies * inputSize));
+        return result;
+    }
+
+    private MapContainer<Integer, T> buildTable(Supplier<? extends MapContainer<Integer, T>> theTableSupplier) {
+        MapContainer<Integer, T> table = theTableSupplier.get();
+        for (T dataObj : myTestContainer) {
+            table.put(dataObj.id(), dataObj);
+        }
+        return table;
+    }
+
+    /**
+     * @return the bytes in use on the heap once the garbage collector has settled.
+     */
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // a single System.gc() is only a hint, collect until the reading stops dropping.
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if (now >= used) {
+                break;
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    private BenchmarkResult createBenchmarkResult(int inputSize,
+                                                  String theOperationName,
+                                                  BenchmarkStats theStats,
+                                                  OperationCounts operationCounts) {
+        BenchmarkResult result = createBenchmarkResult(inputSize, theOperationName, theStats.mean(), operationCounts);
+        result.setStats(theStats);
+        return result;
     }
 
     private BenchmarkResult createBenchmarkResult(int inputSize,
@@ -277,6 +510,9 @@ public abstract class HashTableBenchMark<T extends DataType, M extends HashableM
         BenchmarkResult result = new BenchmarkResult(inputSize, theOperationName, avgTime, operationCounts);
         result.setLoadFactor(myManager.getLoadFactor());
         result.setCollisions(myManager.getCollisions());
+        if (myManager.getData() instanceof MapContainer<?,?> table) {
+            result.setProbeHistogram(table.probeLengthHistogram());
+        }
         return result;
     }
 
@@ -301,9 +537,12 @@ public abstract class HashTableBenchMark<T extends DataType, M extends HashableM
 
     /**
      * Responsible for getting part of the title of the experiement.
-     * @return The name of the DataStructure being tested.
+     * @return The name of the DataStructure being tested, a HashTable also names its hash strategy.
      */
     public String getDataStructureName() {
+        if (myManager.getData() instanceof HashTable<?,?> table) {
+            return "HashTable " + table.getHashStrategy().name().toLowerCase();
+        }
         return myManager.getData().getClass().getSimpleName();
     }
 
@@ -311,7 +550,33 @@ public abstract class HashTableBenchMark<T extends DataType, M extends HashableM
         myResults.add(result);
     }
 
+    public void addLatencyResult(BenchmarkResult result) {
+        myLatencyResults.add(result);
+    }
+
+    public void addMemoryResult(BenchmarkResult result) {
+        myMemoryResults.add(result);
+    }
+
+    /**
+     * Adds a result to the table of comparison counts, used to compare
+     * two ways of doing the same update.
+     */
+    public void addComparisonResult(BenchmarkResult result) {
+        myComparisonResults.add(result);
+    }
+
     public void printResults() {
         myResultsDisplay.printResults(myResults);
+        myStatsDisplay.printResults(myResults);
+        if (!myLatencyResults.isEmpty()) {
+            myLatencyDisplay.printResults(myLatencyResults);
+        }
+        if (!myMemoryResults.isEmpty()) {
+            myMemoryDisplay.printResults(myMemoryResults);
+        }
+        if (!myComparisonResults.isEmpty()) {
+            myComparisonDisplay.printResults(myComparisonResults);
+        }
     }
 }
\ No newline at end of file
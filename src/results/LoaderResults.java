@@ -0,0 +1,265 @@
+package results;
+
+import benchmark.BenchmarkRunner;
+import benchmark.BenchmarkStats;
+import loader.DataLoader;
+import loader.LoadMode;
+import types.DataType;
+import types.Drill;
+import types.PlayerEnhanced;
+import types.Transaction;
+import util.ArrayStore;
+import util.DataContainer;
+import util.HashTable;
+import util.MapContainer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares the csv ingest paths of {@link DataLoader}.
+ * <p>
+ * The {@code _5000} files are scaled up by repeating their rows so the load
+ * is long enough to be dominated by parsing rather than opening the file.
+ * Each {@link LoadMode} loads the same file into an {@link ArrayStore}; the
+ * statistics table reports the time per load and the bytes allocated per row.
+ * </p>
+ * A second table sweeps the {@link LoadMode#PARALLEL} thread count from 1 up to
+ * the number of available cores on the largest file and reports rows per ms.
+ * Allocation is only measured on the calling thread, so it does not include
+ * the rows parsed by the {@link LoadMode#PARALLEL} worker threads.
+ * <p>
+ * A third table fills a {@link HashTable} from the largest file, once by copying
+ * a loaded {@link ArrayStore} into it and once by streaming the rows straight in
+ * with {@link DataLoader#forEachRow(String, java.util.function.Consumer)}.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.2
+ */
+public final class LoaderResults implements Experiment {
+
+    final static String PLAYER_5000 = "data/seahawks_players_5000.csv";
+    final static String TRANSACTION_5000 = "data/seahawks_transactions_5000.csv";
+    final static String DRILL_5000 = "data/seahawks_drills_5000.csv";
+
+    private static final int TRIAL_RUNS = 10;
+
+    /**
+     * 5k, 100k and 1M rows.
+     */
+    private static final int[] SCALE_FACTORS = {1, 20, 200};
+
+    private final BenchmarkRunner myBenchmarkRunner = new BenchmarkRunner(2);
+    private final ArrayStore<BenchmarkResult> myResults = new ArrayStore<>(BenchmarkResult.class);
+    private final ResultsDisplay myResultsDisplay =
+            new ResultsDisplay(ExperimentFormat.BENCHMARK_STATS, "DataLoader", "ArrayStore");
+    private final ArrayStore<BenchmarkResult> myScalingResults = new ArrayStore<>(BenchmarkResult.class);
+    private final ResultsDisplay myScalingDisplay =
+            new ResultsDisplay(ExperimentFormat.BENCHMARK_THROUGHPUT, "DataLoader", "PARALLEL");
+    private final ArrayStore<BenchmarkResult> myTableResults = new ArrayStore<>(BenchmarkResult.class);
+    private final ResultsDisplay myTableDisplay =
+            new ResultsDisplay(ExperimentFormat.BENCHMARK_STATS, "DataLoader", "HashTable");
+
+    /**
+     * Keeps the last load reachable so it cannot be optimized away.
+     */
+    private DataContainer<?> myLastLoad;
+
+    private MapContainer<Integer, ?> myLastTable;
+
+    /**
+     * rows put into myLastTable, the scaled files repeat ids so this exceeds its size.
+     */
+    private int myLastRowCount;
+
+    /**
+     * Writes a copy of a csv with its data rows repeated.
+     * @param theFilePath the csv to scale up.
+     * @param theFactor how many times each row appears in the copy.
+     * @return the path of the copy, or theFilePath if theFactor is 1.
+     * @throws IOException if the copy cannot be written.
+     */
+    static String scaleUp(String theFilePath, int theFactor) throws IOException {
+        if (theFactor == 1) {
+            return theFilePath;
+        }
+        Path scaled = Files.createTempFile("soas-x" + theFactor + "-", ".csv");
+        scaled.toFile().deleteOnExit();
+
+        String header;
+        StringBuilder rows = new StringBuilder();
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(theFilePath))) {
+            header = reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rows.append(line).append('\n');
+            }
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(scaled)) {
+            writer.write(header);
+            writer.newLine();
+            for (int i = 0; i < theFactor; i++) {
+                writer.append(rows);
+            }
+        }
+        return scaled.toString();
+    }
+
+    /**
+     * Times loading a file with one load mode.
+     * @param theDataClass the type of the rows.
+     * @param theFilePath the csv file.
+     * @param theLoadMode the ingest path to time.
+     * @param theLabel the data set name shown in the table.
+     * @return the load time statistics, the input size is the number of rows.
+     */
+    public <T extends DataType> BenchmarkResult testLoad(Class<T> theDataClass,
+                                                         String theFilePath,
+                                                         LoadMode theLoadMode,
+                                                         String theLabel) {
+        DataLoader<T> loader = new DataLoader<>(theDataClass, () -> new ArrayStore<>(theDataClass), theLoadMode);
+        BenchmarkStats stats = myBenchmarkRunner.runWithStats(TRIAL_RUNS, () -> { }, () -> {
+            try {
+                myLastLoad = loader.loadData(theFilePath);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        BenchmarkResult result = new BenchmarkResult(
+                myLastLoad.size(),
+                theLabel + " " + theLoadMode.name().toLowerCase(),
+                stats.mean(),
+                new OperationCounts(0, 0));
+        result.setStats(stats);
+        return result;
+    }
+
+    /**
+     * Times {@link LoadMode#PARALLEL} with a fixed number of threads.
+     * @param theThreads the parallelism of the loader.
+     * @return the load time, the input size is the thread count and the throughput is rows per ms.
+     */
+    public <T extends DataType> BenchmarkResult testParallelScaling(Class<T> theDataClass,
+                                                                    String theFilePath,
+                                                                    int theThreads,
+                                                                    String theLabel) {
+        DataLoader<T> loader = new DataLoader<>(
+                theDataClass, () -> new ArrayStore<>(theDataClass), LoadMode.PARALLEL, theThreads);
+        BenchmarkStats stats = myBenchmarkRunner.runWithStats(TRIAL_RUNS, () -> { }, () -> {
+            try {
+                myLastLoad = loader.loadData(theFilePath);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        BenchmarkResult result = new BenchmarkResult(
+                theThreads,
+                theLabel + " " + myLastLoad.size(),
+                stats.mean(),
+                new OperationCounts(0, 0));
+        result.setStats(stats);
+        result.setThroughput(myLastLoad.size() / stats.mean());
+        return result;
+    }
+
+    /**
+     * Times filling a {@link HashTable} keyed by id from a csv.
+     * @param theStreamed true to put the rows into the table as they are parsed,
+     *                    false to load them into an {@link ArrayStore} first and copy them over.
+     * @return the load time statistics, the input size is the number of rows read.
+     */
+    public <T extends DataType> BenchmarkResult testTableLoad(Class<T> theDataClass,
+                                                              String theFilePath,
+                                                              LoadMode theLoadMode,
+                                                              boolean theStreamed,
+                                                              String theLabel) {
+        DataLoader<T> loader = new DataLoader<>(theDataClass, () -> new ArrayStore<>(theDataClass), theLoadMode);
+        BenchmarkStats stats = myBenchmarkRunner.runWithStats(TRIAL_RUNS, () -> myLastTable = null, () -> {
+            HashTable<Integer, T> table = new HashTable<>(Integer.class, theDataClass);
+            myLastRowCount = 0;
+            try {
+                if (theStreamed) {
+                    loader.forEachRow(theFilePath, row -> {
+                        table.put(row.id(), row);
+                        myLastRowCount++;
+                    });
+                } else {
+                    for (T row : loader.loadData(theFilePath)) {
+                        table.put(row.id(), row);
+                        myLastRowCount++;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            myLastTable = table;
+        });
+
+        BenchmarkResult result = new BenchmarkResult(
+                myLastRowCount,
+                theLabel + (theStreamed ? " stream " : " copy ") + theLoadMode.name().toLowerCase(),
+                stats.mean(),
+                new OperationCounts(0, 0));
+        result.setStats(stats);
+        return result;
+    }
+
+    private <T extends DataType> void compareTableLoads(Class<T> theDataClass,
+                                                        String theFilePath,
+                                                        String theLabel) throws IOException {
+        String path = scaleUp(theFilePath, SCALE_FACTORS[SCALE_FACTORS.length - 1]);
+        for (LoadMode mode : LoadMode.values()) {
+            myTableResults.add(testTableLoad(theDataClass, path, mode, false, theLabel));
+            myTableResults.add(testTableLoad(theDataClass, path, mode, true, theLabel));
+        }
+    }
+
+    private <T extends DataType> void sweepThreads(Class<T> theDataClass,
+                                                   String theFilePath,
+                                                   String theLabel) throws IOException {
+        String path = scaleUp(theFilePath, SCALE_FACTORS[SCALE_FACTORS.length - 1]);
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            myScalingResults.add(testParallelScaling(theDataClass, path, threads, theLabel));
+        }
+        if (Integer.bitCount(cores) != 1) {
+            myScalingResults.add(testParallelScaling(theDataClass, path, cores, theLabel));
+        }
+    }
+
+    private <T extends DataType> void compareModes(Class<T> theDataClass,
+                                                   String theFilePath,
+                                                   String theLabel) throws IOException {
+        for (int factor : SCALE_FACTORS) {
+            String path = scaleUp(theFilePath, factor);
+            for (LoadMode mode : LoadMode.values()) {
+                myResults.add(testLoad(theDataClass, path, mode, theLabel));
+            }
+        }
+    }
+
+    @Override
+    public void runAllExperiments() throws IOException {
+        compareModes(PlayerEnhanced.class, PLAYER_5000, "player");
+        compareModes(Transaction.class, TRANSACTION_5000, "trans");
+        compareModes(Drill.class, DRILL_5000, "drill");
+        myResultsDisplay.printResults(myResults);
+
+        sweepThreads(PlayerEnhanced.class, PLAYER_5000, "player");
+        sweepThreads(Transaction.class, TRANSACTION_5000, "trans");
+        myScalingDisplay.printResults(myScalingResults);
+
+        compareTableLoads(PlayerEnhanced.class, PLAYER_5000, "player");
+        myTableDisplay.printResults(myTableResults);
+    }
+
+    public static void main(String[] args) throws IOException {
+        new LoaderResults().runAllExperiments();
+    }
+}
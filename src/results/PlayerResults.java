@@ -4,25 +4,86 @@ import manager.HashableManager;
 import manager.PlayerManager;
 import types.PlayerEnhanced;
 import types.Position;
+import util.CompactHashTable;
+import util.CuckooHashTable;
+import util.DirectAddressTable;
 import util.Entry;
+import util.HashStrategy;
+import util.HashTable;
+import util.IntHashTable;
+import util.MapContainer;
+import util.RehashMode;
+import util.SwissHashTable;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 
 public final class PlayerResults extends HashTableBenchMark<PlayerEnhanced, PlayerManager> {
 
     final static String PLAYER_50 = "data/seahawks_players_50.csv";
     final static  String PLAYER_500 = "data/seahawks_players_500.csv";
     final static String PLAYER_5000 = "data/seahawks_players_5000.csv";
+    final static int PLAYER_100K = 100_000;
+    final static int PLAYER_1M = 1_000_000;
+
+    /**
+     * gap between the ids of {@link #stridedPlayer(int)}, a power of two so it
+     * shares every low bit with the power of two table capacities.
+     */
+    final static int ID_STRIDE = 64;
+
+    /**
+     * key counts for the adversarial gets, a multiple of 2^16 shares bucket 0 until a table holds 2^16 buckets.
+     */
+    private static final int[] ADVERSARIAL_SIZES = {5000, 50_000};
+
+    /**
+     * A key whose hash code always collides, ordered by its id.
+     */
+    private record CollidingId(int id) implements Comparable<CollidingId> {
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public int compareTo(CollidingId theOther) {
+            return Integer.compare(id, theOther.id);
+        }
+    }
 
     private final  PlayerEnhanced notFindable = new PlayerEnhanced(1001,
             "Not findable", Position.QB,
             1,1,false);
 
 
+    /**
+     * Builds fresh tables for the footprint experiment, null to skip it.
+     */
+    private final Supplier<MapContainer<Integer, PlayerEnhanced>> myTableSupplier;
+
+    /**
+     * the manager being benchmarked, typed for its record updates.
+     */
+    private final PlayerManager myPlayerManager;
+
+    public PlayerResults(
+            PlayerManager theManager,
+            ExperimentFormat theExperimentFormat){
+        this(theManager, null, theExperimentFormat);
+    }
+
+    /**
+     * @param theTableSupplier supplies the same kind of table the manager uses,
+     *                         so {@link #testFootprint} can build fresh ones.
+     */
     public PlayerResults(
             PlayerManager theManager,
+            Supplier<MapContainer<Integer, PlayerEnhanced>> theTableSupplier,
             ExperimentFormat theExperimentFormat){
         super(PlayerEnhanced.class, theManager,theExperimentFormat);
+        myTableSupplier = theTableSupplier;
+        myPlayerManager = theManager;
     }
 
     /**
@@ -36,6 +97,143 @@ public final class PlayerResults extends HashTableBenchMark<PlayerEnhanced, Play
     }
 
 
+    /**
+     * Gets every player by id, all of them are present.
+     */
+    public void getEveryPlayer() {
+        for (PlayerEnhanced player : myTestContainer) {
+            myManager.searchById(player);
+        }
+    }
+
+    /**
+     * Replaces every player by checking the key is present and then adding,
+     * two searches of the same chain. Writes go through the manager so its
+     * aggregates and indexes stay up to date.
+     */
+    public void updateTwoProbes() {
+        for (PlayerEnhanced player : myTestContainer) {
+            if (myPlayerManager.containsRecord(player.id())) {
+                myPlayerManager.addPlayer(player);
+            }
+        }
+    }
+
+    /**
+     * Replaces every player through {@link PlayerManager#updateRecord}, one search per player.
+     */
+    public void updateOneProbe() {
+        for (PlayerEnhanced player : myTestContainer) {
+            myPlayerManager.updateRecord(player);
+        }
+    }
+
+    /**
+     * Credits every player with a touchdown by getting and then adding the player.
+     */
+    public void creditTwoProbes() {
+        for (PlayerEnhanced player : myTestContainer) {
+            PlayerEnhanced current = myPlayerManager.searchById(player.id());
+            myPlayerManager.addPlayer(current == null ? player : withTouchdown(current));
+        }
+    }
+
+    /**
+     * Credits every player with a touchdown through {@link PlayerManager#mergeRecord}, one search per player.
+     */
+    public void creditOneProbe() {
+        for (PlayerEnhanced player : myTestContainer) {
+            myPlayerManager.mergeRecord(player, (current, ignored) -> withTouchdown(current));
+        }
+    }
+
+    private static PlayerEnhanced withTouchdown(PlayerEnhanced thePlayer) {
+        return new PlayerEnhanced(thePlayer.player_id(), thePlayer.name(), thePlayer.position(),
+                thePlayer.yards(), thePlayer.touchdowns() + 1, thePlayer.injured());
+    }
+
+    /**
+     * Generates a player for synthetic input sizes. Ids are sequential
+     * starting at 1001 to match the shipped csv data.
+     * @param i the index of the player.
+     * @return a new player.
+     */
+    public static PlayerEnhanced syntheticPlayer(int i) {
+        Position[] positions = Position.values();
+        return new PlayerEnhanced(
+                1001 + i,
+                "Player " + i,
+                positions[i % positions.length],
+                i % 2000,
+                i % 25,
+                i % 7 == 0);
+    }
+
+    /**
+     * Generates a player whose id is {@link #ID_STRIDE} past the previous one,
+     * ie: ids handed out in blocks. The ids never include 1001 so the
+     * not findable player stays missing.
+     * @param i the index of the player.
+     * @return a new player.
+     */
+    public static PlayerEnhanced stridedPlayer(int i) {
+        PlayerEnhanced player = syntheticPlayer(i);
+        return new PlayerEnhanced(
+                1001 + ID_STRIDE * (i + 1),
+                player.name(),
+                player.position(),
+                player.yards(),
+                player.touchdowns(),
+                player.injured());
+    }
+
+    private void runExperiments() {
+        addExperimentResult(testAdd("Insert"));
+        addExperimentResult(testSearch("Search", this::searchNTimes));
+        addExperimentResult(testRemove("Remove"));
+        addLatencyResult(testAddLatency("Insert"));
+        addLatencyResult(testSearchLatency("Get"));
+        addComparisonResult(testSearch("Update 2-probe", this::updateTwoProbes));
+        addComparisonResult(testSearch("Update 1-probe", this::updateOneProbe));
+        addComparisonResult(testSearch("Credit 2-probe", this::creditTwoProbes));
+        addComparisonResult(testSearch("Credit 1-probe", this::creditOneProbe));
+    }
+
+    /**
+     * Gets every player from the manager's table, freezes the manager and gets
+     * them again from the perfect hash. Run last for a data set, the manager
+     * stays frozen until the next {@link #testAdd} clears it.
+     */
+    private void runFreezeExperiments() {
+        addComparisonResult(testSearch("Get", this::getEveryPlayer));
+        addComparisonResult(testFreeze("Freeze"));
+        addComparisonResult(testSearch("Frozen get", this::getEveryPlayer));
+    }
+
+    /**
+     * Gets keys that pile into one bucket from a HashTable with the same hash
+     * strategy as the manager's: ids 2^16 apart, and keys whose hash codes are
+     * all equal. Skipped unless the manager uses a HashTable.
+     */
+    private void runAdversarialExperiments() {
+        if (!(myManager.getData() instanceof HashTable<?,?> managed)) {
+            return;
+        }
+        HashStrategy strategy = managed.getHashStrategy();
+        for (int size : ADVERSARIAL_SIZES) {
+            addComparisonResult(testAdversarialGets("Patterned get", size, i -> i << 16,
+                    () -> new HashTable<>(Integer.class, Integer.class, 16, RehashMode.EAGER, strategy)));
+            addComparisonResult(testAdversarialGets("Colliding get", size, CollidingId::new,
+                    () -> new HashTable<>(CollidingId.class, Integer.class, 16, RehashMode.EAGER, strategy)));
+        }
+    }
+
+    private void runFootprint() {
+        if (myTableSupplier != null) {
+            addMemoryResult(testFootprint(getDataStructureName(), myTableSupplier));
+        }
+    }
+
     @Override
     public void runAllExperiments() throws IOException {
 
@@ -43,18 +241,74 @@ public final class PlayerResults extends HashTableBenchMark<PlayerEnhanced, Play
 
         for (String csvFile : csvFiles) {
             loadData(csvFile);
-            addExperimentResult(testAdd("Insert"));
-            addExperimentResult(testSearch("Search", this::searchNTimes));
-            addExperimentResult(testRemove("Remove"));
+            runExperiments();
         }
+        runFreezeExperiments();
+        runFootprint();
+
+        loadData(PLAYER_100K, PlayerResults::syntheticPlayer);
+        runFootprint();
+
+        // strided ids show how each hash strategy spreads keys that share their low bits.
+        loadData(PLAYER_100K, PlayerResults::stridedPlayer);
+        runExperiments();
+
+        loadData(PLAYER_1M, PlayerResults::syntheticPlayer);
+        runExperiments();
+        runFreezeExperiments();
+        runFootprint();
+
+        runAdversarialExperiments();
 
         printResults();
     }
 
     public static void main(String[] args) throws IOException {
-        PlayerManager PM = new PlayerManager();
-        PlayerResults results = new PlayerResults(PM, ExperimentFormat.BENCHMARK_MAP);
-        results.runAllExperiments();
+        // chained HashTable, once per hash strategy
+        for (HashStrategy strategy : HashStrategy.values()) {
+            Supplier<MapContainer<Integer, PlayerEnhanced>> chained =
+                    () -> new HashTable<>(Integer.class, PlayerEnhanced.class, 16, RehashMode.EAGER, strategy);
+            PlayerResults results = new PlayerResults(
+                    new PlayerManager(chained), chained, ExperimentFormat.BENCHMARK_MAP);
+            results.runAllExperiments();
+        }
+
+        // open addressing IntHashTable
+        Supplier<MapContainer<Integer, PlayerEnhanced>> open = IntHashTable::new;
+        PlayerResults intResults = new PlayerResults(
+                new PlayerManager(open), open, ExperimentFormat.BENCHMARK_MAP);
+        intResults.runAllExperiments();
+
+        // chained HashTable with incremental rehashing
+        Supplier<MapContainer<Integer, PlayerEnhanced>> incremental =
+                () -> new HashTable<>(Integer.class, PlayerEnhanced.class, 16, RehashMode.INCREMENTAL);
+        PlayerResults incrementalResults = new PlayerResults(
+                new PlayerManager(incremental), incremental, ExperimentFormat.BENCHMARK_MAP);
+        incrementalResults.runAllExperiments();
+
+        // array indexed by id for the dense player ids
+        Supplier<MapContainer<Integer, PlayerEnhanced>> direct = DirectAddressTable::new;
+        PlayerResults directResults = new PlayerResults(
+                new PlayerManager(direct), direct, ExperimentFormat.BENCHMARK_MAP);
+        directResults.runAllExperiments();
+
+        // cuckoo hashing, every get reads at most two buckets
+        Supplier<MapContainer<Integer, PlayerEnhanced>> cuckoo = CuckooHashTable::new;
+        PlayerResults cuckooResults = new PlayerResults(
+                new PlayerManager(cuckoo), cuckoo, ExperimentFormat.BENCHMARK_MAP);
+        cuckooResults.runAllExperiments();
+
+        // swiss table, a probe matches a group of 16 control bytes at once
+        Supplier<MapContainer<Integer, PlayerEnhanced>> swiss = SwissHashTable::new;
+        PlayerResults swissResults = new PlayerResults(
+                new PlayerManager(swiss), swiss, ExperimentFormat.BENCHMARK_MAP);
+        swissResults.runAllExperiments();
+
+        // entries kept densely in insertion order, scans walk two arrays
+        Supplier<MapContainer<Integer, PlayerEnhanced>> compact = CompactHashTable::new;
+        PlayerResults compactResults = new PlayerResults(
+                new PlayerManager(compact), compact, ExperimentFormat.BENCHMARK_MAP);
+        compactResults.runAllExperiments();
     }
 
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package results;
 
 import benchmark.BenchmarkRunner;
+import benchmark.BenchmarkStats;
+import counter.OperationCounter;
 import loader.DataLoader;
 import manager.Manager;
 import types.DataType;
@@ -271,13 +273,18 @@ public abstract class Results<T extends DataType, M extends Manager<T>>
 
         int inputSize = myTestContainer.size();
 
-        double avgTime =
-                myBenchmarkRunner.runSpeedTestWithSetup(
+        double uncountedTime = timeWithoutCounting(this::setUpForAdd, this::addNTimes);
+
+        BenchmarkStats stats =
+                myBenchmarkRunner.runWithStats(
                         TRIAL_RUNS,
                         this::setUpForAdd,
                         this::addNTimes);
 
-        return new BenchmarkResult(inputSize, theOperationName, avgTime, getOpCounts());
+        BenchmarkResult result = new BenchmarkResult(inputSize, theOperationName, stats.mean(), getOpCounts());
+        result.setUncountedTime(uncountedTime);
+        result.setStats(stats);
+        return result;
     }
 
 
@@ -288,13 +295,38 @@ public abstract class Results<T extends DataType, M extends Manager<T>>
     // timed
     public BenchmarkResult testRemove(String theOperationName) {
         final int inputSize = myManager.getData().size();
-        final double avgTime =
-                myBenchmarkRunner.runSpeedTestWithSetup(
+        final double uncountedTime = timeWithoutCounting(this::setUpForRemove, this::removeNTimes);
+        final BenchmarkStats stats =
+                myBenchmarkRunner.runWithStats(
                         TRIAL_RUNS,
                         this::setUpForRemove,
                         this::removeNTimes);
 
-        return new BenchmarkResult(inputSize, theOperationName, avgTime, getOpCounts());
+        BenchmarkResult result = new BenchmarkResult(inputSize, theOperationName, stats.mean(), getOpCounts());
+        result.setUncountedTime(uncountedTime);
+        result.setStats(stats);
+        return result;
+    }
+
+    /**
+     * Times the task with operation counting paused so the report can show
+     * how much of the instrumented time is spent counting.
+     * Only measured for {@link ExperimentFormat#BENCHMARK_W_OPS}, other formats
+     * do not report operation counts.
+     * @param theSetupTask the untimed setup task.
+     * @param theTask the timed task.
+     * @return the average time in milliseconds, or 0 if not measured.
+     */
+    private double timeWithoutCounting(Runnable theSetupTask, Runnable theTask) {
+        if (myExperimentFormat != ExperimentFormat.BENCHMARK_W_OPS) {
+            return 0;
+        }
+        OperationCounter.setCountingEnabled(false);
+        try {
+            return myBenchmarkRunner.runSpeedTestWithSetup(TRIAL_RUNS, theSetupTask, theTask);
+        } finally {
+            OperationCounter.setCountingEnabled(true);
+        }
     }
 
 
@@ -335,10 +367,11 @@ public abstract class Results<T extends DataType, M extends Manager<T>>
         switch (myExperimentFormat) {
 
             case BENCHMARK_W_OPS ->
-                    row = String.format("%-10s %-15s %-15.6f %-15s %-10s",
+                    row = String.format("%-10s %-15s %-15.6f %-15.6f %-15s %-10s",
                     inputSize,
                     operationName,
                     avgTime,
+                    theResult.getUncountedTime(),
                     theResult.getComparions(),
                     theResult.getSwaps()
                     );
@@ -358,10 +391,11 @@ public abstract class Results<T extends DataType, M extends Manager<T>>
         String columnHeader;
         switch (myExperimentFormat) {
             case BENCHMARK_W_OPS -> columnHeader =
-                    String.format("%-10s %-15s %-15s %-15s %-10s",
+                    String.format("%-10s %-15s %-15s %-15s %-15s %-10s",
                             "Size",
                             "Operation",
                             "Avg Time (ms)",
+                            "Uncounted (ms)",
                             "comparisons", "swaps");
             case BENCHMARK_NO_OPS -> columnHeader =
                     String.format("%-10s %-15s %-15s%n",
@@ -379,7 +413,7 @@ public abstract class Results<T extends DataType, M extends Manager<T>>
                 return "========== Benchmark Results ==========";
             }
             case BENCHMARK_W_OPS -> {
-                return "====================== Benchmark Results ======================";
+                return "============================== Benchmark Results ==============================";
             }
             case null, default -> {
                 throw new RuntimeException("Encounterred Runtime error: Experiment format type cannot be null.");
@@ -394,7 +428,7 @@ public abstract class Results<T extends DataType, M extends Manager<T>>
                 return "----------------------------------------";
             }
             case BENCHMARK_W_OPS -> {
-                return "---------------------------------------------------------------";
+                return "-------------------------------------------------------------------------------";
             }
             case null, default -> {
                 throw new RuntimeException("Encounterred Runtime error: Experiment format type cannot be null.");
@@ -414,7 +448,7 @@ public abstract class Results<T extends DataType, M extends Manager<T>>
                 return "========================================\n";
             }
             case BENCHMARK_W_OPS -> {
-                return "===============================================================";
+                return "===============================================================================";
             }
             case null, default -> {
                 throw new RuntimeException("Encounterred Runtime error: Experiment format type cannot be null.");
@@ -438,6 +472,12 @@ public abstract class Results<T extends DataType, M extends Manager<T>>
             logExperiment(result);
         }
         logger.info(ANSI_GREEN + getTableFooterDivider() + ANSI_RESET);
+
+        // min/percentile/max table for the experiments timed with runWithStats
+        if (myExperiments.findBy(BenchmarkResult::hasStats) != -1) {
+            new ResultsDisplay(ExperimentFormat.BENCHMARK_STATS, getManagerTitle(), getTestResultsTitle())
+                    .printResults(myExperiments);
+        }
     }
 
 }
@@ -1,6 +1,6 @@
 package results;
 
-import util.ArrayStore;
+import benchmark.BenchmarkStats;
 import util.DataContainer;
 
 import java.util.logging.Logger;
@@ -10,7 +10,7 @@ import java.util.logging.Logger;
  * formating experiment results and providng a template
  * for how all results should be displayed to the console.
  * @author Chris Chun, Ayush
- * @version 1.1
+ * @version 1.4
  */
 public class ResultsDisplay {
 
@@ -40,6 +40,11 @@ public class ResultsDisplay {
 
     public final ExperimentFormat myFormat;
 
+    /**
+     * probe lengths shown on their own in the map table, longer ones are summed.
+     */
+    private static final int PROBE_COLUMNS = 5;
+
     public ResultsDisplay(
             ExperimentFormat theExperiementFormat,
             String managerName,
@@ -71,12 +76,39 @@ public class ResultsDisplay {
                             theResult.getSwaps()
                     );
             case BENCHMARK_MAP ->
-                    row = String.format("%-10s %-15s %-15.6f %-15.6f %-10s",
+                    row = String.format("%-10s %-15s %-15.6f %-15.6f %-10s %-10s %s",
                             inputSize,
                             operationName,
                             avgTime,
                             theResult.getLoadFactor(),
-                            theResult.getMyCollisions()
+                            theResult.getMyCollisions(),
+                            theResult.getMaxProbe(),
+                            formatProbeHistogram(theResult.getProbeHistogram())
+                    );
+            case BENCHMARK_LATENCY ->
+                    row = String.format("%-10s %-15s %-15.6f %-15.6f %-15.6f",
+                            inputSize,
+                            operationName,
+                            avgTime,
+                            theResult.getP99Time(),
+                            theResult.getMaxTime()
+                    );
+            case BENCHMARK_THROUGHPUT ->
+                    row = String.format("%-10s %-15s %-15.6f %-15.2f",
+                            inputSize,
+                            operationName,
+                            avgTime,
+                            theResult.getThroughput()
+                    );
+            case BENCHMARK_STATS ->
+                    row = formatStats(theResult);
+            case BENCHMARK_MEMORY ->
+                    row = String.format("%-10s %-15s %-15.6f %-15.1f %-10.6f",
+                            inputSize,
+                            operationName,
+                            avgTime,
+                            theResult.getBytesPerEntry(),
+                            theResult.getLoadFactor()
                     );
             case BENCHMARK_NO_OPS ->
                     row = String.format("%-10s %-15s %-15.6f",
@@ -89,6 +121,46 @@ public class ResultsDisplay {
         logger.info(ANSI_GREEN + row + ANSI_RESET);
     }
 
+    /**
+     * Formats a probe length histogram as {@code length:count} pairs, ie: "0:612 1:310 2:70".
+     * Lengths from {@link #PROBE_COLUMNS} on are summed into a single "5+" pair.
+     */
+    private static String formatProbeHistogram(int[] theHistogram) {
+        StringBuilder histogram = new StringBuilder();
+        int tail = 0;
+        for (int length = 0; length < theHistogram.length; length++) {
+            if (length >= PROBE_COLUMNS) {
+                tail += theHistogram[length];
+            } else {
+                histogram.append(length).append(':').append(theHistogram[length]).append(' ');
+            }
+        }
+        if (theHistogram.length > PROBE_COLUMNS) {
+            histogram.append(PROBE_COLUMNS).append("+:").append(tail);
+        }
+        return histogram.toString().trim();
+    }
+
+    private String formatStats(BenchmarkResult theResult) {
+        if (!theResult.hasStats()) {
+            throw new IllegalArgumentException(
+                    "Result " + theResult.getMethodName() + " has no statistics to display");
+        }
+        BenchmarkStats stats = theResult.getStats();
+        long bytesPerOp = theResult.getAllocatedBytesPerOp();
+        return String.format("%-10s %-15s %-11.4f %-11.4f %-11.4f %-11.4f %-11.4f %-11.4f %-11.4f %-10s",
+                theResult.getInputSize(),
+                theResult.getMethodName(),
+                stats.min(),
+                stats.mean(),
+                stats.p50(),
+                stats.p90(),
+                stats.p99(),
+                stats.max(),
+                stats.stdDev(),
+                bytesPerOp == BenchmarkStats.ALLOCATION_UNSUPPORTED ? "n/a" : bytesPerOp);
+    }
+
 
     private String getExperimentResultHeader() {
         String columnHeader;
@@ -100,11 +172,36 @@ public class ResultsDisplay {
                             "Avg Time (ms)",
                             "comparisons", "swaps");
             case BENCHMARK_MAP -> columnHeader =
-                    String.format("%-10s %-15s %-15s %-15s %-10s",
+                    String.format("%-10s %-15s %-15s %-15s %-10s %-10s %s",
                             "Size",
                             "Operation",
                             "Avg Time (ms)",
-                            "Load Factor", "Collisions");
+                            "Load Factor", "Collisions",
+                            "Max Probe", "Probe Lengths");
+            case BENCHMARK_LATENCY -> columnHeader =
+                    String.format("%-10s %-15s %-15s %-15s %-15s",
+                            "Size",
+                            "Operation",
+                            "Avg Time (ms)",
+                            "p99 (ms)", "Max (ms)");
+            case BENCHMARK_THROUGHPUT -> columnHeader =
+                    String.format("%-10s %-15s %-15s %-15s",
+                            "Threads",
+                            "Workload",
+                            "Avg Time (ms)",
+                            "Ops/ms");
+            case BENCHMARK_STATS -> columnHeader =
+                    String.format("%-10s %-15s %-11s %-11s %-11s %-11s %-11s %-11s %-11s %-10s",
+                            "Size",
+                            "Operation",
+                            "Min (ms)", "Mean (ms)", "p50 (ms)", "p90 (ms)",
+                            "p99 (ms)", "Max (ms)", "StdDev", "Alloc B/op");
+            case BENCHMARK_MEMORY -> columnHeader =
+                    String.format("%-10s %-15s %-15s %-15s %-10s",
+                            "Size",
+                            "Table",
+                            "Build (ms)",
+                            "Bytes/Entry", "Load Factor");
             case BENCHMARK_NO_OPS -> columnHeader =
                     String.format("%-10s %-15s %-15s%n",
                             "Size",
@@ -120,9 +217,15 @@ public class ResultsDisplay {
             case BENCHMARK_NO_OPS -> {
                 return "========== Benchmark Results ==========";
             }
-            case BENCHMARK_W_OPS, BENCHMARK_MAP-> {
+            case BENCHMARK_W_OPS, BENCHMARK_LATENCY, BENCHMARK_THROUGHPUT, BENCHMARK_MEMORY-> {
                 return "====================== Benchmark Results ======================";
             }
+            case BENCHMARK_MAP -> {
+                return "============================================ Benchmark Results =============================================";
+            }
+            case BENCHMARK_STATS -> {
+                return "==================================================== Benchmark Statistics ====================================================";
+            }
             case null, default -> {
                 throw new RuntimeException("Encounterred Runtime error: Experiment format type cannot be null.");
             }
@@ -135,9 +238,15 @@ public class ResultsDisplay {
             case BENCHMARK_NO_OPS -> {
                 return "========================================\n";
             }
-            case BENCHMARK_W_OPS, BENCHMARK_MAP-> {
+            case BENCHMARK_W_OPS, BENCHMARK_LATENCY, BENCHMARK_THROUGHPUT, BENCHMARK_MEMORY-> {
                 return "===============================================================";
             }
+            case BENCHMARK_MAP -> {
+                return "============================================================================================================";
+            }
+            case BENCHMARK_STATS -> {
+                return "==============================================================================================================================";
+            }
             case null, default -> {
                 throw new RuntimeException("Encounterred Runtime error: Experiment format type cannot be null.");
             }
@@ -150,9 +259,15 @@ public class ResultsDisplay {
             case BENCHMARK_NO_OPS -> {
                 return "----------------------------------------";
             }
-            case BENCHMARK_W_OPS, BENCHMARK_MAP -> {
+            case BENCHMARK_W_OPS, BENCHMARK_LATENCY, BENCHMARK_THROUGHPUT, BENCHMARK_MEMORY -> {
                 return "---------------------------------------------------------------";
             }
+            case BENCHMARK_MAP -> {
+                return "------------------------------------------------------------------------------------------------------------";
+            }
+            case BENCHMARK_STATS -> {
+                return "------------------------------------------------------------------------------------------------------------------------------";
+            }
             case null, default -> {
                 throw new RuntimeException("Encounterred Runtime error: Experiment format type cannot be null.");
             }
@@ -162,8 +277,9 @@ public class ResultsDisplay {
     /**
      * Prints the final summary table of all stored experiments to the console.
      * Includes a header, data rows, and a footer.
+     * The {@link ExperimentFormat#BENCHMARK_STATS} table skips results without statistics.
      */
-    public void printResults(ArrayStore<BenchmarkResult> theExprirementResults) {
+    public void printResults(DataContainer<BenchmarkResult> theExprirementResults) {
         logger.info(ANSI_GREEN + "\n"+ myDataStructureName + " " + myManagerName + ANSI_RESET);
 
         logger.info(ANSI_GREEN + getTableHeaderDivider() + ANSI_RESET);
@@ -172,6 +288,9 @@ public class ResultsDisplay {
 
         logger.info(ANSI_GREEN + getTableDivider() + ANSI_RESET);
         for (BenchmarkResult result: theExprirementResults) {
+            if (myFormat == ExperimentFormat.BENCHMARK_STATS && !result.hasStats()) {
+                continue;
+            }
             logExperiment(result);
         }
         logger.info(ANSI_GREEN + getTableFooterDivider() + ANSI_RESET);
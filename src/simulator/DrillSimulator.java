@@ -6,16 +6,20 @@ import types.Drill;
 import util.*;
 
 import java.io.IOException;
-import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Comparator;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 /**
  * A simulation class that compares wait times and positon changes between
  * drills processed in a regular {@link LinkedQueue} and a {@link BinaryHeapPQ}
+ * <p>
+ * The numbers recorded per drill are kept in primitive stores, one row per
+ * drill in the order the Priority Queue processed them, so none are boxed.
+ * A {@link DrillStats} is only built for the drills that are reported.
+ * </p>
  * @author Chris Chun, Ayush
- * @version 1.1
+ * @version 1.2
  */
 public class DrillSimulator {
 
@@ -75,33 +79,57 @@ public class DrillSimulator {
     // ========================== Containers for Stats  ==========================
 
     /**
-     * HashMap of Deltas in wait time for the Queue
+     * How long each drill waited in the Queue, by place in line - 1.
      */
-    private final HashMap<Drill, DrillStats> drillReportQ = new HashMap<>();
+    private final IntArrayStore waitTimesQ = new IntArrayStore();
 
     /**
-     * HashMap of Deltas in wait time for the Priority Queue.
+     * The id of each drill in the high 32 bits and its place in line - 1 in the
+     * Queue in the low 32 bits, sorted by id to find a drill's row in the Queue.
      */
-    private final HashMap<Drill, DrillStats> drillReportPQ = new HashMap<>();
+    private final LongArrayStore rowsByIdQ = new LongArrayStore();
+
+    /**
+     * The drills in the order the Priority Queue processed them, one row each.
+     */
+    private final ArrayStore<Drill> drillsPQ = new ArrayStore<>(Drill.class, 16);
+
+    /**
+     * How long each drill waited in the Priority Queue, by row.
+     */
+    private final IntArrayStore waitTimesPQ = new IntArrayStore();
+
+    /**
+     * Change in wait time between the Queue and the Priority Queue, by row.
+     */
+    private final IntArrayStore deltaWaitTimes = new IntArrayStore();
+
+    /**
+     * Change in place in line between the Queue and the Priority Queue, by row.
+     */
+    private final IntArrayStore deltaPositions = new IntArrayStore();
+
+    private final DoubleArrayStore zScoresTime = new DoubleArrayStore();
+
+    private final DoubleArrayStore zScoresPos = new DoubleArrayStore();
 
 
     // ========================== Priority Queue of Stats  ==========================
     /**
-     * Priority queue of drills sorted by greatest decrease in
+     * Priority queue of rows sorted by greatest decrease in
      * change of position/ wait time.
      */
-    private final BinaryHeapPQ<DrillStats> biggestWinners =
-            new BinaryHeapPQ<>(DrillStats.class,
-                    (a, b)-> b.getDeltaPosition() - a.getDeltaPosition());
+    private final IntBinaryHeapPQ biggestWinners =
+            new IntBinaryHeapPQ((a, b) -> deltaPositions.get(b) - deltaPositions.get(a));
 
 
     // ========================== Sorted Array of Stats  ==========================
     /**
-     * Array of drills sorted by greatest decrease in
+     * Array of rows sorted by greatest decrease in
      * position/ wait time - used to report top percentile deltas
      * in wait time/ position
      */
-    private final ArrayStore<DrillStats> arrayWinners = new ArrayStore<>(DrillStats.class, 16);
+    private final IntArrayStore arrayWinners = new IntArrayStore();
 
 
     public DrillSimulator(){super();}
@@ -141,44 +169,24 @@ public class DrillSimulator {
     /**
      *
      * Processes a drill by removing one drill from the Drill Manager and
-     * creates the ability to associate wait time metrics to a specific drill.
+     * recording how long it waited, its place in line is the row it is recorded at.
      * @param drillManager a drill manager that process/removes a drill.
-     * @param drillReportTable a hash table to tie wait time metrics to specific drills
+     * @param theWaitTimes the wait time of each drill processed so far.
      * @param waitTime how long this drill waited before being processed.
-     * @param placeInLine the order this drill was processed.
-     * @return the time elapsed to process this drill.
+     * @return the drill processed.
      */
-    private int processDrill(DrillManager drillManager,
-                             HashMap<Drill, DrillStats> drillReportTable,
-                             int waitTime,
-                             int placeInLine) {
-        // 1) record how long each drill waits in the queue
-        //    and its order in line.
-        // remove from queue
-        Drill removedFromQ = drillManager.removeData();
-
-        // 2)
-        // create DrillReport object to report metrics
-        DrillReport report = new DrillReport(waitTime, placeInLine);
-        DrillStats stats = new DrillStats(removedFromQ, report);
-
-        drillReportTable.put(removedFromQ,  stats);
-
-        // 3)
-        // increment how long the next drill waited before being processed.
-        waitTime += removedFromQ.duration_min();
-
-        return waitTime;
+    private Drill processDrill(DrillManager drillManager,
+                               IntArrayStore theWaitTimes,
+                               int waitTime) {
+        Drill removed = drillManager.removeData();
+        theWaitTimes.add(waitTime);
+        return removed;
     }
 
     // ===========================  Step 3 ======================================
 
-    private double getAverageWaitTime(HashMap<Drill, DrillStats> theDrillStats) {
-        AtomicInteger totalTime = new AtomicInteger();
-        theDrillStats.forEach(
-                (_, stat) -> totalTime.addAndGet(stat.getReport().waitTime())
-        );
-        return totalTime.get()/ (double) theDrillStats.size();
+    private double getAverageWaitTime(IntArrayStore theWaitTimes) {
+        return theWaitTimes.sum() / (double) theWaitTimes.size();
     }
 
     // ===========================  Step 4 ======================================
@@ -189,85 +197,65 @@ public class DrillSimulator {
      * in the priority queue experienced.
      */
     private void generateDeltas() {
-        // fail fast. by the time we get here both hash tables
-        // should be the same length
-        if (drillReportPQ.size() != drillReportQ.size()) {
+        // fail fast. by the time we get here both queues
+        // should have processed the same number of drills
+        if (drillsPQ.size() != waitTimesQ.size()) {
             throw new RuntimeException("both drill reports should be the same size");
         }
 
-        for (Map.Entry<Drill, DrillStats> entry: drillReportPQ.entrySet()) {
+        rowsByIdQ.sort();
+
+        for (int row = 0; row < drillsPQ.size(); row++) {
 
-            Drill drill = entry.getKey();
-            DrillStats statistic = entry.getValue();
-            DrillReport report = entry.getValue().getReport();
+            int rowQ = rowInQueue(drillsPQ.get(row));
 
             // how many times this drill denied being processed.
             // if negative then this drill had a lower priority.
             // if positive this drill had a higher priority.
 
             // delta in order processed.
-            int deltaPosition =  drillReportQ.get(drill).getReport().orderProcessed() - report.orderProcessed();
+            deltaPositions.add(rowQ - row);
 
             // delta in time processed.
-            int deltaWaitTime = drillReportQ.get(drill).getReport().waitTime() - report.waitTime();
+            deltaWaitTimes.add(waitTimesQ.get(rowQ) - waitTimesPQ.get(row));
 
-            statistic.setDeltaWaitTime(deltaWaitTime);
-            statistic.setDeltaPosition(deltaPosition);
-
-            biggestWinners.insert(statistic); // sorts by greatest increase in wait time/posiiton
+            biggestWinners.insert(row); // sorts by greatest increase in wait time/posiiton
         }
 
     }
-    // ===========================  Step 5 ======================================
-    // get average of deltas
-
-    private double getAverageDeltaTime(HashMap<Drill, DrillStats> map) {
-
-        double sum = 0.0;
-        double N = map.size();
-
-        for (DrillStats stat: map.values()) {
-            sum += stat.getDeltaWaitTime();
+    /**
+     * @param theDrill a drill the Priority Queue processed.
+     * @return the row the Queue processed theDrill at, its place in line - 1.
+     */
+    private int rowInQueue(Drill theDrill) {
+        // no row is negative, so the id with a row of 0 sorts just before the drill's entry.
+        int index = rowsByIdQ.binarySearch((long) theDrill.drill_id() << 32);
+        if (index < 0) {
+            index = -index - 1;
         }
-
-        return sum/N;
+        if (index == rowsByIdQ.size() || (int) (rowsByIdQ.get(index) >> 32) != theDrill.drill_id()) {
+            throw new RuntimeException("Drill " + theDrill.drill_id() + " was not processed by the Queue");
+        }
+        return (int) rowsByIdQ.get(index);
     }
 
+    // ===========================  Step 5 ======================================
+    // get average of deltas
 
-    private double getAverageDeltaPosition(HashMap<Drill, DrillStats> map) {
-
-        double sum = 0.0;
-        double N = map.size();
-
-        for (DrillStats stat: map.values()) {
-            sum += stat.getDeltaPosition();
-        }
-
-        return sum/N;
+    private double getAverageDelta(IntArrayStore theDeltas) {
+        return theDeltas.sum() / (double) theDeltas.size();
     }
 
     // ============================== Step 6 =========================================
     // calculate std of deltas
 
-    private double calculateStdDeltaTime(HashMap<Drill, DrillStats> map, double avgDeltaWaitTime) {
-
-        double sum = 0.0;
-        double N = map.size();
-
-        for (DrillStats stat: map.values()) {
-            sum += Math.pow(stat.getDeltaWaitTime()  - avgDeltaWaitTime, 2);
-        }
-
-        return Math.sqrt(sum/N);
-    }
-
-    private double calculateStdDeltaPosition(HashMap<Drill, DrillStats> map, double avgDeltaWaitTime) {
+    private double calculateStdDelta(IntArrayStore theDeltas, double theAverage) {
 
         double sum = 0.0;
-        double N = map.size();
+        double N = theDeltas.size();
 
-        for (DrillStats stat: map.values()) {
-            sum += Math.pow(stat.getDeltaPosition()  - avgDeltaWaitTime, 2);
+        for (int i = 0; i < theDeltas.size(); i++) {
+            sum += Math.pow(theDeltas.get(i) - theAverage, 2);
         }
 
         return Math.sqrt(sum/N);
@@ -309,6 +297,20 @@ public class DrillSimulator {
     // ===========================  Step 9 ======================================
     // report simulation results
 
+    /**
+     * @param theRow a row of the Priority Queue.
+     * @return the statistics of the drill processed at theRow, for reporting.
+     */
+    private DrillStats statsOf(int theRow) {
+        DrillStats stats = new DrillStats(drillsPQ.get(theRow),
+                new DrillReport(waitTimesPQ.get(theRow), theRow + 1));
+        stats.setDeltaWaitTime(deltaWaitTimes.get(theRow));
+        stats.setDeltaPosition(deltaPositions.get(theRow));
+        stats.setZScoreTime(zScoresTime.get(theRow));
+        stats.setZScorePos(zScoresPos.get(theRow));
+        return stats;
+    }
+
     /**
      * Prints report of the simulation results.
      * @param sampleSizes sample size of the data can be 50, 500, 5000
@@ -318,8 +320,8 @@ public class DrillSimulator {
     private void printReport(SampleSizes sampleSizes,
                              double qAvgWaitTime,
                              double pqAvgWaitTime ) {
-        DrillStats biggestWinner = arrayWinners.get(0);
-        DrillStats biggestLoser =  arrayWinners.get(arrayWinners.size()-1);
+        DrillStats biggestWinner = statsOf(arrayWinners.get(0));
+        DrillStats biggestLoser =  statsOf(arrayWinners.get(arrayWinners.size()-1));
 
         logger.info(ANSI_LAVENDER
                 + "The simulation compared wait times to process Seahawks drills "
@@ -432,8 +434,14 @@ public class DrillSimulator {
 
         //-----------------------------------------------
         // step 0) Make Sure all data containers are clear so we run experiments on new data sets
-        drillReportQ.clear();
-        drillReportPQ.clear();
+        waitTimesQ.clear();
+        rowsByIdQ.clear();
+        drillsPQ.clear();
+        waitTimesPQ.clear();
+        deltaWaitTimes.clear();
+        deltaPositions.clear();
+        zScoresTime.clear();
+        zScoresPos.clear();
         biggestWinners.clear();
         arrayWinners.clear();
 
@@ -450,27 +458,27 @@ public class DrillSimulator {
         // running total of how long each drill waits before being processed in the Priority Queue
         int waitTimePQ = 0;
 
-        int placeInLine = 0;
-
         while (!DM_PQ.getData().isEmpty() && !DM_Q.getData().isEmpty()) {
 
-            placeInLine++;
-
-            // process drills from the queue.
-            waitTimeQ = processDrill(DM_Q, drillReportQ, waitTimeQ, placeInLine);
+            // process drills from the queue, the place in line is the row + 1.
+            Drill fromQ = processDrill(DM_Q, waitTimesQ, waitTimeQ);
+            rowsByIdQ.add((long) fromQ.drill_id() << 32 | (waitTimesQ.size() - 1));
+            waitTimeQ += fromQ.duration_min();
 
             // process drills from the priority queue.
-            waitTimePQ = processDrill(DM_PQ, drillReportPQ, waitTimePQ, placeInLine);
+            Drill fromPQ = processDrill(DM_PQ, waitTimesPQ, waitTimePQ);
+            drillsPQ.add(fromPQ);
+            waitTimePQ += fromPQ.duration_min();
         }
 
         // ------------------------------------------------------
         // step 3) calculate averages
 
         // average wait time for a regular queue
-        double qAvgWaitTime =  getAverageWaitTime(drillReportQ);
+        double qAvgWaitTime =  getAverageWaitTime(waitTimesQ);
 
         // average wait time for a priority queue
-        double pqAvgWaitTime =  getAverageWaitTime(drillReportPQ);
+        double pqAvgWaitTime =  getAverageWaitTime(waitTimesPQ);
 
         // ------------------------------------------------------
         // step 4)
@@ -486,21 +494,19 @@ public class DrillSimulator {
         // calculate average delta in wait time and position and
         // calculate standard deviation in wait time and position.
         //
-        double avgT = getAverageDeltaTime(drillReportPQ);
-        double stdT = calculateStdDeltaTime(drillReportPQ, avgT);
+        double avgT = getAverageDelta(deltaWaitTimes);
+        double stdT = calculateStdDelta(deltaWaitTimes, avgT);
 
-        double avgP = getAverageDeltaPosition(drillReportPQ);
-        double stdP = calculateStdDeltaPosition(drillReportPQ, avgP);
+        double avgP = getAverageDelta(deltaPositions);
+        double stdP = calculateStdDelta(deltaPositions, avgP);
 
         // ------------------------------------------------------
         // step 7)
         // update Z-score for position and wait time.
-        drillReportPQ.values().forEach(stat -> {
-            double zTime = calculateZScore(stat.getDeltaWaitTime(), avgT, stdT);
-            stat.setZScoreTime(zTime);
-            double zPos = calculateZScore(stat.getDeltaPosition(), avgP, stdP);
-            stat.setZScorePos(zPos);
-        });
+        for (int row = 0; row < drillsPQ.size(); row++) {
+            zScoresTime.add(calculateZScore(deltaWaitTimes.get(row), avgT, stdT));
+            zScoresPos.add(calculateZScore(deltaPositions.get(row), avgP, stdP));
+        }
 
         // ------------------------------------------------------
         // step 8)
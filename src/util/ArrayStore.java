@@ -103,16 +103,16 @@ public final class ArrayStore<T> implements DataContainer<T>, Indexable<T> {
         return myData[theIndex];
     }
 
+    /**
+     * Adds every element of another ArrayStore to the end of this one, in order.
+     * @param theArray the elements to append.
+     */
     public void append(ArrayStore<T> theArray) {
         while (myData.length - size < theArray.size) {
             resize();
         }
-        int index = 0;
-        int newSize = size + theArray.size;
-        for (int i = size; i < newSize; i++) {
-            set(i, theArray.get(index++));
-        }
-        size = newSize;
+        System.arraycopy(theArray.myData, 0, myData, size, theArray.size);
+        size += theArray.size;
     }
 
     // ================== removing ========================
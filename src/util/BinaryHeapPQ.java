@@ -4,6 +4,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import counter.Operation;
 import counter.OperationCounter;
 import java.util.function.Predicate;
 
@@ -12,7 +13,7 @@ import java.util.function.Predicate;
  * to provide a custom comparator for sorting. Defaults
  * to the underlying objects natural ordering.
  * @author Chris Chun, Ayush.
- * @version 1.1
+ * @version 1.2
  * @param <T> The object type stored in the PQ.
  */
 public final class BinaryHeapPQ<T extends Comparable<? super T>> implements Heap<T>, DataContainer<T> {
@@ -21,7 +22,7 @@ public final class BinaryHeapPQ<T extends Comparable<? super T>> implements Heap
 
     private final ArrayStore<T> myArray;
     private Comparator<T> myComparator;
-    private final OperationCounter myCounter =  new OperationCounter();
+    private final OperationCounter myCounter =  OperationCounter.create();
 
     /**
      * Initializes a new priority queue backed by a binary heap.
@@ -122,6 +123,16 @@ public final class BinaryHeapPQ<T extends Comparable<? super T>> implements Heap
         buildHeap();
     }
 
+    /**
+     * Appends an element without restoring the heap property, so elements
+     * streamed in one at a time can be heapified once with {@link #buildHeap()}.
+     * The queue is not ordered until buildHeap() is called.
+     * @param theItem the element to append.
+     */
+    public void addUnordered(T theItem) {
+        myArray.add(theItem);
+    }
+
     // ================ private helper methods ===================
 
     /**
@@ -139,7 +150,7 @@ public final class BinaryHeapPQ<T extends Comparable<? super T>> implements Heap
             T child = myArray.get(childIdx);
             T parent = myArray.get(parentIdx);
 
-            myCounter.increment("comparisons");
+            myCounter.increment(Operation.COMPARISONS);
             int priority = myComparator.compare(parent, child);
 
             // if positive then child comes before parent -> swap
@@ -176,7 +187,7 @@ public final class BinaryHeapPQ<T extends Comparable<? super T>> implements Heap
             T bestChild = myArray.get(highestPriorityIdx);
             T parent = myArray.get(parentIdx);
 
-            myCounter.increment("comparisons");
+            myCounter.increment(Operation.COMPARISONS);
             int priority = myComparator.compare(parent, bestChild);
 
             if (priority > 0) {
@@ -202,7 +213,7 @@ public final class BinaryHeapPQ<T extends Comparable<? super T>> implements Heap
             return left;
         }
 
-        myCounter.increment("comparisons");
+        myCounter.increment(Operation.COMPARISONS);
         // if the left should come before right
         int priority = myComparator.compare(myArray.get(left), myArray.get(right));
         if(priority < 0) {
@@ -219,7 +230,7 @@ public final class BinaryHeapPQ<T extends Comparable<? super T>> implements Heap
      * @param b The second index.
      */
     private void swap(int a, int b) {
-        myCounter.increment("swaps");
+        myCounter.increment(Operation.SWAPS);
         T temp = myArray.get(a);
         myArray.set(a, myArray.get(b));
         myArray.set(b, temp);
@@ -411,11 +422,11 @@ public final class BinaryHeapPQ<T extends Comparable<? super T>> implements Heap
     //=================== operation counting =========================
 
     public int getComparisons() {
-        return myCounter.getCount("comparisons");
+        return (int) myCounter.getCount(Operation.COMPARISONS);
     }
 
     public int getSwaps() {
-        return myCounter.getCount("swaps");
+        return (int) myCounter.getCount(Operation.SWAPS);
     }
 
     public void resetCounter() {
@@ -0,0 +1,517 @@
+package util;
+
+import counter.Operation;
+import counter.OperationCounter;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A HashTable keyed on primitive {@code int} ids whose entries are stored
+ * densely in insertion order, the layout of a compact dict.
+ * <p>
+ * The keys and values live in parallel entry arrays, appended to as keys are
+ * added. Hashing goes through a separate index of {@code int}s, an open
+ * addressing table with linear probing whose slots hold the position of an
+ * entry + 1, 0 if the slot was never used and {@link #DUMMY} if its entry was
+ * deleted. The index is at most 2/3 full, so only the index is sparse: a
+ * full scan is a walk over the entry arrays in the order the keys were put,
+ * with no empty buckets or nodes to skip. A delete leaves a hole in the
+ * entries that the scan steps over until the next rebuild compacts them,
+ * keeping the order.
+ * </p>
+ * Like {@link IntHashTable} the {@code int} overloads never box. Comparisons
+ * count the keys compared, swaps count the entries a rebuild moves and
+ * collisions count keys whose home slot in the index was taken.
+ * @param <V> the class of the value object.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+public final class CompactHashTable<V> implements MapContainer<Integer,V> {
+
+    /**
+     * Index slot of a deleted entry, probes step over it.
+     */
+    private static final int DUMMY = -1;
+
+    /**
+     * Stored in place of the value of a deleted entry, so a scan can skip the hole.
+     */
+    private static final Object DELETED = new Object();
+
+    private static final int DEFAULT_CAPCITY = 8;
+
+    /**
+     * the position of an entry + 1 for each index slot, 0 if empty or DUMMY.
+     */
+    private int[] myIndex;
+
+    /**
+     * the number of index slots - 1, the index size is always a power of two.
+     */
+    private int myMask;
+
+    /**
+     * the keys, in insertion order.
+     */
+    private int[] myKeys;
+
+    /**
+     * the values, in insertion order, DELETED for a hole.
+     */
+    private Object[] myValues;
+
+    /**
+     * the number of entries used, holes included.
+     */
+    private int myEntries;
+
+    private int size;
+
+    private final OperationCounter myCounter = OperationCounter.create();
+
+    private int myCollisions;
+
+    /**
+     * Creates a new CompactHashTable with room for 8 entries.
+     */
+    public CompactHashTable() {
+        this(DEFAULT_CAPCITY);
+    }
+
+    /**
+     * Creates a new CompactHashTable with room for at least theInitialCapacity
+     * entries before it is rebuilt.
+     * @param theInitialCapacity the number of entries.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public CompactHashTable(int theInitialCapacity) {
+        super();
+        if (theInitialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        allocate(indexSizeFor(theInitialCapacity));
+    }
+
+    // ======================  getters/ setters ===========================
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double loadFactor() {
+        return (double) size / myIndex.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of entries the table holds before it is rebuilt.
+     */
+    public int capacity() {
+        return myKeys.length;
+    }
+
+    /**
+     * @return the number of deleted entries a scan steps over until the next rebuild.
+     */
+    public int holes() {
+        return myEntries - size;
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    public V get(Integer key) {
+        return getInt(key.intValue());
+    }
+
+    /**
+     * Primitive lookup, does not box the key.
+     * @param theKey the key.
+     * @return the value associated with the key or null if not present.
+     */
+    public V getInt(int theKey) {
+        int entry = findEntry(theKey);
+        return entry < 0 ? null : value(entry);
+    }
+
+    @Override
+    public V getOrDefault(Integer key, V theDefault) {
+        int entry = findEntry(key);
+        return entry < 0 ? theDefault : value(entry);
+    }
+
+    @Override
+    public boolean containsKey(Integer key) {
+        return containsInt(key.intValue());
+    }
+
+    /**
+     * Primitive containsKey, does not box the key.
+     * @param theKey the key.
+     * @return true if found and false otherwise.
+     */
+    public boolean containsInt(int theKey) {
+        return findEntry(theKey) >= 0;
+    }
+
+    // ======================  adding ===========================
+
+    @Override
+    public void put(Integer theKey, V theValue) {
+        putInt(theKey.intValue(), theValue);
+    }
+
+    /**
+     * Primitive put, does not box the key. A new key goes after every key
+     * already in the table, updating a key keeps its place.
+     * @param theKey the key.
+     * @param theValue the value.
+     */
+    public void putInt(int theKey, V theValue) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        if (slot >= 0) {
+            myValues[myIndex[slot] - 1] = theValue;
+        } else {
+            append(-slot - 1, theKey, theValue);
+        }
+    }
+
+    // ======================  single probe operations ===========================
+
+    @Override
+    public V putIfAbsent(Integer theKey, V theValue) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        if (slot >= 0) {
+            return value(myIndex[slot] - 1);
+        }
+        append(-slot - 1, theKey, theValue);
+        return null;
+    }
+
+    @Override
+    public V computeIfAbsent(Integer theKey, Function<? super Integer, ? extends V> theMapping) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        if (slot >= 0) {
+            return value(myIndex[slot] - 1);
+        }
+        V value = theMapping.apply(theKey);
+        store(slot, theKey, value);
+        return value;
+    }
+
+    @Override
+    public V compute(Integer theKey, BiFunction<? super Integer, ? super V, ? extends V> theRemapping) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        V value = theRemapping.apply(theKey, slot >= 0 ? value(myIndex[slot] - 1) : null);
+        store(slot, theKey, value);
+        return value;
+    }
+
+    @Override
+    public V merge(Integer theKey, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping) {
+        if (theValue == null) {
+            throw new IllegalArgumentException("Cannot merge a null value");
+        }
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        V value = slot >= 0 ? theRemapping.apply(value(myIndex[slot] - 1), theValue) : theValue;
+        store(slot, theKey, value);
+        return value;
+    }
+
+    // ======================  removing ===========================
+
+    @Override
+    public V delete(Integer key) {
+        return deleteInt(key.intValue());
+    }
+
+    /**
+     * Primitive delete, does not box the key.
+     * @param theKey the key of the object to remove.
+     * @return the removed value or null if not found.
+     */
+    public V deleteInt(int theKey) {
+        int slot = probe(theKey);
+        return slot < 0 ? null : removeAt(slot);
+    }
+
+    @Override
+    public Entry<Integer,V> remove(Integer key) {
+        int slot = probe(key);
+        return slot < 0 ? null : new Entry<>(key, removeAt(slot));
+    }
+
+    @Override
+    public void clear() {
+        allocate(myIndex.length);
+        resetCounter();
+        resetCollisions();
+    }
+
+    // ======================  iterating ===========================
+
+    /**
+     * @return the entries in the order their keys were first put.
+     */
+    @Override
+    public Iterator<Entry<Integer,V>> iterator() {
+        return new Iterator<>() {
+
+            // the arrays are only replaced by a rebuild, which the iterator does not support.
+            final int[] keys = myKeys;
+
+            final Object[] values = myValues;
+
+            final int end = myEntries;
+
+            int entry = 0;
+
+            private void advanceToNext() {
+                while (entry < end && values[entry] == DELETED) {
+                    entry++;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                advanceToNext();
+                return entry < end;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Entry<Integer, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Empty");
+                }
+                Entry<Integer,V> next = new Entry<>(keys[entry], (V) values[entry]);
+                entry++;
+                return next;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<Integer, V> entry : this) {
+            sb.append("{");
+            sb.append(entry.toString());
+            sb.append("}, ");
+        }
+        return sb.toString();
+    }
+
+    // ====================   private helper methods =========================
+
+    /**
+     * Allocates an empty index of theIndexSize slots and entry arrays for 2/3 of it.
+     */
+    private void allocate(int theIndexSize) {
+        myIndex = new int[theIndexSize];
+        myMask = theIndexSize - 1;
+        myKeys = new int[theIndexSize / 3 * 2];
+        myValues = new Object[myKeys.length];
+        myEntries = 0;
+        size = 0;
+    }
+
+    /**
+     * @return the smallest power of two index with room for theEntries in 2/3 of it.
+     */
+    private static int indexSizeFor(int theEntries) {
+        int n = 8;
+        while (n / 3 * 2 < theEntries) {
+            n <<= 1;
+        }
+        return n;
+    }
+
+    private int homeSlot(int theKey) {
+        return HashStrategy.FIBONACCI.spread(theKey) & myMask;
+    }
+
+    /**
+     * @return the entry holding {@code theKey} or -1 if not present.
+     */
+    private int findEntry(int theKey) {
+        int slot = homeSlot(theKey);
+        while (true) {
+            int entry = myIndex[slot] - 1;
+            if (entry == -1) {
+                return -1;
+            }
+            if (entry >= 0) {
+                myCounter.increment(Operation.COMPARISONS);
+                if (myKeys[entry] == theKey) {
+                    return entry;
+                }
+            }
+            slot = (slot + 1) & myMask;
+        }
+    }
+
+    /**
+     * Walks the index probe sequence of {@code theKey} once.
+     * @return the index slot pointing at {@code theKey}'s entry, or
+     * {@code -(slot + 1)} of the first DUMMY or empty slot, where a new key goes.
+     */
+    private int probe(int theKey) {
+        int slot = homeSlot(theKey);
+        int free = -1;
+        while (true) {
+            int entry = myIndex[slot] - 1;
+            if (entry == -1) {
+                return -(free < 0 ? slot : free) - 1;
+            }
+            if (entry >= 0) {
+                myCounter.increment(Operation.COMPARISONS);
+                if (myKeys[entry] == theKey) {
+                    return slot;
+                }
+            } else if (free < 0) {
+                free = slot;
+            }
+            slot = (slot + 1) & myMask;
+        }
+    }
+
+    /**
+     * Appends a new key after the last entry and points theSlot at it. Assumes there is room.
+     */
+    private void append(int theSlot, int theKey, Object theValue) {
+        if (theSlot != homeSlot(theKey)) {
+            myCollisions++;
+        }
+        myKeys[myEntries] = theKey;
+        myValues[myEntries] = theValue;
+        myIndex[theSlot] = ++myEntries;
+        size++;
+    }
+
+    /**
+     * Stores the result of a compute or merge at the slot {@link #probe(int)} returned:
+     * updates a found key, adds a missing one and removes the key if theValue is null.
+     */
+    private void store(int theProbe, int theKey, V theValue) {
+        if (theProbe >= 0) {
+            if (theValue == null) {
+                removeAt(theProbe);
+            } else {
+                myValues[myIndex[theProbe] - 1] = theValue;
+            }
+        } else if (theValue != null) {
+            append(-theProbe - 1, theKey, theValue);
+        }
+    }
+
+    /**
+     * Leaves a hole in the entries and a DUMMY in the index slot pointing at it.
+     * @return the removed value.
+     */
+    private V removeAt(int theSlot) {
+        int entry = myIndex[theSlot] - 1;
+        V removed = value(entry);
+        myIndex[theSlot] = DUMMY;
+        myKeys[entry] = 0;
+        myValues[entry] = DELETED;
+        size--;
+        return removed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int theEntry) {
+        return (V) myValues[theEntry];
+    }
+
+    /**
+     * Rebuilds the table first if the entry arrays are full, so a probe's slot
+     * is still valid when the key is appended. The new index is sized for the
+     * live keys, so a table of mostly holes is compacted without growing.
+     */
+    private void ensureRoomForOneMore() {
+        if (myEntries == myKeys.length) {
+            rebuild(indexSizeFor(size + 1 + size / 2));
+        }
+    }
+
+    /**
+     * Moves the live entries, in order, into new arrays and re-indexes them.
+     */
+    private void rebuild(int theIndexSize) {
+        int[] oldKeys = myKeys;
+        Object[] oldValues = myValues;
+        int oldEntries = myEntries;
+
+        allocate(theIndexSize);
+        for (int i = 0; i < oldEntries; i++) {
+            if (oldValues[i] != DELETED) {
+                myCounter.increment(Operation.SWAPS);
+                append(-probe(oldKeys[i]) - 1, oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    // ====================   operation counting =========================
+
+    @Override
+    public int getSwaps() {
+        return (int) myCounter.getCount(Operation.SWAPS);
+    }
+
+    @Override
+    public int getComparisons() {
+        return (int) myCounter.getCount(Operation.COMPARISONS);
+    }
+
+    @Override
+    public void resetCounter() {
+        myCounter.resetAll();
+    }
+
+    @Override
+    public int getCollisions() {
+        return myCollisions;
+    }
+
+    @Override
+    public void resetCollisions() {
+        myCollisions = 0;
+    }
+
+    /**
+     * @return the number of index slots with no live entry at index 0, then
+     * the number of keys found after probing i index slots at index i.
+     */
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] histogram = new int[2];
+        for (int slot = 0; slot < myIndex.length; slot++) {
+            if (myIndex[slot] <= 0) {
+                histogram[0]++;
+                continue;
+            }
+            int probes = ((slot - homeSlot(myKeys[myIndex[slot] - 1])) & myMask) + 1;
+            if (probes >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, probes + 1);
+            }
+            histogram[probes]++;
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,559 @@
+package util;
+
+import counter.Operation;
+import counter.OperationCounter;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread safe HashTable that uses chaining to resolve collisions.
+ * <p>
+ * The table is split into lock stripes (segments). Each segment owns its own
+ * bucket array and lock, so writers to different segments never block each
+ * other. Reads never lock: chain nodes have a final {@code next} pointer and a
+ * volatile value, buckets are published through an {@link AtomicReferenceArray},
+ * and a delete copies the part of the chain in front of the removed node instead
+ * of unlinking it. A reader therefore always walks a consistent chain, and sees
+ * either the value before or after a concurrent write.
+ * </p>
+ * Iteration is weakly consistent: it never throws because of concurrent writes,
+ * but may or may not see them.
+ * @param <K> the class of the key object.
+ * @param <V> the class of the value object.
+ * @author Chris Chun, Ayush
+ * @version 1.4
+ */
+public final class ConcurrentHashTable<K,V> implements MapContainer<K,V> {
+
+    private static final double LOAD_FACTOR_TOLLERANCE = 0.75;
+
+    private static final int DEFAULT_CAPCITY = 16;
+
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final Segment<K,V>[] mySegments;
+
+    /**
+     * segment index = (hash >>> mySegmentShift) & mySegmentMask
+     */
+    private final int mySegmentShift;
+
+    private final int mySegmentMask;
+
+    private final int mySegmentCapacity;
+
+    private final OperationCounter myCounter = OperationCounter.createConcurrent();
+
+    private final LongAdder myCollisions = new LongAdder();
+
+    /**
+     * Creates a new ConcurrentHashTable with 16 lock stripes and
+     * an initial capacity of 16.
+     */
+    public ConcurrentHashTable() {
+        this(DEFAULT_STRIPES, DEFAULT_CAPCITY);
+    }
+
+    /**
+     * Creates a new ConcurrentHashTable.
+     * @param theStripes the number of locks, rounded up to a power of two.
+     * @param theInitialCapacity the initial capacity spread over all stripes.
+     */
+    public ConcurrentHashTable(int theStripes, int theInitialCapacity) {
+        super();
+        if (theStripes <= 0 || theInitialCapacity <= 0) {
+            throw new IllegalArgumentException("stripes and initial capacity must be positive");
+        }
+        int stripes = powerOfTwo(theStripes);
+        int bits = Integer.numberOfTrailingZeros(stripes);
+        mySegmentShift = 32 - bits;
+        mySegmentMask = stripes - 1;
+        mySegmentCapacity = powerOfTwo(Math.max(2, theInitialCapacity / stripes));
+
+        mySegments = newSegments(stripes);
+        for (int i = 0; i < stripes; i++) {
+            mySegments[i] = new Segment<>(mySegmentCapacity);
+        }
+    }
+
+    // ======================  getters/ setters ===========================
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K,V> segment : mySegments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    @Override
+    public double loadFactor() {
+        int capacity = 0;
+        for (Segment<K,V> segment : mySegments) {
+            capacity += segment.table.length();
+        }
+        return (double) size() / capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Segment<K,V> segment : mySegments) {
+            if (segment.count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of lock stripes.
+     */
+    public int stripes() {
+        return mySegments.length;
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    public V get(K key) {
+        Node<K,V> node = findNode(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return findNode(key) != null;
+    }
+
+    @Override
+    public V getOrDefault(K key, V theDefault) {
+        Node<K,V> node = findNode(key);
+        return node == null ? theDefault : node.value;
+    }
+
+    // ======================  adding ===========================
+
+    @Override
+    public void put(K theKey, V theValue) {
+        int hash = hash(theKey);
+        Segment<K,V> segment = segmentFor(hash);
+
+        segment.lock();
+        try {
+            int index = hash & (segment.table.length() - 1);
+
+            // 1) update the entry if it already exists.
+            Node<K,V> node = findInBucket(segment, index, hash, theKey);
+            if (node != null) {
+                node.value = theValue;
+                return;
+            }
+
+            // 2) otherwise publish a new head for the bucket.
+            linkNode(segment, index, hash, theKey, theValue);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K theKey, V theValue) {
+        int hash = hash(theKey);
+        Segment<K,V> segment = segmentFor(hash);
+
+        segment.lock();
+        try {
+            int index = hash & (segment.table.length() - 1);
+            Node<K,V> node = findInBucket(segment, index, hash, theKey);
+            if (node != null) {
+                return node.value;
+            }
+            linkNode(segment, index, hash, theKey, theValue);
+            return null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Runs theMapping while holding the key's segment lock, so concurrent
+     * callers add at most one value for a key.
+     */
+    @Override
+    public V computeIfAbsent(K theKey, Function<? super K, ? extends V> theMapping) {
+        int hash = hash(theKey);
+        Segment<K,V> segment = segmentFor(hash);
+
+        segment.lock();
+        try {
+            int index = hash & (segment.table.length() - 1);
+            Node<K,V> node = findInBucket(segment, index, hash, theKey);
+            if (node != null) {
+                return node.value;
+            }
+            V value = theMapping.apply(theKey);
+            if (value != null) {
+                linkNode(segment, index, hash, theKey, value);
+            }
+            return value;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Runs theRemapping while holding the key's segment lock, so the update is atomic.
+     */
+    @Override
+    public V compute(K theKey, BiFunction<? super K, ? super V, ? extends V> theRemapping) {
+        int hash = hash(theKey);
+        Segment<K,V> segment = segmentFor(hash);
+
+        segment.lock();
+        try {
+            int index = hash & (segment.table.length() - 1);
+            Node<K,V> node = findInBucket(segment, index, hash, theKey);
+            V value = theRemapping.apply(theKey, node == null ? null : node.value);
+            store(segment, index, hash, theKey, node, value);
+            return value;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Runs theRemapping while holding the key's segment lock, so the update is atomic.
+     */
+    @Override
+    public V merge(K theKey, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping) {
+        if (theValue == null) {
+            throw new IllegalArgumentException("Cannot merge a null value");
+        }
+        int hash = hash(theKey);
+        Segment<K,V> segment = segmentFor(hash);
+
+        segment.lock();
+        try {
+            int index = hash & (segment.table.length() - 1);
+            Node<K,V> node = findInBucket(segment, index, hash, theKey);
+            V value = node == null ? theValue : theRemapping.apply(node.value, theValue);
+            store(segment, index, hash, theKey, node, value);
+            return value;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    // ======================  removing ===========================
+
+    @Override
+    public V delete(K key) {
+        Entry<K,V> removed = remove(key);
+        return removed == null ? null : removed.value();
+    }
+
+    @Override
+    public Entry<K,V> remove(K key) {
+        int hash = hash(key);
+        Segment<K,V> segment = segmentFor(hash);
+
+        segment.lock();
+        try {
+            int index = hash & (segment.table.length() - 1);
+            Node<K,V> node = findInBucket(segment, index, hash, key);
+            if (node == null) {
+                return null;
+            }
+            unlinkNode(segment, index, node);
+            return new Entry<>(node.key, node.value);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K,V> segment : mySegments) {
+            segment.lock();
+            try {
+                segment.table = new AtomicReferenceArray<>(mySegmentCapacity);
+                segment.count = 0;
+            } finally {
+                segment.unlock();
+            }
+        }
+        resetCounter();
+        resetCollisions();
+    }
+
+    // ======================  iterating ===========================
+
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return new Iterator<>() {
+
+            int segmentIndex = 0;
+
+            int bucketIndex = 0;
+
+            AtomicReferenceArray<Node<K,V>> table = mySegments[0].table;
+
+            Node<K,V> next = null;
+
+            private void advanceToNext() {
+                while (next == null) {
+                    if (bucketIndex < table.length()) {
+                        next = table.get(bucketIndex++);
+                    } else if (segmentIndex + 1 < mySegments.length) {
+                        table = mySegments[++segmentIndex].table;
+                        bucketIndex = 0;
+                    } else {
+                        return;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                advanceToNext();
+                return next != null;
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Empty");
+                }
+                Node<K,V> current = next;
+                next = current.next;
+                return new Entry<>(current.key, current.value);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<K, V> entry : this) {
+            sb.append("{");
+            sb.append(entry.toString());
+            sb.append("}, ");
+        }
+        return sb.toString();
+    }
+
+    // ====================   private helper methods =========================
+
+    private static int powerOfTwo(int theValue) {
+        int n = Integer.highestOneBit(theValue);
+        return n == theValue ? n : n << 1;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K,V> Segment<K,V>[] newSegments(int theLength) {
+        return (Segment<K,V>[]) new Segment[theLength];
+    }
+
+    private static int hash(Object theKey) {
+        return HashStrategy.FIBONACCI.spread(Objects.hashCode(theKey));
+    }
+
+    private Segment<K,V> segmentFor(int theHash) {
+        return mySegments[(theHash >>> mySegmentShift) & mySegmentMask];
+    }
+
+    private Node<K,V> findNode(K theKey) {
+        int hash = hash(theKey);
+        AtomicReferenceArray<Node<K,V>> table = segmentFor(hash).table;
+
+        for (Node<K,V> node = table.get(hash & (table.length() - 1)); node != null; node = node.next) {
+            myCounter.increment(Operation.COMPARISONS);
+            if (node.hash == hash && Objects.equals(node.key, theKey)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Walks one bucket of a segment. Must be called while holding the segment lock.
+     */
+    private Node<K,V> findInBucket(Segment<K,V> theSegment, int theIndex, int theHash, K theKey) {
+        for (Node<K,V> node = theSegment.table.get(theIndex); node != null; node = node.next) {
+            myCounter.increment(Operation.COMPARISONS);
+            if (node.hash == theHash && Objects.equals(node.key, theKey)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Publishes a new head for a bucket the key was not found in, then resizes
+     * the segment if necessary. Must be called while holding the segment lock.
+     */
+    private void linkNode(Segment<K,V> theSegment, int theIndex, int theHash, K theKey, V theValue) {
+        AtomicReferenceArray<Node<K,V>> table = theSegment.table;
+        Node<K,V> head = table.get(theIndex);
+        if (head != null) {
+            myCollisions.increment();
+        }
+        table.set(theIndex, new Node<>(theHash, theKey, theValue, head));
+        theSegment.count++;
+
+        if (theSegment.count > table.length() * LOAD_FACTOR_TOLLERANCE) {
+            resize(theSegment);
+        }
+    }
+
+    /**
+     * Removes a node by copying the nodes in front of it, so readers already
+     * walking the old chain are not affected. Must be called while holding the segment lock.
+     */
+    private void unlinkNode(Segment<K,V> theSegment, int theIndex, Node<K,V> theNode) {
+        AtomicReferenceArray<Node<K,V>> table = theSegment.table;
+        Node<K,V> newHead = theNode.next;
+        for (Node<K,V> prefix = table.get(theIndex); prefix != theNode; prefix = prefix.next) {
+            newHead = new Node<>(prefix.hash, prefix.key, prefix.value, newHead);
+        }
+        table.set(theIndex, newHead);
+        theSegment.count--;
+    }
+
+    /**
+     * Stores the result of a compute or merge: updates a found node, adds a
+     * missing key and removes the key if theValue is null.
+     * @param theNode the key's node, or null if it is not present.
+     */
+    private void store(Segment<K,V> theSegment, int theIndex, int theHash, K theKey, Node<K,V> theNode, V theValue) {
+        if (theNode != null) {
+            if (theValue == null) {
+                unlinkNode(theSegment, theIndex, theNode);
+            } else {
+                theNode.value = theValue;
+            }
+        } else if (theValue != null) {
+            linkNode(theSegment, theIndex, theHash, theKey, theValue);
+        }
+    }
+
+    /**
+     * Doubles a segment's bucket array. Must be called while holding the segment lock.
+     * Nodes are copied so readers still walking the old array see unchanged chains.
+     */
+    private void resize(Segment<K,V> theSegment) {
+        AtomicReferenceArray<Node<K,V>> oldTable = theSegment.table;
+        AtomicReferenceArray<Node<K,V>> newTable = new AtomicReferenceArray<>(oldTable.length() * 2);
+        int mask = newTable.length() - 1;
+
+        for (int i = 0; i < oldTable.length(); i++) {
+            for (Node<K,V> node = oldTable.get(i); node != null; node = node.next) {
+                int index = node.hash & mask;
+                Node<K,V> head = newTable.get(index);
+                if (head != null) {
+                    myCollisions.increment();
+                }
+                newTable.set(index, new Node<>(node.hash, node.key, node.value, head));
+            }
+        }
+        theSegment.table = newTable;
+    }
+
+    // ====================   operation counting =========================
+
+    @Override
+    public int getSwaps() {
+        return (int) myCounter.getCount(Operation.SWAPS);
+    }
+
+    @Override
+    public int getComparisons() {
+        return (int) myCounter.getCount(Operation.COMPARISONS);
+    }
+
+    @Override
+    public void resetCounter() {
+        myCounter.resetAll();
+    }
+
+    @Override
+    public int getCollisions() {
+        return myCollisions.intValue();
+    }
+
+    @Override
+    public void resetCollisions() {
+        myCollisions.reset();
+    }
+
+    /**
+     * Walks every segment without locking, so under concurrent writes the
+     * histogram is a best effort snapshot.
+     */
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] histogram = new int[1];
+        for (Segment<K,V> segment : mySegments) {
+            AtomicReferenceArray<Node<K,V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                int length = 0;
+                for (Node<K,V> node = table.get(i); node != null; node = node.next) {
+                    length++;
+                }
+                if (length >= histogram.length) {
+                    histogram = Arrays.copyOf(histogram, length + 1);
+                }
+                histogram[length]++;
+            }
+        }
+        return histogram;
+    }
+
+    // ====================   utility classes =========================
+
+    /**
+     * A lock stripe owning part of the key space. Extends the lock only to
+     * save an object per stripe, it is never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static final class Segment<K,V> extends ReentrantLock {
+
+        volatile AtomicReferenceArray<Node<K,V>> table;
+
+        /**
+         * only written while holding the lock.
+         */
+        volatile int count;
+
+        Segment(int theCapacity) {
+            super();
+            table = new AtomicReferenceArray<>(theCapacity);
+        }
+    }
+
+    /**
+     * Chain node, the next pointer is final so a published chain never changes shape.
+     */
+    private static final class Node<K,V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        final Node<K,V> next;
+
+        Node(int theHash, K theKey, V theValue, Node<K,V> theNext) {
+            hash = theHash;
+            key = theKey;
+            value = theValue;
+            next = theNext;
+        }
+    }
+}
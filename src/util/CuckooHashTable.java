@@ -0,0 +1,684 @@
+package util;
+
+import counter.Operation;
+import counter.OperationCounter;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A cuckoo HashTable keyed on primitive {@code int} ids, whose lookups read
+ * at most two buckets however the keys collide.
+ * <p>
+ * The table is split into buckets of {@link #SLOTS} slots, and two seeded hash
+ * functions give every key two buckets it may live in. A lookup checks both,
+ * then the {@link #STASH_SIZE} stash slots if any are in use, so a miss costs
+ * the same bounded work as a hit. An insert whose buckets are both full evicts
+ * a random resident, which moves to its other bucket, possibly evicting
+ * another, for up to {@link #MAX_KICKS} moves. A key still without a slot goes
+ * to the stash, and when the stash is full the table is rehashed: rebuilt
+ * with new seeds, and with twice the buckets if new seeds keep failing. The
+ * buckets stop doubling at {@link #MAX_BUCKETS_PER_KEY} per key, keys the hash
+ * strategy cannot separate by then are rejected and the table is left as it was.
+ * </p>
+ * Like {@link IntHashTable} the keys and values are kept in parallel arrays
+ * and the {@code int} overloads never box. Comparisons count the keys of
+ * occupied slots checked, swaps count evictions and rehashes are counted as
+ * {@link Operation#REHASHES}.
+ * @param <V> the class of the value object.
+ * @author Chris Chun, Ayush
+ * @version 1.3
+ */
+public final class CuckooHashTable<V> implements MapContainer<Integer,V> {
+
+    /**
+     * The number of slots per bucket, four ints share a cache line.
+     */
+    static final int SLOTS = 4;
+
+    /**
+     * The number of keys that may be left over by failed inserts before a rehash.
+     */
+    static final int STASH_SIZE = 4;
+
+    /**
+     * The most evictions an insert makes before moving its key to the stash.
+     */
+    private static final int MAX_KICKS = 256;
+
+    /**
+     * Two choices of four slot buckets fill to about 97% before inserts start
+     * failing, the table grows well before that so evictions stay short.
+     */
+    private static final double LOAD_FACTOR_TOLLERANCE = 0.9;
+
+    private static final int DEFAULT_BUCKETS = 4;
+
+    /**
+     * The number of seeds tried at one size before the rehash doubles the buckets.
+     */
+    private static final int SEEDS_PER_SIZE = 4;
+
+    /**
+     * The most buckets per key a rehash grows to, a table that still cannot place
+     * every key then has keys the hash strategy does not tell apart, ie: multiples
+     * of 2^16 under {@link HashStrategy#IDENTITY}, and doubling again only wastes memory.
+     */
+    private static final int MAX_BUCKETS_PER_KEY = 8;
+
+    /**
+     * Stored in place of null, so an empty slot can be told apart from a key put with a null value.
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    /**
+     * the keys of each bucket's slots, then the stash.
+     */
+    private int[] myKeys;
+
+    /**
+     * the values of each bucket's slots, then the stash, null if the slot is empty.
+     */
+    private Object[] myValues;
+
+    /**
+     * the number of buckets - 1, the number of buckets is always a power of two.
+     */
+    private int myBucketMask;
+
+    /**
+     * the index of the first stash slot.
+     */
+    private int myStashStart;
+
+    private int myStashSize;
+
+    private int mySeed1;
+
+    private int mySeed2;
+
+    private final HashStrategy myHashStrategy;
+
+    private int size;
+
+    /**
+     * the slots {@link #place(int, Object)} evicted from, in order, to undo a failed insert.
+     */
+    private final int[] myEvictions = new int[MAX_KICKS];
+
+    /**
+     * picks the evicted slots and new seeds, seeded so runs repeat.
+     */
+    private final Random myRandom = new Random(0x5EA4A3C5);
+
+    private final OperationCounter myCounter = OperationCounter.create();
+
+    private int myCollisions;
+
+    /**
+     * Creates a new CuckooHashTable with 4 buckets of 4 slots.
+     */
+    public CuckooHashTable() {
+        this(DEFAULT_BUCKETS * SLOTS);
+    }
+
+    /**
+     * Creates a new CuckooHashTable with room for at least theInitialCapacity slots.
+     * @param theInitialCapacity the number of slots, rounded up to a power of two of at least 4.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public CuckooHashTable(int theInitialCapacity) {
+        this(theInitialCapacity, HashStrategy.MURMUR3);
+    }
+
+    /**
+     * Creates a new CuckooHashTable whose two hash functions spread the key
+     * xor a seed with theHashStrategy. Only {@link HashStrategy#MURMUR3} makes
+     * the two functions independent, {@link HashStrategy#IDENTITY} shows how
+     * keys sharing their low bits fill the stash and force rehashes.
+     * @param theInitialCapacity the number of slots, rounded up to a power of two of at least 4.
+     * @param theHashStrategy how the key and a seed are spread before masking.
+     * @throws IllegalArgumentException if the capacity is not positive or the strategy is null.
+     */
+    public CuckooHashTable(int theInitialCapacity, HashStrategy theHashStrategy) {
+        super();
+        if (theInitialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (theHashStrategy == null) {
+            throw new IllegalArgumentException("hash strategy cannot be null");
+        }
+        myHashStrategy = theHashStrategy;
+        mySeed1 = myRandom.nextInt();
+        mySeed2 = myRandom.nextInt();
+        allocate(tableSizeFor(Math.max(1, (theInitialCapacity + SLOTS - 1) / SLOTS)));
+    }
+
+    // ======================  getters/ setters ===========================
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double loadFactor() {
+        return (double) size / capacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of bucket slots, not counting the stash.
+     */
+    public int capacity() {
+        return myStashStart;
+    }
+
+    public HashStrategy getHashStrategy() {
+        return myHashStrategy;
+    }
+
+    /**
+     * @return the number of keys in the stash.
+     */
+    public int stashSize() {
+        return myStashSize;
+    }
+
+    /**
+     * @return the number of times the table was rebuilt with new seeds since the counter was reset.
+     */
+    public int getRehashes() {
+        return (int) myCounter.getCount(Operation.REHASHES);
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    public V get(Integer key) {
+        return getInt(key.intValue());
+    }
+
+    /**
+     * Primitive lookup, does not box the key.
+     * @param theKey the key.
+     * @return the value associated with the key or null if not present.
+     */
+    public V getInt(int theKey) {
+        int slot = findSlot(theKey);
+        return slot < 0 ? null : value(slot);
+    }
+
+    @Override
+    public V getOrDefault(Integer key, V theDefault) {
+        int slot = findSlot(key);
+        return slot < 0 ? theDefault : value(slot);
+    }
+
+    @Override
+    public boolean containsKey(Integer key) {
+        return containsInt(key.intValue());
+    }
+
+    /**
+     * Primitive containsKey, does not box the key.
+     * @param theKey the key.
+     * @return true if found and false otherwise.
+     */
+    public boolean containsInt(int theKey) {
+        return findSlot(theKey) >= 0;
+    }
+
+    // ======================  adding ===========================
+
+    @Override
+    public void put(Integer theKey, V theValue) {
+        putInt(theKey.intValue(), theValue);
+    }
+
+    /**
+     * Primitive put, does not box the key.
+     * @param theKey the key.
+     * @param theValue the value.
+     */
+    public void putInt(int theKey, V theValue) {
+        int slot = findSlot(theKey);
+        if (slot >= 0) {
+            myValues[slot] = wrap(theValue);
+        } else {
+            add(theKey, theValue);
+        }
+    }
+
+    // ======================  single probe operations ===========================
+
+    @Override
+    public V putIfAbsent(Integer theKey, V theValue) {
+        int slot = findSlot(theKey);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        add(theKey, theValue);
+        return null;
+    }
+
+    @Override
+    public V computeIfAbsent(Integer theKey, Function<? super Integer, ? extends V> theMapping) {
+        int slot = findSlot(theKey);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        V value = theMapping.apply(theKey);
+        if (value != null) {
+            add(theKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V compute(Integer theKey, BiFunction<? super Integer, ? super V, ? extends V> theRemapping) {
+        int slot = findSlot(theKey);
+        V value = theRemapping.apply(theKey, slot < 0 ? null : value(slot));
+        store(slot, theKey, value);
+        return value;
+    }
+
+    @Override
+    public V merge(Integer theKey, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping) {
+        if (theValue == null) {
+            throw new IllegalArgumentException("Cannot merge a null value");
+        }
+        int slot = findSlot(theKey);
+        V value = slot < 0 ? theValue : theRemapping.apply(value(slot), theValue);
+        store(slot, theKey, value);
+        return value;
+    }
+
+    // ======================  removing ===========================
+
+    @Override
+    public V delete(Integer key) {
+        return deleteInt(key.intValue());
+    }
+
+    /**
+     * Primitive delete, does not box the key.
+     * @param theKey the key of the object to remove.
+     * @return the removed value or null if not found.
+     */
+    public V deleteInt(int theKey) {
+        int slot = findSlot(theKey);
+        return slot < 0 ? null : removeAt(slot);
+    }
+
+    @Override
+    public Entry<Integer,V> remove(Integer key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : new Entry<>(key, removeAt(slot));
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(myValues, null);
+        myStashSize = 0;
+        size = 0;
+        resetCounter();
+        resetCollisions();
+    }
+
+    // ======================  iterating ===========================
+
+    @Override
+    public Iterator<Entry<Integer,V>> iterator() {
+        return new Iterator<>() {
+
+            int slot = 0;
+
+            private void advanceToNext() {
+                while (slot < myValues.length && myValues[slot] == null) {
+                    slot++;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                advanceToNext();
+                return slot < myValues.length;
+            }
+
+            @Override
+            public Entry<Integer, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Empty");
+                }
+                Entry<Integer,V> entry = new Entry<>(myKeys[slot], value(slot));
+                slot++;
+                return entry;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<Integer, V> entry : this) {
+            sb.append("{");
+            sb.append(entry.toString());
+            sb.append("}, ");
+        }
+        return sb.toString();
+    }
+
+    // ====================   private helper methods =========================
+
+    private void allocate(int theBuckets) {
+        myStashStart = theBuckets * SLOTS;
+        myKeys = new int[myStashStart + STASH_SIZE];
+        myValues = new Object[myStashStart + STASH_SIZE];
+        myBucketMask = theBuckets - 1;
+        myStashSize = 0;
+    }
+
+    private static int tableSizeFor(int theCapacity) {
+        int n = Integer.highestOneBit(theCapacity);
+        return n == theCapacity ? n : n << 1;
+    }
+
+    /**
+     * @return the first slot of the bucket theSeed's hash function picks for theKey.
+     */
+    private int bucket(int theKey, int theSeed) {
+        return (myHashStrategy.spread(theKey ^ theSeed) & myBucketMask) * SLOTS;
+    }
+
+    /**
+     * Reads the key's two buckets, then the stash if it is in use.
+     * @return the slot holding {@code theKey} or -1 if not present.
+     */
+    private int findSlot(int theKey) {
+        int slot = findInBucket(bucket(theKey, mySeed1), theKey);
+        if (slot < 0) {
+            slot = findInBucket(bucket(theKey, mySeed2), theKey);
+        }
+        if (slot < 0 && myStashSize > 0) {
+            slot = findInStash(theKey);
+        }
+        return slot;
+    }
+
+    private int findInBucket(int theBucket, int theKey) {
+        for (int slot = theBucket; slot < theBucket + SLOTS; slot++) {
+            if (myValues[slot] != null) {
+                myCounter.increment(Operation.COMPARISONS);
+                if (myKeys[slot] == theKey) {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int findInStash(int theKey) {
+        for (int slot = myStashStart; slot < myValues.length; slot++) {
+            if (myValues[slot] != null) {
+                myCounter.increment(Operation.COMPARISONS);
+                if (myKeys[slot] == theKey) {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the first empty slot of a bucket, or -1 if it is full.
+     */
+    private int freeSlot(int theBucket) {
+        for (int slot = theBucket; slot < theBucket + SLOTS; slot++) {
+            if (myValues[slot] == null) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a key that is not present, growing or rehashing the table if needed.
+     */
+    private void add(int theKey, V theValue) {
+        if (size + 1 > capacity() * LOAD_FACTOR_TOLLERANCE) {
+            rebuild(2 * (myBucketMask + 1), false, theKey, theValue);
+        } else {
+            Object value = wrap(theValue);
+            if (!place(theKey, value)) {
+                rebuild(myBucketMask + 1, true, theKey, theValue);
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Puts a new key into one of its buckets, evicting residents to their
+     * other bucket if both are full, and into the stash if that fails too.
+     * @return false if the stash was full, the evictions are then undone and
+     * the table is left as it was.
+     */
+    private boolean place(int theKey, Object theValue) {
+        int first = bucket(theKey, mySeed1);
+        int slot = freeSlot(first);
+        if (slot < 0) {
+            slot = freeSlot(bucket(theKey, mySeed2));
+        }
+        if (slot >= 0) {
+            myKeys[slot] = theKey;
+            myValues[slot] = theValue;
+            return true;
+        }
+
+        // both buckets are full.
+        myCollisions++;
+        int key = theKey;
+        Object value = theValue;
+        int bucket = first;
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int victim = bucket + myRandom.nextInt(SLOTS);
+            myEvictions[kick] = victim;
+            myCounter.increment(Operation.SWAPS);
+            int evictedKey = myKeys[victim];
+            Object evictedValue = myValues[victim];
+            myKeys[victim] = key;
+            myValues[victim] = value;
+            key = evictedKey;
+            value = evictedValue;
+
+            // the evicted entry moves to its other bucket.
+            int home = bucket(key, mySeed1);
+            bucket = home == bucket ? bucket(key, mySeed2) : home;
+            slot = freeSlot(bucket);
+            if (slot >= 0) {
+                myKeys[slot] = key;
+                myValues[slot] = value;
+                return true;
+            }
+        }
+
+        if (myStashSize < STASH_SIZE) {
+            slot = myStashStart;
+            while (myValues[slot] != null) {
+                slot++;
+            }
+            myKeys[slot] = key;
+            myValues[slot] = value;
+            myStashSize++;
+            return true;
+        }
+
+        // move every evicted entry back, the last one moved puts theKey back in hand.
+        for (int kick = MAX_KICKS - 1; kick >= 0; kick--) {
+            int victim = myEvictions[kick];
+            int evictedKey = myKeys[victim];
+            Object evictedValue = myValues[victim];
+            myKeys[victim] = key;
+            myValues[victim] = value;
+            key = evictedKey;
+            value = evictedValue;
+        }
+        return false;
+    }
+
+    /**
+     * Rebuilds the table with theBuckets buckets holding every entry plus one
+     * more, drawing new seeds until every entry is placed. After
+     * {@link #SEEDS_PER_SIZE} failed seeds the buckets are doubled, up to
+     * {@link #MAX_BUCKETS_PER_KEY} per key.
+     * @param theNewSeeds true if the rebuild is because an entry could not be placed.
+     * @throws IllegalStateException if the entries cannot be placed in the most
+     * buckets allowed, the table is then left as it was before the rebuild.
+     */
+    private void rebuild(int theBuckets, boolean theNewSeeds, int theKey, Object theValue) {
+        int[] oldKeys = myKeys;
+        Object[] oldValues = myValues;
+        int oldStashSize = myStashSize;
+        int oldSeed1 = mySeed1;
+        int oldSeed2 = mySeed2;
+        int buckets = theBuckets;
+        boolean newSeeds = theNewSeeds;
+        for (int attempt = 1; ; attempt++) {
+            if (newSeeds) {
+                myCounter.increment(Operation.REHASHES);
+                mySeed1 = myRandom.nextInt();
+                mySeed2 = myRandom.nextInt();
+            }
+            allocate(buckets);
+            if (placeAll(oldKeys, oldValues) && place(theKey, wrap(theValue))) {
+                return;
+            }
+            newSeeds = true;
+            if (attempt % SEEDS_PER_SIZE == 0) {
+                if (buckets >= MAX_BUCKETS_PER_KEY * (size + 1L)) {
+                    myKeys = oldKeys;
+                    myValues = oldValues;
+                    myStashStart = oldValues.length - STASH_SIZE;
+                    myBucketMask = myStashStart / SLOTS - 1;
+                    myStashSize = oldStashSize;
+                    mySeed1 = oldSeed1;
+                    mySeed2 = oldSeed2;
+                    throw new IllegalStateException("Cannot place " + (size + 1) + " keys in "
+                            + buckets + " buckets, " + myHashStrategy + " does not spread them apart");
+                }
+                buckets *= 2;
+            }
+        }
+    }
+
+    private boolean placeAll(int[] theKeys, Object[] theValues) {
+        for (int i = 0; i < theValues.length; i++) {
+            if (theValues[i] != null && !place(theKeys[i], theValues[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stores the result of a compute or merge at the slot {@link #findSlot(int)} returned:
+     * updates a found key, adds a missing one and removes the key if theValue is null.
+     */
+    private void store(int theSlot, int theKey, V theValue) {
+        if (theSlot >= 0) {
+            if (theValue == null) {
+                removeAt(theSlot);
+            } else {
+                myValues[theSlot] = theValue;
+            }
+        } else if (theValue != null) {
+            add(theKey, theValue);
+        }
+    }
+
+    /**
+     * Empties a slot, every other key stays in its slot.
+     * @return the removed value.
+     */
+    private V removeAt(int theSlot) {
+        V removed = value(theSlot);
+        myValues[theSlot] = null;
+        if (theSlot >= myStashStart) {
+            myStashSize--;
+        }
+        size--;
+        return removed;
+    }
+
+    private static Object wrap(Object theValue) {
+        return theValue == null ? NULL_VALUE : theValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int theSlot) {
+        Object value = myValues[theSlot];
+        return value == NULL_VALUE ? null : (V) value;
+    }
+
+    // ====================   operation counting =========================
+
+    @Override
+    public int getSwaps() {
+        return (int) myCounter.getCount(Operation.SWAPS);
+    }
+
+    @Override
+    public int getComparisons() {
+        return (int) myCounter.getCount(Operation.COMPARISONS);
+    }
+
+    @Override
+    public void resetCounter() {
+        myCounter.resetAll();
+    }
+
+    /**
+     * @return the number of inserts that found both of their buckets full.
+     */
+    @Override
+    public int getCollisions() {
+        return myCollisions;
+    }
+
+    @Override
+    public void resetCollisions() {
+        myCollisions = 0;
+    }
+
+    /**
+     * Index 1 counts the keys found in the first bucket read, index 2 those
+     * in the second and index 3 those in the stash, index 0 the empty slots.
+     */
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] histogram = new int[4];
+        for (int slot = 0; slot < myStashStart; slot++) {
+            if (myValues[slot] == null) {
+                histogram[0]++;
+            } else {
+                int first = bucket(myKeys[slot], mySeed1);
+                histogram[slot >= first && slot < first + SLOTS ? 1 : 2]++;
+            }
+        }
+        histogram[3] = myStashSize;
+        int length = histogram.length;
+        while (length > 1 && histogram[length - 1] == 0) {
+            length--;
+        }
+        histogram = Arrays.copyOf(histogram, length);
+        return histogram;
+    }
+}
@@ -1,11 +1,23 @@
 package util;
 
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * Interface for HashTable
+ * <p>
+ * The read-modify-write operations ({@link #getOrDefault}, {@link #putIfAbsent},
+ * {@link #compute}, {@link #computeIfAbsent}, {@link #merge} and {@link #remove})
+ * find the key's slot once and act on it, instead of a {@link #containsKey} or
+ * {@link #get} followed by a {@link #put} that searches for the key again.
+ * A key is present if it was put, even with a null value. A function that
+ * returns null removes the key, or does not add it. The functions must not
+ * modify the dictionary they are passed to.
+ * </p>
  * @param <K> the key.
  * @param <V> the value.
  * @author Chris Chun, Ayush
- * @version 1.1
+ * @version 1.2
  */
 public interface Dictionary<K,V> {
 
@@ -46,4 +58,58 @@ public interface Dictionary<K,V> {
     double loadFactor();
 
     boolean isEmpty();
+
+    // ======================  single probe operations ===========================
+
+    /**
+     * @param key the key.
+     * @param theDefault the value to return if the key is not present.
+     * @return the value associated with the key, or theDefault if it is not present.
+     */
+    V getOrDefault(K key, V theDefault);
+
+    /**
+     * Adds the key only if it is not present.
+     * @param key the key.
+     * @param theValue the value to associate with the key.
+     * @return the value already associated with the key, or null if theValue was added.
+     */
+    V putIfAbsent(K key, V theValue);
+
+    /**
+     * Replaces the key's value with the result of theRemapping, which
+     * is passed null if the key is not present.
+     * @param key the key.
+     * @param theRemapping computes the new value from the key and its current value.
+     * @return the new value, or null if the key was removed or not added.
+     */
+    V compute(K key, BiFunction<? super K, ? super V, ? extends V> theRemapping);
+
+    /**
+     * Adds the result of theMapping if the key is not present.
+     * @param key the key.
+     * @param theMapping computes the value of a missing key, only called if the key is not present.
+     * @return the current value, the computed value, or null if nothing was added.
+     */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> theMapping);
+
+    /**
+     * Adds theValue if the key is not present, otherwise replaces
+     * the current value with theRemapping of the current value and theValue,
+     * ie: {@code merge(position, yards, Integer::sum)} keeps a running total.
+     * @param key the key.
+     * @param theValue the value to add, or to combine with the current value.
+     * @param theRemapping combines the current value with theValue.
+     * @return the new value, or null if the key was removed.
+     * @throws IllegalArgumentException if theValue is null.
+     */
+    V merge(K key, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping);
+
+    /**
+     * Removes a key like {@link #delete(Object)} but returns the entry,
+     * so a null value can be told apart from a missing key.
+     * @param key the key of the object to remove.
+     * @return the removed key value pair, or null if the key was not present.
+     */
+    Entry<K,V> remove(K key);
 }
@@ -0,0 +1,535 @@
+package util;
+
+import counter.Operation;
+import counter.OperationCounter;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A table for {@code int} keys that mostly fall in one dense range, ie: the
+ * player ids 1001 to 6000.
+ * <p>
+ * Keys inside the window {@code [base, base + length)} are never hashed: the
+ * value of key {@code k} is stored at index {@code k - base} of a flat array,
+ * so a lookup is a bounds check and an array read. Keys outside the window go
+ * to an {@link IntHashTable}. A new key just past either end of the window
+ * grows the window instead, as long as at least {@link #MIN_DENSITY} of the
+ * grown window would be in use, and any overflow keys the window now covers
+ * move into the array. The window never shrinks.
+ * </p>
+ * Comparisons count one per array read plus the overflow table's key probes,
+ * swaps and collisions are the overflow table's.
+ * @param <V> the class of the value object.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+public final class DirectAddressTable<V> implements MapContainer<Integer,V> {
+
+    /**
+     * The smallest fraction of a window that must hold keys, see {@link #isDense(int, int, int)}.
+     */
+    static final double MIN_DENSITY = 0.5;
+
+    /**
+     * The longest window, the largest array the JVM reliably allocates.
+     */
+    private static final int MAX_WINDOW = Integer.MAX_VALUE - 8;
+
+    /**
+     * Stored in place of null, so an empty slot can be told apart from a key put with a null value.
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    /**
+     * the key stored at index 0 of mySlots.
+     */
+    private int myBase;
+
+    /**
+     * the value of key {@code myBase + i} at index i, null if the key is not present.
+     */
+    private Object[] mySlots;
+
+    /**
+     * the number of keys in mySlots.
+     */
+    private int myWindowSize;
+
+    /**
+     * the keys outside the window.
+     */
+    private final IntHashTable<V> myOverflow = new IntHashTable<>();
+
+    private final OperationCounter myCounter = OperationCounter.create();
+
+    /**
+     * Creates an empty table, the first key put starts the window.
+     */
+    public DirectAddressTable() {
+        super();
+        mySlots = new Object[0];
+    }
+
+    /**
+     * Creates a table whose window already covers every key from theMinKey to theMaxKey.
+     * @param theMinKey the smallest key of the dense range.
+     * @param theMaxKey the largest key of the dense range.
+     * @throws IllegalArgumentException if theMaxKey is less than theMinKey or the range is too long for an array.
+     */
+    public DirectAddressTable(int theMinKey, int theMaxKey) {
+        super();
+        long length = (long) theMaxKey - theMinKey + 1;
+        if (length <= 0 || length > MAX_WINDOW) {
+            throw new IllegalArgumentException("Cannot hold keys " + theMinKey + " to " + theMaxKey + " in an array");
+        }
+        myBase = theMinKey;
+        mySlots = new Object[(int) length];
+    }
+
+    /**
+     * Decides if keys spread between theMinKey and theMaxKey are worth
+     * addressing directly, at least {@link #MIN_DENSITY} of the range must be keys.
+     * @param theMinKey the smallest key.
+     * @param theMaxKey the largest key.
+     * @param theKeyCount the number of distinct keys.
+     * @return true if an array over the range would be mostly full.
+     */
+    public static boolean isDense(int theMinKey, int theMaxKey, int theKeyCount) {
+        long length = (long) theMaxKey - theMinKey + 1;
+        return theKeyCount > 0 && length <= MAX_WINDOW && theKeyCount >= length * MIN_DENSITY;
+    }
+
+    // ======================  getters/ setters ===========================
+
+    @Override
+    public int size() {
+        return myWindowSize + myOverflow.size();
+    }
+
+    /**
+     * @return the fraction of the window in use, or the overflow table's load factor if there is no window.
+     */
+    @Override
+    public double loadFactor() {
+        return mySlots.length == 0 ? myOverflow.loadFactor() : (double) myWindowSize / mySlots.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the smallest key the window covers.
+     */
+    public int windowStart() {
+        return myBase;
+    }
+
+    /**
+     * @return the number of keys the window covers.
+     */
+    public int windowLength() {
+        return mySlots.length;
+    }
+
+    /**
+     * @return the number of keys stored outside the window.
+     */
+    public int overflowSize() {
+        return myOverflow.size();
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    public V get(Integer key) {
+        return getInt(key.intValue());
+    }
+
+    /**
+     * Primitive lookup, does not box the key.
+     * @param theKey the key.
+     * @return the value associated with the key or null if not present.
+     */
+    public V getInt(int theKey) {
+        int index = indexOf(theKey);
+        if (index < 0) {
+            return myOverflow.get(theKey);
+        }
+        return value(mySlots[index]);
+    }
+
+    @Override
+    public V getOrDefault(Integer key, V theDefault) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return myOverflow.getOrDefault(key, theDefault);
+        }
+        Object slot = mySlots[index];
+        return slot == null ? theDefault : value(slot);
+    }
+
+    @Override
+    public boolean containsKey(Integer key) {
+        return containsInt(key.intValue());
+    }
+
+    /**
+     * Primitive containsKey, does not box the key.
+     * @param theKey the key.
+     * @return true if found and false otherwise.
+     */
+    public boolean containsInt(int theKey) {
+        int index = indexOf(theKey);
+        return index < 0 ? myOverflow.containsKey(theKey) : mySlots[index] != null;
+    }
+
+    // ======================  adding ===========================
+
+    @Override
+    public void put(Integer theKey, V theValue) {
+        putInt(theKey.intValue(), theValue);
+    }
+
+    /**
+     * Primitive put, does not box the key.
+     * @param theKey the key.
+     * @param theValue the value.
+     */
+    public void putInt(int theKey, V theValue) {
+        int index = indexForAdding(theKey);
+        if (index < 0) {
+            myOverflow.put(theKey, theValue);
+        } else {
+            store(index, theValue);
+        }
+    }
+
+    // ======================  single probe operations ===========================
+
+    @Override
+    public V putIfAbsent(Integer theKey, V theValue) {
+        int index = indexForAdding(theKey);
+        if (index < 0) {
+            return myOverflow.putIfAbsent(theKey, theValue);
+        }
+        Object slot = mySlots[index];
+        if (slot != null) {
+            return value(slot);
+        }
+        store(index, theValue);
+        return null;
+    }
+
+    @Override
+    public V computeIfAbsent(Integer theKey, Function<? super Integer, ? extends V> theMapping) {
+        int index = indexForAdding(theKey);
+        if (index < 0) {
+            return myOverflow.computeIfAbsent(theKey, theMapping);
+        }
+        Object slot = mySlots[index];
+        if (slot != null) {
+            return value(slot);
+        }
+        V value = theMapping.apply(theKey);
+        if (value != null) {
+            store(index, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V compute(Integer theKey, BiFunction<? super Integer, ? super V, ? extends V> theRemapping) {
+        int index = indexForAdding(theKey);
+        if (index < 0) {
+            return myOverflow.compute(theKey, theRemapping);
+        }
+        V value = theRemapping.apply(theKey, value(mySlots[index]));
+        if (value == null) {
+            clearSlot(index);
+        } else {
+            store(index, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V merge(Integer theKey, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping) {
+        if (theValue == null) {
+            throw new IllegalArgumentException("Cannot merge a null value");
+        }
+        int index = indexForAdding(theKey);
+        if (index < 0) {
+            return myOverflow.merge(theKey, theValue, theRemapping);
+        }
+        Object slot = mySlots[index];
+        V value = slot == null ? theValue : theRemapping.apply(value(slot), theValue);
+        if (value == null) {
+            clearSlot(index);
+        } else {
+            store(index, value);
+        }
+        return value;
+    }
+
+    // ======================  removing ===========================
+
+    @Override
+    public V delete(Integer key) {
+        return deleteInt(key.intValue());
+    }
+
+    /**
+     * Primitive delete, does not box the key.
+     * @param theKey the key of the object to remove.
+     * @return the removed value or null if not found.
+     */
+    public V deleteInt(int theKey) {
+        int index = indexOf(theKey);
+        if (index < 0) {
+            return myOverflow.delete(theKey);
+        }
+        V removed = value(mySlots[index]);
+        clearSlot(index);
+        return removed;
+    }
+
+    @Override
+    public Entry<Integer,V> remove(Integer key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return myOverflow.remove(key);
+        }
+        Object slot = mySlots[index];
+        if (slot == null) {
+            return null;
+        }
+        clearSlot(index);
+        return new Entry<>(key, value(slot));
+    }
+
+    /**
+     * Removes every entry, the window keeps its range.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(mySlots, null);
+        myWindowSize = 0;
+        myOverflow.clear();
+        resetCounter();
+    }
+
+    // ======================  iterating ===========================
+
+    /**
+     * @return the keys in the window in ascending order, then the overflow keys.
+     */
+    @Override
+    public Iterator<Entry<Integer,V>> iterator() {
+        return new Iterator<>() {
+
+            int index = 0;
+
+            final Iterator<Entry<Integer,V>> overflow = myOverflow.iterator();
+
+            private void advanceToNext() {
+                while (index < mySlots.length && mySlots[index] == null) {
+                    index++;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                advanceToNext();
+                return index < mySlots.length || overflow.hasNext();
+            }
+
+            @Override
+            public Entry<Integer, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Empty");
+                }
+                if (index == mySlots.length) {
+                    return overflow.next();
+                }
+                Entry<Integer,V> entry = new Entry<>(myBase + index, value(mySlots[index]));
+                index++;
+                return entry;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<Integer, V> entry : this) {
+            sb.append("{");
+            sb.append(entry.toString());
+            sb.append("}, ");
+        }
+        return sb.toString();
+    }
+
+    // ====================   private helper methods =========================
+
+    /**
+     * @return the index of theKey in the window, or -1 if the window does not cover it.
+     */
+    private int indexOf(int theKey) {
+        // keys below the base wrap to negative indexes, a window never spans more than an int.
+        int index = theKey - myBase;
+        if (index >= 0 && index < mySlots.length) {
+            myCounter.increment(Operation.COMPARISONS);
+            return index;
+        }
+        return -1;
+    }
+
+    /**
+     * Like {@link #indexOf(int)}, but first grows the window to cover a key
+     * just past either end of it.
+     */
+    private int indexForAdding(int theKey) {
+        int index = indexOf(theKey);
+        if (index < 0 && canGrowTo(theKey)) {
+            growTo(theKey);
+            index = indexOf(theKey);
+        }
+        return index;
+    }
+
+    /**
+     * @return true if the window grown to theKey would still be dense.
+     */
+    private boolean canGrowTo(int theKey) {
+        if (mySlots.length == 0) {
+            return true;
+        }
+        long low = Math.min(myBase, theKey);
+        long high = Math.max((long) myBase + mySlots.length - 1, theKey);
+        long length = high - low + 1;
+        return length <= MAX_WINDOW && (myWindowSize + 1) >= length * MIN_DENSITY;
+    }
+
+    /**
+     * Grows the window to cover theKey, at least doubling it on that side so
+     * keys added in order only copy the array O(log n) times. Overflow keys the
+     * grown window covers are moved into it.
+     */
+    private void growTo(int theKey) {
+        long low;
+        long high;
+        if (mySlots.length == 0) {
+            low = theKey;
+            high = theKey;
+        } else if (theKey < myBase) {
+            high = (long) myBase + mySlots.length - 1;
+            low = Math.min(theKey, high - 2L * mySlots.length + 1);
+        } else {
+            low = myBase;
+            high = Math.max(theKey, low + 2L * mySlots.length - 1);
+        }
+        // keep the window inside the int range and inside the largest array.
+        low = Math.max(low, Integer.MIN_VALUE);
+        high = Math.min(Math.min(high, Integer.MAX_VALUE), low + MAX_WINDOW - 1);
+
+        Object[] grown = new Object[(int) (high - low + 1)];
+        if (mySlots.length > 0) {
+            System.arraycopy(mySlots, 0, grown, (int) (myBase - low), mySlots.length);
+        }
+        mySlots = grown;
+        myBase = (int) low;
+
+        if (!myOverflow.isEmpty()) {
+            migrateOverflow();
+        }
+    }
+
+    /**
+     * Moves the overflow keys the window now covers into the window.
+     */
+    private void migrateOverflow() {
+        int[] covered = new int[myOverflow.size()];
+        int count = 0;
+        for (Entry<Integer, V> entry : myOverflow) {
+            long index = (long) entry.key() - myBase;
+            if (index >= 0 && index < mySlots.length) {
+                covered[count++] = entry.key();
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            store(covered[i] - myBase, myOverflow.deleteInt(covered[i]));
+        }
+    }
+
+    private void store(int theIndex, V theValue) {
+        if (mySlots[theIndex] == null) {
+            myWindowSize++;
+        }
+        mySlots[theIndex] = theValue == null ? NULL_VALUE : theValue;
+    }
+
+    private void clearSlot(int theIndex) {
+        if (mySlots[theIndex] != null) {
+            mySlots[theIndex] = null;
+            myWindowSize--;
+        }
+    }
+
+    /**
+     * @return the value stored in a slot, null for an empty slot or a null value.
+     */
+    @SuppressWarnings("unchecked")
+    private V value(Object theSlot) {
+        return theSlot == NULL_VALUE ? null : (V) theSlot;
+    }
+
+    // ====================   operation counting =========================
+
+    @Override
+    public int getSwaps() {
+        return (int) myCounter.getCount(Operation.SWAPS) + myOverflow.getSwaps();
+    }
+
+    @Override
+    public int getComparisons() {
+        return (int) myCounter.getCount(Operation.COMPARISONS) + myOverflow.getComparisons();
+    }
+
+    @Override
+    public void resetCounter() {
+        myCounter.resetAll();
+        myOverflow.resetCounter();
+    }
+
+    @Override
+    public int getCollisions() {
+        return myOverflow.getCollisions();
+    }
+
+    @Override
+    public void resetCollisions() {
+        myOverflow.resetCollisions();
+    }
+
+    /**
+     * The window's keys are all found on the first read: index 0 counts the
+     * empty slots of the window and of the overflow table, index 1 the keys in
+     * the window plus the overflow keys found on the first probe.
+     */
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] histogram = myOverflow.probeLengthHistogram();
+        if (histogram.length < 2) {
+            histogram = Arrays.copyOf(histogram, 2);
+        }
+        histogram[0] += mySlots.length - myWindowSize;
+        histogram[1] += myWindowSize;
+        return histogram;
+    }
+}
@@ -0,0 +1,30 @@
+package util;
+
+/**
+ * A comparison of two primitive {@code double}s, the {@link java.util.Comparator}
+ * of a {@link DoubleBinaryHeapPQ}, called without boxing either value.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface DoubleComparator {
+
+    /**
+     * @return negative if theFirst comes before theSecond, positive if it comes after, 0 if neither.
+     */
+    int compare(double theFirst, double theSecond);
+
+    /**
+     * @return a comparator putting the smaller value first, as {@link Double#compare} does.
+     */
+    static DoubleComparator naturalOrder() {
+        return Double::compare;
+    }
+
+    /**
+     * @return a comparator putting the larger value first.
+     */
+    static DoubleComparator reverseOrder() {
+        return (theFirst, theSecond) -> Double.compare(theSecond, theFirst);
+    }
+}
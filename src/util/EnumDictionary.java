@@ -0,0 +1,258 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A Dictionary keyed by the constants of one enum, ie: {@link types.Position}.
+ * <p>
+ * Every constant has a slot at its {@link Enum#ordinal()} in one array, so a
+ * lookup is an array read, nothing is hashed or compared and there are no
+ * buckets or entry nodes. The array is as long as the enum has constants and
+ * never grows. Iteration is in ordinal order.
+ * </p>
+ * For totals per constant that should not box, see {@link EnumIntAccumulator}
+ * and {@link EnumLongAccumulator}.
+ * @param <E> the enum of the keys.
+ * @param <V> the class of the value object.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class EnumDictionary<E extends Enum<E>, V> implements Dictionary<E,V>, Iterable<Entry<E,V>> {
+
+    /**
+     * Stored in place of null, so an empty slot can be told apart from a key put with a null value.
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    /**
+     * the constants of the enum, in ordinal order.
+     */
+    private final E[] myConstants;
+
+    /**
+     * the value of each constant by ordinal, null if the constant is not present.
+     */
+    private final Object[] myValues;
+
+    private int size;
+
+    /**
+     * Creates an empty EnumDictionary with a slot for every constant of theKeyClass.
+     * @param theKeyClass the enum of the keys.
+     * @throws IllegalArgumentException if theKeyClass is null.
+     */
+    public EnumDictionary(Class<E> theKeyClass) {
+        super();
+        if (theKeyClass == null) {
+            throw new IllegalArgumentException("key class cannot be null");
+        }
+        myConstants = theKeyClass.getEnumConstants();
+        myValues = new Object[myConstants.length];
+    }
+
+    // ======================  getters/ setters ===========================
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the fraction of the enum's constants that are present.
+     */
+    @Override
+    public double loadFactor() {
+        return myValues.length == 0 ? 0 : (double) size / myValues.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    public V get(E key) {
+        return unwrap(myValues[ordinal(key)]);
+    }
+
+    @Override
+    public V getOrDefault(E key, V theDefault) {
+        Object value = myValues[ordinal(key)];
+        return value == null ? theDefault : unwrap(value);
+    }
+
+    @Override
+    public boolean containsKey(E key) {
+        return myValues[ordinal(key)] != null;
+    }
+
+    // ======================  adding ===========================
+
+    @Override
+    public void put(E theKey, V theValue) {
+        int ordinal = ordinal(theKey);
+        if (myValues[ordinal] == null) {
+            size++;
+        }
+        myValues[ordinal] = wrap(theValue);
+    }
+
+    // ======================  single probe operations ===========================
+
+    @Override
+    public V putIfAbsent(E theKey, V theValue) {
+        int ordinal = ordinal(theKey);
+        if (myValues[ordinal] != null) {
+            return unwrap(myValues[ordinal]);
+        }
+        myValues[ordinal] = wrap(theValue);
+        size++;
+        return null;
+    }
+
+    @Override
+    public V compute(E theKey, BiFunction<? super E, ? super V, ? extends V> theRemapping) {
+        int ordinal = ordinal(theKey);
+        V value = theRemapping.apply(theKey, unwrap(myValues[ordinal]));
+        store(ordinal, value);
+        return value;
+    }
+
+    @Override
+    public V computeIfAbsent(E theKey, Function<? super E, ? extends V> theMapping) {
+        int ordinal = ordinal(theKey);
+        if (myValues[ordinal] != null) {
+            return unwrap(myValues[ordinal]);
+        }
+        V value = theMapping.apply(theKey);
+        store(ordinal, value);
+        return value;
+    }
+
+    @Override
+    public V merge(E theKey, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping) {
+        if (theValue == null) {
+            throw new IllegalArgumentException("Cannot merge a null value");
+        }
+        int ordinal = ordinal(theKey);
+        Object current = myValues[ordinal];
+        V value = current == null ? theValue : theRemapping.apply(unwrap(current), theValue);
+        store(ordinal, value);
+        return value;
+    }
+
+    // ======================  removing ===========================
+
+    @Override
+    public V delete(E key) {
+        Entry<E,V> removed = remove(key);
+        return removed == null ? null : removed.value();
+    }
+
+    @Override
+    public Entry<E,V> remove(E key) {
+        int ordinal = ordinal(key);
+        Object value = myValues[ordinal];
+        if (value == null) {
+            return null;
+        }
+        myValues[ordinal] = null;
+        size--;
+        return new Entry<>(key, unwrap(value));
+    }
+
+    /**
+     * Removes every key.
+     */
+    public void clear() {
+        Arrays.fill(myValues, null);
+        size = 0;
+    }
+
+    // ======================  iterating ===========================
+
+    /**
+     * @return the present keys and their values in ordinal order.
+     */
+    @Override
+    public Iterator<Entry<E,V>> iterator() {
+        return new Iterator<>() {
+
+            int ordinal = 0;
+
+            private void advanceToNext() {
+                while (ordinal < myValues.length && myValues[ordinal] == null) {
+                    ordinal++;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                advanceToNext();
+                return ordinal < myValues.length;
+            }
+
+            @Override
+            public Entry<E, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Empty");
+                }
+                Entry<E,V> entry = new Entry<>(myConstants[ordinal], unwrap(myValues[ordinal]));
+                ordinal++;
+                return entry;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<E, V> entry : this) {
+            sb.append("{");
+            sb.append(entry.toString());
+            sb.append("}, ");
+        }
+        return sb.toString();
+    }
+
+    // ====================   private helper methods =========================
+
+    private static int ordinal(Enum<?> theKey) {
+        if (theKey == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        return theKey.ordinal();
+    }
+
+    /**
+     * Stores the result of a compute or merge, removing the key if theValue is null.
+     */
+    private void store(int theOrdinal, V theValue) {
+        if (theValue == null) {
+            if (myValues[theOrdinal] != null) {
+                myValues[theOrdinal] = null;
+                size--;
+            }
+            return;
+        }
+        if (myValues[theOrdinal] == null) {
+            size++;
+        }
+        myValues[theOrdinal] = theValue;
+    }
+
+    private static Object wrap(Object theValue) {
+        return theValue == null ? NULL_VALUE : theValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V unwrap(Object theValue) {
+        return theValue == NULL_VALUE ? null : (V) theValue;
+    }
+}
@@ -0,0 +1,105 @@
+package util;
+
+/**
+ * Running {@code int} totals, one per constant of an enum, kept in an
+ * {@code int} array indexed by {@link Enum#ordinal()}.
+ * <p>
+ * Adding to a total is an array update: no hashing, and unlike
+ * {@code merge(key, value, Integer::sum)} on a {@link Dictionary} no
+ * {@link Integer} is boxed per call. A constant is present once something
+ * has been added to it, even 0, so a total of 0 can be told apart from a
+ * constant nothing was added to. Totals wrap on overflow like {@code int}
+ * arithmetic, see {@link EnumLongAccumulator} for sums that may not fit.
+ * </p>
+ * @param <E> the enum of the keys.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class EnumIntAccumulator<E extends Enum<E>> {
+
+    private final Class<E> myKeyClass;
+
+    private final int[] myTotals;
+
+    /**
+     * whether anything was added to the constant of each ordinal.
+     */
+    private final boolean[] myPresent;
+
+    /**
+     * Creates an accumulator with a total of 0 for every constant of theKeyClass.
+     * @param theKeyClass the enum of the keys.
+     * @throws IllegalArgumentException if theKeyClass is null.
+     */
+    public EnumIntAccumulator(Class<E> theKeyClass) {
+        super();
+        if (theKeyClass == null) {
+            throw new IllegalArgumentException("key class cannot be null");
+        }
+        myKeyClass = theKeyClass;
+        int constants = theKeyClass.getEnumConstants().length;
+        myTotals = new int[constants];
+        myPresent = new boolean[constants];
+    }
+
+    /**
+     * Adds theAmount to theKey's total.
+     * @param theKey the constant.
+     * @param theAmount the amount to add.
+     * @throws IllegalArgumentException if theKey is null.
+     */
+    public void add(E theKey, int theAmount) {
+        int ordinal = ordinal(theKey);
+        myTotals[ordinal] += theAmount;
+        myPresent[ordinal] = true;
+    }
+
+    /**
+     * @param theKey the constant.
+     * @return theKey's total, 0 if nothing was added to it.
+     * @throws IllegalArgumentException if theKey is null.
+     */
+    public int get(E theKey) {
+        return myTotals[ordinal(theKey)];
+    }
+
+    /**
+     * @param theKey the constant.
+     * @return true if anything was added to theKey.
+     * @throws IllegalArgumentException if theKey is null.
+     */
+    public boolean contains(E theKey) {
+        return myPresent[ordinal(theKey)];
+    }
+
+    /**
+     * Sets every total back to 0 and every constant to not present.
+     */
+    public void clear() {
+        for (int i = 0; i < myTotals.length; i++) {
+            myTotals[i] = 0;
+            myPresent[i] = false;
+        }
+    }
+
+    /**
+     * @return a new dictionary of the total of every present constant.
+     */
+    public EnumDictionary<E, Integer> toDictionary() {
+        EnumDictionary<E, Integer> dictionary = new EnumDictionary<>(myKeyClass);
+        E[] constants = myKeyClass.getEnumConstants();
+        for (int i = 0; i < constants.length; i++) {
+            if (myPresent[i]) {
+                dictionary.put(constants[i], myTotals[i]);
+            }
+        }
+        return dictionary;
+    }
+
+    private static int ordinal(Enum<?> theKey) {
+        if (theKey == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        return theKey.ordinal();
+    }
+}
@@ -0,0 +1,263 @@
+package util;
+
+import counter.Operation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * A read only ordered table over a fixed set of {@code int} keys, answering
+ * point lookups, {@link #floor(int)}, {@link #ceiling(int)} and
+ * {@link #range(int, int)} queries.
+ * <p>
+ * The keys are sorted once, then stored in Eytzinger (breadth first) order:
+ * slot 1 holds the median, and the children of slot {@code k} are slots
+ * {@code 2k} and {@code 2k + 1}. A search walks down from slot 1 computing the
+ * next slot from the comparison, {@code k = 2k + (key < target)}, so there is
+ * no branch for the CPU to mispredict, and the first levels every search
+ * visits share a handful of cache lines. A binary search over a sorted array
+ * instead touches a new line on almost every step. Without a branch the CPU
+ * cannot guess ahead either, so each step also reads a key four levels down
+ * to start loading that line early. Slot 0 is unused.
+ * </p>
+ * Walking the slots in order (left subtree, node, right subtree) visits the keys
+ * in ascending order, which is how ranges and the iterator are served. Like
+ * every {@link FrozenTable} the key set is fixed once built.
+ * @param <V> the class of the value object.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class EytzingerTable<V> extends FrozenTable<V> {
+
+    /**
+     * Builds a table keyed by theKey of every row, ie: from a
+     * {@link loader.DataLoader} result with {@code PlayerEnhanced::id}.
+     * Sorting takes O(n log n). If two rows share a key the later one is kept,
+     * as if they had been put in order.
+     * @param theRows the values to store.
+     * @param theKey extracts the key of a row.
+     * @throws IllegalArgumentException if theRows or theKey is null.
+     */
+    public EytzingerTable(DataContainer<? extends V> theRows, ToIntFunction<? super V> theKey) {
+        this(SortedRows.of(theRows, theKey));
+    }
+
+    private EytzingerTable(SortedRows theSorted) {
+        super(theSorted.size(), theSorted.size() + 1);
+        int slot = leftmost(1);
+        for (int i = 0; i < theSorted.size(); i++) {
+            long keyAndRow = theSorted.keysAndRows()[i];
+            myKeys[slot] = (int) (keyAndRow >> 32);
+            myValues[slot] = theSorted.rows()[(int) keyAndRow];
+            slot = successor(slot);
+        }
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    protected int findSlot(int theKey) {
+        int slot = ceilingSlot(theKey);
+        if (slot == 0) {
+            return -1;
+        }
+        myCounter.increment(Operation.COMPARISONS);
+        return myKeys[slot] == theKey ? slot : -1;
+    }
+
+    /**
+     * @param theKey the key.
+     * @return the entry with the greatest key less than or equal to theKey, or null if there is none.
+     */
+    public Entry<Integer,V> floor(int theKey) {
+        int slot = ceilingSlot(theKey);
+        if (slot == 0) {
+            slot = rightmost(1);
+        } else if (myKeys[slot] != theKey) {
+            slot = predecessor(slot);
+        }
+        return slot == 0 ? null : entry(slot);
+    }
+
+    /**
+     * @param theKey the key.
+     * @return the entry with the least key greater than or equal to theKey, or null if there is none.
+     */
+    public Entry<Integer,V> ceiling(int theKey) {
+        int slot = ceilingSlot(theKey);
+        return slot == 0 ? null : entry(slot);
+    }
+
+    /**
+     * Iterates over the keys between theFrom and theTo in ascending order,
+     * ie: {@code range(1000, 2000)} for the players with ids 1000 to 2000.
+     * Finding the first key is a single search, each key after it is the
+     * next slot in order.
+     * @param theFrom the smallest key included.
+     * @param theTo the largest key included.
+     * @return the entries with keys in [theFrom, theTo].
+     * @throws IllegalArgumentException if theFrom is greater than theTo.
+     */
+    public Iterable<Entry<Integer,V>> range(int theFrom, int theTo) {
+        if (theFrom > theTo) {
+            throw new IllegalArgumentException("Range start " + theFrom + " is after its end " + theTo);
+        }
+        return () -> new InOrderIterator(ceilingSlot(theFrom), theTo);
+    }
+
+    // ======================  iterating ===========================
+
+    /**
+     * @return the entries in ascending key order.
+     */
+    @Override
+    public Iterator<Entry<Integer,V>> iterator() {
+        return new InOrderIterator(isEmpty() ? 0 : leftmost(1), Integer.MAX_VALUE);
+    }
+
+    // ====================   private helper methods =========================
+
+    /**
+     * The branchless descent.
+     * @return the slot of the least key greater than or equal to theKey, or 0 if there is none.
+     */
+    private int ceilingSlot(int theKey) {
+        int[] keys = myKeys;
+        int size = size();
+        int slot = 1;
+        int depth = 0;
+        int prefetched = 0;
+        while (slot <= size) {
+            // the 16 slots 4 levels down share a cache line, reading one starts that
+            // load now instead of after the 4 comparisons the next slot waits on.
+            if (slot <= size >>> 4) {
+                prefetched |= keys[slot << 4];
+            }
+            // go right when the slot's key is too small, the ternary compiles to a conditional move.
+            slot = 2 * slot + (keys[slot] < theKey ? 1 : 0);
+            depth++;
+        }
+        myCounter.increment(Operation.COMPARISONS, depth);
+        // every right turn after the last left turn led away from the answer,
+        // drop them and the left turn to get back to the slot we turned left at.
+        // slot is never negative so the prefetched keys add nothing, using them
+        // only stops the compiler from removing the reads.
+        return (slot >> (Integer.numberOfTrailingZeros(~slot) + 1)) | (prefetched & slot >>> 31);
+    }
+
+    /**
+     * @return the slot of the smallest key in the subtree at theSlot.
+     */
+    private int leftmost(int theSlot) {
+        int slot = theSlot;
+        while (2 * slot <= size()) {
+            slot = 2 * slot;
+        }
+        return slot;
+    }
+
+    /**
+     * @return the slot of the largest key in the subtree at theSlot, or 0 if the table is empty.
+     */
+    private int rightmost(int theSlot) {
+        if (theSlot > size()) {
+            return 0;
+        }
+        int slot = theSlot;
+        while (2 * slot + 1 <= size()) {
+            slot = 2 * slot + 1;
+        }
+        return slot;
+    }
+
+    /**
+     * @return the slot of the next larger key, or 0 after the largest key.
+     */
+    private int successor(int theSlot) {
+        if (2 * theSlot + 1 <= size()) {
+            return leftmost(2 * theSlot + 1);
+        }
+        // climb while we are a right child, then once more to the parent.
+        return theSlot >> (Integer.numberOfTrailingZeros(~theSlot) + 1);
+    }
+
+    /**
+     * @return the slot of the next smaller key, or 0 before the smallest key.
+     */
+    private int predecessor(int theSlot) {
+        if (2 * theSlot <= size()) {
+            return rightmost(2 * theSlot);
+        }
+        // climb while we are a left child, then once more to the parent.
+        return theSlot >> (Integer.numberOfTrailingZeros(theSlot) + 1);
+    }
+
+    // ====================   utility classes =========================
+
+    /**
+     * Walks the slots in key order until a key is past the end of the range.
+     */
+    private final class InOrderIterator implements Iterator<Entry<Integer,V>> {
+
+        private int mySlot;
+
+        private final int myTo;
+
+        InOrderIterator(int theFirstSlot, int theTo) {
+            mySlot = theFirstSlot;
+            myTo = theTo;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return mySlot != 0 && myKeys[mySlot] <= myTo;
+        }
+
+        @Override
+        public Entry<Integer, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Empty");
+            }
+            Entry<Integer,V> entry = entry(mySlot);
+            mySlot = successor(mySlot);
+            return entry;
+        }
+    }
+
+    /**
+     * The rows and their keys sorted before the table is allocated.
+     * @param keysAndRows each key in the high 32 bits and its row index in the
+     *                    low 32 bits, sorted and with one entry per key.
+     * @param size the number of distinct keys.
+     * @param rows the rows in the order they were read.
+     */
+    private record SortedRows(long[] keysAndRows, int size, Object[] rows) {
+
+        static <V> SortedRows of(DataContainer<? extends V> theRows, ToIntFunction<? super V> theKey) {
+            if (theRows == null || theKey == null) {
+                throw new IllegalArgumentException("Rows and key function cannot be null");
+            }
+            Object[] rows = new Object[theRows.size()];
+            long[] keysAndRows = new long[rows.length];
+            int count = 0;
+            for (V row : theRows) {
+                rows[count] = row;
+                keysAndRows[count] = (long) theKey.applyAsInt(row) << 32 | count;
+                count++;
+            }
+            // sorts by key, then by the order the rows were read.
+            Arrays.sort(keysAndRows);
+
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                boolean replaced = i + 1 < count && keysAndRows[i] >> 32 == keysAndRows[i + 1] >> 32;
+                if (!replaced) {
+                    keysAndRows[size++] = keysAndRows[i];
+                }
+            }
+            return new SortedRows(keysAndRows, size, rows);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package util;
+
+import counter.Operation;
+import counter.OperationCounter;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Common behavior of the read only tables over a fixed set of {@code int} keys.
+ * <p>
+ * Keys and values are stored in parallel arrays that the subclass lays out
+ * once when it is built, the subclass then only decides which slot a key is
+ * in. The key set is frozen at that point: a value may be replaced, but any
+ * operation that would add or remove a key throws
+ * {@link UnsupportedOperationException}, build a new table from the updated
+ * data instead.
+ * </p>
+ * Comparisons (key checks) are tracked by the table's {@link OperationCounter},
+ * swaps are never performed.
+ * @param <V> the class of the value object.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+public abstract sealed class FrozenTable<V> implements Dictionary<Integer,V>, Iterable<Entry<Integer,V>>, OperationCountable
+        permits PerfectHashTable, EytzingerTable {
+
+    private static final String FROZEN = """
+            The keys of a %s are fixed when it is built, \
+            build a new table to add or remove keys.""";
+
+    /**
+     * the key stored in each slot.
+     */
+    protected final int[] myKeys;
+
+    /**
+     * the value stored in each slot.
+     */
+    protected final Object[] myValues;
+
+    protected final OperationCounter myCounter = OperationCounter.create();
+
+    private final int mySize;
+
+    /**
+     * @param theSize the number of keys.
+     * @param theSlots the length of the key and value arrays.
+     */
+    protected FrozenTable(int theSize, int theSlots) {
+        super();
+        mySize = theSize;
+        myKeys = new int[theSlots];
+        myValues = new Object[theSlots];
+    }
+
+    /**
+     * @param theKey the key.
+     * @return the slot holding {@code theKey} or -1 if not present.
+     */
+    protected abstract int findSlot(int theKey);
+
+    // ======================  getters/ setters ===========================
+
+    @Override
+    public int size() {
+        return mySize;
+    }
+
+    /**
+     * @return 1, every key is stored without spare slots, or 0 if the table is empty.
+     */
+    @Override
+    public double loadFactor() {
+        return isEmpty() ? 0 : 1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mySize == 0;
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    public V get(Integer key) {
+        return getInt(key.intValue());
+    }
+
+    /**
+     * Primitive lookup, does not box the key.
+     * @param theKey the key.
+     * @return the value associated with the key or null if not present.
+     */
+    public V getInt(int theKey) {
+        int slot = findSlot(theKey);
+        return slot < 0 ? null : value(slot);
+    }
+
+    @Override
+    public V getOrDefault(Integer key, V theDefault) {
+        int slot = findSlot(key);
+        return slot < 0 ? theDefault : value(slot);
+    }
+
+    @Override
+    public boolean containsKey(Integer key) {
+        return containsInt(key.intValue());
+    }
+
+    /**
+     * Primitive containsKey, does not box the key.
+     * @param theKey the key.
+     * @return true if found and false otherwise.
+     */
+    public boolean containsInt(int theKey) {
+        return findSlot(theKey) >= 0;
+    }
+
+    // ======================  replacing ===========================
+
+    /**
+     * Replaces the value of a key the table was built with.
+     * @throws UnsupportedOperationException if the key is not present.
+     */
+    @Override
+    public void put(Integer theKey, V theValue) {
+        myValues[existingSlot(theKey)] = theValue;
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the key is not present.
+     */
+    @Override
+    public V putIfAbsent(Integer theKey, V theValue) {
+        return value(existingSlot(theKey));
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the key is not present and theMapping returns a value.
+     */
+    @Override
+    public V computeIfAbsent(Integer theKey, Function<? super Integer, ? extends V> theMapping) {
+        int slot = findSlot(theKey);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        if (theMapping.apply(theKey) != null) {
+            throw frozen();
+        }
+        return null;
+    }
+
+    /**
+     * @throws UnsupportedOperationException if theRemapping would add or remove the key.
+     */
+    @Override
+    public V compute(Integer theKey, BiFunction<? super Integer, ? super V, ? extends V> theRemapping) {
+        int slot = findSlot(theKey);
+        V value = theRemapping.apply(theKey, slot < 0 ? null : value(slot));
+        if ((slot < 0) != (value == null)) {
+            throw frozen();
+        }
+        if (slot >= 0) {
+            myValues[slot] = value;
+        }
+        return value;
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the key is not present or theRemapping returns null.
+     */
+    @Override
+    public V merge(Integer theKey, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping) {
+        if (theValue == null) {
+            throw new IllegalArgumentException("Cannot merge a null value");
+        }
+        int slot = existingSlot(theKey);
+        V value = theRemapping.apply(value(slot), theValue);
+        if (value == null) {
+            throw frozen();
+        }
+        myValues[slot] = value;
+        return value;
+    }
+
+    // ======================  removing ===========================
+
+    /**
+     * @return null, the key is not present.
+     * @throws UnsupportedOperationException if the key is present.
+     */
+    @Override
+    public V delete(Integer key) {
+        remove(key);
+        return null;
+    }
+
+    /**
+     * @return null, the key is not present.
+     * @throws UnsupportedOperationException if the key is present.
+     */
+    @Override
+    public Entry<Integer,V> remove(Integer key) {
+        if (findSlot(key) >= 0) {
+            throw frozen();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<Integer, V> entry : this) {
+            sb.append("{");
+            sb.append(entry.toString());
+            sb.append("}, ");
+        }
+        return sb.toString();
+    }
+
+    // ====================   helper methods =========================
+
+    @SuppressWarnings("unchecked")
+    protected final V value(int theSlot) {
+        return (V) myValues[theSlot];
+    }
+
+    /**
+     * @return the entry stored in a slot.
+     */
+    protected final Entry<Integer,V> entry(int theSlot) {
+        return new Entry<>(myKeys[theSlot], value(theSlot));
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the key is not present.
+     */
+    private int existingSlot(int theKey) {
+        int slot = findSlot(theKey);
+        if (slot < 0) {
+            throw frozen();
+        }
+        return slot;
+    }
+
+    private UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException(FROZEN.formatted(getClass().getSimpleName()));
+    }
+
+    // ====================   operation counting =========================
+
+    @Override
+    public int getSwaps() {
+        return (int) myCounter.getCount(Operation.SWAPS);
+    }
+
+    @Override
+    public int getComparisons() {
+        return (int) myCounter.getCount(Operation.COMPARISONS);
+    }
+
+    @Override
+    public void resetCounter() {
+        myCounter.resetAll();
+    }
+}
@@ -0,0 +1,53 @@
+package util;
+
+/**
+ * Compares the {@link SwissHashTable#GROUP_SIZE} control bytes of a
+ * {@link SwissHashTable} group at once. Every method returns a mask with
+ * bit {@code i} set for the group's {@code i}-th slot.
+ * <p>
+ * {@link #create()} picks {@link VectorGroupMatcher} when the
+ * {@code jdk.incubator.vector} module is in the boot layer, ie: the JVM was
+ * started with {@code --add-modules jdk.incubator.vector}, and
+ * {@link SwarGroupMatcher} otherwise. The vector class is only loaded on the
+ * first path, so the table works on a JVM without the module.
+ * Running with {@code -Dsoas.vectorGroups=false} forces the SWAR matcher.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+sealed interface GroupMatcher permits SwarGroupMatcher, VectorGroupMatcher {
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * @return the vector matcher if the module is present and not turned off, else the SWAR matcher.
+     */
+    static GroupMatcher create() {
+        boolean enabled = !"false".equalsIgnoreCase(System.getProperty("soas.vectorGroups"));
+        if (enabled && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            return new VectorGroupMatcher();
+        }
+        return new SwarGroupMatcher();
+    }
+
+    /**
+     * @return a bit for every slot of the group whose control byte may equal
+     * theFingerprint, the key compare rules out any false match.
+     */
+    int matchFingerprint(byte[] theControl, int theBase, int theFingerprint);
+
+    /**
+     * @return a bit for every EMPTY slot of the group.
+     */
+    int matchEmpty(byte[] theControl, int theBase);
+
+    /**
+     * @return a bit for every EMPTY or DELETED slot of the group, ie: every control byte with its high bit set.
+     */
+    int matchFree(byte[] theControl, int theBase);
+
+    /**
+     * @return a short name for reports, "vector" or "swar".
+     */
+    String name();
+}
@@ -0,0 +1,62 @@
+package util;
+
+/**
+ * Turns a key's {@link Object#hashCode()} into the bits a {@link HashTable}
+ * masks with {@code capacity - 1} to pick a bucket.
+ * <p>
+ * Masking only looks at the low bits of the hash, so the strategy decides how
+ * keys whose low bits repeat are spread. Ids that share a stride with the
+ * capacity, ie: every 64th id in a 64 bucket table, all land in one bucket with
+ * {@link #IDENTITY}, while {@link #FIBONACCI} and {@link #MURMUR3} fold the
+ * high bits down first. None of them allocate.
+ * </p>
+ * @author Chris Chun, Ayush.
+ * @version 1.0
+ */
+public enum HashStrategy {
+
+    /**
+     * Uses the hash code as is. Sequential ids fill the buckets perfectly,
+     * but any stride that shares a factor of two with the capacity collides.
+     */
+    IDENTITY {
+        @Override
+        public int spread(int theHashCode) {
+            return theHashCode;
+        }
+    },
+
+    /**
+     * Multiplies by 2^32 / golden ratio and folds the high half into the low
+     * half. One multiply, and strided ids land far apart.
+     */
+    FIBONACCI {
+        @Override
+        public int spread(int theHashCode) {
+            int h = theHashCode * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    },
+
+    /**
+     * The 32 bit finalizer of MurmurHash3, every input bit affects every output bit.
+     */
+    MURMUR3 {
+        @Override
+        public int spread(int theHashCode) {
+            int h = theHashCode;
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            h ^= h >>> 16;
+            return h;
+        }
+    };
+
+    /**
+     * @param theHashCode the key's hash code.
+     * @return the hash whose low bits select the bucket.
+     */
+    public abstract int spread(int theHashCode);
+}
@@ -1,32 +1,69 @@
 package util;
 
+import counter.Operation;
 import counter.OperationCounter;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * A HashTable implementation that uses chaining to resolve collisions.
+ * <p>
+ * Each bucket is the head of an intrusive chain: the entries are the chain
+ * nodes, so a bucket costs one array slot and stays null until a key hashes
+ * to it. Comparisons are counted by the table's single {@link OperationCounter}.
+ * </p>
+ * <p>
+ * The capacity is always a power of two: a key's bucket is its
+ * {@link HashStrategy#spread(int) spread} hash masked with {@code capacity - 1},
+ * which is cheaper than a modulo. The default {@link HashStrategy#IDENTITY}
+ * suits sequential ids, strided keys should use another strategy.
+ * </p>
+ * <p>
+ * A chain that grows past {@link #TREEIFY_THRESHOLD} nodes, ie: ids that all
+ * share their low bits or keys with equal hash codes, is turned into an AVL
+ * tree ordered by hash code and then by {@link Comparable#compareTo}, so a
+ * lookup in it compares O(log n) keys instead of O(n). The tree turns back into
+ * a chain once it shrinks to {@link #UNTREEIFY_THRESHOLD} nodes.
+ * </p>
+ * <p>
+ * In {@link RehashMode#INCREMENTAL} mode growing the table does not rehash
+ * every entry at once. The old bucket array is kept alongside the new one
+ * and every put, get and delete migrates {@link #MIGRATION_STEP} old buckets,
+ * so no single operation pays the full O(n) rehash. Because the capacity
+ * doubles, old bucket {@code i} only ever splits into new buckets {@code i}
+ * and {@code i + oldCapacity}, which are filled when bucket {@code i}
+ * migrates. Until then a key whose old bucket has not migrated still lives
+ * in the old bucket.
+ * </p>
  * @param <K> the class of the key object.
  * @param <V> the class of the value object.
  */
-public final class HashTable<K,V> implements Dictionary<K,V>, Iterable<Entry<K,V>>, OperationCountable {
+public final class HashTable<K,V> implements MapContainer<K,V> {
 
     /**
-     * HashTable key values
+     * HashTable key values, each slot is the first node of a chain or null.
      */
-    private ArrayStore<SinglyLinkedList<Entry<K,V>>> myTable;
+    private Node<K,V>[] myTable;
 
     /**
-     * the object's class of the key needed for resizing if implemented
+     * The bucket array being migrated away from during an
+     * incremental rehash, null when no rehash is in progress.
      */
-    private final Class<K> myKeyClass;
+    private Node<K,V>[] myOldTable;
 
     /**
-     * the object's class of the value needed for resizing if implemented
+     * Index of the next old bucket to migrate.
      */
-    private final Class<V> myValueClass;
+    private int myMigrateIndex;
+
+    private final RehashMode myRehashMode;
+
+    private final HashStrategy myHashStrategy;
 
     /**
      * HashTable's load factor = size/capcity
@@ -39,7 +76,7 @@ public final class HashTable<K,V> implements Dictionary<K,V>, Iterable<Entry<K,V
      */
     private int size;
 
-    private final OperationCounter myCounter = new OperationCounter();
+    private final OperationCounter myCounter = OperationCounter.create();
 
     private int myCollisions;
 
@@ -47,6 +84,21 @@ public final class HashTable<K,V> implements Dictionary<K,V>, Iterable<Entry<K,V
 
     private static final int DEFAULT_CAPCITY = 16;
 
+    /**
+     * number of old buckets migrated per operation during an incremental rehash.
+     */
+    private static final int MIGRATION_STEP = 4;
+
+    /**
+     * a bucket whose chain grows past this many nodes is turned into a tree.
+     */
+    static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * a tree bucket that shrinks to this many nodes is turned back into a chain.
+     */
+    static final int UNTREEIFY_THRESHOLD = 6;
+
 
     /**
      * Default constructor.
@@ -65,16 +117,51 @@ public final class HashTable<K,V> implements Dictionary<K,V>, Iterable<Entry<K,V
      * @param theValueClass the class of the objects value.
      * @param theInitialCapacity the initial capacity of the HashTable
      */
-    @SuppressWarnings("unchecked")
     public HashTable(Class<K> theKeyClass, Class<V> theValueClass, int theInitialCapacity) {
+        this(theKeyClass, theValueClass, theInitialCapacity, RehashMode.EAGER);
+    }
+
+    /**
+     * Creates a new HashTable with {@code theInitialCapcity} that grows
+     * according to {@code theRehashMode}.
+     * @param theKeyClass the class of the objects key
+     * @param theValueClass the class of the objects value.
+     * @param theInitialCapacity the initial capacity of the HashTable
+     * @param theRehashMode how the table rehashes when it grows.
+     */
+    public HashTable(Class<K> theKeyClass,
+                     Class<V> theValueClass,
+                     int theInitialCapacity,
+                     RehashMode theRehashMode) {
+        this(theKeyClass, theValueClass, theInitialCapacity, theRehashMode, HashStrategy.IDENTITY);
+    }
+
+    /**
+     * Creates a new HashTable with {@code theInitialCapcity} rounded up to a power
+     * of two, that grows according to {@code theRehashMode} and picks buckets
+     * with {@code theHashStrategy}.
+     * @param theKeyClass the class of the objects key
+     * @param theValueClass the class of the objects value.
+     * @param theInitialCapacity the initial capacity of the HashTable
+     * @param theRehashMode how the table rehashes when it grows.
+     * @param theHashStrategy how a key's hash code is spread before masking.
+     * @throws IllegalArgumentException if the capacity is not positive or an option is null.
+     */
+    public HashTable(Class<K> theKeyClass,
+                     Class<V> theValueClass,
+                     int theInitialCapacity,
+                     RehashMode theRehashMode,
+                     HashStrategy theHashStrategy) {
         super();
-        myTable =
-                new ArrayStore<>(
-                        (Class<SinglyLinkedList<Entry<K,V>>>) (Class<?>) SinglyLinkedList.class,
-                        theInitialCapacity);
-        initializeHashTable(myTable, theInitialCapacity);
-        myKeyClass = theKeyClass;
-        myValueClass = theValueClass;
+        if (theInitialCapacity <= 0) {
+            throw new IllegalArgumentException("initial capacity must be positive");
+        }
+        if (theRehashMode == null || theHashStrategy == null) {
+            throw new IllegalArgumentException("rehash mode and hash strategy cannot be null");
+        }
+        myTable = newBucketArray(tableSizeFor(theInitialCapacity));
+        myRehashMode = theRehashMode;
+        myHashStrategy = theHashStrategy;
     }
 
     // ======================  getters/ setters ===========================
@@ -96,107 +183,162 @@ public final class HashTable<K,V> implements Dictionary<K,V>, Iterable<Entry<K,V
     }
 
     private void updateLoadLoadFactor() {
-        myLoadFactor = (double) size /myTable.size();
+        myLoadFactor = (double) size /myTable.length;
+    }
+
+    /**
+     * @return the number of buckets.
+     */
+    public int capacity() {
+        return myTable.length;
+    }
+
+    public HashStrategy getHashStrategy() {
+        return myHashStrategy;
+    }
+
+    /**
+     * @return true while an incremental rehash is migrating buckets.
+     */
+    public boolean isRehashing() {
+        return myOldTable != null;
+    }
+
+    /**
+     * @return the fraction of old buckets migrated by the current
+     * incremental rehash, 1.0 when no rehash is in progress.
+     */
+    public double rehashProgress() {
+        if (myOldTable == null) {
+            return 1.0;
+        }
+        return (double) myMigrateIndex / myOldTable.length;
     }
 
     @Override
     public V get(K key) {
-        // 1) hash the key and get the index
-        int bucketIndex = getKeyIndex(key);
-        SinglyLinkedList<Entry<K,V>> bucketList = myTable.get(bucketIndex);
-
-        //2)
-        // if it is not empty iterate over all entries in the bucket
-        // and return it if present.
-        for (Entry<K,V> entry: bucketList) {
-            myCounter.increment("comparisons");
-            if (Objects.equals(entry.key(), key)) {
-                return entry.value();
-            }
-        }
+        // 1) hash the key and find the bucket that currently owns it.
+        migrateStep();
+
+        //2) walk the chain and return the value if present.
+        Node<K,V> node = findNode(key);
 
         // 3) if we didn't find it return null.
-        return null;
+        return node == null ? null : node.value();
     }
 
     // ======================  adding ===========================
 
     @Override
     public void put(K theKey, V theValue) {
-        // 1) create new Entry.
-        Entry<K,V> theNewEntry = new Entry<>(theKey, theValue);
-
-        // 2) calculate hash index;
-        int hashIndex = getKeyIndex(theKey);
-
-        // 3) add the new Entry to the linked list at the hash index.
-        SinglyLinkedList<Entry<K,V>> tableListEntry = myTable.get(hashIndex);
-
-        // a) check if bucket is empty
-        if (tableListEntry.isEmpty()) {
-            size++;
-            tableListEntry.addFront(theNewEntry);
-            updateLoadLoadFactor();
-            if (myLoadFactor > LOAD_FACTOR_TOLLERANCE) {
-                resize();
-            }
-        } else
-            // b) check if the entry already existis and update if it does.
-        if (!wasAbleToUpdateListEntry(tableListEntry, theNewEntry) ) {
-
-            // c) otherwise add the entry to the front of the bucket list.
-            tableListEntry.addFront(theNewEntry);
-            //4) update size only when the new entry is not already present.
-            size++;
-            //5) update load factor
-            updateLoadLoadFactor();
-
-            //7) if we got mapped to the same bucket but equality was determined
-            // to not be equal then it means a collission has occured
-            myCollisions++;
+        // 1) find the bucket that owns the key.
+        migrateStep();
+        Node<K,V>[] table = bucketArrayFor(theKey);
+        int index = bucketIndexFor(theKey, table);
+
+        // 2) check if the entry already exists and update if it does.
+        Node<K,V> node = findInBucket(table, index, theKey);
+        if (node != null) {
+            node.setEntry(theValue);
+            return;
+        }
 
-            //8) resize if necessary
-            if (myLoadFactor > LOAD_FACTOR_TOLLERANCE) {
-                resize();
-            }
+        // 3) otherwise link a new node into the bucket.
+        linkNode(table, index, theKey, theValue);
+    }
+
+    @Override
+    public V putIfAbsent(K theKey, V theValue) {
+        migrateStep();
+        Node<K,V>[] table = bucketArrayFor(theKey);
+        int index = bucketIndexFor(theKey, table);
+
+        Node<K,V> node = findInBucket(table, index, theKey);
+        if (node != null) {
+            return node.value();
         }
+        linkNode(table, index, theKey, theValue);
+        return null;
+    }
 
+    @Override
+    public V computeIfAbsent(K theKey, Function<? super K, ? extends V> theMapping) {
+        migrateStep();
+        Node<K,V>[] table = bucketArrayFor(theKey);
+        int index = bucketIndexFor(theKey, table);
+
+        Node<K,V> node = findInBucket(table, index, theKey);
+        if (node != null) {
+            return node.value();
+        }
+        V value = theMapping.apply(theKey);
+        if (value != null) {
+            linkNode(table, index, theKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V compute(K theKey, BiFunction<? super K, ? super V, ? extends V> theRemapping) {
+        migrateStep();
+        Node<K,V>[] table = bucketArrayFor(theKey);
+        int index = bucketIndexFor(theKey, table);
+
+        Node<K,V> node = findInBucket(table, index, theKey);
+        V value = theRemapping.apply(theKey, node == null ? null : node.value());
+        store(table, index, theKey, node, value);
+        return value;
+    }
+
+    @Override
+    public V merge(K theKey, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping) {
+        if (theValue == null) {
+            throw new IllegalArgumentException("Cannot merge a null value");
+        }
+        migrateStep();
+        Node<K,V>[] table = bucketArrayFor(theKey);
+        int index = bucketIndexFor(theKey, table);
+
+        Node<K,V> node = findInBucket(table, index, theKey);
+        V value = node == null ? theValue : theRemapping.apply(node.value(), theValue);
+        store(table, index, theKey, node, value);
+        return value;
     }
 
     // ======================  removing ===========================
 
     @Override
     public V delete(K key) {
+        Entry<K,V> removed = remove(key);
+        return removed == null ? null : removed.value();
+    }
 
-        // 1) check if the key exists in the HashTable
-        if (!containsKey(key)) {
-            return null;
+    @Override
+    public Entry<K,V> remove(K key) {
+        // 1) get bucket of key
+        migrateStep();
+        Node<K,V>[] table = bucketArrayFor(key);
+        int index = bucketIndexFor(key, table);
+
+        // 2) unlink the node from its bucket.
+        Node<K,V> node = findInBucket(table, index, key);
+        if (node != null) {
+            unlinkNode(table, index, node);
         }
-        // 2) get bucket index of key
-        int bucketIndex = getKeyIndex(key);
-        SinglyLinkedList<Entry<K,V>> bucketList = myTable.get(bucketIndex);
-
-        //3) remove the key from the bucket list
-        Entry<K,V> removed = bucketList.remove(
-                (entry)-> Objects.equals(entry.key(), key));
-        size--;
-        updateLoadLoadFactor();
-        return removed.value();
+        return node;
     }
 
     @Override
     public boolean containsKey(K key) {
-        // 1) get bucket index of key
-        int bucketIndex = getKeyIndex(key);
-        SinglyLinkedList<Entry<K,V>> bucketList = myTable.get(bucketIndex);
+        migrateStep();
+        return findNode(key) != null;
+    }
 
-        for (Entry<K,V> entry: bucketList) {
-            myCounter.increment("comparisons");
-            if (Objects.equals(entry.key(), key)) {
-                return true;
-            }
-        }
-        return false;
+    @Override
+    public V getOrDefault(K key, V theDefault) {
+        migrateStep();
+        Node<K,V> node = findNode(key);
+        return node == null ? theDefault : node.value();
     }
 
     @Override
@@ -206,29 +348,55 @@ public final class HashTable<K,V> implements Dictionary<K,V>, Iterable<Entry<K,V
 
             int bucketIndex = 0;
 
-            Iterator<Entry<K, V>> currentIterator = null;
+            // during an incremental rehash the unmigrated old buckets are visited first.
+            int oldBucketIndex = myMigrateIndex;
+
+            Node<K,V> nextNode = null;
+
+            // the nodes of the tree bucket being visited, null while visiting a chain.
+            Node<K,V>[] treeNodes = null;
+
+            int treeIndex = 0;
 
             private void advanceToNext() {
-                while ((currentIterator == null || !currentIterator.hasNext())
-                        && bucketIndex < myTable.size()) {
-                    SinglyLinkedList<Entry<K, V>> nextBucketList = myTable.get(bucketIndex++);
-                    currentIterator = nextBucketList.iterator();
+                while (nextNode == null && myOldTable != null && oldBucketIndex < myOldTable.length) {
+                    nextNode = enterBucket(myOldTable[oldBucketIndex++]);
+                }
+                while (nextNode == null && bucketIndex < myTable.length) {
+                    nextNode = enterBucket(myTable[bucketIndex++]);
                 }
             }
 
+            private Node<K,V> enterBucket(Node<K,V> theHead) {
+                treeNodes = null;
+                if (theHead instanceof TreeNode<K,V> root) {
+                    treeNodes = newBucketArray(treeSize(root));
+                    collectTree(root, treeNodes, 0);
+                    treeIndex = 1;
+                    return treeNodes[0];
+                }
+                return theHead;
+            }
+
             @Override
             public boolean hasNext() {
                 advanceToNext();
-                return currentIterator != null && currentIterator.hasNext();
+                return nextNode != null;
             }
 
             @Override
             public Entry<K, V> next() {
                 advanceToNext();
-                if (currentIterator == null || !currentIterator.hasNext()) {
+                if (nextNode == null) {
                     throw new NoSuchElementException("Empty");
                 }
-                return currentIterator.next();
+                Node<K,V> current = nextNode;
+                if (treeNodes != null) {
+                    nextNode = treeIndex < treeNodes.length ? treeNodes[treeIndex++] : null;
+                } else {
+                    nextNode = current.myNext;
+                }
+                return current;
             }
 
         };
@@ -237,13 +405,16 @@ public final class HashTable<K,V> implements Dictionary<K,V>, Iterable<Entry<K,V
 
     // ====================  util =====================
 
+    @Override
     public void clear() {
-        int curCapacity = myTable.size();
-        myTable.clear();
+        // keep the bucket array, emptying it allocates nothing.
+        Arrays.fill(myTable, null);
+        myOldTable = null;
+        myMigrateIndex = 0;
         size = 0;
+        myLoadFactor = 0;
         myCounter.resetAll();
         resetCollisions();
-        initializeHashTable(myTable, curCapacity);
     }
 
     @Override
@@ -261,63 +432,163 @@ public final class HashTable<K,V> implements Dictionary<K,V>, Iterable<Entry<K,V
 
     // ====================   private helper methods =========================
 
-    private void initializeHashTable(
-            ArrayStore<SinglyLinkedList<Entry<K,V>>> theArrayTable,
-            int theCapacity) {
-        for (int i = 0; i < theCapacity; i++) {
-            theArrayTable.add(i, new SinglyLinkedList<>());
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K,V> Node<K,V>[] newBucketArray(int theCapacity) {
+        return (Node<K,V>[]) new Node[theCapacity];
+    }
+
+    /**
+     * @return the node holding {@code theKey}, or null if it is not in the table.
+     */
+    private Node<K,V> findNode(K theKey) {
+        Node<K,V>[] table = bucketArrayFor(theKey);
+        return findInBucket(table, bucketIndexFor(theKey, table), theKey);
+    }
+
+    /**
+     * Walks a bucket's chain, or searches its tree, counting a comparison per node visited.
+     * @return the node holding {@code theKey}, or null if it is not in the bucket.
+     */
+    private Node<K,V> findInBucket(Node<K,V>[] theTable, int theIndex, K theKey) {
+        Node<K,V> head = theTable[theIndex];
+        if (head instanceof TreeNode<K,V> root) {
+            return findInTree(root, Objects.hashCode(theKey), theKey);
         }
+        for (Node<K,V> node = head; node != null; node = node.myNext) {
+            myCounter.increment(Operation.COMPARISONS);
+            if (Objects.equals(node.key(), theKey)) {
+                return node;
+            }
+        }
+        return null;
     }
 
-    private int getKeyIndex(K theKey) {
-        int theHashResult = Objects.hash(theKey);
-        if (theHashResult < 0) {
-            // theHashResult & 01111111111111111111111111111111
-            // drops the signed bit and returns the positive result.
-            // cannot just use Math.abs() because Math.abs(-2^31) will still be negative
-            // because of overflow.
-            theHashResult = theHashResult & 0x7FFFFFFF;
+    /**
+     * Adds a key that was not found in its bucket, treeifies the bucket
+     * if its chain got too long, then resizes if necessary.
+     */
+    private void linkNode(Node<K,V>[] theTable, int theIndex, K theKey, V theValue) {
+        Node<K,V> head = theTable[theIndex];
+        if (head instanceof TreeNode<K,V> root) {
+            theTable[theIndex] = insertIntoTree(root, new TreeNode<>(theKey, theValue));
+        } else {
+            theTable[theIndex] = new Node<>(theKey, theValue, head);
+            if (head != null && chainLength(head) >= TREEIFY_THRESHOLD) {
+                theTable[theIndex] = treeify(theTable[theIndex]);
+            }
+        }
+        size++;
+        updateLoadLoadFactor();
+
+        // if we got mapped to an occupied bucket but equality was determined
+        // to not be equal then it means a collission has occured
+        if (head != null) {
+            myCollisions++;
+        }
+
+        if (myLoadFactor > LOAD_FACTOR_TOLLERANCE) {
+            resize();
         }
-        // return the hash result mod capacity.
-        return theHashResult % myTable.size();
     }
 
-    private boolean wasAbleToUpdateListEntry(
-            SinglyLinkedList<Entry<K,V>> tableListEntry,
-            Entry<K,V> theNewEntry) {
+    /**
+     * Removes a node found by {@link #findInBucket}. A tree that shrinks to
+     * {@link #UNTREEIFY_THRESHOLD} entries is turned back into a chain.
+     */
+    private void unlinkNode(Node<K,V>[] theTable, int theIndex, Node<K,V> theNode) {
+        Node<K,V> head = theTable[theIndex];
+        if (head instanceof TreeNode<K,V> root) {
+            TreeNode<K,V> newRoot = removeFromTree(root, (TreeNode<K,V>) theNode);
+            // a tree taller than 3 holds more than UNTREEIFY_THRESHOLD nodes, only small trees are counted.
+            theTable[theIndex] = height(newRoot) <= 3 && treeSize(newRoot) <= UNTREEIFY_THRESHOLD
+                    ? untreeify(newRoot)
+                    : newRoot;
+        } else if (head == theNode) {
+            theTable[theIndex] = theNode.myNext;
+        } else {
+            // the chain is short and was just walked, finding the previous node compares no keys.
+            Node<K,V> previous = head;
+            while (previous.myNext != theNode) {
+                previous = previous.myNext;
+            }
+            previous.myNext = theNode.myNext;
+        }
+        size--;
+        updateLoadLoadFactor();
+    }
 
-        for (Entry<K,V>  currentEntry : tableListEntry) {
-            myCounter.increment("comparisons");
-            if (Objects.equals(theNewEntry.key(),currentEntry.key())) {
-                currentEntry.setEntry(theNewEntry.value());
-                return true;
+    /**
+     * Stores the result of a compute or merge: updates a found node, adds a
+     * missing key and removes the key if theValue is null.
+     * @param theNode the key's node, or null if it is not present.
+     */
+    private void store(Node<K,V>[] theTable, int theIndex, K theKey, Node<K,V> theNode, V theValue) {
+        if (theNode != null) {
+            if (theValue == null) {
+                unlinkNode(theTable, theIndex, theNode);
+            } else {
+                theNode.setEntry(theValue);
             }
+        } else if (theValue != null) {
+            linkNode(theTable, theIndex, theKey, theValue);
         }
-        return false;
     }
 
+    /**
+     * @return the bucket array that currently owns {@code theKey}. During an incremental
+     * rehash this is the old array until the key's old bucket has been migrated.
+     */
+    private Node<K,V>[] bucketArrayFor(K theKey) {
+        if (myOldTable != null && getKeyIndex(theKey, myOldTable.length) >= myMigrateIndex) {
+            return myOldTable;
+        }
+        return myTable;
+    }
+
+    private int bucketIndexFor(K theKey, Node<K,V>[] theTable) {
+        return getKeyIndex(theKey, theTable.length);
+    }
+
+    /**
+     * @param theCapacity a power of two.
+     */
+    private int getKeyIndex(K theKey, int theCapacity) {
+        return myHashStrategy.spread(Objects.hashCode(theKey)) & (theCapacity - 1);
+    }
+
+    private static int tableSizeFor(int theCapacity) {
+        int n = Integer.highestOneBit(theCapacity);
+        return n == theCapacity ? n : n << 1;
+    }
+
+    /**
+     * Doubles the bucket array and relinks every node into it. The nodes are
+     * moved in iteration order and counted as if they were put into a new table.
+     */
     private void resize() {
-        HashTable<K,V> temp = new HashTable<>(myKeyClass, myValueClass, myTable.size()*2);
+        if (myRehashMode == RehashMode.INCREMENTAL) {
+            startIncrementalRehash();
+            return;
+        }
+        Node<K,V>[] oldTable = myTable;
+        Node<K,V>[] newTable = newBucketArray(oldTable.length * 2);
 
-        for (Entry<K, V> entry : this) {
-            temp.put(entry.key(), entry.value());
+        for (int i = 0; i < oldTable.length; i++) {
+            splitBucket(oldTable, i, newTable, true);
         }
 
-        myTable = temp.myTable;
-        myCounter.increment("comparisons", temp.getComparisons());
-        myCollisions += temp.getCollisions();
-        myLoadFactor = temp.loadFactor();
-        size = temp.size;
+        myTable = newTable;
+        updateLoadLoadFactor();
     }
 
     @Override
     public int getSwaps() {
-        return myCounter.getCount("swaps");
+        return (int) myCounter.getCount(Operation.SWAPS);
     }
 
     @Override
     public int getComparisons() {
-        return myCounter.getCount("comparisons");
+        return (int) myCounter.getCount(Operation.COMPARISONS);
     }
 
     @Override
@@ -325,11 +596,394 @@ public final class HashTable<K,V> implements Dictionary<K,V>, Iterable<Entry<K,V
         myCounter.resetAll();
     }
 
+    @Override
     public int getCollisions() {
         return myCollisions;
     }
 
+    @Override
     public void resetCollisions() {
         myCollisions = 0;
     }
+
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] histogram = new int[1];
+        if (myOldTable != null) {
+            histogram = countChains(myOldTable, myMigrateIndex, histogram);
+        }
+        return countChains(myTable, 0, histogram);
+    }
+
+    /**
+     * Adds the chain lengths, or tree heights, of the buckets from {@code theFrom} on to the histogram.
+     * @return the histogram, grown if a longer chain was found.
+     */
+    private static int[] countChains(Node<?,?>[] theTable, int theFrom, int[] theHistogram) {
+        int[] histogram = theHistogram;
+        for (int i = theFrom; i < theTable.length; i++) {
+            // a lookup in a tree bucket compares at most the tree's height.
+            int length = theTable[i] instanceof TreeNode<?,?> root ? root.myHeight : chainLength(theTable[i]);
+            if (length >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, length + 1);
+            }
+            histogram[length]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Moves the nodes of old bucket {@code theIndex} into new buckets {@code theIndex}
+     * and {@code theIndex + oldCapacity} of a bucket array twice the size, which only
+     * this old bucket feeds. A tree is split back into chains, and either new
+     * chain is treeified again if it is still too long.
+     * @param theCountComparisons true to count the moves as if the nodes were put into a new table.
+     */
+    private void splitBucket(Node<K,V>[] theOldTable, int theIndex, Node<K,V>[] theNewTable, boolean theCountComparisons) {
+        Node<K,V> node = theOldTable[theIndex] instanceof TreeNode<K,V> root
+                ? untreeify(root)
+                : theOldTable[theIndex];
+        while (node != null) {
+            Node<K,V> next = node.myNext;
+            int index = getKeyIndex(node.key(), theNewTable.length);
+            Node<K,V> newHead = theNewTable[index];
+            if (newHead != null) {
+                myCollisions++;
+                // a put into a new table compares against the whole chain before linking.
+                for (Node<K,V> other = newHead; theCountComparisons && other != null; other = other.myNext) {
+                    myCounter.increment(Operation.COMPARISONS);
+                }
+            }
+            node.myNext = newHead;
+            theNewTable[index] = node;
+            node = next;
+        }
+
+        treeifyIfLong(theNewTable, theIndex);
+        treeifyIfLong(theNewTable, theIndex + theOldTable.length);
+    }
+
+    // ====================   incremental rehash =========================
+
+    /**
+     * Swaps in a bucket array of double capacity. Its buckets stay null
+     * until the old bucket that splits into them is migrated.
+     */
+    private void startIncrementalRehash() {
+        // a new rehash cannot start until the previous one has finished.
+        while (myOldTable != null) {
+            migrateStep();
+        }
+        myOldTable = myTable;
+        myTable = newBucketArray(myOldTable.length * 2);
+        myMigrateIndex = 0;
+        updateLoadLoadFactor();
+    }
+
+    /**
+     * Migrates up to {@link #MIGRATION_STEP} old buckets into the new table.
+     * Old bucket {@code i} splits into new buckets {@code i} and {@code i + oldCapacity}.
+     */
+    private void migrateStep() {
+        if (myOldTable == null) {
+            return;
+        }
+        int oldCapacity = myOldTable.length;
+        int end = Math.min(myMigrateIndex + MIGRATION_STEP, oldCapacity);
+
+        for (; myMigrateIndex < end; myMigrateIndex++) {
+            splitBucket(myOldTable, myMigrateIndex, myTable, false);
+            myOldTable[myMigrateIndex] = null;
+        }
+
+        if (myMigrateIndex == oldCapacity) {
+            myOldTable = null;
+            myMigrateIndex = 0;
+        }
+    }
+
+    // ====================   tree buckets =========================
+
+    private void treeifyIfLong(Node<K,V>[] theTable, int theIndex) {
+        Node<K,V> head = theTable[theIndex];
+        if (head != null && chainLength(head) > TREEIFY_THRESHOLD) {
+            theTable[theIndex] = treeify(head);
+        }
+    }
+
+    private static int chainLength(Node<?,?> theHead) {
+        int length = 0;
+        for (Node<?,?> node = theHead; node != null; node = node.myNext) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * @return the root of a balanced tree holding copies of the chain's nodes.
+     */
+    private static <K,V> TreeNode<K,V> treeify(Node<K,V> theHead) {
+        TreeNode<K,V> root = null;
+        for (Node<K,V> node = theHead; node != null; node = node.myNext) {
+            root = insertIntoTree(root, new TreeNode<>(node.key(), node.value()));
+        }
+        return root;
+    }
+
+    /**
+     * @return a chain holding copies of the tree's nodes in tree order.
+     */
+    private static <K,V> Node<K,V> untreeify(TreeNode<K,V> theRoot) {
+        return prependTree(theRoot, null);
+    }
+
+    /**
+     * Links copies of a subtree's nodes in front of a chain, walking it right to left.
+     */
+    private static <K,V> Node<K,V> prependTree(TreeNode<K,V> theNode, Node<K,V> theChain) {
+        if (theNode == null) {
+            return theChain;
+        }
+        Node<K,V> chain = prependTree(theNode.myRight, theChain);
+        chain = new Node<>(theNode.key(), theNode.value(), chain);
+        return prependTree(theNode.myLeft, chain);
+    }
+
+    /**
+     * Copies a subtree's nodes into an array in tree order.
+     * @return the index after the last node copied.
+     */
+    private static <K,V> int collectTree(TreeNode<K,V> theNode, Node<K,V>[] theNodes, int theFrom) {
+        if (theNode == null) {
+            return theFrom;
+        }
+        int index = collectTree(theNode.myLeft, theNodes, theFrom);
+        theNodes[index] = theNode;
+        return collectTree(theNode.myRight, theNodes, index + 1);
+    }
+
+    private static int treeSize(TreeNode<?,?> theRoot) {
+        return theRoot == null ? 0 : 1 + treeSize(theRoot.myLeft) + treeSize(theRoot.myRight);
+    }
+
+    /**
+     * Searches a tree bucket, counting a comparison per node visited. Keys are
+     * ordered by hash code and then by {@link Comparable#compareTo} when both
+     * keys are of the same Comparable class. Keys neither orders have to be
+     * searched for on both sides.
+     */
+    private TreeNode<K,V> findInTree(TreeNode<K,V> theRoot, int theHash, K theKey) {
+        TreeNode<K,V> node = theRoot;
+        while (node != null) {
+            myCounter.increment(Operation.COMPARISONS);
+            if (theHash != node.myHash) {
+                node = theHash < node.myHash ? node.myLeft : node.myRight;
+                continue;
+            }
+            if (Objects.equals(node.key(), theKey)) {
+                return node;
+            }
+            int order = compareComparables(theKey, node.key());
+            if (order != 0) {
+                node = order < 0 ? node.myLeft : node.myRight;
+                continue;
+            }
+            TreeNode<K,V> found = findInTree(node.myRight, theHash, theKey);
+            if (found != null) {
+                return found;
+            }
+            node = node.myLeft;
+        }
+        return null;
+    }
+
+    /**
+     * Orders two nodes of a tree by hash code, then compareTo, then the class
+     * name of the keys. Nodes none of these order are ties, inserted to the
+     * right and searched for on both sides.
+     * @return a negative number if theNode goes left of theOther, a positive number
+     * if it goes right, 0 if it can be on either side.
+     */
+    private static int treeOrder(TreeNode<?,?> theNode, TreeNode<?,?> theOther) {
+        if (theNode.myHash != theOther.myHash) {
+            return theNode.myHash < theOther.myHash ? -1 : 1;
+        }
+        int order = compareComparables(theNode.key(), theOther.key());
+        if (order == 0 && theNode.key() != null && theOther.key() != null) {
+            order = theNode.key().getClass().getName().compareTo(theOther.key().getClass().getName());
+        }
+        return order;
+    }
+
+    /**
+     * @return true if theNode itself is in the subtree, searching both sides of a tie.
+     */
+    private static boolean containsNode(TreeNode<?,?> theRoot, TreeNode<?,?> theNode) {
+        TreeNode<?,?> node = theRoot;
+        while (node != null) {
+            if (node == theNode) {
+                return true;
+            }
+            int order = treeOrder(theNode, node);
+            if (order != 0) {
+                node = order < 0 ? node.myLeft : node.myRight;
+                continue;
+            }
+            if (containsNode(node.myLeft, theNode)) {
+                return true;
+            }
+            node = node.myRight;
+        }
+        return false;
+    }
+
+    /**
+     * @return compareTo of two keys of the same Comparable class, 0 if they cannot be compared.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareComparables(Object theKey, Object theOther) {
+        if (theKey instanceof Comparable comparable
+                && theOther != null
+                && theKey.getClass() == theOther.getClass()) {
+            return comparable.compareTo(theOther);
+        }
+        return 0;
+    }
+
+    private static <K,V> TreeNode<K,V> insertIntoTree(TreeNode<K,V> theRoot, TreeNode<K,V> theNode) {
+        if (theRoot == null) {
+            return theNode;
+        }
+        if (treeOrder(theNode, theRoot) < 0) {
+            theRoot.myLeft = insertIntoTree(theRoot.myLeft, theNode);
+        } else {
+            theRoot.myRight = insertIntoTree(theRoot.myRight, theNode);
+        }
+        return rebalance(theRoot);
+    }
+
+    /**
+     * Removes a node of the tree, found by following the same order it was inserted with
+     * and searching the left side of a tie before going right.
+     * @return the new root of the tree.
+     */
+    private static <K,V> TreeNode<K,V> removeFromTree(TreeNode<K,V> theRoot, TreeNode<K,V> theNode) {
+        if (theRoot == null) {
+            return null;
+        }
+        if (theRoot == theNode) {
+            if (theRoot.myLeft == null) {
+                return theRoot.myRight;
+            }
+            if (theRoot.myRight == null) {
+                return theRoot.myLeft;
+            }
+            // replace the node with the smallest node of its right subtree.
+            TreeNode<K,V> successor = theRoot.myRight;
+            while (successor.myLeft != null) {
+                successor = successor.myLeft;
+            }
+            successor.myRight = removeSmallest(theRoot.myRight);
+            successor.myLeft = theRoot.myLeft;
+            return rebalance(successor);
+        }
+        int order = treeOrder(theNode, theRoot);
+        if (order < 0 || order == 0 && containsNode(theRoot.myLeft, theNode)) {
+            theRoot.myLeft = removeFromTree(theRoot.myLeft, theNode);
+        } else {
+            theRoot.myRight = removeFromTree(theRoot.myRight, theNode);
+        }
+        return rebalance(theRoot);
+    }
+
+    private static <K,V> TreeNode<K,V> removeSmallest(TreeNode<K,V> theRoot) {
+        if (theRoot.myLeft == null) {
+            return theRoot.myRight;
+        }
+        theRoot.myLeft = removeSmallest(theRoot.myLeft);
+        return rebalance(theRoot);
+    }
+
+    private static int height(TreeNode<?,?> theNode) {
+        return theNode == null ? 0 : theNode.myHeight;
+    }
+
+    /**
+     * Restores the AVL balance of a node whose subtrees differ in height by at most 2.
+     * @return the root of the balanced subtree.
+     */
+    private static <K,V> TreeNode<K,V> rebalance(TreeNode<K,V> theNode) {
+        int balance = height(theNode.myLeft) - height(theNode.myRight);
+        if (balance > 1) {
+            if (height(theNode.myLeft.myLeft) < height(theNode.myLeft.myRight)) {
+                theNode.myLeft = rotateLeft(theNode.myLeft);
+            }
+            return rotateRight(theNode);
+        }
+        if (balance < -1) {
+            if (height(theNode.myRight.myRight) < height(theNode.myRight.myLeft)) {
+                theNode.myRight = rotateRight(theNode.myRight);
+            }
+            return rotateLeft(theNode);
+        }
+        theNode.updateHeight();
+        return theNode;
+    }
+
+    private static <K,V> TreeNode<K,V> rotateRight(TreeNode<K,V> theNode) {
+        TreeNode<K,V> left = theNode.myLeft;
+        theNode.myLeft = left.myRight;
+        left.myRight = theNode;
+        theNode.updateHeight();
+        left.updateHeight();
+        return left;
+    }
+
+    private static <K,V> TreeNode<K,V> rotateLeft(TreeNode<K,V> theNode) {
+        TreeNode<K,V> right = theNode.myRight;
+        theNode.myRight = right.myLeft;
+        right.myLeft = theNode;
+        theNode.updateHeight();
+        right.updateHeight();
+        return right;
+    }
+
+    // ====================   utility classes =========================
+
+    /**
+     * An entry that is also the link to the next entry in its bucket.
+     */
+    private static class Node<K,V> extends Entry<K,V> {
+
+        private Node<K,V> myNext;
+
+        Node(K theKey, V theValue, Node<K,V> theNext) {
+            super(theKey, theValue);
+            myNext = theNext;
+        }
+    }
+
+    /**
+     * A node of a treeified bucket, the bucket holds the root of an AVL tree.
+     * Tree nodes are never linked through {@code myNext}.
+     */
+    private static final class TreeNode<K,V> extends Node<K,V> {
+
+        private final int myHash;
+
+        private TreeNode<K,V> myLeft;
+
+        private TreeNode<K,V> myRight;
+
+        private int myHeight = 1;
+
+        TreeNode(K theKey, V theValue) {
+            super(theKey, theValue, null);
+            myHash = Objects.hashCode(theKey);
+        }
+
+        void updateHeight() {
+            myHeight = 1 + Math.max(height(myLeft), height(myRight));
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link ArrayStack} of primitive {@code int}s, backed by an
+ * {@link IntArrayStore}, so pushing a value never boxes it.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class IntArrayStack implements OperationCountable {
+
+    private final IntArrayStore myStack;
+
+    public IntArrayStack() {
+        myStack = new IntArrayStore(16);
+    }
+
+    //======================= getting ==============================
+
+    public int size() {
+        return myStack.size();
+    }
+
+    public boolean isEmpty() {
+        return myStack.isEmpty();
+    }
+
+    /**
+     * @return the top of the stack.
+     * @throws NoSuchElementException if the stack is empty.
+     */
+    public int peek() {
+        if (myStack.isEmpty()) {
+            throw new NoSuchElementException("Empty Stack, nothing to peek() at top.");
+        }
+        return myStack.get(myStack.size() - 1);
+    }
+
+    //========================  adding  ==========================
+
+    /**
+     * adds a value to the top of the stack.
+     * @param theValue the value to add.
+     */
+    public void push(int theValue) {
+        myStack.add(theValue);
+    }
+
+    //====================   removing  ===========================
+
+    /**
+     * @return the value removed from the top of the stack.
+     * @throws NoSuchElementException if the stack is empty.
+     */
+    public int pop() {
+        if (myStack.isEmpty()) {
+            throw new NoSuchElementException("The stack is empty");
+        }
+        return myStack.remove();
+    }
+
+    public void clear() {
+        myStack.clear();
+    }
+
+    /**
+     * @return a new array of the values from the bottom to the top.
+     */
+    public int[] toArray() {
+        return myStack.toArray();
+    }
+
+    @Override
+    public String toString() {
+        return "[bottom] " + myStack + " [top]";
+    }
+
+    //=================== operation counting =========================
+
+    @Override
+    public int getSwaps() {
+        return myStack.getSwaps();
+    }
+
+    @Override
+    public int getComparisons() {
+        return myStack.getComparisons();
+    }
+
+    @Override
+    public void resetCounter() {
+        myStack.resetCounter();
+    }
+}
@@ -0,0 +1,273 @@
+package util;
+
+import counter.Operation;
+import counter.OperationCounter;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * An {@link ArrayStore} of primitive {@code int}s.
+ * <p>
+ * The values are kept in a {@code int[]}, so adding one never boxes it
+ * into a {@link Integer} and reading the store back is a scan of contiguous
+ * memory instead of a chase through pointers to boxes. {@link #sum()},
+ * {@link #sort()} and {@link #binarySearch(int)} work on the array in place.
+ * </p>
+ * Comparisons made by {@link #indexOf(int)} and {@link #binarySearch(int)}
+ * are tracked by the store's {@link OperationCounter}.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class IntArrayStore implements OperationCountable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] myData;
+
+    private int size;
+
+    private final OperationCounter myCounter = OperationCounter.create();
+
+    /**
+     * Initializes a new array with default initial capacity = 16.
+     */
+    public IntArrayStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param theCapacity the number of values the store holds before it grows.
+     * @throws IllegalArgumentException if theCapacity is not positive.
+     */
+    public IntArrayStore(int theCapacity) {
+        super();
+        if (theCapacity <= 0) {
+            throw new IllegalArgumentException("initial capacity must be positive");
+        }
+        myData = new int[theCapacity];
+    }
+
+    // ================== getting & setting ======================
+
+    /**
+     * @param theIndex the index of the value.
+     * @return the value at theIndex.
+     * @throws IndexOutOfBoundsException if theIndex is not below size().
+     */
+    public int get(int theIndex) {
+        checkIndex(theIndex);
+        return myData[theIndex];
+    }
+
+    /**
+     * @param theIndex the index of the value.
+     * @param theValue the new value.
+     * @throws IndexOutOfBoundsException if theIndex is not below size().
+     */
+    public void set(int theIndex, int theValue) {
+        checkIndex(theIndex);
+        myData[theIndex] = theValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // ================== adding ========================
+
+    /**
+     * Adds a value to the end of the store.
+     * @param theValue the value to add.
+     */
+    public void add(int theValue) {
+        if (size == myData.length) {
+            resize(size + 1);
+        }
+        myData[size++] = theValue;
+    }
+
+    /**
+     * Inserts a value, shifting the values from theIndex on one to the right.
+     * @param theIndex the index to insert at, size() appends.
+     * @param theValue the value to add.
+     * @throws IndexOutOfBoundsException if theIndex is negative or greater than size().
+     */
+    public void add(int theIndex, int theValue) {
+        if (theIndex < 0 || theIndex > size) {
+            throw new IndexOutOfBoundsException(
+                    "Cannot insert at index " + theIndex + " for array of size " + size);
+        }
+        if (size == myData.length) {
+            resize(size + 1);
+        }
+        System.arraycopy(myData, theIndex, myData, theIndex + 1, size - theIndex);
+        myData[theIndex] = theValue;
+        size++;
+    }
+
+    /**
+     * Adds every value of another store to the end of this one, in order.
+     * @param theStore the values to append.
+     */
+    public void append(IntArrayStore theStore) {
+        if (myData.length - size < theStore.size) {
+            resize(size + theStore.size);
+        }
+        System.arraycopy(theStore.myData, 0, myData, size, theStore.size);
+        size += theStore.size;
+    }
+
+    // ================== removing ========================
+
+    /**
+     * Removes the last value in the store.
+     * @return the value removed.
+     * @throws NoSuchElementException if the store is empty.
+     */
+    public int remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("No such element");
+        }
+        return myData[--size];
+    }
+
+    /**
+     * Removes a value, shifting the values after it one to the left.
+     * @param theIndex the index of the value.
+     * @return the value removed.
+     * @throws IndexOutOfBoundsException if theIndex is not below size().
+     */
+    public int removeAt(int theIndex) {
+        int removed = get(theIndex);
+        System.arraycopy(myData, theIndex + 1, myData, theIndex, size - theIndex - 1);
+        size--;
+        return removed;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // ================== searching ========================
+
+    /**
+     * @param theValue the value to find.
+     * @return the index of the first value equal to theValue, -1 if there is none.
+     */
+    public int indexOf(int theValue) {
+        for (int i = 0; i < size; i++) {
+            myCounter.increment(Operation.COMPARISONS);
+            if (myData[i] == theValue) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sorts the values in ascending order.
+     */
+    public void sort() {
+        Arrays.sort(myData, 0, size);
+    }
+
+    /**
+     * Searches a sorted store, see {@link #sort()}.
+     * @param theValue the value to find.
+     * @return the index of theValue, or -(insertion point) - 1 if it is not present.
+     */
+    public int binarySearch(int theValue) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            myCounter.increment(Operation.COMPARISONS);
+            int comparison = Integer.compare(myData[middle], theValue);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // ================== reading ========================
+
+    /**
+     * @return the sum of the values, as a {@code long} so it does not overflow.
+     */
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += myData[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Passes every value to theAction in order, without boxing.
+     * @param theAction the action to apply.
+     */
+    public void forEach(IntConsumer theAction) {
+        for (int i = 0; i < size; i++) {
+            theAction.accept(myData[i]);
+        }
+    }
+
+    /**
+     * @return a new array of the values in order.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(myData, size);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(myData[i]);
+        }
+        return sb.append("]").toString();
+    }
+
+    // ================== helper ========================
+
+    private void checkIndex(int theIndex) {
+        if (theIndex < 0 || theIndex >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds");
+        }
+    }
+
+    private void resize(int theMinCapacity) {
+        myData = Arrays.copyOf(myData, Math.max(theMinCapacity, myData.length * 2));
+    }
+
+    //=================== operation counting =========================
+
+    @Override
+    public int getSwaps() {
+        return (int) myCounter.getCount(Operation.SWAPS);
+    }
+
+    @Override
+    public int getComparisons() {
+        return (int) myCounter.getCount(Operation.COMPARISONS);
+    }
+
+    @Override
+    public void resetCounter() {
+        myCounter.resetAll();
+    }
+}
@@ -0,0 +1,198 @@
+package util;
+
+import counter.Operation;
+import counter.OperationCounter;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link BinaryHeapPQ} of primitive {@code int}s, ordered by an
+ * {@link IntComparator}. The values are kept in an {@link IntArrayStore}
+ * and compared without boxing. Defaults to the natural order, smallest first.
+ * <p>
+ * To order objects by a number without boxing either, keep their indexes,
+ * ie: of rows in parallel arrays, and compare the numbers at those indexes.
+ * </p>
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class IntBinaryHeapPQ implements OperationCountable {
+
+    private final IntArrayStore myArray;
+
+    private IntComparator myComparator;
+
+    private final OperationCounter myCounter = OperationCounter.create();
+
+    /**
+     * Initializes a new priority queue backed by a binary heap.
+     * @param theComparator The comparator defining the priority (ordering) of values.
+     * @throws IllegalArgumentException if theComparator is null.
+     */
+    public IntBinaryHeapPQ(IntComparator theComparator) {
+        if (theComparator == null) {
+            throw new IllegalArgumentException("comparator cannot be null");
+        }
+        myArray = new IntArrayStore(16);
+        myComparator = theComparator;
+    }
+
+    /**
+     * Initializes a new priority queue with the smallest value first.
+     */
+    public IntBinaryHeapPQ() {
+        this(IntComparator.naturalOrder());
+    }
+
+    /**
+     * Inserts a value and moves it up to maintain the heap property.
+     * @param theValue the value to be added.
+     */
+    public void insert(int theValue) {
+        myArray.add(theValue);
+        heapifyUp(myArray.size() - 1);
+    }
+
+    /**
+     * Removes and returns the highest priority value (the root) from the heap.
+     * @return the value with the highest priority.
+     * @throws NoSuchElementException If the priority queue is empty.
+     */
+    public int extract() {
+        if (myArray.isEmpty()) {
+            throw new NoSuchElementException("Cannot extract because Priority Queue is empty");
+        }
+        swap(0, myArray.size() - 1);
+        int removed = myArray.remove();
+        heapifyDown(0);
+        return removed;
+    }
+
+    /**
+     * @return the value at the root of the heap.
+     * @throws NoSuchElementException If the priority queue is empty.
+     */
+    public int peek() {
+        if (myArray.isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return myArray.get(0);
+    }
+
+    public int size() {
+        return myArray.size();
+    }
+
+    public boolean isEmpty() {
+        return myArray.isEmpty();
+    }
+
+    public void clear() {
+        myArray.clear();
+    }
+
+    // ================= util methods ======================
+
+    /**
+     * Reorders the heap using a new comparator.
+     * @param theNewComparator the new comparator for sorting.
+     * @throws IllegalArgumentException if theNewComparator is null.
+     */
+    public void reorder(IntComparator theNewComparator) {
+        if (theNewComparator == null) {
+            throw new IllegalArgumentException("comparator cannot be null");
+        }
+        myComparator = theNewComparator;
+        buildHeap();
+    }
+
+    /**
+     * Appends a value without restoring the heap property, so values
+     * added one at a time can be heapified once with {@link #buildHeap()}.
+     * @param theValue the value to append.
+     */
+    public void addUnordered(int theValue) {
+        myArray.add(theValue);
+    }
+
+    /**
+     * builds a heap in O(n) efficiency from the values already added.
+     */
+    public void buildHeap() {
+        for (int i = myArray.size() / 2 - 1; i >= 0; i--) {
+            heapifyDown(i);
+        }
+    }
+
+    // ================ private helper methods ===================
+
+    private void heapifyUp(int theIndex) {
+        int childIdx = theIndex;
+        while (childIdx > 0) {
+            int parentIdx = (childIdx - 1) / 2;
+            myCounter.increment(Operation.COMPARISONS);
+            // if positive then child comes before parent -> swap
+            if (myComparator.compare(myArray.get(parentIdx), myArray.get(childIdx)) > 0) {
+                swap(childIdx, parentIdx);
+                childIdx = parentIdx;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void heapifyDown(int theStartIdx) {
+        int parentIdx = theStartIdx;
+        int size = myArray.size();
+        while (true) {
+            int left = 2 * parentIdx + 1;
+            if (left >= size) {
+                break;
+            }
+            int best = left;
+            int right = left + 1;
+            if (right < size) {
+                myCounter.increment(Operation.COMPARISONS);
+                if (myComparator.compare(myArray.get(left), myArray.get(right)) >= 0) {
+                    best = right;
+                }
+            }
+            myCounter.increment(Operation.COMPARISONS);
+            if (myComparator.compare(myArray.get(parentIdx), myArray.get(best)) > 0) {
+                swap(parentIdx, best);
+                parentIdx = best;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void swap(int theFirst, int theSecond) {
+        myCounter.increment(Operation.SWAPS);
+        int temp = myArray.get(theFirst);
+        myArray.set(theFirst, myArray.get(theSecond));
+        myArray.set(theSecond, temp);
+    }
+
+    @Override
+    public String toString() {
+        return myArray.toString();
+    }
+
+    //=================== operation counting =========================
+
+    @Override
+    public int getComparisons() {
+        return (int) myCounter.getCount(Operation.COMPARISONS);
+    }
+
+    @Override
+    public int getSwaps() {
+        return (int) myCounter.getCount(Operation.SWAPS);
+    }
+
+    @Override
+    public void resetCounter() {
+        myCounter.resetAll();
+    }
+}
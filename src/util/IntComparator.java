@@ -0,0 +1,30 @@
+package util;
+
+/**
+ * A comparison of two primitive {@code int}s, the {@link java.util.Comparator}
+ * of a {@link IntBinaryHeapPQ}, called without boxing either value.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface IntComparator {
+
+    /**
+     * @return negative if theFirst comes before theSecond, positive if it comes after, 0 if neither.
+     */
+    int compare(int theFirst, int theSecond);
+
+    /**
+     * @return a comparator putting the smaller value first, as {@link Integer#compare} does.
+     */
+    static IntComparator naturalOrder() {
+        return Integer::compare;
+    }
+
+    /**
+     * @return a comparator putting the larger value first.
+     */
+    static IntComparator reverseOrder() {
+        return (theFirst, theSecond) -> Integer.compare(theSecond, theFirst);
+    }
+}
@@ -0,0 +1,513 @@
+package util;
+
+import counter.Operation;
+import counter.OperationCounter;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * An open addressing HashTable keyed on primitive {@code int} ids.
+ * <p>
+ * Keys, values and probe distances are stored in parallel arrays, so a
+ * lookup is a hash, a mask and a short linear scan over contiguous memory.
+ * No {@link Entry} objects or bucket lists are created and keys are never
+ * boxed on the {@code int} overloads. Collisions are resolved with
+ * Robin Hood linear probing: an incoming entry that has probed further from
+ * its home slot than the resident entry takes the slot, and the resident
+ * continues probing. This keeps probe lengths short and lets a miss stop as
+ * soon as it meets an entry closer to home than itself. Deletes use backward
+ * shifting so the table never needs tombstones.
+ * </p>
+ * Comparisons (key probes) and swaps (Robin Hood displacements) are tracked by
+ * the table's {@link OperationCounter}.
+ * @param <V> the class of the value object.
+ * @author Chris Chun, Ayush
+ * @version 1.4
+ */
+public final class IntHashTable<V> implements MapContainer<Integer,V> {
+
+    private static final double LOAD_FACTOR_TOLLERANCE = 0.75;
+
+    private static final int DEFAULT_CAPCITY = 16;
+
+    /**
+     * the keys stored in each slot.
+     */
+    private int[] myKeys;
+
+    /**
+     * the values stored in each slot.
+     */
+    private Object[] myValues;
+
+    /**
+     * probe distance from the home slot + 1, or 0 if the slot is empty.
+     */
+    private int[] myDistances;
+
+    /**
+     * capacity - 1, capacity is always a power of two.
+     */
+    private int myMask;
+
+    private int size;
+
+    private final OperationCounter myCounter = OperationCounter.create();
+
+    private int myCollisions;
+
+    /**
+     * Creates a new IntHashTable with initial capacity of 16.
+     */
+    public IntHashTable() {
+        this(DEFAULT_CAPCITY);
+    }
+
+    /**
+     * Creates a new IntHashTable that can hold at least {@code theInitialCapacity}
+     * slots. The capacity is rounded up to the next power of two.
+     * @param theInitialCapacity the initial capacity of the table.
+     */
+    public IntHashTable(int theInitialCapacity) {
+        super();
+        if (theInitialCapacity <= 0) {
+            throw new IllegalArgumentException("initial capacity must be positive");
+        }
+        allocate(tableSizeFor(theInitialCapacity));
+    }
+
+    // ======================  getters/ setters ===========================
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double loadFactor() {
+        return (double) size / myKeys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of slots in the table.
+     */
+    public int capacity() {
+        return myKeys.length;
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    public V get(Integer key) {
+        return getInt(key.intValue());
+    }
+
+    /**
+     * Primitive lookup, does not box the key. The primitive operations have
+     * their own names so that, with {@code V} as {@code Integer}, a call such
+     * as {@code putInt(1, 2)} is not ambiguous with {@link #put(Integer, Object)}.
+     * @param theKey the key.
+     * @return the value associated with the key or null if not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V getInt(int theKey) {
+        int slot = findSlot(theKey);
+        return slot < 0 ? null : (V) myValues[slot];
+    }
+
+    @Override
+    public boolean containsKey(Integer key) {
+        return containsInt(key.intValue());
+    }
+
+    /**
+     * Primitive containsKey, does not box the key.
+     * @param theKey the key.
+     * @return true if found and false otherwise.
+     */
+    public boolean containsInt(int theKey) {
+        return findSlot(theKey) >= 0;
+    }
+
+    // ======================  adding ===========================
+
+    @Override
+    public void put(Integer theKey, V theValue) {
+        putInt(theKey.intValue(), theValue);
+    }
+
+    /**
+     * Primitive put, does not box the key.
+     * @param theKey the key.
+     * @param theValue the value.
+     */
+    public void putInt(int theKey, V theValue) {
+        ensureRoomForOneMore();
+        if (insert(theKey, theValue)) {
+            size++;
+        }
+    }
+
+    // ======================  single probe operations ===========================
+
+    @Override
+    public V getOrDefault(Integer key, V theDefault) {
+        int slot = findSlot(key);
+        return slot < 0 ? theDefault : value(slot);
+    }
+
+    @Override
+    public V putIfAbsent(Integer theKey, V theValue) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        place(-slot - 1, theKey, theValue);
+        size++;
+        return null;
+    }
+
+    @Override
+    public V computeIfAbsent(Integer theKey, Function<? super Integer, ? extends V> theMapping) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        V value = theMapping.apply(theKey);
+        store(slot, theKey, value);
+        return value;
+    }
+
+    @Override
+    public V compute(Integer theKey, BiFunction<? super Integer, ? super V, ? extends V> theRemapping) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        V value = theRemapping.apply(theKey, slot >= 0 ? value(slot) : null);
+        store(slot, theKey, value);
+        return value;
+    }
+
+    @Override
+    public V merge(Integer theKey, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping) {
+        if (theValue == null) {
+            throw new IllegalArgumentException("Cannot merge a null value");
+        }
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        V value = slot >= 0 ? theRemapping.apply(value(slot), theValue) : theValue;
+        store(slot, theKey, value);
+        return value;
+    }
+
+    // ======================  removing ===========================
+
+    @Override
+    public V delete(Integer key) {
+        return deleteInt(key.intValue());
+    }
+
+    /**
+     * Primitive delete, does not box the key.
+     * @param theKey the key of the object to remove.
+     * @return the removed value or null if not found.
+     */
+    public V deleteInt(int theKey) {
+        int slot = findSlot(theKey);
+        return slot < 0 ? null : removeAt(slot);
+    }
+
+    @Override
+    public Entry<Integer,V> remove(Integer key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : new Entry<>(key, removeAt(slot));
+    }
+
+    @Override
+    public void clear() {
+        allocate(myKeys.length);
+        size = 0;
+        resetCounter();
+        resetCollisions();
+    }
+
+    // ======================  iterating ===========================
+
+    @Override
+    public Iterator<Entry<Integer,V>> iterator() {
+        return new Iterator<>() {
+
+            int slot = 0;
+
+            private void advanceToNext() {
+                while (slot < myDistances.length && myDistances[slot] == 0) {
+                    slot++;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                advanceToNext();
+                return slot < myDistances.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Entry<Integer, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Empty");
+                }
+                Entry<Integer,V> entry = new Entry<>(myKeys[slot], (V) myValues[slot]);
+                slot++;
+                return entry;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<Integer, V> entry : this) {
+            sb.append("{");
+            sb.append(entry.toString());
+            sb.append("}, ");
+        }
+        return sb.toString();
+    }
+
+    // ====================   private helper methods =========================
+
+    private void allocate(int theCapacity) {
+        myKeys = new int[theCapacity];
+        myValues = new Object[theCapacity];
+        myDistances = new int[theCapacity];
+        myMask = theCapacity - 1;
+    }
+
+    private static int tableSizeFor(int theCapacity) {
+        int n = Integer.highestOneBit(theCapacity);
+        return n == theCapacity ? n : n << 1;
+    }
+
+    private int homeSlot(int theKey) {
+        return HashStrategy.FIBONACCI.spread(theKey) & myMask;
+    }
+
+    /**
+     * @return the slot holding {@code theKey} or -1 if not present.
+     */
+    private int findSlot(int theKey) {
+        int slot = homeSlot(theKey);
+        int distance = 1;
+        while (true) {
+            int resident = myDistances[slot];
+            // empty slot or a resident closer to home than we are means
+            // Robin Hood would have placed the key here if it existed.
+            if (resident < distance) {
+                return -1;
+            }
+            myCounter.increment(Operation.COMPARISONS);
+            if (myKeys[slot] == theKey) {
+                return slot;
+            }
+            slot = (slot + 1) & myMask;
+            distance++;
+        }
+    }
+
+    /**
+     * Walks the probe sequence of {@code theKey} once.
+     * @return the slot holding {@code theKey}, or {@code -(slot + 1)} of the
+     * slot a new entry for it would take.
+     */
+    private int probe(int theKey) {
+        int slot = homeSlot(theKey);
+        int distance = 1;
+        while (true) {
+            int resident = myDistances[slot];
+            if (resident < distance) {
+                return -slot - 1;
+            }
+            myCounter.increment(Operation.COMPARISONS);
+            if (myKeys[slot] == theKey) {
+                return slot;
+            }
+            slot = (slot + 1) & myMask;
+            distance++;
+        }
+    }
+
+    /**
+     * Inserts or updates an entry. Assumes there is room in the table.
+     * @return true if a new key was added and false if an existing key was updated.
+     */
+    private boolean insert(int theKey, Object theValue) {
+        int slot = probe(theKey);
+        if (slot >= 0) {
+            myValues[slot] = theValue;
+            return false;
+        }
+        place(-slot - 1, theKey, theValue);
+        return true;
+    }
+
+    /**
+     * Puts a new key into the slot {@link #probe(int)} stopped at, displacing the
+     * residents from there on. Assumes there is room in the table, does not change the size.
+     */
+    private void place(int theSlot, int theKey, Object theValue) {
+        int slot = theSlot;
+        int distance = ((theSlot - homeSlot(theKey)) & myMask) + 1;
+        int key = theKey;
+        Object value = theValue;
+        if (distance > 1) {
+            // the home slot was occupied.
+            myCollisions++;
+        }
+
+        while (true) {
+            int resident = myDistances[slot];
+            if (resident == 0) {
+                myKeys[slot] = key;
+                myValues[slot] = value;
+                myDistances[slot] = distance;
+                return;
+            }
+            if (resident < distance) {
+                // steal from the rich: the resident is closer to home, swap it out
+                // and keep probing on its behalf.
+                myCounter.increment(Operation.SWAPS);
+                int tempKey = myKeys[slot];
+                Object tempValue = myValues[slot];
+                myKeys[slot] = key;
+                myValues[slot] = value;
+                myDistances[slot] = distance;
+                key = tempKey;
+                value = tempValue;
+                distance = resident;
+            }
+            slot = (slot + 1) & myMask;
+            distance++;
+        }
+    }
+
+    /**
+     * Stores the result of a compute or merge at the slot {@link #probe(int)} returned:
+     * updates a found key, adds a missing one and removes the key if theValue is null.
+     */
+    private void store(int theProbe, int theKey, V theValue) {
+        if (theProbe >= 0) {
+            if (theValue == null) {
+                removeAt(theProbe);
+            } else {
+                myValues[theProbe] = theValue;
+            }
+        } else if (theValue != null) {
+            place(-theProbe - 1, theKey, theValue);
+            size++;
+        }
+    }
+
+    /**
+     * Removes the entry in a slot with backward shifting.
+     * @return the removed value.
+     */
+    private V removeAt(int theSlot) {
+        int slot = theSlot;
+        V removed = value(slot);
+
+        // shift the following cluster back one slot until we hit an
+        // empty slot or an entry already sitting in its home slot.
+        int next = (slot + 1) & myMask;
+        while (myDistances[next] > 1) {
+            myKeys[slot] = myKeys[next];
+            myValues[slot] = myValues[next];
+            myDistances[slot] = myDistances[next] - 1;
+            slot = next;
+            next = (next + 1) & myMask;
+        }
+        myKeys[slot] = 0;
+        myValues[slot] = null;
+        myDistances[slot] = 0;
+        size--;
+        return removed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int theSlot) {
+        return (V) myValues[theSlot];
+    }
+
+    /**
+     * Grows the table first if adding a key could push it past the load factor,
+     * so a probe's slot is still valid when the key is placed.
+     */
+    private void ensureRoomForOneMore() {
+        if (size + 1 > myKeys.length * LOAD_FACTOR_TOLLERANCE) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        int[] oldKeys = myKeys;
+        Object[] oldValues = myValues;
+        int[] oldDistances = myDistances;
+
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldDistances[i] != 0) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    // ====================   operation counting =========================
+
+    @Override
+    public int getSwaps() {
+        return (int) myCounter.getCount(Operation.SWAPS);
+    }
+
+    @Override
+    public int getComparisons() {
+        return (int) myCounter.getCount(Operation.COMPARISONS);
+    }
+
+    @Override
+    public void resetCounter() {
+        myCounter.resetAll();
+    }
+
+    @Override
+    public int getCollisions() {
+        return myCollisions;
+    }
+
+    @Override
+    public void resetCollisions() {
+        myCollisions = 0;
+    }
+
+    @Override
+    public int[] probeLengthHistogram() {
+        // a slot's stored distance is already 0 for empty and probe + 1 otherwise.
+        int[] histogram = new int[1];
+        for (int distance : myDistances) {
+            if (distance >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, distance + 1);
+            }
+            histogram[distance]++;
+        }
+        return histogram;
+    }
+}
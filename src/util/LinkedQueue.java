@@ -1,5 +1,6 @@
 package util;
 
+import counter.Operation;
 import counter.OperationCounter;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -19,7 +20,7 @@ public final class LinkedQueue<T> implements DataContainer<T>, Queue<T> {
 
     private final String ILLEGAL_ARG_ERR = "Queues do not support indexed based access beyond the front";
 
-    private final OperationCounter myCounter = new OperationCounter();
+    private final OperationCounter myCounter = OperationCounter.create();
 
     public LinkedQueue(){
         super();
@@ -99,7 +100,7 @@ public final class LinkedQueue<T> implements DataContainer<T>, Queue<T> {
 
     @Override
     public T remove(T theVal) throws NoSuchElementException, IllegalArgumentException {
-        myCounter.increment("comparisons", 1);
+        myCounter.increment(Operation.COMPARISONS, 1);
         if (!Objects.equals(front(),theVal)){
             throw new IllegalArgumentException(ILLEGAL_ARG_ERR);
         }
@@ -148,13 +149,13 @@ public final class LinkedQueue<T> implements DataContainer<T>, Queue<T> {
 
     @Override
     public int getSwaps() {
-        return myQueue.getSwaps() + myCounter.getCount("swaps");
+        return myQueue.getSwaps() + (int) myCounter.getCount(Operation.SWAPS);
     }
 
     @Override
     public int getComparisons() {
 
-        return myCounter.getCount("comparisons")
+        return (int) myCounter.getCount(Operation.COMPARISONS)
                 + myQueue.getComparisons();
 
     }
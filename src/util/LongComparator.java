@@ -0,0 +1,30 @@
+package util;
+
+/**
+ * A comparison of two primitive {@code long}s, the {@link java.util.Comparator}
+ * of a {@link LongBinaryHeapPQ}, called without boxing either value.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface LongComparator {
+
+    /**
+     * @return negative if theFirst comes before theSecond, positive if it comes after, 0 if neither.
+     */
+    int compare(long theFirst, long theSecond);
+
+    /**
+     * @return a comparator putting the smaller value first, as {@link Long#compare} does.
+     */
+    static LongComparator naturalOrder() {
+        return Long::compare;
+    }
+
+    /**
+     * @return a comparator putting the larger value first.
+     */
+    static LongComparator reverseOrder() {
+        return (theFirst, theSecond) -> Long.compare(theSecond, theFirst);
+    }
+}
@@ -0,0 +1,49 @@
+package util;
+
+/**
+ * Common behavior shared by every {@link Dictionary} implementation
+ * a {@link manager.MapManager} can be backed by. This is the map
+ * equivalent of {@link DataContainer}: on top of the key value
+ * operations it lets the manager iterate over entries, clear the
+ * table between experiments, and report operation counts and
+ * collision metrics for benchmarking.
+ * @param <K> the key.
+ * @param <V> the value.
+ * @author Chris Chun, Ayush
+ * @version 1.7
+ */
+public sealed interface MapContainer<K,V> extends Dictionary<K,V>, Iterable<Entry<K,V>>, OperationCountable
+        permits HashTable, IntHashTable, ConcurrentHashTable, DirectAddressTable, PersistentHashTable,
+                CuckooHashTable, SwissHashTable, CompactHashTable {
+
+    /**
+     * Removes every entry and resets the operation and collision counts.
+     */
+    void clear();
+
+    /**
+     * @return the number of collisions that occurred while inserting entries.
+     */
+    int getCollisions();
+
+    /**
+     * Resets the collision count back to 0.
+     */
+    void resetCollisions();
+
+    /**
+     * Describes how far lookups have to search. For a chained table index
+     * {@code i} counts the buckets whose chain holds {@code i} entries, or whose
+     * tree is {@code i} nodes tall, for open addressing it counts the entries
+     * found on the {@code i}-th probe. Index 0 counts the empty buckets or slots.
+     * @return the histogram, its last index is the longest chain or probe sequence.
+     */
+    int[] probeLengthHistogram();
+
+    /**
+     * @return the most key comparisons a successful lookup needs, 0 if the table is empty.
+     */
+    default int maxProbeLength() {
+        return probeLengthHistogram().length - 1;
+    }
+}
@@ -0,0 +1,263 @@
+package util;
+
+import counter.Operation;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A read only table over a fixed set of {@code int} keys, built once with a
+ * minimal perfect hash so every key has a slot of its own.
+ * <p>
+ * The hash is CHD (compress, hash and displace): keys are hashed into buckets of
+ * about {@link #BUCKET_SIZE} keys, then, largest bucket first, each bucket
+ * searches for a seed that sends all of its keys to slots no other key has
+ * taken. A bucket holding a single key skips the search and records its slot
+ * directly. The table has exactly one slot per key, so a lookup reads the
+ * bucket's seed, hashes the key with it and checks the one key stored in that
+ * slot. There are no collisions and no probing, a miss costs the same as a hit.
+ * </p>
+ * Like every {@link FrozenTable} the key set is fixed once built.
+ * @param <V> the class of the value object.
+ * @author Chris Chun, Ayush
+ * @version 1.2
+ */
+public final class PerfectHashTable<V> extends FrozenTable<V> {
+
+    /**
+     * The average number of keys per bucket. Larger buckets store fewer seeds,
+     * but the last of them are placed into a nearly full table and search much
+     * longer: at 1M keys a build with 5 takes about 3x as long as with 3.
+     */
+    static final int BUCKET_SIZE = 3;
+
+    /**
+     * The most seeds a bucket tries before the build starts over with new buckets.
+     */
+    private static final int MAX_SEED = 1 << 20;
+
+    /**
+     * The most times the keys are split into new buckets before giving up.
+     */
+    private static final int MAX_ATTEMPTS = 8;
+
+    /**
+     * the seed of each bucket, or the bitwise complement of the slot of a bucket holding one key.
+     */
+    private final int[] mySeeds;
+
+    /**
+     * the seed used to split keys into buckets.
+     */
+    private final int myBucketSeed;
+
+    /**
+     * Builds a table holding every entry of theSource.
+     * The source is only read, later changes to it are not seen by this table.
+     * @param theSource the entries to freeze.
+     * @throws IllegalArgumentException if theSource is null.
+     */
+    public PerfectHashTable(MapContainer<Integer, ? extends V> theSource) {
+        super(sizeOf(theSource), sizeOf(theSource));
+        int size = theSource.size();
+        int[] keys = new int[size];
+        Object[] values = new Object[size];
+        int count = 0;
+        for (Entry<Integer, ? extends V> entry : theSource) {
+            keys[count] = entry.key();
+            values[count] = entry.value();
+            count++;
+        }
+
+        mySeeds = new int[Math.max(1, (size + BUCKET_SIZE - 1) / BUCKET_SIZE)];
+        // bucket seeds are negative so they never match a slot seed.
+        int bucketSeed = -1;
+        while (!build(keys, values, bucketSeed)) {
+            bucketSeed--;
+            if (-bucketSeed > MAX_ATTEMPTS) {
+                throw new IllegalArgumentException("Could not find a perfect hash for " + size + " keys");
+            }
+        }
+        myBucketSeed = bucketSeed;
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    protected int findSlot(int theKey) {
+        if (isEmpty()) {
+            return -1;
+        }
+        int seed = mySeeds[bucketOf(theKey, myBucketSeed, mySeeds.length)];
+        int slot = seed < 0 ? ~seed : slotOf(theKey, seed, myKeys.length);
+        myCounter.increment(Operation.COMPARISONS);
+        return myKeys[slot] == theKey ? slot : -1;
+    }
+
+    // ======================  iterating ===========================
+
+    @Override
+    public Iterator<Entry<Integer,V>> iterator() {
+        return new Iterator<>() {
+
+            int slot = 0;
+
+            @Override
+            public boolean hasNext() {
+                return slot < size();
+            }
+
+            @Override
+            public Entry<Integer, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Empty");
+                }
+                return entry(slot++);
+            }
+        };
+    }
+
+    // ====================   private helper methods =========================
+
+    private static int sizeOf(MapContainer<Integer, ?> theSource) {
+        if (theSource == null) {
+            throw new IllegalArgumentException("Source table cannot be null");
+        }
+        return theSource.size();
+    }
+
+    /**
+     * Mixes a key with a seed, every bit of both affects every bit of the hash.
+     */
+    private static int hash(int theKey, int theSeed) {
+        return HashStrategy.MURMUR3.spread(theKey ^ HashStrategy.FIBONACCI.spread(theSeed));
+    }
+
+    /**
+     * Maps a hash onto [0, theRange) with a multiply instead of a division.
+     */
+    private static int reduce(int theHash, int theRange) {
+        return (int) (((theHash & 0xFFFFFFFFL) * theRange) >>> 32);
+    }
+
+    private static int bucketOf(int theKey, int theBucketSeed, int theBuckets) {
+        return reduce(hash(theKey, theBucketSeed), theBuckets);
+    }
+
+    private static int slotOf(int theKey, int theSeed, int theSlots) {
+        return reduce(hash(theKey, theSeed), theSlots);
+    }
+
+    /**
+     * Tries to place every key with one split into buckets.
+     * @return false if some bucket found no seed, the table is left to be rebuilt.
+     * @throws IllegalArgumentException if a key appears twice.
+     */
+    private boolean build(int[] theKeys, Object[] theValues, int theBucketSeed) {
+        int size = theKeys.length;
+        int buckets = mySeeds.length;
+
+        // counting sort the keys by bucket.
+        int[] bucketStart = new int[buckets + 1];
+        int[] bucket = new int[size];
+        for (int i = 0; i < size; i++) {
+            bucket[i] = bucketOf(theKeys[i], theBucketSeed, buckets);
+            bucketStart[bucket[i] + 1]++;
+        }
+        int largest = 0;
+        for (int b = 0; b < buckets; b++) {
+            largest = Math.max(largest, bucketStart[b + 1]);
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        int[] byBucket = new int[size];
+        int[] next = new int[buckets];
+        for (int i = 0; i < size; i++) {
+            byBucket[bucketStart[bucket[i]] + next[bucket[i]]++] = i;
+        }
+
+        // then the buckets by size, largest first.
+        int[] sizeStart = new int[largest + 2];
+        for (int b = 0; b < buckets; b++) {
+            sizeStart[largest - bucketSize(bucketStart, b) + 1]++;
+        }
+        for (int s = 0; s <= largest; s++) {
+            sizeStart[s + 1] += sizeStart[s];
+        }
+        int[] order = new int[buckets];
+        for (int b = 0; b < buckets; b++) {
+            order[sizeStart[largest - bucketSize(bucketStart, b)]++] = b;
+        }
+
+        boolean[] taken = new boolean[size];
+        int[] slots = new int[largest];
+        int freeSlot = 0;
+        for (int b : order) {
+            int from = bucketStart[b];
+            int count = bucketSize(bucketStart, b);
+            if (count == 0) {
+                mySeeds[b] = 0;
+            } else if (count == 1) {
+                while (taken[freeSlot]) {
+                    freeSlot++;
+                }
+                taken[freeSlot] = true;
+                mySeeds[b] = ~freeSlot;
+            } else {
+                int seed = findSeed(theKeys, byBucket, from, count, taken, slots);
+                if (seed == 0) {
+                    return false;
+                }
+                for (int i = 0; i < count; i++) {
+                    taken[slots[i]] = true;
+                }
+                mySeeds[b] = seed;
+            }
+        }
+
+        for (int b = 0; b < buckets; b++) {
+            int seed = mySeeds[b];
+            for (int i = bucketStart[b]; i < bucketStart[b + 1]; i++) {
+                int key = theKeys[byBucket[i]];
+                int slot = seed < 0 ? ~seed : slotOf(key, seed, size);
+                myKeys[slot] = key;
+                myValues[slot] = theValues[byBucket[i]];
+            }
+        }
+        return true;
+    }
+
+    private static int bucketSize(int[] theBucketStart, int theBucket) {
+        return theBucketStart[theBucket + 1] - theBucketStart[theBucket];
+    }
+
+    /**
+     * Searches for a seed that sends every key of a bucket to its own free slot.
+     * @param theSlots filled with the slot of each key of the bucket for the returned seed.
+     * @return the seed, or 0 if none was found within {@link #MAX_SEED} tries.
+     * @throws IllegalArgumentException if the bucket holds the same key twice.
+     */
+    private static int findSeed(int[] theKeys, int[] theByBucket, int theFrom, int theCount,
+                                boolean[] theTaken, int[] theSlots) {
+        for (int seed = 1; seed <= MAX_SEED; seed++) {
+            boolean placed = true;
+            for (int i = 0; i < theCount && placed; i++) {
+                int key = theKeys[theByBucket[theFrom + i]];
+                int slot = slotOf(key, seed, theTaken.length);
+                placed = !theTaken[slot];
+                for (int j = 0; j < i && placed; j++) {
+                    if (theSlots[j] == slot) {
+                        if (theKeys[theByBucket[theFrom + j]] == key) {
+                            throw new IllegalArgumentException("Duplicate key " + key);
+                        }
+                        placed = false;
+                    }
+                }
+                theSlots[i] = slot;
+            }
+            if (placed) {
+                return seed;
+            }
+        }
+        return 0;
+    }
+}
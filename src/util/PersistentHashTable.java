@@ -0,0 +1,703 @@
+package util;
+
+import counter.Operation;
+import counter.OperationCounter;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A hash array mapped trie (HAMT) whose nodes never change once built, so a
+ * copy of the whole table, a {@link #snapshot()}, costs O(1).
+ * <p>
+ * Each node has 32 branches and uses 5 bits of the key's spread hash, the root
+ * the lowest 5. A branch holds one entry, a child node, or nothing, and two
+ * bitmaps record which, so a node only stores the branches in use. A change
+ * copies the nodes on the path from the root to the key, at most 7 of them,
+ * and shares every other node with the versions before it. Keys whose hashes
+ * are equal in all 32 bits end up together in a node below the last level
+ * that is searched in order.
+ * </p>
+ * The {@link Dictionary} methods move this table to the new version, while
+ * {@link #with(Object, Object)} and {@link #without(Object)} leave it as it
+ * is and return the new version. Snapshots and versions are tables of their
+ * own with their own counts. Comparisons count key equality checks, swaps
+ * count the nodes copied by changes.
+ * @param <K> the key.
+ * @param <V> the value.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public final class PersistentHashTable<K,V> implements MapContainer<K,V> {
+
+    /**
+     * The number of hash bits each level of the trie uses.
+     */
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * Once the shift reaches this every bit of the hash has been used.
+     */
+    private static final int HASH_BITS = 32;
+
+    /**
+     * Stands for the value of a key that is not present, and is returned by
+     * an update to remove the key.
+     */
+    private static final Object ABSENT = new Object();
+
+    /**
+     * Returned by an update that leaves the key as it is.
+     */
+    private static final Object UNCHANGED = new Object();
+
+    private static final Node EMPTY = new Node(0, 0, new Object[0]);
+
+    private Node myRoot;
+
+    private int mySize;
+
+    private final HashStrategy myHashStrategy;
+
+    private final OperationCounter myCounter = OperationCounter.create();
+
+    private int myCollisions;
+
+    /**
+     * the value of the key before the last update, or ABSENT.
+     */
+    private Object myPrevious;
+
+    /**
+     * what the last update returned, a value, ABSENT or UNCHANGED.
+     */
+    private Object myResult;
+
+    /**
+     * Creates an empty table using {@link HashStrategy#IDENTITY}, sequential
+     * ids then fill every branch of the nodes they reach.
+     */
+    public PersistentHashTable() {
+        this(HashStrategy.IDENTITY);
+    }
+
+    /**
+     * Creates an empty table.
+     * @param theHashStrategy how a key's hash code is spread before its bits pick the branches.
+     * @throws IllegalArgumentException if theHashStrategy is null.
+     */
+    public PersistentHashTable(HashStrategy theHashStrategy) {
+        this(EMPTY, 0, theHashStrategy);
+    }
+
+    private PersistentHashTable(Node theRoot, int theSize, HashStrategy theHashStrategy) {
+        super();
+        if (theHashStrategy == null) {
+            throw new IllegalArgumentException("hash strategy cannot be null");
+        }
+        myRoot = theRoot;
+        mySize = theSize;
+        myHashStrategy = theHashStrategy;
+    }
+
+    // ======================  versions ===========================
+
+    /**
+     * Takes a copy of the current version in O(1), it shares every node with
+     * this table. Later changes to either table are not seen by the other.
+     * @return a table holding the same entries.
+     */
+    public PersistentHashTable<K,V> snapshot() {
+        return new PersistentHashTable<>(myRoot, mySize, myHashStrategy);
+    }
+
+    /**
+     * @param theKey the key.
+     * @param theValue the value.
+     * @return a new version with theKey associated with theValue, this table is unchanged.
+     */
+    public PersistentHashTable<K,V> with(K theKey, V theValue) {
+        PersistentHashTable<K,V> version = snapshot();
+        version.put(theKey, theValue);
+        return version;
+    }
+
+    /**
+     * @param theKey the key.
+     * @return a new version without theKey, this table is unchanged.
+     */
+    public PersistentHashTable<K,V> without(K theKey) {
+        PersistentHashTable<K,V> version = snapshot();
+        version.delete(theKey);
+        return version;
+    }
+
+    /**
+     * @param theOther another table.
+     * @return true if both tables are the same version, ie: nothing changed since one was snapshot from the other.
+     */
+    public boolean sharesVersionWith(PersistentHashTable<?, ?> theOther) {
+        return theOther != null && myRoot == theOther.myRoot;
+    }
+
+    // ======================  getters/ setters ===========================
+
+    @Override
+    public int size() {
+        return mySize;
+    }
+
+    /**
+     * Walks the trie, so it takes time proportional to the number of nodes.
+     * @return the fraction of the branches of every node that hold an entry or a child.
+     */
+    @Override
+    public double loadFactor() {
+        int[] branches = new int[2];
+        countBranches(myRoot, 0, branches);
+        return branches[1] == 0 ? 0 : (double) branches[0] / branches[1];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mySize == 0;
+    }
+
+    public HashStrategy getHashStrategy() {
+        return myHashStrategy;
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    public V get(K key) {
+        return value(find(key));
+    }
+
+    @Override
+    public V getOrDefault(K key, V theDefault) {
+        Object value = find(key);
+        return value == ABSENT ? theDefault : value(value);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key) != ABSENT;
+    }
+
+    // ======================  adding ===========================
+
+    @Override
+    public void put(K theKey, V theValue) {
+        update(theKey, current -> theValue);
+    }
+
+    // ======================  single probe operations ===========================
+
+    @Override
+    public V putIfAbsent(K theKey, V theValue) {
+        update(theKey, current -> current == ABSENT ? theValue : UNCHANGED);
+        return value(myPrevious);
+    }
+
+    @Override
+    public V computeIfAbsent(K theKey, Function<? super K, ? extends V> theMapping) {
+        update(theKey, current -> {
+            if (current != ABSENT) {
+                return UNCHANGED;
+            }
+            V value = theMapping.apply(theKey);
+            return value == null ? ABSENT : value;
+        });
+        return myPrevious != ABSENT ? value(myPrevious) : value(myResult);
+    }
+
+    @Override
+    public V compute(K theKey, BiFunction<? super K, ? super V, ? extends V> theRemapping) {
+        update(theKey, current -> {
+            V value = theRemapping.apply(theKey, value(current));
+            return value == null ? ABSENT : value;
+        });
+        return value(myResult);
+    }
+
+    @Override
+    public V merge(K theKey, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping) {
+        if (theValue == null) {
+            throw new IllegalArgumentException("Cannot merge a null value");
+        }
+        update(theKey, current -> {
+            V value = current == ABSENT ? theValue : theRemapping.apply(value(current), theValue);
+            return value == null ? ABSENT : value;
+        });
+        return value(myResult);
+    }
+
+    // ======================  removing ===========================
+
+    @Override
+    public V delete(K key) {
+        update(key, current -> ABSENT);
+        return value(myPrevious);
+    }
+
+    @Override
+    public Entry<K,V> remove(K key) {
+        update(key, current -> ABSENT);
+        return myPrevious == ABSENT ? null : new Entry<>(key, value(myPrevious));
+    }
+
+    /**
+     * Empties this table, snapshots taken from it keep their entries.
+     */
+    @Override
+    public void clear() {
+        myRoot = EMPTY;
+        mySize = 0;
+        resetCounter();
+        resetCollisions();
+    }
+
+    // ======================  iterating ===========================
+
+    /**
+     * Iterates over the version current when the iterator is created, changes
+     * made while iterating are not seen.
+     */
+    @Override
+    public Iterator<Entry<K,V>> iterator() {
+        return new Iterator<>() {
+
+            // the nodes from the root to the one being read, and the next content index in each.
+            final Node[] nodes = new Node[HASH_BITS / BITS + 2];
+            final int[] indexes = new int[nodes.length];
+            int depth = 0;
+
+            {
+                nodes[0] = myRoot;
+            }
+
+            private void advanceToNext() {
+                while (depth >= 0) {
+                    Node node = nodes[depth];
+                    int index = indexes[depth];
+                    if (index < 2 * node.myEntries) {
+                        return;
+                    }
+                    int child = index - 2 * node.myEntries;
+                    if (child < Integer.bitCount(node.myNodeMap)) {
+                        indexes[depth]++;
+                        depth++;
+                        nodes[depth] = (Node) node.myContent[index];
+                        indexes[depth] = 0;
+                    } else {
+                        depth--;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                advanceToNext();
+                return depth >= 0;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Entry<K, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Empty");
+                }
+                Object[] content = nodes[depth].myContent;
+                int index = indexes[depth];
+                indexes[depth] += 2;
+                return new Entry<>((K) content[index], (V) content[index + 1]);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<K, V> entry : this) {
+            sb.append("{");
+            sb.append(entry.toString());
+            sb.append("}, ");
+        }
+        return sb.toString();
+    }
+
+    // ====================   private helper methods =========================
+
+    private int hash(Object theKey) {
+        return myHashStrategy.spread(theKey.hashCode());
+    }
+
+    /**
+     * @return the bit of the branch theHash takes at theShift.
+     */
+    private static int bit(int theHash, int theShift) {
+        return 1 << ((theHash >>> theShift) & MASK);
+    }
+
+    /**
+     * @return the number of branches in theBitmap before theBit.
+     */
+    private static int index(int theBitmap, int theBit) {
+        return Integer.bitCount(theBitmap & (theBit - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V value(Object theValue) {
+        return theValue == ABSENT || theValue == UNCHANGED ? null : (V) theValue;
+    }
+
+    /**
+     * @return the value of theKey, or ABSENT if it is not present.
+     */
+    private Object find(Object theKey) {
+        int hash = hash(theKey);
+        Node node = myRoot;
+        for (int shift = 0; shift < HASH_BITS; shift += BITS) {
+            int bit = bit(hash, shift);
+            if ((node.myDataMap & bit) != 0) {
+                int i = 2 * index(node.myDataMap, bit);
+                myCounter.increment(Operation.COMPARISONS);
+                return theKey.equals(node.myContent[i]) ? node.myContent[i + 1] : ABSENT;
+            }
+            if ((node.myNodeMap & bit) == 0) {
+                return ABSENT;
+            }
+            node = node.child(bit);
+        }
+        // every hash bit is used, the keys left share the whole hash.
+        for (int i = 0; i < node.myContent.length; i += 2) {
+            myCounter.increment(Operation.COMPARISONS);
+            if (theKey.equals(node.myContent[i])) {
+                return node.myContent[i + 1];
+            }
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Moves this table to the version with theKey updated, in one walk down the trie.
+     */
+    private void update(K theKey, Update theUpdate) {
+        myPrevious = ABSENT;
+        myResult = UNCHANGED;
+        Node root = update(myRoot, theKey, hash(theKey), 0, theUpdate);
+        if (root != myRoot) {
+            boolean present = myResult != ABSENT;
+            mySize += (present ? 1 : 0) - (myPrevious != ABSENT ? 1 : 0);
+            myRoot = root;
+        }
+    }
+
+    /**
+     * @return a copy of theNode with theKey updated, or theNode itself if nothing changed.
+     */
+    private Node update(Node theNode, K theKey, int theHash, int theShift, Update theUpdate) {
+        if (theShift >= HASH_BITS) {
+            return updateSameHash(theNode, theKey, theUpdate);
+        }
+        int bit = bit(theHash, theShift);
+
+        if ((theNode.myDataMap & bit) != 0) {
+            int i = 2 * index(theNode.myDataMap, bit);
+            Object key = theNode.myContent[i];
+            myCounter.increment(Operation.COMPARISONS);
+            if (theKey.equals(key)) {
+                Object value = apply(theUpdate, theNode.myContent[i + 1]);
+                // putting the value a key already has copies nothing.
+                if (value == UNCHANGED || value == theNode.myContent[i + 1]) {
+                    return theNode;
+                }
+                return value == ABSENT ? copied(theNode.withoutEntry(bit, i)) : copied(theNode.withValue(i + 1, value));
+            }
+            Object value = apply(theUpdate, ABSENT);
+            if (value == UNCHANGED || value == ABSENT) {
+                return theNode;
+            }
+            // two keys share this branch, both move down to a new node.
+            myCollisions++;
+            Node child = pair(key, theNode.myContent[i + 1], hash(key), theKey, value, theHash, theShift + BITS);
+            return copied(theNode.withEntryMovedDown(bit, i, child));
+        }
+
+        if ((theNode.myNodeMap & bit) != 0) {
+            Node child = theNode.child(bit);
+            Node updated = update(child, theKey, theHash, theShift + BITS, theUpdate);
+            if (updated == child) {
+                return theNode;
+            }
+            if (updated.myNodeMap == 0 && updated.myEntries == 1) {
+                // a child left with one entry is folded back into this node.
+                return copied(theNode.withChildMovedUp(bit, updated.myContent[0], updated.myContent[1]));
+            }
+            return copied(theNode.withChild(bit, updated));
+        }
+
+        Object value = apply(theUpdate, ABSENT);
+        if (value == UNCHANGED || value == ABSENT) {
+            return theNode;
+        }
+        return copied(theNode.withEntry(bit, theKey, value));
+    }
+
+    /**
+     * Updates a node below the last level, its keys all share one hash.
+     */
+    private Node updateSameHash(Node theNode, K theKey, Update theUpdate) {
+        Object[] content = theNode.myContent;
+        for (int i = 0; i < content.length; i += 2) {
+            myCounter.increment(Operation.COMPARISONS);
+            if (theKey.equals(content[i])) {
+                Object value = apply(theUpdate, content[i + 1]);
+                if (value == UNCHANGED || value == content[i + 1]) {
+                    return theNode;
+                }
+                Object[] updated;
+                if (value == ABSENT) {
+                    updated = new Object[content.length - 2];
+                    System.arraycopy(content, 0, updated, 0, i);
+                    System.arraycopy(content, i + 2, updated, i, content.length - i - 2);
+                } else {
+                    updated = content.clone();
+                    updated[i + 1] = value;
+                }
+                return copied(new Node(0, 0, updated));
+            }
+        }
+        Object value = apply(theUpdate, ABSENT);
+        if (value == UNCHANGED || value == ABSENT) {
+            return theNode;
+        }
+        myCollisions++;
+        Object[] updated = new Object[content.length + 2];
+        System.arraycopy(content, 0, updated, 0, content.length);
+        updated[content.length] = theKey;
+        updated[content.length + 1] = value;
+        return copied(new Node(0, 0, updated));
+    }
+
+    private Object apply(Update theUpdate, Object theCurrent) {
+        myPrevious = theCurrent;
+        myResult = theUpdate.apply(theCurrent);
+        return myResult;
+    }
+
+    private Node copied(Node theNode) {
+        myCounter.increment(Operation.SWAPS);
+        return theNode;
+    }
+
+    /**
+     * @return a node holding two keys whose hashes agree below theShift.
+     */
+    private Node pair(Object theKey1, Object theValue1, int theHash1,
+                      Object theKey2, Object theValue2, int theHash2, int theShift) {
+        myCounter.increment(Operation.SWAPS);
+        if (theShift >= HASH_BITS) {
+            return new Node(0, 0, new Object[]{theKey1, theValue1, theKey2, theValue2});
+        }
+        int branch1 = (theHash1 >>> theShift) & MASK;
+        int branch2 = (theHash2 >>> theShift) & MASK;
+        if (branch1 == branch2) {
+            Node child = pair(theKey1, theValue1, theHash1, theKey2, theValue2, theHash2, theShift + BITS);
+            return new Node(0, 1 << branch1, new Object[]{child});
+        }
+        Object[] content = branch1 < branch2
+                ? new Object[]{theKey1, theValue1, theKey2, theValue2}
+                : new Object[]{theKey2, theValue2, theKey1, theValue1};
+        return new Node((1 << branch1) | (1 << branch2), 0, content);
+    }
+
+    /**
+     * Adds the branches of theNode and the nodes below it into theBranches,
+     * the used ones at index 0 and all of them at index 1.
+     */
+    private static void countBranches(Node theNode, int theShift, int[] theBranches) {
+        if (theShift >= HASH_BITS) {
+            theBranches[0] += theNode.myEntries;
+            theBranches[1] += theNode.myEntries;
+            return;
+        }
+        theBranches[0] += theNode.myEntries + Integer.bitCount(theNode.myNodeMap);
+        theBranches[1] += 1 << BITS;
+        for (int i = 2 * theNode.myEntries; i < theNode.myContent.length; i++) {
+            countBranches((Node) theNode.myContent[i], theShift + BITS, theBranches);
+        }
+    }
+
+    // ====================   operation counting =========================
+
+    @Override
+    public int getSwaps() {
+        return (int) myCounter.getCount(Operation.SWAPS);
+    }
+
+    @Override
+    public int getComparisons() {
+        return (int) myCounter.getCount(Operation.COMPARISONS);
+    }
+
+    @Override
+    public void resetCounter() {
+        myCounter.resetAll();
+    }
+
+    /**
+     * @return the number of times a new key found its branch taken by another key.
+     */
+    @Override
+    public int getCollisions() {
+        return myCollisions;
+    }
+
+    @Override
+    public void resetCollisions() {
+        myCollisions = 0;
+    }
+
+    /**
+     * Index {@code i} counts the entries a lookup reaches after reading
+     * {@code i} nodes, index 0 the empty branches. Keys sharing their whole
+     * hash count one more for each key searched before them.
+     */
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] histogram = new int[1];
+        return histogram(myRoot, 0, 1, histogram);
+    }
+
+    private static int[] histogram(Node theNode, int theShift, int theDepth, int[] theHistogram) {
+        int[] histogram = theHistogram;
+        int deepest = theShift >= HASH_BITS ? theDepth + theNode.myEntries - 1 : theDepth;
+        if (deepest >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, deepest + 1);
+        }
+        if (theShift >= HASH_BITS) {
+            for (int i = 0; i < theNode.myEntries; i++) {
+                histogram[theDepth + i]++;
+            }
+            return histogram;
+        }
+        histogram[0] += (1 << BITS) - theNode.myEntries - Integer.bitCount(theNode.myNodeMap);
+        histogram[theDepth] += theNode.myEntries;
+        for (int i = 2 * theNode.myEntries; i < theNode.myContent.length; i++) {
+            histogram = histogram((Node) theNode.myContent[i], theShift + BITS, theDepth + 1, histogram);
+        }
+        return histogram;
+    }
+
+    // ====================   utility classes =========================
+
+    /**
+     * Decides the new value of a key from its current one.
+     */
+    @FunctionalInterface
+    private interface Update {
+        /**
+         * @param theCurrent the key's value, or ABSENT if it is not present.
+         * @return the new value, ABSENT to remove the key, or UNCHANGED.
+         */
+        Object apply(Object theCurrent);
+    }
+
+    /**
+     * A node of the trie, never changed once built. The key and value of each
+     * entry come first in branch order, then the child nodes in branch order.
+     * A node below the last level has no bitmaps, only entries.
+     */
+    private static final class Node {
+
+        /**
+         * bit b is set if branch b holds an entry.
+         */
+        final int myDataMap;
+
+        /**
+         * bit b is set if branch b holds a child node.
+         */
+        final int myNodeMap;
+
+        final Object[] myContent;
+
+        final int myEntries;
+
+        Node(int theDataMap, int theNodeMap, Object[] theContent) {
+            myDataMap = theDataMap;
+            myNodeMap = theNodeMap;
+            myContent = theContent;
+            myEntries = theDataMap == 0 && theNodeMap == 0 ? theContent.length / 2 : Integer.bitCount(theDataMap);
+        }
+
+        Node child(int theBit) {
+            return (Node) myContent[2 * myEntries + index(myNodeMap, theBit)];
+        }
+
+        Node withValue(int theIndex, Object theValue) {
+            Object[] content = myContent.clone();
+            content[theIndex] = theValue;
+            return new Node(myDataMap, myNodeMap, content);
+        }
+
+        Node withChild(int theBit, Node theChild) {
+            Object[] content = myContent.clone();
+            content[2 * myEntries + index(myNodeMap, theBit)] = theChild;
+            return new Node(myDataMap, myNodeMap, content);
+        }
+
+        Node withEntry(int theBit, Object theKey, Object theValue) {
+            int at = 2 * index(myDataMap, theBit);
+            Object[] content = new Object[myContent.length + 2];
+            System.arraycopy(myContent, 0, content, 0, at);
+            content[at] = theKey;
+            content[at + 1] = theValue;
+            System.arraycopy(myContent, at, content, at + 2, myContent.length - at);
+            return new Node(myDataMap | theBit, myNodeMap, content);
+        }
+
+        Node withoutEntry(int theBit, int theIndex) {
+            Object[] content = new Object[myContent.length - 2];
+            System.arraycopy(myContent, 0, content, 0, theIndex);
+            System.arraycopy(myContent, theIndex + 2, content, theIndex, myContent.length - theIndex - 2);
+            return new Node(myDataMap ^ theBit, myNodeMap, content);
+        }
+
+        /**
+         * Replaces the entry at theIndex in branch theBit with theChild.
+         */
+        Node withEntryMovedDown(int theBit, int theIndex, Node theChild) {
+            int nodeMap = myNodeMap | theBit;
+            int at = 2 * (myEntries - 1) + index(nodeMap, theBit);
+            Object[] content = new Object[myContent.length - 1];
+            System.arraycopy(myContent, 0, content, 0, theIndex);
+            System.arraycopy(myContent, theIndex + 2, content, theIndex, at - theIndex);
+            content[at] = theChild;
+            System.arraycopy(myContent, at + 2, content, at + 1, myContent.length - at - 2);
+            return new Node(myDataMap ^ theBit, nodeMap, content);
+        }
+
+        /**
+         * Replaces the child in branch theBit with its only entry.
+         */
+        Node withChildMovedUp(int theBit, Object theKey, Object theValue) {
+            int at = 2 * index(myDataMap, theBit);
+            int child = 2 * myEntries + index(myNodeMap, theBit);
+            Object[] content = new Object[myContent.length + 1];
+            System.arraycopy(myContent, 0, content, 0, at);
+            content[at] = theKey;
+            content[at + 1] = theValue;
+            System.arraycopy(myContent, at, content, at + 2, child - at);
+            System.arraycopy(myContent, child + 1, content, child + 2, myContent.length - child - 1);
+            return new Node(myDataMap | theBit, myNodeMap ^ theBit, content);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package util;
+
+/**
+ * Defines how a {@link HashTable} grows once its load factor
+ * exceeds the resize threshold.
+ * @author Chris Chun, Ayush.
+ * @version 1.0
+ */
+public enum RehashMode {
+
+    /**
+     * Rehashes every entry into a table of double capacity
+     * during the put that crossed the threshold.
+     */
+    EAGER,
+
+    /**
+     * Keeps the old and new bucket arrays side by side and migrates
+     * a bounded number of buckets on every put, get and delete.
+     */
+    INCREMENTAL
+}
@@ -0,0 +1,635 @@
+package util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of {@code int}s, split like a Roaring bitmap into chunks
+ * of 65536 values that share their high 16 bits.
+ * <p>
+ * The high 16 bits of each present chunk are kept sorted in one array, and
+ * each chunk stores its low 16 bits in whichever container is smaller: a
+ * sorted {@code char} array while it holds up to 4096 values, and a 1024
+ * word bitmap (8 KB) when it holds more. A sparse chunk costs 2 bytes per
+ * value and a dense one 1 bit per possible value, and a chunk with no values
+ * costs nothing. {@link #and}, {@link #or}, {@link #andNot} and
+ * {@link #andCardinality} work a chunk at a time, a bitmap against a bitmap
+ * is a loop of word operations, and never look at the chunks only one side has
+ * when the result cannot contain them.
+ * </p>
+ * The values are ordered as unsigned ints, so negative values sort after
+ * {@link Integer#MAX_VALUE}.
+ * A bitmap is not thread safe, a {@link manager.BitmapIndex} only changes or
+ * reads the bitmaps it keeps while holding its manager's lock.
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+public final class RoaringBitmap {
+
+    /**
+     * the most values an array container holds, past this it is a bitmap.
+     */
+    static final int ARRAY_MAX = 4096;
+
+    /**
+     * the number of longs in a bitmap container, 65536 bits.
+     */
+    private static final int BITMAP_WORDS = 1024;
+
+    private static final int DEFAULT_CAPACITY = 4;
+
+    /**
+     * the high 16 bits of each present chunk, sorted.
+     */
+    private char[] myKeys;
+
+    /**
+     * the low 16 bits of the values of each chunk, same index as myKeys.
+     */
+    private Container[] myContainers;
+
+    /**
+     * the number of present chunks.
+     */
+    private int mySize;
+
+    private int myCardinality;
+
+    /**
+     * Creates an empty bitmap.
+     */
+    public RoaringBitmap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private RoaringBitmap(int theChunks) {
+        super();
+        int capacity = Math.max(1, theChunks);
+        myKeys = new char[capacity];
+        myContainers = new Container[capacity];
+    }
+
+    /**
+     * @param theValues the values to add.
+     * @return a new bitmap of theValues.
+     */
+    public static RoaringBitmap of(int... theValues) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : theValues) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    // ======================  getters/ setters ===========================
+
+    /**
+     * @return the number of values in the bitmap.
+     */
+    public int cardinality() {
+        return myCardinality;
+    }
+
+    public boolean isEmpty() {
+        return myCardinality == 0;
+    }
+
+    /**
+     * @param theValue the value.
+     * @return true if theValue is in the bitmap.
+     */
+    public boolean contains(int theValue) {
+        int index = indexOf(high(theValue));
+        return index >= 0 && myContainers[index].contains(low(theValue));
+    }
+
+    /**
+     * @param theValue the value to add.
+     * @return true if theValue was not already in the bitmap.
+     */
+    public boolean add(int theValue) {
+        char high = high(theValue);
+        int index = indexOf(high);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, high, new Container());
+        }
+        if (myContainers[index].add(low(theValue))) {
+            myCardinality++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param theValue the value to remove.
+     * @return true if theValue was in the bitmap.
+     */
+    public boolean remove(int theValue) {
+        int index = indexOf(high(theValue));
+        if (index < 0 || !myContainers[index].remove(low(theValue))) {
+            return false;
+        }
+        myCardinality--;
+        if (myContainers[index].myCardinality == 0) {
+            System.arraycopy(myKeys, index + 1, myKeys, index, mySize - index - 1);
+            System.arraycopy(myContainers, index + 1, myContainers, index, mySize - index - 1);
+            myContainers[--mySize] = null;
+        }
+        return true;
+    }
+
+    /**
+     * Removes every value.
+     */
+    public void clear() {
+        Arrays.fill(myContainers, 0, mySize, null);
+        mySize = 0;
+        myCardinality = 0;
+    }
+
+    // ======================  set operations ===========================
+
+    /**
+     * @param theOther the bitmap to intersect with.
+     * @return a new bitmap of the values in both bitmaps, neither is changed.
+     * @throws IllegalArgumentException if theOther is null.
+     */
+    public RoaringBitmap and(RoaringBitmap theOther) {
+        checkOther(theOther);
+        RoaringBitmap result = new RoaringBitmap(Math.min(mySize, theOther.mySize));
+        int i = 0;
+        int j = 0;
+        while (i < mySize && j < theOther.mySize) {
+            char key = myKeys[i];
+            char otherKey = theOther.myKeys[j];
+            if (key < otherKey) {
+                i++;
+            } else if (key > otherKey) {
+                j++;
+            } else {
+                result.append(key, Container.and(myContainers[i++], theOther.myContainers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the values in both bitmaps without building the intersection.
+     * @param theOther the bitmap to intersect with.
+     * @return the cardinality of {@code and(theOther)}.
+     * @throws IllegalArgumentException if theOther is null.
+     */
+    public int andCardinality(RoaringBitmap theOther) {
+        checkOther(theOther);
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < mySize && j < theOther.mySize) {
+            char key = myKeys[i];
+            char otherKey = theOther.myKeys[j];
+            if (key < otherKey) {
+                i++;
+            } else if (key > otherKey) {
+                j++;
+            } else {
+                count += Container.andCardinality(myContainers[i++], theOther.myContainers[j++]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param theOther the bitmap to union with.
+     * @return a new bitmap of the values in either bitmap, neither is changed.
+     * @throws IllegalArgumentException if theOther is null.
+     */
+    public RoaringBitmap or(RoaringBitmap theOther) {
+        checkOther(theOther);
+        RoaringBitmap result = new RoaringBitmap(mySize + theOther.mySize);
+        int i = 0;
+        int j = 0;
+        while (i < mySize || j < theOther.mySize) {
+            if (j == theOther.mySize || i < mySize && myKeys[i] < theOther.myKeys[j]) {
+                result.append(myKeys[i], myContainers[i++].copy());
+            } else if (i == mySize || myKeys[i] > theOther.myKeys[j]) {
+                result.append(theOther.myKeys[j], theOther.myContainers[j++].copy());
+            } else {
+                result.append(myKeys[i], Container.or(myContainers[i++], theOther.myContainers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param theOther the bitmap of values to leave out.
+     * @return a new bitmap of the values in this bitmap and not in theOther, neither is changed.
+     * @throws IllegalArgumentException if theOther is null.
+     */
+    public RoaringBitmap andNot(RoaringBitmap theOther) {
+        checkOther(theOther);
+        RoaringBitmap result = new RoaringBitmap(mySize);
+        int j = 0;
+        for (int i = 0; i < mySize; i++) {
+            char key = myKeys[i];
+            while (j < theOther.mySize && theOther.myKeys[j] < key) {
+                j++;
+            }
+            if (j < theOther.mySize && theOther.myKeys[j] == key) {
+                result.append(key, Container.andNot(myContainers[i], theOther.myContainers[j]));
+            } else {
+                result.append(key, myContainers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a new bitmap of the same values.
+     */
+    public RoaringBitmap copy() {
+        RoaringBitmap result = new RoaringBitmap(mySize);
+        for (int i = 0; i < mySize; i++) {
+            result.append(myKeys[i], myContainers[i].copy());
+        }
+        return result;
+    }
+
+    // ======================  iterating ===========================
+
+    /**
+     * Passes every value to theAction in unsigned order, without boxing.
+     * @param theAction the action to apply.
+     */
+    public void forEach(IntConsumer theAction) {
+        for (int i = 0; i < mySize; i++) {
+            int base = myKeys[i] << 16;
+            Container container = myContainers[i];
+            if (container.myBits != null) {
+                long[] bits = container.myBits;
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long remaining = bits[word];
+                    while (remaining != 0) {
+                        theAction.accept(base | word << 6 | Long.numberOfTrailingZeros(remaining));
+                        remaining &= remaining - 1;
+                    }
+                }
+            } else {
+                for (int v = 0; v < container.myCardinality; v++) {
+                    theAction.accept(base | container.myValues[v]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the values in unsigned order.
+     */
+    public int[] toArray() {
+        int[] values = new int[myCardinality];
+        int[] next = new int[1];
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "RoaringBitmap{cardinality=" + myCardinality + ", chunks=" + mySize + "}";
+    }
+
+    // ====================   private helper methods =========================
+
+    private static char high(int theValue) {
+        return (char) (theValue >>> 16);
+    }
+
+    private static char low(int theValue) {
+        return (char) theValue;
+    }
+
+    private static void checkOther(RoaringBitmap theOther) {
+        if (theOther == null) {
+            throw new IllegalArgumentException("bitmap cannot be null");
+        }
+    }
+
+    /**
+     * @return the index of theKey, or -(insertion point) - 1 if the chunk is not present.
+     */
+    private int indexOf(char theKey) {
+        return Arrays.binarySearch(myKeys, 0, mySize, theKey);
+    }
+
+    private void insert(int theIndex, char theKey, Container theContainer) {
+        if (mySize == myKeys.length) {
+            grow();
+        }
+        System.arraycopy(myKeys, theIndex, myKeys, theIndex + 1, mySize - theIndex);
+        System.arraycopy(myContainers, theIndex, myContainers, theIndex + 1, mySize - theIndex);
+        myKeys[theIndex] = theKey;
+        myContainers[theIndex] = theContainer;
+        mySize++;
+    }
+
+    /**
+     * Adds a chunk after every present one, set operations build their result in key order.
+     */
+    private void append(char theKey, Container theContainer) {
+        if (theContainer == null) {
+            return;
+        }
+        if (mySize == myKeys.length) {
+            grow();
+        }
+        myKeys[mySize] = theKey;
+        myContainers[mySize++] = theContainer;
+        myCardinality += theContainer.myCardinality;
+    }
+
+    private void grow() {
+        myKeys = Arrays.copyOf(myKeys, myKeys.length * 2);
+        myContainers = Arrays.copyOf(myContainers, myContainers.length * 2);
+    }
+
+    // ====================   utility classes =========================
+
+    /**
+     * The low 16 bits of the values of one chunk, in a sorted array or a
+     * bitmap. Exactly one of myValues and myBits is not null. A container
+     * built by a set operation is an array when it holds up to ARRAY_MAX
+     * values. One changed by remove stays a bitmap until it is down to half
+     * of that, so a chunk near the limit does not convert on every write.
+     */
+    private static final class Container {
+
+        private char[] myValues;
+
+        private long[] myBits;
+
+        private int myCardinality;
+
+        private Container() {
+            this(new char[DEFAULT_CAPACITY], null, 0);
+        }
+
+        private Container(char[] theValues, long[] theBits, int theCardinality) {
+            myValues = theValues;
+            myBits = theBits;
+            myCardinality = theCardinality;
+        }
+
+        private boolean contains(char theLow) {
+            if (myBits != null) {
+                return (myBits[theLow >>> 6] & 1L << theLow) != 0;
+            }
+            return Arrays.binarySearch(myValues, 0, myCardinality, theLow) >= 0;
+        }
+
+        private boolean add(char theLow) {
+            if (myBits != null) {
+                long word = myBits[theLow >>> 6];
+                if ((word & 1L << theLow) != 0) {
+                    return false;
+                }
+                myBits[theLow >>> 6] = word | 1L << theLow;
+                myCardinality++;
+                return true;
+            }
+            int index = Arrays.binarySearch(myValues, 0, myCardinality, theLow);
+            if (index >= 0) {
+                return false;
+            }
+            if (myCardinality == ARRAY_MAX) {
+                myBits = toBits(myValues, myCardinality);
+                myValues = null;
+                return add(theLow);
+            }
+            index = -index - 1;
+            if (myCardinality == myValues.length) {
+                myValues = Arrays.copyOf(myValues, Math.min(ARRAY_MAX, myValues.length * 2));
+            }
+            System.arraycopy(myValues, index, myValues, index + 1, myCardinality - index);
+            myValues[index] = theLow;
+            myCardinality++;
+            return true;
+        }
+
+        private boolean remove(char theLow) {
+            if (myBits != null) {
+                long word = myBits[theLow >>> 6];
+                if ((word & 1L << theLow) == 0) {
+                    return false;
+                }
+                myBits[theLow >>> 6] = word & ~(1L << theLow);
+                if (--myCardinality <= ARRAY_MAX / 2) {
+                    myValues = toValues(myBits, myCardinality);
+                    myBits = null;
+                }
+                return true;
+            }
+            int index = Arrays.binarySearch(myValues, 0, myCardinality, theLow);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(myValues, index + 1, myValues, index, myCardinality - index - 1);
+            myCardinality--;
+            return true;
+        }
+
+        private Container copy() {
+            return myBits != null
+                    ? new Container(null, myBits.clone(), myCardinality)
+                    : new Container(Arrays.copyOf(myValues, myCardinality), null, myCardinality);
+        }
+
+        // ====================   set operations =========================
+
+        /**
+         * @return the intersection of the containers, null if it is empty.
+         */
+        private static Container and(Container theFirst, Container theSecond) {
+            if (theFirst.myBits != null && theSecond.myBits != null) {
+                long[] bits = new long[BITMAP_WORDS];
+                int cardinality = 0;
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    bits[word] = theFirst.myBits[word] & theSecond.myBits[word];
+                    cardinality += Long.bitCount(bits[word]);
+                }
+                return fromBits(bits, cardinality);
+            }
+            Container array = theFirst.myBits == null ? theFirst : theSecond;
+            Container other = array == theFirst ? theSecond : theFirst;
+            char[] values = new char[array.myCardinality];
+            int size = 0;
+            if (other.myBits != null) {
+                for (int i = 0; i < array.myCardinality; i++) {
+                    if (other.contains(array.myValues[i])) {
+                        values[size++] = array.myValues[i];
+                    }
+                }
+            } else {
+                int j = 0;
+                for (int i = 0; i < array.myCardinality && j < other.myCardinality; ) {
+                    char value = array.myValues[i];
+                    char otherValue = other.myValues[j];
+                    if (value < otherValue) {
+                        i++;
+                    } else if (value > otherValue) {
+                        j++;
+                    } else {
+                        values[size++] = value;
+                        i++;
+                        j++;
+                    }
+                }
+            }
+            return size == 0 ? null : new Container(values, null, size);
+        }
+
+        private static int andCardinality(Container theFirst, Container theSecond) {
+            int count = 0;
+            if (theFirst.myBits != null && theSecond.myBits != null) {
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    count += Long.bitCount(theFirst.myBits[word] & theSecond.myBits[word]);
+                }
+                return count;
+            }
+            Container array = theFirst.myBits == null ? theFirst : theSecond;
+            Container other = array == theFirst ? theSecond : theFirst;
+            if (other.myBits != null) {
+                for (int i = 0; i < array.myCardinality; i++) {
+                    if (other.contains(array.myValues[i])) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            int j = 0;
+            for (int i = 0; i < array.myCardinality && j < other.myCardinality; ) {
+                char value = array.myValues[i];
+                char otherValue = other.myValues[j];
+                if (value < otherValue) {
+                    i++;
+                } else if (value > otherValue) {
+                    j++;
+                } else {
+                    count++;
+                    i++;
+                    j++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * @return the union of the containers, never empty.
+         */
+        private static Container or(Container theFirst, Container theSecond) {
+            if (theFirst.myBits == null && theSecond.myBits == null
+                    && theFirst.myCardinality + theSecond.myCardinality <= ARRAY_MAX) {
+                char[] values = new char[theFirst.myCardinality + theSecond.myCardinality];
+                int size = 0;
+                int i = 0;
+                int j = 0;
+                while (i < theFirst.myCardinality || j < theSecond.myCardinality) {
+                    if (j == theSecond.myCardinality
+                            || i < theFirst.myCardinality && theFirst.myValues[i] < theSecond.myValues[j]) {
+                        values[size++] = theFirst.myValues[i++];
+                    } else if (i == theFirst.myCardinality || theFirst.myValues[i] > theSecond.myValues[j]) {
+                        values[size++] = theSecond.myValues[j++];
+                    } else {
+                        values[size++] = theFirst.myValues[i++];
+                        j++;
+                    }
+                }
+                return new Container(values, null, size);
+            }
+            long[] bits = theFirst.myBits != null
+                    ? theFirst.myBits.clone()
+                    : toBits(theFirst.myValues, theFirst.myCardinality);
+            if (theSecond.myBits != null) {
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    bits[word] |= theSecond.myBits[word];
+                }
+            } else {
+                for (int i = 0; i < theSecond.myCardinality; i++) {
+                    char value = theSecond.myValues[i];
+                    bits[value >>> 6] |= 1L << value;
+                }
+            }
+            return fromBits(bits, bitCount(bits));
+        }
+
+        /**
+         * @return the values of theFirst not in theSecond, null if there are none.
+         */
+        private static Container andNot(Container theFirst, Container theSecond) {
+            if (theFirst.myBits != null) {
+                long[] bits = theFirst.myBits.clone();
+                if (theSecond.myBits != null) {
+                    for (int word = 0; word < BITMAP_WORDS; word++) {
+                        bits[word] &= ~theSecond.myBits[word];
+                    }
+                } else {
+                    for (int i = 0; i < theSecond.myCardinality; i++) {
+                        char value = theSecond.myValues[i];
+                        bits[value >>> 6] &= ~(1L << value);
+                    }
+                }
+                return fromBits(bits, bitCount(bits));
+            }
+            char[] values = new char[theFirst.myCardinality];
+            int size = 0;
+            for (int i = 0; i < theFirst.myCardinality; i++) {
+                if (!theSecond.contains(theFirst.myValues[i])) {
+                    values[size++] = theFirst.myValues[i];
+                }
+            }
+            return size == 0 ? null : new Container(values, null, size);
+        }
+
+        // ====================   conversions =========================
+
+        /**
+         * @return a container of bits in its smaller form, null if theCardinality is 0.
+         */
+        private static Container fromBits(long[] theBits, int theCardinality) {
+            if (theCardinality == 0) {
+                return null;
+            }
+            if (theCardinality <= ARRAY_MAX) {
+                return new Container(toValues(theBits, theCardinality), null, theCardinality);
+            }
+            return new Container(null, theBits, theCardinality);
+        }
+
+        private static long[] toBits(char[] theValues, int theCardinality) {
+            long[] bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < theCardinality; i++) {
+                bits[theValues[i] >>> 6] |= 1L << theValues[i];
+            }
+            return bits;
+        }
+
+        private static char[] toValues(long[] theBits, int theCardinality) {
+            char[] values = new char[Math.max(DEFAULT_CAPACITY, theCardinality)];
+            int size = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long remaining = theBits[word];
+                while (remaining != 0) {
+                    values[size++] = (char) (word << 6 | Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+            return values;
+        }
+
+        private static int bitCount(long[] theBits) {
+            int count = 0;
+            for (long word : theBits) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+    }
+}
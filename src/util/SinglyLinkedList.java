@@ -1,5 +1,6 @@
 package util;
 
+import counter.Operation;
 import counter.OperationCounter;
 
 import java.util.Iterator;
@@ -33,7 +34,7 @@ public final class SinglyLinkedList<T> implements DataContainer<T>, Indexable<T>
      */
     private int size;
 
-    private final OperationCounter myCounter = new OperationCounter();
+    private final OperationCounter myCounter = OperationCounter.create();
 
     // constructor
     public SinglyLinkedList() {
@@ -252,12 +253,12 @@ public final class SinglyLinkedList<T> implements DataContainer<T>, Indexable<T>
 
         T itemRemoved;
 
-        myCounter.increment("comparisons");
+        myCounter.increment(Operation.COMPARISONS);
         // 1) check if list is empty
         if (size == 0) {
             throw new NoSuchElementException(NO_SUCH_ELEMENT_ERR);
         }
-        myCounter.increment("comparisons");
+        myCounter.increment(Operation.COMPARISONS);
         // 2) check if we are removing the head
         Node<T> walker = head;
         if (Objects.equals(item,walker.val)) {
@@ -266,7 +267,7 @@ public final class SinglyLinkedList<T> implements DataContainer<T>, Indexable<T>
 
         // 3) try to find the item.
         while (walker.next != null) {
-            myCounter.increment("comparisons");
+            myCounter.increment(Operation.COMPARISONS);
             // use Object.equals to guard against null pointer
             if (Objects.equals(item, walker.next.val)){
 
@@ -285,7 +286,7 @@ public final class SinglyLinkedList<T> implements DataContainer<T>, Indexable<T>
 
             walker = walker.next;
         }
-        myCounter.increment("comparisons"); // exit condition
+        myCounter.increment(Operation.COMPARISONS); // exit condition
         throw new NoSuchElementException("Can't find item");
     }
 
@@ -329,7 +330,7 @@ public final class SinglyLinkedList<T> implements DataContainer<T>, Indexable<T>
 
     @Override
     public void set(int theIndex, T theVal){
-        myCounter.increment("comparisons",2);
+        myCounter.increment(Operation.COMPARISONS, 2);
         if (theIndex >= size || theIndex < 0) {
             throw new IndexOutOfBoundsException(
                     "Cannot insert at index "
@@ -340,9 +341,9 @@ public final class SinglyLinkedList<T> implements DataContainer<T>, Indexable<T>
         }
         int steps = 0;
         Node<T> walker = head;
-        myCounter.increment("comparisons");
+        myCounter.increment(Operation.COMPARISONS);
         while(steps < theIndex) {
-            myCounter.increment("comparisons");
+            myCounter.increment(Operation.COMPARISONS);
             walker = walker.next;
             steps++;
         }
@@ -362,7 +363,7 @@ public final class SinglyLinkedList<T> implements DataContainer<T>, Indexable<T>
         Node<T> walker = head;
         int idx = 0;
         while(walker != null) {
-            myCounter.increment("comparisons");
+            myCounter.increment(Operation.COMPARISONS);
             if (Objects.equals(walker.val, theItem)) {
                 return idx;
             }
@@ -370,7 +371,7 @@ public final class SinglyLinkedList<T> implements DataContainer<T>, Indexable<T>
             walker = walker.next;
         }
 
-        myCounter.increment("comparisons"); // final one that causes loop exit
+        myCounter.increment(Operation.COMPARISONS); // final one that causes loop exit
         return -1;
     }
 
@@ -380,14 +381,14 @@ public final class SinglyLinkedList<T> implements DataContainer<T>, Indexable<T>
         int i = 0;
 
         while(walker != null) {
-            myCounter.increment("comparisons");
+            myCounter.increment(Operation.COMPARISONS);
             if (thePredicate.test(walker.val)) {
                 return i;
             }
             i++;
             walker = walker.next;
         }
-        myCounter.increment("comparisons"); // final one that causes loop exit
+        myCounter.increment(Operation.COMPARISONS); // final one that causes loop exit
 
         return -1;
     }
@@ -454,12 +455,12 @@ public final class SinglyLinkedList<T> implements DataContainer<T>, Indexable<T>
     //@TODO need to implement these methods and integrate counter.
     @Override
     public int getSwaps() {
-        return myCounter.getCount("swaps");
+        return (int) myCounter.getCount(Operation.SWAPS);
     }
 
     @Override
     public int getComparisons() {
-        return myCounter.getCount("comparisons");
+        return (int) myCounter.getCount(Operation.COMPARISONS);
     }
 
     @Override
@@ -0,0 +1,88 @@
+package util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * The portable {@link GroupMatcher}: reads a group's 16 control bytes as two
+ * {@code long} words and compares all 8 bytes of a word with a few word wide
+ * bit operations (SIMD within a register). Every JVM can run it.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+final class SwarGroupMatcher implements GroupMatcher {
+
+    /**
+     * Reads 8 control bytes as a long with the first slot in the lowest bits.
+     */
+    private static final VarHandle WORDS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The lowest bit of every byte of a word.
+     */
+    private static final long LSB = 0x0101010101010101L;
+
+    /**
+     * The highest bit of every byte of a word.
+     */
+    private static final long MSB = 0x8080808080808080L;
+
+    /**
+     * Multiplying the high bits shifted down to bit 0 of each byte by this
+     * gathers them, in order, into the top byte of the product.
+     */
+    private static final long GATHER = 0x0102040810204080L;
+
+    @Override
+    public int matchFingerprint(byte[] theControl, int theBase, int theFingerprint) {
+        long repeated = LSB * theFingerprint;
+        return toMask(fingerprintBytes(word(theControl, theBase), repeated))
+                | toMask(fingerprintBytes(word(theControl, theBase + 8), repeated)) << 8;
+    }
+
+    @Override
+    public int matchEmpty(byte[] theControl, int theBase) {
+        return toMask(emptyBytes(word(theControl, theBase)))
+                | toMask(emptyBytes(word(theControl, theBase + 8))) << 8;
+    }
+
+    @Override
+    public int matchFree(byte[] theControl, int theBase) {
+        return toMask(word(theControl, theBase) & MSB)
+                | toMask(word(theControl, theBase + 8) & MSB) << 8;
+    }
+
+    @Override
+    public String name() {
+        return "swar";
+    }
+
+    private static long word(byte[] theControl, int theOffset) {
+        return (long) WORDS.get(theControl, theOffset);
+    }
+
+    /**
+     * @return the high bit of every byte of theWord equal to the fingerprint. A
+     * byte just above a true match may also be flagged.
+     */
+    private static long fingerprintBytes(long theWord, long theRepeated) {
+        long x = theWord ^ theRepeated;
+        return (x - LSB) & ~x & MSB;
+    }
+
+    /**
+     * @return the high bit of every EMPTY byte of theWord, DELETED has bit 1 set and full bytes bit 7 clear.
+     */
+    private static long emptyBytes(long theWord) {
+        return theWord & ~(theWord << 6) & MSB;
+    }
+
+    /**
+     * @return one bit per byte of theHighBits, which only has the high bit of bytes set.
+     */
+    private static int toMask(long theHighBits) {
+        return (int) (((theHighBits >>> 7) * GATHER) >>> 56);
+    }
+}
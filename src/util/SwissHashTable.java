@@ -0,0 +1,597 @@
+package util;
+
+import counter.Operation;
+import counter.OperationCounter;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * An open addressing HashTable keyed on primitive {@code int} ids, laid out
+ * like a Swiss table: a byte of control per slot, probed a group of
+ * {@link #GROUP_SIZE} slots at a time.
+ * <p>
+ * A full slot's control byte holds 7 bits of the key's hash, the other bytes
+ * mark the slot {@link #EMPTY} or {@link #DELETED}. A probe compares all 16
+ * control bytes of its group with the key's 7 bits at once through a
+ * {@link GroupMatcher}, so only the slots whose bits match, about one in 128
+ * of the others, have their key compared. The matcher is a single
+ * {@code ByteVector} compare when the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}, and otherwise falls back to word
+ * wide bit operations on two {@code long}s, see {@link #groupMatching()}.
+ * A group with an empty slot ends the probe, otherwise the probe moves on to
+ * the next group of a triangular sequence that visits every group once.
+ * Deleting from a group that was never full just empties the slot, only a
+ * full group needs a tombstone.
+ * </p>
+ * Like {@link IntHashTable} the keys and values are kept in parallel arrays
+ * and the {@code int} operations never box. Iterating scans the control bytes,
+ * skipping a group with no full slot at once. Comparisons count the keys compared and
+ * collisions count keys that did not fit in their home group.
+ * @param <V> the class of the value object.
+ * @author Chris Chun, Ayush
+ * @version 1.2
+ */
+public final class SwissHashTable<V> implements MapContainer<Integer,V> {
+
+    /**
+     * The number of slots whose control bytes a probe checks together.
+     */
+    static final int GROUP_SIZE = 16;
+
+    /**
+     * Control byte of a slot that was never used since the last rebuild.
+     */
+    private static final byte EMPTY = (byte) 0x80;
+
+    /**
+     * Control byte of a slot whose key was deleted from a full group.
+     */
+    private static final byte DELETED = (byte) 0xFE;
+
+    /**
+     * Groups fill well past a chained table's load before probes get long.
+     */
+    private static final double LOAD_FACTOR_TOLLERANCE = 0.875;
+
+    private static final int DEFAULT_CAPCITY = 16;
+
+    /**
+     * Chosen once for every table, so the JIT sees a single implementation.
+     */
+    private static final GroupMatcher MATCHER = GroupMatcher.create();
+
+    /**
+     * the control byte of each slot: 7 bits of the key's hash if full, otherwise EMPTY or DELETED.
+     */
+    private byte[] myControl;
+
+    /**
+     * the keys stored in each slot.
+     */
+    private int[] myKeys;
+
+    /**
+     * the values stored in each slot.
+     */
+    private Object[] myValues;
+
+    /**
+     * the number of groups - 1, the number of groups is always a power of two.
+     */
+    private int myGroupMask;
+
+    /**
+     * the number of full and deleted slots allowed before a rebuild.
+     */
+    private int myGrowthLimit;
+
+    private int myTombstones;
+
+    private final HashStrategy myHashStrategy;
+
+    private int size;
+
+    private final OperationCounter myCounter = OperationCounter.create();
+
+    private int myCollisions;
+
+    /**
+     * Creates a new SwissHashTable with one group of 16 slots.
+     */
+    public SwissHashTable() {
+        this(DEFAULT_CAPCITY);
+    }
+
+    /**
+     * Creates a new SwissHashTable with room for at least theInitialCapacity slots.
+     * @param theInitialCapacity the number of slots, rounded up to a power of two of at least 16.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public SwissHashTable(int theInitialCapacity) {
+        this(theInitialCapacity, HashStrategy.FIBONACCI);
+    }
+
+    /**
+     * Creates a new SwissHashTable that spreads keys with theHashStrategy. The
+     * high bits of the hash pick the home group and the low 7 are kept in the
+     * control byte, so {@link HashStrategy#IDENTITY} puts sequential ids in the
+     * same few groups.
+     * @param theInitialCapacity the number of slots, rounded up to a power of two of at least 16.
+     * @param theHashStrategy how the key is spread before it is split.
+     * @throws IllegalArgumentException if the capacity is not positive or the strategy is null.
+     */
+    public SwissHashTable(int theInitialCapacity, HashStrategy theHashStrategy) {
+        super();
+        if (theInitialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (theHashStrategy == null) {
+            throw new IllegalArgumentException("hash strategy cannot be null");
+        }
+        myHashStrategy = theHashStrategy;
+        allocate(tableSizeFor(theInitialCapacity));
+    }
+
+    // ======================  getters/ setters ===========================
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double loadFactor() {
+        return (double) size / myKeys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of slots in the table.
+     */
+    public int capacity() {
+        return myKeys.length;
+    }
+
+    /**
+     * @return the number of deleted slots waiting for a rebuild or reuse.
+     */
+    public int tombstones() {
+        return myTombstones;
+    }
+
+    public HashStrategy getHashStrategy() {
+        return myHashStrategy;
+    }
+
+    /**
+     * @return how every SwissHashTable in this JVM compares a group's control
+     * bytes: "vector" for the Vector API, "swar" for the long word fallback.
+     */
+    public static String groupMatching() {
+        return MATCHER.name();
+    }
+
+    // ======================  searching ===========================
+
+    @Override
+    public V get(Integer key) {
+        return getInt(key.intValue());
+    }
+
+    /**
+     * Primitive lookup, does not box the key.
+     * @param theKey the key.
+     * @return the value associated with the key or null if not present.
+     */
+    public V getInt(int theKey) {
+        int slot = findSlot(theKey);
+        return slot < 0 ? null : value(slot);
+    }
+
+    @Override
+    public V getOrDefault(Integer key, V theDefault) {
+        int slot = findSlot(key);
+        return slot < 0 ? theDefault : value(slot);
+    }
+
+    @Override
+    public boolean containsKey(Integer key) {
+        return containsInt(key.intValue());
+    }
+
+    /**
+     * Primitive containsKey, does not box the key.
+     * @param theKey the key.
+     * @return true if found and false otherwise.
+     */
+    public boolean containsInt(int theKey) {
+        return findSlot(theKey) >= 0;
+    }
+
+    // ======================  adding ===========================
+
+    @Override
+    public void put(Integer theKey, V theValue) {
+        putInt(theKey.intValue(), theValue);
+    }
+
+    /**
+     * Primitive put, does not box the key.
+     * @param theKey the key.
+     * @param theValue the value.
+     */
+    public void putInt(int theKey, V theValue) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        if (slot >= 0) {
+            myValues[slot] = theValue;
+        } else {
+            place(-slot - 1, theKey, theValue);
+        }
+    }
+
+    // ======================  single probe operations ===========================
+
+    @Override
+    public V putIfAbsent(Integer theKey, V theValue) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        place(-slot - 1, theKey, theValue);
+        return null;
+    }
+
+    @Override
+    public V computeIfAbsent(Integer theKey, Function<? super Integer, ? extends V> theMapping) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        V value = theMapping.apply(theKey);
+        store(slot, theKey, value);
+        return value;
+    }
+
+    @Override
+    public V compute(Integer theKey, BiFunction<? super Integer, ? super V, ? extends V> theRemapping) {
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        V value = theRemapping.apply(theKey, slot >= 0 ? value(slot) : null);
+        store(slot, theKey, value);
+        return value;
+    }
+
+    @Override
+    public V merge(Integer theKey, V theValue, BiFunction<? super V, ? super V, ? extends V> theRemapping) {
+        if (theValue == null) {
+            throw new IllegalArgumentException("Cannot merge a null value");
+        }
+        ensureRoomForOneMore();
+        int slot = probe(theKey);
+        V value = slot >= 0 ? theRemapping.apply(value(slot), theValue) : theValue;
+        store(slot, theKey, value);
+        return value;
+    }
+
+    // ======================  removing ===========================
+
+    @Override
+    public V delete(Integer key) {
+        return deleteInt(key.intValue());
+    }
+
+    /**
+     * Primitive delete, does not box the key.
+     * @param theKey the key of the object to remove.
+     * @return the removed value or null if not found.
+     */
+    public V deleteInt(int theKey) {
+        int slot = findSlot(theKey);
+        return slot < 0 ? null : removeAt(slot);
+    }
+
+    @Override
+    public Entry<Integer,V> remove(Integer key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : new Entry<>(key, removeAt(slot));
+    }
+
+    @Override
+    public void clear() {
+        allocate(myKeys.length);
+        size = 0;
+        resetCounter();
+        resetCollisions();
+    }
+
+    // ======================  iterating ===========================
+
+    @Override
+    public Iterator<Entry<Integer,V>> iterator() {
+        return new Iterator<>() {
+
+            /**
+             * the first slot of the group being read.
+             */
+            int base = -GROUP_SIZE;
+
+            /**
+             * the full slots of that group not yet returned.
+             */
+            int full = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (full == 0) {
+                    base += GROUP_SIZE;
+                    if (base >= myKeys.length) {
+                        return false;
+                    }
+                    full = ~MATCHER.matchFree(myControl, base) & 0xFFFF;
+                }
+                return true;
+            }
+
+            @Override
+            public Entry<Integer, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Empty");
+                }
+                int slot = base + Integer.numberOfTrailingZeros(full);
+                full &= full - 1;
+                return new Entry<>(myKeys[slot], value(slot));
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<Integer, V> entry : this) {
+            sb.append("{");
+            sb.append(entry.toString());
+            sb.append("}, ");
+        }
+        return sb.toString();
+    }
+
+    // ====================   private helper methods =========================
+
+    private void allocate(int theCapacity) {
+        myControl = new byte[theCapacity];
+        Arrays.fill(myControl, EMPTY);
+        myKeys = new int[theCapacity];
+        myValues = new Object[theCapacity];
+        myGroupMask = theCapacity / GROUP_SIZE - 1;
+        myGrowthLimit = (int) (theCapacity * LOAD_FACTOR_TOLLERANCE);
+        myTombstones = 0;
+    }
+
+    private static int tableSizeFor(int theCapacity) {
+        int n = Integer.highestOneBit(Math.max(GROUP_SIZE, theCapacity));
+        return n == Math.max(GROUP_SIZE, theCapacity) ? n : n << 1;
+    }
+
+    private int hash(int theKey) {
+        return myHashStrategy.spread(theKey);
+    }
+
+    private int homeGroup(int theHash) {
+        return (theHash >>> 7) & myGroupMask;
+    }
+
+    /**
+     * @return the slot holding {@code theKey} or -1 if not present.
+     */
+    private int findSlot(int theKey) {
+        int hash = hash(theKey);
+        int fingerprint = hash & 0x7F;
+        int group = homeGroup(hash);
+        for (int step = 1; ; step++) {
+            int base = group * GROUP_SIZE;
+            int slot = matchKey(MATCHER.matchFingerprint(myControl, base, fingerprint), base, theKey);
+            if (slot >= 0) {
+                return slot;
+            }
+            if (MATCHER.matchEmpty(myControl, base) != 0) {
+                return -1;
+            }
+            group = (group + step) & myGroupMask;
+        }
+    }
+
+    /**
+     * Compares theKey with the key of every slot flagged in theMatches.
+     * @return the slot holding theKey, or -1.
+     */
+    private int matchKey(int theMatches, int theBase, int theKey) {
+        int matches = theMatches;
+        while (matches != 0) {
+            int slot = theBase + Integer.numberOfTrailingZeros(matches);
+            myCounter.increment(Operation.COMPARISONS);
+            if (myKeys[slot] == theKey) {
+                return slot;
+            }
+            matches &= matches - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Walks the probe sequence of {@code theKey} once.
+     * @return the slot holding {@code theKey}, or {@code -(slot + 1)} of the
+     * first free slot of the sequence, where a new entry for it goes.
+     */
+    private int probe(int theKey) {
+        int hash = hash(theKey);
+        int fingerprint = hash & 0x7F;
+        int group = homeGroup(hash);
+        int free = -1;
+        for (int step = 1; ; step++) {
+            int base = group * GROUP_SIZE;
+            int slot = matchKey(MATCHER.matchFingerprint(myControl, base, fingerprint), base, theKey);
+            if (slot >= 0) {
+                return slot;
+            }
+            if (free < 0) {
+                int freeSlots = MATCHER.matchFree(myControl, base);
+                if (freeSlots != 0) {
+                    free = base + Integer.numberOfTrailingZeros(freeSlots);
+                    if (step > 1) {
+                        // the home group was full.
+                        myCollisions++;
+                    }
+                }
+            }
+            if (MATCHER.matchEmpty(myControl, base) != 0) {
+                return -free - 1;
+            }
+            group = (group + step) & myGroupMask;
+        }
+    }
+
+    /**
+     * Puts a new key into the free slot {@link #probe(int)} found. Assumes there is room in the table.
+     */
+    private void place(int theSlot, int theKey, Object theValue) {
+        if (myControl[theSlot] == DELETED) {
+            myTombstones--;
+        }
+        myControl[theSlot] = (byte) (hash(theKey) & 0x7F);
+        myKeys[theSlot] = theKey;
+        myValues[theSlot] = theValue;
+        size++;
+    }
+
+    /**
+     * Stores the result of a compute or merge at the slot {@link #probe(int)} returned:
+     * updates a found key, adds a missing one and removes the key if theValue is null.
+     */
+    private void store(int theProbe, int theKey, V theValue) {
+        if (theProbe >= 0) {
+            if (theValue == null) {
+                removeAt(theProbe);
+            } else {
+                myValues[theProbe] = theValue;
+            }
+        } else if (theValue != null) {
+            place(-theProbe - 1, theKey, theValue);
+        }
+    }
+
+    /**
+     * Frees a slot. A probe only passes a group with no empty slot, so the
+     * slot can be emptied unless its group has none, then it becomes a tombstone.
+     * @return the removed value.
+     */
+    private V removeAt(int theSlot) {
+        V removed = value(theSlot);
+        int base = theSlot & -GROUP_SIZE;
+        if (MATCHER.matchEmpty(myControl, base) != 0) {
+            myControl[theSlot] = EMPTY;
+        } else {
+            myControl[theSlot] = DELETED;
+            myTombstones++;
+        }
+        myKeys[theSlot] = 0;
+        myValues[theSlot] = null;
+        size--;
+        return removed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int theSlot) {
+        return (V) myValues[theSlot];
+    }
+
+    /**
+     * Rebuilds the table first if adding a key could use up the last free
+     * slots, so a probe's slot is still valid when the key is placed. Mostly
+     * tombstones are cleared at the same capacity, otherwise the table doubles.
+     */
+    private void ensureRoomForOneMore() {
+        if (size + myTombstones + 1 > myGrowthLimit) {
+            boolean halfFull = size + 1 > myGrowthLimit / 2;
+            rebuild(halfFull ? myKeys.length * 2 : myKeys.length);
+        }
+    }
+
+    private void rebuild(int theCapacity) {
+        byte[] oldControl = myControl;
+        int[] oldKeys = myKeys;
+        Object[] oldValues = myValues;
+
+        allocate(theCapacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldControl[i] >= 0) {
+                place(-probe(oldKeys[i]) - 1, oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    // ====================   operation counting =========================
+
+    @Override
+    public int getSwaps() {
+        return (int) myCounter.getCount(Operation.SWAPS);
+    }
+
+    @Override
+    public int getComparisons() {
+        return (int) myCounter.getCount(Operation.COMPARISONS);
+    }
+
+    @Override
+    public void resetCounter() {
+        myCounter.resetAll();
+    }
+
+    @Override
+    public int getCollisions() {
+        return myCollisions;
+    }
+
+    @Override
+    public void resetCollisions() {
+        myCollisions = 0;
+    }
+
+    /**
+     * @return the number of free slots at index 0, then the number of keys
+     * found in the i-th group of their probe sequence at index i.
+     */
+    @Override
+    public int[] probeLengthHistogram() {
+        int[] histogram = new int[2];
+        for (int slot = 0; slot < myKeys.length; slot++) {
+            if (myControl[slot] < 0) {
+                histogram[0]++;
+                continue;
+            }
+            int target = slot / GROUP_SIZE;
+            int group = homeGroup(hash(myKeys[slot]));
+            int groups = 1;
+            while (group != target) {
+                group = (group + groups) & myGroupMask;
+                groups++;
+            }
+            if (groups >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, groups + 1);
+            }
+            histogram[groups]++;
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,42 @@
+package util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link GroupMatcher} built on the incubating Vector API: loads a
+ * group's 16 control bytes into one 128 bit {@link ByteVector} and compares
+ * them in a single lane wise instruction, the mask comes back as one bit per
+ * slot. Only {@link GroupMatcher#create()} refers to this class, and only when
+ * the {@code jdk.incubator.vector} module is present.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+final class VectorGroupMatcher implements GroupMatcher {
+
+    private static final VectorSpecies<Byte> GROUP = ByteVector.SPECIES_128;
+
+    private static final byte EMPTY = (byte) 0x80;
+
+    @Override
+    public int matchFingerprint(byte[] theControl, int theBase, int theFingerprint) {
+        return (int) ByteVector.fromArray(GROUP, theControl, theBase).eq((byte) theFingerprint).toLong();
+    }
+
+    @Override
+    public int matchEmpty(byte[] theControl, int theBase) {
+        return (int) ByteVector.fromArray(GROUP, theControl, theBase).eq(EMPTY).toLong();
+    }
+
+    @Override
+    public int matchFree(byte[] theControl, int theBase) {
+        return (int) ByteVector.fromArray(GROUP, theControl, theBase)
+                .compare(VectorOperators.LT, (byte) 0).toLong();
+    }
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+}
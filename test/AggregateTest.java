@@ -0,0 +1,286 @@
+import manager.Aggregate;
+import manager.PlayerManager;
+import org.junit.jupiter.api.Test;
+import types.PlayerEnhanced;
+import types.Position;
+import util.CuckooHashTable;
+import util.EnumDictionary;
+import util.Entry;
+import util.HashStrategy;
+import util.HashTable;
+import util.IntHashTable;
+import util.PersistentHashTable;
+import util.RoaringBitmap;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the aggregates a PlayerManager keeps up to date,
+ * checked against recomputing them from every player.
+ * @author Chris Chun, Ayush
+ * @version 1.5
+ */
+public class AggregateTest {
+
+    final static String PLAYER_500 = "data/seahawks_players_500.csv";
+
+    @Test
+    void randomWritesMatchRecomputation() throws Exception {
+        PlayerManager PM = PlayerManager.withIndexes();
+        Aggregate<? super PlayerEnhanced, Position> maxYards =
+                PM.registerAggregate(Aggregate.max(Position.class, PlayerEnhanced::position, PlayerEnhanced::yards));
+        Aggregate<? super PlayerEnhanced, Position> minTouchdowns =
+                PM.registerAggregate(Aggregate.min(Position.class, PlayerEnhanced::position, PlayerEnhanced::touchdowns));
+        Aggregate<? super PlayerEnhanced, Boolean> injuredYards =
+                PM.registerAggregate(Aggregate.sum(Boolean.class, PlayerEnhanced::injured, PlayerEnhanced::yards));
+
+        Random random = new Random(23);
+        for (int step = 0; step < 5000; step++) {
+            PlayerEnhanced player = randomPlayer(random);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> PM.addPlayer(player);
+                case 2 -> PM.removePlayer(player);
+                default -> {
+                    if (PM.searchByPlayerId(player.id()) != null) {
+                        PM.updatePlayerStats(player);
+                    }
+                }
+            }
+            if (step % 250 == 0) {
+                assertMatchesRecomputation(PM, maxYards, minTouchdowns, injuredYards);
+            }
+        }
+        assertMatchesRecomputation(PM, maxYards, minTouchdowns, injuredYards);
+
+        PM.loadCsvData(PLAYER_500);
+        assertMatchesRecomputation(PM, maxYards, minTouchdowns, injuredYards);
+
+        PM.clearData();
+        assertAll("cleared",
+                () -> assertEquals(0, PM.countInjuredPlayers()),
+                () -> assertTrue(PM.computeTotalYardsByPosition().isEmpty()),
+                () -> assertEquals(0, maxYards.groups()),
+                () -> assertThrows(NoSuchElementException.class, () -> maxYards.get(Position.QB)),
+                () -> assertEquals(0, injuredYards.get(true))
+        );
+    }
+
+    @Test
+    void snapshotsAndDirectWritesAreRefreshed() throws Exception {
+        PlayerManager PM = PlayerManager.withIndexes(PersistentHashTable::new);
+        PM.loadCsvData(PLAYER_500);
+        PersistentHashTable<Integer, PlayerEnhanced> snapshot = PM.snapshot();
+        int injured = PM.countInjuredPlayers();
+
+        for (int i = 0; i < 100; i++) {
+            PM.addPlayer(new PlayerEnhanced(9000 + i, "Extra " + i, Position.K, 10, 0, true));
+        }
+        assertEquals(injured + 100, PM.countInjuredPlayers());
+        PM.restore(snapshot);
+        assertEquals(injured, PM.countInjuredPlayers());
+
+        PM.getData().put(9999, new PlayerEnhanced(9999, "Direct", Position.K, 10, 0, true));
+        assertEquals(injured, PM.countInjuredPlayers(), "writes through getData() are not seen");
+        PM.refreshAggregates();
+        assertEquals(injured + 1, PM.countInjuredPlayers());
+    }
+
+    @Test
+    void addingOverARecordProbesOnce() throws Exception {
+        PlayerManager PM = PlayerManager.withIndexes(IntHashTable::new);
+        PM.loadCsvData(PLAYER_500);
+        PlayerEnhanced player = PM.getData().iterator().next().value();
+        int injured = PM.countInjuredPlayers();
+        PM.resetCounter();
+        PM.searchById(player.id());
+        int lookup = PM.getComparisons();
+        PM.resetCounter();
+        PM.addPlayer(new PlayerEnhanced(player.id(), player.name(), player.position(),
+                player.yards(), player.touchdowns(), !player.injured()));
+
+        assertAll("replacing add",
+                () -> assertEquals(lookup, PM.getComparisons(), "the old record is found by the put's own probe"),
+                () -> assertEquals(injured + (player.injured() ? -1 : 1), PM.countInjuredPlayers())
+        );
+    }
+
+    @Test
+    void mergedRecordsAreAggregated() {
+        PlayerManager PM = PlayerManager.withIndexes(IntHashTable::new);
+        PM.addPlayer(new PlayerEnhanced(1, "One", Position.QB, 30, 1, false));
+        PlayerEnhanced injured = new PlayerEnhanced(1, "One", Position.QB, 50, 2, true);
+        PlayerEnhanced added = new PlayerEnhanced(2, "Two", Position.TE, 20, 0, true);
+
+        PlayerEnhanced merged = PM.mergeRecord(injured, (current, given) -> new PlayerEnhanced(current.id(),
+                current.name(), current.position(), current.yards() + given.yards(), current.touchdowns(), true));
+        assertAll("merge",
+                () -> assertEquals(80, merged.yards()),
+                () -> assertSame(merged, PM.searchById(1)),
+                () -> assertSame(added, PM.mergeRecord(added, (current, given) -> current)),
+                () -> assertEquals(2, PM.countInjuredPlayers()),
+                () -> assertEquals(80, PM.getTotalYardsByPosition(Position.QB)),
+                () -> assertEquals(1, PM.countInjuredPlayersByPosition(Position.TE)),
+                () -> assertThrows(IllegalArgumentException.class, () -> PM.mergeRecord(added, (current, given) -> null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> PM.mergeRecord(null, (current, given) -> given)),
+                () -> assertEquals(2, PM.getData().size())
+        );
+    }
+
+    @Test
+    void managersWithoutIndexesScanForTheSameAnswers() throws Exception {
+        PlayerManager indexed = PlayerManager.withIndexes();
+        PlayerManager scanning = new PlayerManager();
+        indexed.loadCsvData(PLAYER_500);
+        scanning.loadCsvData(PLAYER_500);
+        Random random = new Random(41);
+        for (int step = 0; step < 2000; step++) {
+            PlayerEnhanced player = randomPlayer(random);
+            if (random.nextBoolean()) {
+                indexed.addPlayer(player);
+                scanning.addPlayer(player);
+            } else {
+                indexed.removePlayer(player);
+                scanning.removePlayer(player);
+            }
+        }
+
+        assertAll("scans",
+                () -> assertTrue(indexed.hasIndexes()),
+                () -> assertFalse(scanning.hasIndexes()),
+                () -> assertEquals(indexed.countInjuredPlayers(), scanning.countInjuredPlayers()),
+                () -> assertEquals(indexed.computeTotalYardsByPosition().size(),
+                        scanning.computeTotalYardsByPosition().size()),
+                () -> assertThrows(IllegalStateException.class, () -> scanning.playersByInjury(true)),
+                () -> assertThrows(IllegalStateException.class, () -> scanning.listPlayers(new RoaringBitmap()))
+        );
+        for (Position position : Position.values()) {
+            assertAll(position.name(),
+                    () -> assertEquals(indexed.computeTotalYardsByPosition().get(position),
+                            scanning.computeTotalYardsByPosition().get(position)),
+                    () -> assertEquals(indexed.countPlayersByPosition(position),
+                            scanning.countPlayersByPosition(position)),
+                    () -> assertEquals(indexed.countInjuredPlayersByPosition(position),
+                            scanning.countInjuredPlayersByPosition(position)),
+                    () -> assertEquals(indexed.listPlayersByPosition(position).size(),
+                            scanning.listPlayersByPosition(position).size()),
+                    () -> assertEquals(indexed.listInjuredPlayersByPosition(position).size(),
+                            scanning.listInjuredPlayersByPosition(position).size())
+            );
+        }
+    }
+
+    @Test
+    void malformedReloadLeavesAggregatesMatchingTheTable() throws Exception {
+        PlayerManager PM = PlayerManager.withIndexes();
+        PM.loadCsvData("data/seahawks_players_50.csv");
+        assertTrue(PM.countPlayersByPosition(Position.QB) > 0);
+
+        // rows 1 to 10 load, row 11 is missing its columns.
+        assertThrows(IllegalArgumentException.class, () -> PM.loadCsvData("test/badFormatPlayersEnhanced.csv"));
+
+        assertAll("partial load",
+                () -> assertEquals(10, PM.getData().size()),
+                () -> assertEquals(5, PM.countInjuredPlayers()),
+                () -> assertEquals(0, PM.countPlayersByPosition(Position.QB)),
+                () -> assertEquals(2, PM.countPlayersByPosition(Position.WR)),
+                () -> assertEquals(1840, PM.getTotalYardsByPosition(Position.WR)),
+                () -> assertEquals(3, PM.countInjuredPlayersByPosition(Position.WR)
+                        + PM.countInjuredPlayersByPosition(Position.TE))
+        );
+    }
+
+    @Test
+    void rejectedWritesAreNotAggregated() {
+        // with no mixing, ids 2^16 apart share both cuckoo buckets, the 13th cannot be placed.
+        PlayerManager PM = PlayerManager.withIndexes(() -> new CuckooHashTable<>(16, HashStrategy.IDENTITY));
+        int added = 0;
+        try {
+            for (int i = 1; i <= 13; i++) {
+                PM.addPlayer(new PlayerEnhanced(i << 16, "Player " + i, Position.QB, 10, 1, true));
+                added++;
+            }
+            fail("the 13th id should be rejected");
+        } catch (IllegalStateException expected) {
+            // the table keeps the first 12 players.
+        }
+        int stored = added;
+
+        assertAll("rejected add",
+                () -> assertEquals(12, stored),
+                () -> assertEquals(12, PM.getData().size()),
+                () -> assertEquals(12, PM.countInjuredPlayers()),
+                () -> assertEquals(12, PM.countPlayersByPosition(Position.QB)),
+                () -> assertEquals(120, PM.getTotalYardsByPosition(Position.QB)),
+                () -> assertEquals(12, PM.listInjuredPlayersByPosition(Position.QB).size())
+        );
+    }
+
+    @Test
+    void registrationIsChecked() {
+        PlayerManager PM = new PlayerManager();
+        PM.addPlayer(new PlayerEnhanced(1, "One", Position.QB, 30, 1, false));
+        PM.addPlayer(new PlayerEnhanced(2, "Two", Position.QB, 50, 2, false));
+        Aggregate<? super PlayerEnhanced, Position> count =
+                PM.registerAggregate(Aggregate.count(Position.class, PlayerEnhanced::position));
+
+        assertAll("registration",
+                () -> assertEquals(2, count.get(Position.QB), "existing players are counted"),
+                () -> assertEquals(0, count.get(Position.K)),
+                () -> assertEquals(Aggregate.Kind.COUNT, count.getKind()),
+                () -> assertEquals(2L, count.toDictionary().get(Position.QB)),
+                () -> assertThrows(IllegalArgumentException.class, () -> PM.registerAggregate(count)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new PlayerManager().registerAggregate(count)),
+                () -> assertThrows(IllegalArgumentException.class, () -> PM.registerAggregate(null)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> Aggregate.<PlayerEnhanced, Position>count(Position.class, null))
+        );
+    }
+
+    private static PlayerEnhanced randomPlayer(Random theRandom) {
+        int id = 1 + theRandom.nextInt(300);
+        Position position = Position.values()[theRandom.nextInt(Position.values().length)];
+        return new PlayerEnhanced(id, "Player " + id, position,
+                theRandom.nextInt(2000) - 100, theRandom.nextInt(20), theRandom.nextBoolean());
+    }
+
+    private static void assertMatchesRecomputation(PlayerManager thePM,
+                                                   Aggregate<? super PlayerEnhanced, Position> theMaxYards,
+                                                   Aggregate<? super PlayerEnhanced, Position> theMinTouchdowns,
+                                                   Aggregate<? super PlayerEnhanced, Boolean> theInjuredYards) {
+        int injured = 0;
+        long injuredYards = 0;
+        HashTable<Position, Integer> yards = new HashTable<>(Position.class, Integer.class);
+        HashTable<Position, Integer> maxYards = new HashTable<>(Position.class, Integer.class);
+        HashTable<Position, Integer> minTouchdowns = new HashTable<>(Position.class, Integer.class);
+        for (Entry<Integer, PlayerEnhanced> entry : thePM.getData()) {
+            PlayerEnhanced player = entry.value();
+            if (player.injured()) {
+                injured++;
+                injuredYards += player.yards();
+            }
+            yards.merge(player.position(), player.yards(), Integer::sum);
+            maxYards.merge(player.position(), player.yards(), Math::max);
+            minTouchdowns.merge(player.position(), player.touchdowns(), Math::min);
+        }
+
+        assertEquals(injured, thePM.countInjuredPlayers());
+        assertEquals(injuredYards, theInjuredYards.get(true));
+        EnumDictionary<Position, Integer> totals = thePM.computeTotalYardsByPosition();
+        assertEquals(yards.size(), totals.size());
+        assertEquals(maxYards.size(), theMaxYards.groups());
+        for (Position position : Position.values()) {
+            assertEquals(yards.get(position), totals.get(position), position.name());
+            if (yards.containsKey(position)) {
+                assertEquals(yards.get(position), thePM.getTotalYardsByPosition(position));
+                assertEquals(maxYards.get(position).longValue(), theMaxYards.get(position));
+                assertEquals(minTouchdowns.get(position).longValue(), theMinTouchdowns.get(position));
+            } else {
+                assertFalse(theMaxYards.contains(position));
+            }
+        }
+    }
+}
@@ -1,7 +1,8 @@
 import benchmark.BenchmarkRunner;
+import benchmark.BenchmarkStats;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class BenchmarkRunnerTest {
     private static int myCount = 0;
@@ -14,6 +15,39 @@ public class BenchmarkRunnerTest {
                 "The BenchmarkRunner should run the task " + numberOfTimesToRunTest);
     }
 
+    @Test
+    public void testWarmupAndStats() {
+        final int[] setups = {0};
+        final int[] runs = {0};
+        final BenchmarkRunner runner = new BenchmarkRunner(3);
+        BenchmarkStats stats = runner.runWithStats(10, () -> setups[0]++, () -> runs[0]++);
+
+        assertAll("warmup runs are not timed",
+                () -> assertEquals(13, runs[0]),
+                () -> assertEquals(13, setups[0]),
+                () -> assertEquals(10, stats.samples()),
+                () -> assertTrue(stats.min() <= stats.p50()),
+                () -> assertTrue(stats.p50() <= stats.p90()),
+                () -> assertTrue(stats.p90() <= stats.p99()),
+                () -> assertTrue(stats.p99() <= stats.max()),
+                () -> assertThrows(IllegalArgumentException.class, () -> new BenchmarkRunner(-1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> runner.runWithStats(0, () -> {}, () -> {}))
+        );
+    }
+
+    @Test
+    public void testAllocationPerRun() {
+        final BenchmarkRunner runner = new BenchmarkRunner(0);
+        BenchmarkStats stats = runner.runWithStats(5, () -> {}, () -> {
+            long[] garbage = new long[128 * 1024];
+            assertEquals(128 * 1024, garbage.length);
+        });
+        if (stats.hasAllocation()) {
+            // a 1MB array is allocated on every run
+            assertTrue(stats.allocatedBytes() >= 1024 * 1024, "allocated " + stats.allocatedBytes());
+        }
+    }
+
     private void incrementCount() {
         myCount += 1;
     }
@@ -0,0 +1,111 @@
+import org.junit.jupiter.api.Test;
+import util.CompactHashTable;
+import util.Entry;
+import util.MapContainer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for CompactHashTable, the shared map tests are in {@link IntKeyedMapContainerTest}.
+ * @author Chris Chun, Ayush
+ * @version 1.2
+ */
+public class CompactHashTableTest extends IntKeyedMapContainerTest {
+
+    @Override
+    protected <V> MapContainer<Integer, V> newTable() {
+        return new CompactHashTable<>();
+    }
+
+    /**
+     * the entry arrays hold two thirds of the index size.
+     */
+    @Override
+    protected double maxLoadFactor() {
+        return 2.0 / 3;
+    }
+
+    private static <V> List<Integer> keys(CompactHashTable<V> theTable) {
+        List<Integer> keys = new ArrayList<>();
+        for (Entry<Integer, V> entry : theTable) {
+            keys.add(entry.key());
+        }
+        return keys;
+    }
+
+    @Test
+    void iteratesInInsertionOrder() {
+        CompactHashTable<String> table = new CompactHashTable<>();
+        int[] ids = {50, 3, 1001, -4, 17, 900, 2, 65536};
+        for (int id : ids) {
+            table.putInt(id, "player " + id);
+        }
+        table.putInt(3, "updated keeps its place");
+        table.deleteInt(1001);
+        table.putInt(1001, "re-added goes last");
+
+        assertAll("order",
+                () -> assertEquals(List.of(50, 3, -4, 17, 900, 2, 65536, 1001), keys(table)),
+                () -> assertEquals("updated keeps its place", table.getInt(3)),
+                () -> assertEquals(1, table.holes())
+        );
+    }
+
+    @Test
+    void matchesALinkedHashMapUnderRandomChanges() {
+        CompactHashTable<Integer> random = new CompactHashTable<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        Random rng = new Random(21);
+        for (int i = 0; i < 100_000; i++) {
+            int key = rng.nextInt(20_000);
+            if (rng.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), random.deleteInt(key));
+            } else {
+                random.putInt(key, i);
+                expected.put(key, i);
+            }
+        }
+        List<Integer> values = new ArrayList<>();
+        for (Entry<Integer, Integer> entry : random) {
+            values.add(entry.value());
+        }
+        assertAll("random changes",
+                () -> assertEquals(expected.size(), random.size()),
+                () -> assertEquals(new ArrayList<>(expected.keySet()), keys(random)),
+                () -> assertEquals(new ArrayList<>(expected.values()), values)
+        );
+    }
+
+    @Test
+    void rebuildsCompactHolesWithoutGrowing() {
+        CompactHashTable<Integer> churn = new CompactHashTable<>(100);
+        int capacity = churn.capacity();
+        for (int i = 0; i < 10_000; i++) {
+            churn.putInt(i, i);
+            if (i >= 20) {
+                churn.deleteInt(i - 20);
+            }
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 10_000 - 20; i < 10_000; i++) {
+            expected.add(i);
+        }
+        assertAll("churn",
+                () -> assertEquals(20, churn.size()),
+                () -> assertEquals(expected, keys(churn)),
+                () -> assertTrue(churn.capacity() <= capacity, "holes are dropped, not grown over"),
+                () -> assertTrue(churn.holes() < churn.capacity())
+        );
+    }
+
+    @Test
+    void constructorArgumentsAreChecked() {
+        assertThrows(IllegalArgumentException.class, () -> new CompactHashTable<>(0));
+    }
+}
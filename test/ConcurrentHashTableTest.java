@@ -0,0 +1,300 @@
+import counter.ConcurrentOperationCounter;
+import manager.PlayerManager;
+import org.junit.jupiter.api.Test;
+import types.PlayerEnhanced;
+import types.Position;
+import util.ConcurrentHashTable;
+import util.Entry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for ConcurrentHashTable and ConcurrentOperationCounter
+ * @author Chris Chun, Ayush
+ * @version 1.5
+ */
+public class ConcurrentHashTableTest {
+
+    private static final int THREADS = 8;
+    private static final int KEYS_PER_THREAD = 5000;
+
+    private static void runOnThreads(int theThreads, java.util.function.IntConsumer theTask)
+            throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < theThreads; t++) {
+            final int id = t;
+            Thread thread = new Thread(() -> theTask.accept(id));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Test
+    void putGetDelete() {
+        ConcurrentHashTable<Integer, String> table = new ConcurrentHashTable<>();
+        for (int i = 0; i < 1000; i++) {
+            table.put(i, "v" + i);
+        }
+        table.put(5, "updated");
+
+        assertAll("single threaded behavior",
+                () -> assertEquals(1000, table.size()),
+                () -> assertEquals("updated", table.get(5)),
+                () -> assertEquals("v999", table.delete(999)),
+                () -> assertNull(table.delete(999)),
+                () -> assertFalse(table.containsKey(999)),
+                () -> assertEquals(999, table.size()),
+                () -> assertTrue(table.loadFactor() <= 0.75)
+        );
+    }
+
+    @Test
+    void concurrentPutsAreNotLost() throws InterruptedException {
+        ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<>(4, 16);
+
+        runOnThreads(THREADS, id -> {
+            for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                int key = id * KEYS_PER_THREAD + i;
+                table.put(key, key);
+            }
+        });
+
+        assertEquals(THREADS * KEYS_PER_THREAD, table.size());
+        int count = 0;
+        for (Entry<Integer, Integer> entry : table) {
+            assertEquals(entry.key(), entry.value());
+            count++;
+        }
+        assertEquals(THREADS * KEYS_PER_THREAD, count);
+    }
+
+    @Test
+    void readersSeeEntriesDuringConcurrentWrites() throws InterruptedException {
+        ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<>();
+        for (int i = 0; i < KEYS_PER_THREAD; i++) {
+            table.put(i, i);
+        }
+        List<Integer> misses = java.util.Collections.synchronizedList(new ArrayList<>());
+
+        runOnThreads(THREADS, id -> {
+            for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                if (id % 2 == 0) {
+                    // writers add and remove keys outside the stable range, forcing resizes
+                    int key = KEYS_PER_THREAD * (id + 1) + i;
+                    table.put(key, key);
+                    table.delete(key);
+                } else if (table.get(i) == null) {
+                    misses.add(i);
+                }
+            }
+        });
+
+        assertAll("concurrent reads",
+                () -> assertTrue(misses.isEmpty(), "stable keys should never go missing: " + misses),
+                () -> assertEquals(KEYS_PER_THREAD, table.size())
+        );
+    }
+
+    @Test
+    void concurrentCounterDoesNotLoseUpdates() throws InterruptedException {
+        ConcurrentOperationCounter counter = new ConcurrentOperationCounter();
+
+        runOnThreads(THREADS, id -> {
+            for (int i = 0; i < 10_000; i++) {
+                counter.increment("comparisons");
+            }
+        });
+
+        assertEquals(THREADS * 10_000, counter.getCount("comparisons"));
+        counter.resetAll();
+        assertEquals(0, counter.getCount("comparisons"));
+    }
+
+    @Test
+    void concurrentStatUpdates() throws InterruptedException {
+        PlayerManager PM = new PlayerManager(ConcurrentHashTable::new);
+        for (int i = 1; i <= 100; i++) {
+            PM.addPlayer(new PlayerEnhanced(i, "player " + i, Position.QB, 0, 0, false));
+        }
+
+        runOnThreads(THREADS, id -> {
+            for (int i = 1; i <= 100; i++) {
+                PM.updatePlayerStats(new PlayerEnhanced(i, "player " + i, Position.QB, i, 0, false));
+                PM.searchById(i);
+            }
+        });
+
+        assertAll("PlayerManager on ConcurrentHashTable",
+                () -> assertEquals(100, PM.getData().size()),
+                () -> assertEquals(5050, PM.getTotalYardsByPosition(Position.QB))
+        );
+    }
+
+    @Test
+    void concurrentWritesToOneIdKeepTheFrozenCopyInStep() throws InterruptedException {
+        PlayerManager PM = new PlayerManager(ConcurrentHashTable::new);
+        for (int i = 1; i <= 10; i++) {
+            PM.addPlayer(new PlayerEnhanced(i, "player " + i, Position.QB, 0, 0, false));
+        }
+        PM.freeze();
+
+        runOnThreads(THREADS, t -> {
+            for (int step = 0; step < KEYS_PER_THREAD; step++) {
+                int id = 1 + step % 10;
+                PlayerEnhanced player = new PlayerEnhanced(id, "player " + id, Position.QB, t * step, 0, false);
+                if (step % 2 == 0) {
+                    PM.updatePlayerStats(player);
+                } else {
+                    PM.addPlayer(player);
+                }
+            }
+        });
+
+        assertTrue(PM.isFrozen());
+        for (int i = 1; i <= 10; i++) {
+            assertSame(PM.getData().get(i), PM.searchById(i), "player " + i);
+        }
+    }
+
+    @Test
+    void freezingDuringWritesNeverServesAnOldRecord() throws InterruptedException {
+        PlayerManager PM = new PlayerManager(ConcurrentHashTable::new);
+        for (int i = 1; i <= 100; i++) {
+            PM.addPlayer(new PlayerEnhanced(i, "player " + i, Position.QB, 0, 0, false));
+        }
+
+        Thread freezer = new Thread(() -> {
+            for (int i = 0; i < 200; i++) {
+                PM.freeze();
+            }
+        });
+        freezer.start();
+        runOnThreads(THREADS, t -> {
+            for (int step = 0; step < KEYS_PER_THREAD; step++) {
+                int id = 1 + step % 100;
+                PM.updatePlayerStats(new PlayerEnhanced(id, "player " + id, Position.QB, t * step, 0, false));
+            }
+        });
+        freezer.join();
+
+        assertTrue(PM.isFrozen());
+        for (int i = 1; i <= 100; i++) {
+            assertSame(PM.getData().get(i), PM.searchById(i), "player " + i);
+        }
+    }
+
+    @Test
+    void concurrentWritesKeepAggregatesAndIndexesExact() throws InterruptedException {
+        PlayerManager PM = PlayerManager.withIndexes(() -> new ConcurrentHashTable<>(16, 16));
+        for (int i = 1; i <= 1000; i++) {
+            PM.addPlayer(new PlayerEnhanced(i, "player " + i, Position.QB, i, 0, i % 2 == 0));
+        }
+        List<Throwable> failures = new ArrayList<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            try {
+                while (writing.get()) {
+                    int players = 0;
+                    for (Position position : Position.values()) {
+                        players += PM.countPlayersByPosition(position);
+                        PM.listPlayers(PM.playersByInjury(true));
+                        PM.countInjuredPlayersByPosition(position);
+                    }
+                    assertTrue(players >= 1000, "no update removes a player");
+                    assertTrue(PM.countInjuredPlayers() <= 1000 + THREADS * KEYS_PER_THREAD);
+                    assertFalse(PM.computeTotalYardsByPosition().isEmpty());
+                }
+            } catch (Throwable e) {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            }
+        });
+        reader.start();
+
+        // every thread updates random players and adds then removes players of its own.
+        runOnThreads(THREADS, t -> {
+            try {
+                Random random = new Random(t);
+                for (int step = 0; step < KEYS_PER_THREAD; step++) {
+                    int id = 1 + random.nextInt(1000);
+                    Position position = Position.values()[random.nextInt(Position.values().length)];
+                    PM.updatePlayerStats(new PlayerEnhanced(id, "player " + id, position,
+                            random.nextInt(2000), 0, random.nextBoolean()));
+                    PlayerEnhanced extra = new PlayerEnhanced(10_000 + t * KEYS_PER_THREAD + step,
+                            "extra", position, 10, 0, true);
+                    PM.addPlayer(extra);
+                    if (step % 2 == 0) {
+                        PM.removePlayer(extra);
+                    }
+                }
+            } catch (Throwable e) {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            }
+        });
+        writing.set(false);
+        reader.join();
+        assertEquals(List.of(), failures);
+
+        int injured = 0;
+        int[] players = new int[Position.values().length];
+        int[] injuredPlayers = new int[Position.values().length];
+        long[] yards = new long[Position.values().length];
+        for (Entry<Integer, PlayerEnhanced> entry : PM.getData()) {
+            PlayerEnhanced player = entry.value();
+            int position = player.position().ordinal();
+            players[position]++;
+            yards[position] += player.yards();
+            if (player.injured()) {
+                injured++;
+                injuredPlayers[position]++;
+            }
+        }
+        assertEquals(1000 + THREADS * KEYS_PER_THREAD / 2, PM.getData().size());
+        assertEquals(injured, PM.countInjuredPlayers());
+        for (Position position : Position.values()) {
+            int i = position.ordinal();
+            assertAll(position.name(),
+                    () -> assertEquals(yards[i], players[i] == 0 ? 0 : PM.getTotalYardsByPosition(position)),
+                    () -> assertEquals(players[i], PM.countPlayersByPosition(position)),
+                    () -> assertEquals(players[i], PM.listPlayersByPosition(position).size()),
+                    () -> assertEquals(injuredPlayers[i], PM.countInjuredPlayersByPosition(position))
+            );
+        }
+    }
+
+    @Test
+    void concurrentMergeIsAtomic() throws InterruptedException {
+        ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<>(4, 16);
+        runOnThreads(THREADS, t -> {
+            for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                table.merge(i % 10, 1, Integer::sum);
+                table.computeIfAbsent(1000 + i % 10, key -> t);
+            }
+        });
+
+        int total = 0;
+        for (int key = 0; key < 10; key++) {
+            total += table.get(key);
+        }
+        int finalTotal = total;
+
+        assertAll("atomic merge",
+                () -> assertEquals(THREADS * KEYS_PER_THREAD, finalTotal, "no increments were lost"),
+                () -> assertEquals(20, table.size()),
+                () -> assertEquals(0, table.getOrDefault(-1, 0)),
+                () -> assertNotNull(table.remove(1000)),
+                () -> assertNull(table.remove(1000))
+        );
+    }
+}
@@ -0,0 +1,104 @@
+import org.junit.jupiter.api.Test;
+import util.CuckooHashTable;
+import util.HashStrategy;
+import util.MapContainer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for CuckooHashTable, the shared map tests are in {@link IntKeyedMapContainerTest}.
+ * @author Chris Chun, Ayush
+ * @version 1.3
+ */
+public class CuckooHashTableTest extends IntKeyedMapContainerTest {
+
+    @Override
+    protected <V> MapContainer<Integer, V> newTable() {
+        return new CuckooHashTable<>();
+    }
+
+    @Override
+    protected double maxLoadFactor() {
+        return 0.9;
+    }
+
+    @Test
+    void lookupsReadAtMostTwoBuckets() {
+        CuckooHashTable<String> table = new CuckooHashTable<>();
+        for (int i = 0; i < 50_000; i++) {
+            table.putInt(1001 + 64 * i, "player " + i);
+        }
+        int[] histogram = table.probeLengthHistogram();
+        table.resetCounter();
+        table.getInt(1001 + 64 * 777);
+        int hit = table.getComparisons();
+        table.resetCounter();
+        table.getInt(5);
+        int miss = table.getComparisons();
+        assertAll("bounded probes",
+                () -> assertTrue(table.maxProbeLength() <= 2, "no key needs the stash here"),
+                () -> assertEquals(table.capacity() - table.size(), histogram[0]),
+                () -> assertTrue(hit <= 2 * 4, "two buckets of four slots"),
+                () -> assertTrue(miss <= 2 * 4, "a miss reads the same two buckets")
+        );
+    }
+
+    @Test
+    void collidingKeysFillTheStashThenRehash() {
+        // with no mixing, keys that are multiples of 4 share both buckets of a 4 bucket table.
+        CuckooHashTable<Integer> colliding = new CuckooHashTable<>(16, HashStrategy.IDENTITY);
+        for (int i = 0; i < 12; i++) {
+            colliding.putInt(4 * i, i);
+        }
+        assertAll("stash",
+                () -> assertEquals(4, colliding.stashSize(), "8 keys fill the two buckets, 4 wait in the stash"),
+                () -> assertEquals(0, colliding.getRehashes()),
+                () -> assertEquals(3, colliding.maxProbeLength()),
+                () -> assertEquals(11, colliding.getInt(44))
+        );
+
+        colliding.putInt(48, 12);
+        assertAll("rehash",
+                () -> assertTrue(colliding.getRehashes() > 0),
+                () -> assertTrue(colliding.capacity() > 16, "new seeds cannot split keys that differ only above the mask"),
+                () -> assertEquals(13, colliding.size()),
+                () -> assertEquals(12, colliding.getInt(48)),
+                () -> assertEquals(0, colliding.getInt(0)),
+                () -> assertTrue(colliding.maxProbeLength() <= 3)
+        );
+    }
+
+    @Test
+    void inseparableKeysAreRejectedBeforeTheTableBlowsUp() {
+        // with no mixing, multiples of 2^16 share both buckets at every size below 2^16 buckets.
+        CuckooHashTable<Integer> colliding = new CuckooHashTable<>(16, HashStrategy.IDENTITY);
+        for (int i = 0; i < 12; i++) {
+            colliding.putInt(i << 16, i);
+        }
+        assertThrows(IllegalStateException.class, () -> colliding.putInt(12 << 16, 12));
+
+        int found = 0;
+        for (int i = 0; i < 12; i++) {
+            if (Integer.valueOf(i).equals(colliding.getInt(i << 16))) {
+                found++;
+            }
+        }
+        int finalFound = found;
+        colliding.putInt(5, 5);
+        assertAll("left as it was",
+                () -> assertEquals(12, finalFound),
+                () -> assertFalse(colliding.containsInt(12 << 16)),
+                () -> assertEquals(16, colliding.capacity(), "the failed rebuilds are dropped"),
+                () -> assertEquals(5, colliding.getInt(5)),
+                () -> assertEquals(13, colliding.size())
+        );
+    }
+
+    @Test
+    void constructorArgumentsAreChecked() {
+        assertAll("constructor",
+                () -> assertThrows(IllegalArgumentException.class, () -> new CuckooHashTable<>(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new CuckooHashTable<>(16, null))
+        );
+    }
+}
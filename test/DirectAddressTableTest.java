@@ -0,0 +1,195 @@
+import manager.PlayerManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import types.PlayerEnhanced;
+import types.Position;
+import util.DirectAddressTable;
+import util.Entry;
+import util.HashTable;
+import util.IntHashTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for DirectAddressTable
+ * @author Chris Chun, Ayush
+ * @version 1.2
+ */
+public class DirectAddressTableTest {
+
+    final static String PLAYER_50 = "data/seahawks_players_50.csv";
+    final static String PLAYER_5000 = "data/seahawks_players_5000.csv";
+
+    private DirectAddressTable<String> table;
+
+    @BeforeEach
+    void setup() {
+        table = new DirectAddressTable<>();
+    }
+
+    @Test
+    void ascendingKeysGrowTheWindow() {
+        for (int id = 1001; id <= 6000; id++) {
+            table.putInt(id, "player " + id);
+        }
+        assertAll("dense keys",
+                () -> assertEquals(5000, table.size()),
+                () -> assertEquals(0, table.overflowSize()),
+                () -> assertEquals(1001, table.windowStart()),
+                () -> assertEquals("player 1001", table.getInt(1001)),
+                () -> assertEquals("player 6000", table.getInt(6000)),
+                () -> assertNull(table.getInt(1000)),
+                () -> assertNull(table.getInt(6001)),
+                () -> assertTrue(table.loadFactor() >= 0.5)
+        );
+    }
+
+    @Test
+    void outliersGoToTheOverflow() {
+        DirectAddressTable<String> dense = new DirectAddressTable<>(10, 19);
+        dense.putInt(15, "inside");
+        dense.putInt(Integer.MAX_VALUE, "max");
+        dense.putInt(Integer.MIN_VALUE, "min");
+        dense.putInt(-1_000_000, "far below");
+        assertAll("outliers",
+                () -> assertEquals(4, dense.size()),
+                () -> assertEquals(3, dense.overflowSize()),
+                () -> assertEquals(10, dense.windowLength()),
+                () -> assertEquals("inside", dense.getInt(15)),
+                () -> assertEquals("max", dense.getInt(Integer.MAX_VALUE)),
+                () -> assertEquals("min", dense.getInt(Integer.MIN_VALUE)),
+                () -> assertEquals("far below", dense.deleteInt(-1_000_000)),
+                () -> assertFalse(dense.containsInt(-1_000_000)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new DirectAddressTable<>(5, 4)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new DirectAddressTable<>(Integer.MIN_VALUE, Integer.MAX_VALUE))
+        );
+    }
+
+    @Test
+    void growingMovesCoveredOverflowKeys() {
+        table.putInt(100, "first");
+        table.putInt(105, "outlier");
+        assertEquals(1, table.overflowSize());
+        // each key past the end doubles the window, the third doubling reaches 105.
+        for (int id = 101; id <= 104; id++) {
+            table.putInt(id, "player " + id);
+        }
+        assertAll("migration",
+                () -> assertEquals(0, table.overflowSize()),
+                () -> assertEquals(6, table.size()),
+                () -> assertEquals(8, table.windowLength()),
+                () -> assertEquals("outlier", table.getInt(105)),
+                () -> assertEquals(List.of(100, 101, 102, 103, 104, 105), keys(table))
+        );
+    }
+
+    @Test
+    void nullValuesArePresent() {
+        table.putInt(7, null);
+        assertAll("null values",
+                () -> assertTrue(table.containsInt(7)),
+                () -> assertEquals(1, table.size()),
+                () -> assertEquals("default", table.getOrDefault(8, "default")),
+                () -> assertNull(table.getOrDefault(7, "default")),
+                () -> assertNull(table.putIfAbsent(7, "replaced")),
+                () -> assertNull(table.getInt(7)),
+                () -> assertEquals(7, table.remove(7).key()),
+                () -> assertTrue(table.isEmpty())
+        );
+    }
+
+    @Test
+    void singleProbeOperations() {
+        DirectAddressTable<Integer> counts = new DirectAddressTable<>(0, 9);
+        for (int i = 0; i < 30; i++) {
+            counts.merge(i % 3, 1, Integer::sum);
+        }
+        counts.merge(1_000, 5, Integer::sum);
+        assertAll("merge and compute",
+                () -> assertEquals(10, counts.getInt(0)),
+                () -> assertEquals(10, counts.getInt(2)),
+                () -> assertEquals(5, counts.getInt(1_000)),
+                () -> assertEquals(4, counts.computeIfAbsent(4, key -> key)),
+                () -> assertNull(counts.compute(0, (key, value) -> null)),
+                () -> assertFalse(counts.containsInt(0)),
+                () -> assertEquals(4, counts.size()),
+                () -> assertThrows(IllegalArgumentException.class, () -> counts.merge(1, null, Integer::sum))
+        );
+    }
+
+    @Test
+    void windowLookupsTakeOneComparison() {
+        for (int id = 0; id < 100; id++) {
+            table.putInt(id, "player " + id);
+        }
+        table.resetCounter();
+        table.getInt(50);
+        table.getInt(99);
+        int[] histogram = table.probeLengthHistogram();
+        assertAll("cost",
+                () -> assertEquals(2, table.getComparisons()),
+                () -> assertEquals(0, table.getCollisions()),
+                () -> assertEquals(100, histogram[1]),
+                () -> assertEquals(1, table.maxProbeLength())
+        );
+    }
+
+    @Test
+    void managerPicksTheTableFromTheIds() throws Exception {
+        PlayerManager PM = new PlayerManager();
+        PM.loadCsvData(PLAYER_5000);
+        PlayerManager open = new PlayerManager(IntHashTable::new);
+        open.loadCsvData(PLAYER_5000);
+
+        List<PlayerEnhanced> mismatched = new ArrayList<>();
+        for (Entry<Integer, PlayerEnhanced> entry : open.getData()) {
+            if (!entry.value().equals(PM.searchById(entry.key()))) {
+                mismatched.add(entry.value());
+            }
+        }
+        PM.addPlayer(new PlayerEnhanced(97, "Ayush", Position.QB, 1000, 110, false));
+
+        assertAll("dense csv ids",
+                () -> assertEquals(DirectAddressTable.class, PM.getData().getClass()),
+                () -> assertEquals(IntHashTable.class, open.getData().getClass(),
+                        "a table chosen by the caller is kept"),
+                () -> assertEquals(List.of(), mismatched),
+                () -> assertEquals(5001, PM.getData().size()),
+                () -> assertEquals("Ayush", PM.searchById(97).name()),
+                () -> assertEquals(open.countInjuredPlayers(), PM.countInjuredPlayers())
+        );
+
+        // a smaller file loads into a new window grown over its ids, not the window of the last load.
+        PM.loadCsvData(PLAYER_50);
+        assertAll("reload",
+                () -> assertEquals(50, PM.getData().size()),
+                () -> assertEquals(0, ((DirectAddressTable<PlayerEnhanced>) PM.getData()).overflowSize()),
+                () -> assertTrue(((DirectAddressTable<PlayerEnhanced>) PM.getData()).windowLength() < 100),
+                () -> assertNull(PM.searchById(97))
+        );
+    }
+
+    @Test
+    void sparseIdsStayHashed() {
+        assertAll("density",
+                () -> assertTrue(DirectAddressTable.isDense(1001, 6000, 5000)),
+                () -> assertTrue(DirectAddressTable.isDense(0, 9, 5)),
+                () -> assertFalse(DirectAddressTable.isDense(0, 9, 4)),
+                () -> assertFalse(DirectAddressTable.isDense(Integer.MIN_VALUE, Integer.MAX_VALUE, 5000)),
+                () -> assertFalse(DirectAddressTable.isDense(0, 0, 0)),
+                () -> assertEquals(HashTable.class, new PlayerManager().getData().getClass())
+        );
+    }
+
+    private static List<Integer> keys(Iterable<Entry<Integer, String>> theEntries) {
+        List<Integer> keys = new ArrayList<>();
+        for (Entry<Integer, String> entry : theEntries) {
+            keys.add(entry.key());
+        }
+        return keys;
+    }
+}
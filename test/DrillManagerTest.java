@@ -32,6 +32,19 @@ public class DrillManagerTest {
 
     // ================= Heap Correctness =================
 
+    @Test
+    void testLoadDrillsBuildsHeap() throws IOException {
+        drillManager.loadDrills("data/seahawks_drills_5000.csv");
+        assertEquals(5000, heap.size(), "Heap should hold every drill in the csv");
+
+        int previousUrgency = Integer.MAX_VALUE;
+        while (!heap.isEmpty()) {
+            Drill next = drillManager.removeData();
+            assertTrue(next.urgency() <= previousUrgency, "Drills should come out by urgency");
+            previousUrgency = next.urgency();
+        }
+    }
+
     @Test
     void testInsertAndPeek() {
         drillManager.addData(makeDrill(17, "A", 23, 45, 8, 12));
@@ -0,0 +1,133 @@
+import manager.PlayerManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import types.PlayerEnhanced;
+import types.Position;
+import util.EnumDictionary;
+import util.EnumIntAccumulator;
+import util.EnumLongAccumulator;
+import util.Entry;
+import util.HashTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for EnumDictionary and the enum accumulators
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public class EnumDictionaryTest {
+
+    final static String PLAYER_5000 = "data/seahawks_players_5000.csv";
+
+    private EnumDictionary<Position, String> dictionary;
+
+    @BeforeEach
+    void setup() {
+        dictionary = new EnumDictionary<>(Position.class);
+    }
+
+    @Test
+    void putGetAndDeleteInOrdinalOrder() {
+        dictionary.put(Position.TE, "tight end");
+        dictionary.put(Position.QB, "quarterback");
+        dictionary.put(Position.CB, "corner");
+        dictionary.put(Position.QB, "passer");
+
+        List<Position> keys = new ArrayList<>();
+        for (Entry<Position, String> entry : dictionary) {
+            keys.add(entry.key());
+        }
+        assertAll("dictionary",
+                () -> assertEquals(List.of(Position.QB, Position.TE, Position.CB), keys),
+                () -> assertEquals("passer", dictionary.get(Position.QB)),
+                () -> assertNull(dictionary.get(Position.K)),
+                () -> assertEquals(3, dictionary.size()),
+                () -> assertEquals(0.3, dictionary.loadFactor(), 1e-9),
+                () -> assertEquals("tight end", dictionary.delete(Position.TE)),
+                () -> assertNull(dictionary.delete(Position.TE)),
+                () -> assertEquals(2, dictionary.size()),
+                () -> assertThrows(IllegalArgumentException.class, () -> dictionary.get(null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new EnumDictionary<Position, String>(null))
+        );
+    }
+
+    @Test
+    void nullValuesAndSingleProbeOperations() {
+        EnumDictionary<Position, Integer> counts = new EnumDictionary<>(Position.class);
+        for (int i = 0; i < 30; i++) {
+            counts.merge(Position.values()[i % 3], 1, Integer::sum);
+        }
+        counts.put(Position.K, null);
+        assertAll("operations",
+                () -> assertEquals(10, counts.get(Position.QB)),
+                () -> assertTrue(counts.containsKey(Position.K)),
+                () -> assertNull(counts.getOrDefault(Position.K, -1)),
+                () -> assertEquals(-1, counts.getOrDefault(Position.S, -1)),
+                () -> assertNull(counts.putIfAbsent(Position.K, 1)),
+                () -> assertEquals(4, counts.computeIfAbsent(Position.LB, key -> 4)),
+                () -> assertNull(counts.compute(Position.WR, (key, value) -> null)),
+                () -> assertFalse(counts.containsKey(Position.WR)),
+                () -> assertEquals(Position.DL, counts.remove(Position.DL).key()),
+                () -> assertEquals(3, counts.size()),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> counts.merge(Position.QB, null, Integer::sum))
+        );
+    }
+
+    @Test
+    void accumulatorsTrackPresenceAndTotals() {
+        EnumIntAccumulator<Position> ints = new EnumIntAccumulator<>(Position.class);
+        EnumLongAccumulator<Position> longs = new EnumLongAccumulator<>(Position.class);
+        ints.add(Position.QB, 40);
+        ints.add(Position.QB, 2);
+        ints.add(Position.K, 0);
+        longs.add(Position.WR, Integer.MAX_VALUE);
+        longs.add(Position.WR, Integer.MAX_VALUE);
+
+        EnumDictionary<Position, Integer> totals = ints.toDictionary();
+        assertAll("accumulators",
+                () -> assertEquals(42, ints.get(Position.QB)),
+                () -> assertTrue(ints.contains(Position.K), "adding 0 makes the constant present"),
+                () -> assertFalse(ints.contains(Position.TE)),
+                () -> assertEquals(2, totals.size()),
+                () -> assertEquals(0, totals.get(Position.K)),
+                () -> assertEquals(2L * Integer.MAX_VALUE, longs.get(Position.WR)),
+                () -> assertEquals(2L * Integer.MAX_VALUE, longs.toDictionary().get(Position.WR)),
+                () -> assertThrows(IllegalArgumentException.class, () -> ints.add(null, 1))
+        );
+        ints.clear();
+        assertAll("cleared",
+                () -> assertEquals(0, ints.get(Position.QB)),
+                () -> assertTrue(ints.toDictionary().isEmpty())
+        );
+    }
+
+    @Test
+    void playerManagerAggregatesMatchAHashTable() throws Exception {
+        PlayerManager PM = new PlayerManager();
+        PM.loadCsvData(PLAYER_5000);
+        HashTable<Position, Integer> expected = new HashTable<>(Position.class, Integer.class);
+        for (Entry<Integer, PlayerEnhanced> entry : PM.getData()) {
+            expected.merge(entry.value().position(), entry.value().yards(), Integer::sum);
+        }
+
+        EnumDictionary<Position, Integer> totals = PM.computeTotalYardsByPosition();
+        for (Position position : Position.values()) {
+            assertEquals(expected.get(position), totals.get(position), position.name());
+            if (expected.containsKey(position)) {
+                assertEquals(expected.get(position), PM.getTotalYardsByPosition(position));
+            }
+        }
+        assertEquals(expected.size(), totals.size());
+
+        PlayerManager empty = new PlayerManager();
+        assertAll("no players",
+                () -> assertTrue(empty.computeTotalYardsByPosition().isEmpty()),
+                () -> assertThrows(RuntimeException.class, () -> empty.getTotalYardsByPosition(Position.QB))
+        );
+    }
+}
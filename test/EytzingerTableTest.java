@@ -0,0 +1,143 @@
+import loader.DataLoader;
+import org.junit.jupiter.api.Test;
+import types.PlayerEnhanced;
+import util.ArrayStore;
+import util.DataContainer;
+import util.Entry;
+import util.EytzingerTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for EytzingerTable
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+public class EytzingerTableTest {
+
+    final static String PLAYER_5000 = "data/seahawks_players_5000.csv";
+
+    private static EytzingerTable<Integer> table(int... theKeys) {
+        ArrayStore<Integer> rows = new ArrayStore<>(Integer.class);
+        for (int key : theKeys) {
+            rows.add(key);
+        }
+        return new EytzingerTable<>(rows, Integer::intValue);
+    }
+
+    private static List<Integer> keys(Iterable<Entry<Integer, Integer>> theEntries) {
+        List<Integer> keys = new ArrayList<>();
+        for (Entry<Integer, Integer> entry : theEntries) {
+            keys.add(entry.key());
+        }
+        return keys;
+    }
+
+    @Test
+    void loadsPlayersFromTheDataLoader() throws Exception {
+        DataContainer<PlayerEnhanced> players =
+                new DataLoader<>(PlayerEnhanced.class, () -> new ArrayStore<>(PlayerEnhanced.class)).loadData(PLAYER_5000);
+        EytzingerTable<PlayerEnhanced> table = new EytzingerTable<>(players, PlayerEnhanced::id);
+
+        TreeMap<Integer, PlayerEnhanced> expected = new TreeMap<>();
+        for (PlayerEnhanced player : players) {
+            expected.put(player.id(), player);
+        }
+        assertEquals(expected.size(), table.size());
+        for (PlayerEnhanced player : expected.values()) {
+            assertEquals(player, table.getInt(player.id()));
+        }
+
+        List<Integer> inRange = new ArrayList<>();
+        for (Entry<Integer, PlayerEnhanced> entry : table.range(1000, 2000)) {
+            inRange.add(entry.key());
+        }
+        assertEquals(new ArrayList<>(expected.subMap(1000, true, 2000, true).keySet()), inRange);
+    }
+
+    @Test
+    void everySizeFindsEveryKey() {
+        // sizes around powers of two fill the last level of the tree partially and completely.
+        for (int size : new int[]{1, 2, 3, 7, 8, 9, 15, 16, 17, 100, 1023, 1024, 1025}) {
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = (size - i) * 3;
+            }
+            EytzingerTable<Integer> table = table(keys);
+            for (int i = 1; i <= size; i++) {
+                assertEquals(i * 3, table.getInt(i * 3), "size " + size);
+                assertNull(table.getInt(i * 3 + 1), "size " + size);
+            }
+            assertNull(table.getInt(0));
+            assertEquals(size, keys(table).size());
+        }
+    }
+
+    @Test
+    void iteratesInKeyOrder() {
+        EytzingerTable<Integer> table = table(50, -3, 17, 0, 99, 8, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertEquals(List.of(Integer.MIN_VALUE, -3, 0, 8, 17, 50, 99, Integer.MAX_VALUE), keys(table));
+    }
+
+    @Test
+    void floorAndCeiling() {
+        EytzingerTable<Integer> table = table(10, 20, 30, 40, 50);
+        assertAll("floor and ceiling",
+                () -> assertEquals(30, table.floor(30).key()),
+                () -> assertEquals(30, table.ceiling(30).key()),
+                () -> assertEquals(20, table.floor(29).key()),
+                () -> assertEquals(30, table.ceiling(21).key()),
+                () -> assertNull(table.floor(9), "nothing is below the smallest key"),
+                () -> assertEquals(10, table.ceiling(Integer.MIN_VALUE).key()),
+                () -> assertEquals(50, table.floor(Integer.MAX_VALUE).key()),
+                () -> assertNull(table.ceiling(51), "nothing is above the largest key"),
+                () -> assertNull(table(new int[0]).floor(5)),
+                () -> assertNull(table(new int[0]).ceiling(5))
+        );
+    }
+
+    @Test
+    void rangeIsInclusive() {
+        EytzingerTable<Integer> table = table(5, 1, 9, 3, 7, 11, 13);
+        assertAll("ranges",
+                () -> assertEquals(List.of(3, 5, 7), keys(table.range(3, 7))),
+                () -> assertEquals(List.of(3, 5, 7), keys(table.range(2, 8))),
+                () -> assertEquals(List.of(), keys(table.range(14, 20))),
+                () -> assertEquals(List.of(), keys(table.range(4, 4))),
+                () -> assertEquals(List.of(1, 3, 5, 7, 9, 11, 13),
+                        keys(table.range(Integer.MIN_VALUE, Integer.MAX_VALUE))),
+                () -> assertThrows(IllegalArgumentException.class, () -> table.range(8, 2))
+        );
+    }
+
+    @Test
+    void laterRowsReplaceEarlierOnes() {
+        ArrayStore<String> rows = new ArrayStore<>(String.class);
+        rows.add("1 first");
+        rows.add("2 only");
+        rows.add("1 second");
+        EytzingerTable<String> table = new EytzingerTable<>(rows, row -> row.charAt(0) - '0');
+        assertAll("duplicate keys",
+                () -> assertEquals(2, table.size()),
+                () -> assertEquals("1 second", table.getInt(1)),
+                () -> assertEquals("2 only", table.getInt(2))
+        );
+    }
+
+    @Test
+    void searchDepthIsLogarithmic() {
+        int[] keys = new int[1023];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+        }
+        EytzingerTable<Integer> table = table(keys);
+        table.getInt(500);
+        // 10 levels walked plus the final equality check.
+        assertEquals(11, table.getComparisons());
+        assertThrows(UnsupportedOperationException.class, () -> table.put(5000, 5000));
+    }
+}
@@ -4,7 +4,10 @@ import org.junit.jupiter.api.Test;
 import types.Player;
 import types.PlayerEnhanced;
 import types.Position;
+import util.Entry;
+import util.HashStrategy;
 import util.HashTable;
+import util.RehashMode;
 
 import java.io.IOException;
 
@@ -13,7 +16,7 @@ import static org.junit.jupiter.api.Assertions.*;
 /**
  * JUnit tests for HashTable
  * @author Chris Chun, Ayush
- * @version 1.0
+ * @version 1.4
  */
 public class HashTableTest {
 
@@ -32,6 +35,31 @@ public class HashTableTest {
     }
 
 
+    /**
+     * A key whose hash code always collides, ordered by its id.
+     */
+    private record CollidingKey(int id) implements Comparable<CollidingKey> {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public int compareTo(CollidingKey theOther) {
+            return Integer.compare(id, theOther.id);
+        }
+    }
+
+    /**
+     * A key whose hash code always collides and that cannot be ordered.
+     */
+    private record PlainKey(int id) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
     private Player makePlayer(int id, String name, String position, int jersey, int yards) {
         return new Player(id, name, position, jersey, yards);
     }
@@ -672,4 +700,550 @@ public class HashTableTest {
                 );
 
     }
-}
\ No newline at end of file
+
+    // ================= INCREMENTAL REHASH =================
+
+    /**
+     * Tests that an incremental rehash spreads the migration over later operations
+     * and that every entry stays reachable while the old and new buckets coexist.
+     */
+    @Test
+    void incrementalRehashKeepsData() {
+        HashTable<Integer, Player> table =
+                new HashTable<>(Integer.class, Player.class, 16, RehashMode.INCREMENTAL);
+
+        boolean sawRehash = false;
+        for (int i = 0; i < 2000; i++) {
+            table.put(i, makePlayer(i, "P" + i, "WR", 11, i));
+            if (table.isRehashing()) {
+                sawRehash = true;
+                assertTrue(table.rehashProgress() < 1.0, "progress should be partial mid rehash");
+                // every key inserted so far must still be found mid rehash
+                assertEquals(i, table.get(i).yards());
+                assertEquals(0, table.get(0).yards());
+            }
+        }
+        final boolean rehashed = sawRehash;
+
+        assertAll("incremental rehash",
+                () -> assertTrue(rehashed, "table should have gone through an incremental rehash"),
+                () -> assertEquals(2000, table.size()),
+                () -> assertTrue(table.loadFactor() <= 0.75),
+                () -> {
+                    for (int i = 0; i < 2000; i++) {
+                        assertEquals(i, table.get(i).yards(), "key " + i);
+                    }
+                },
+                () -> {
+                    int count = 0;
+                    for (Entry<Integer, Player> ignored : table) {
+                        count++;
+                    }
+                    assertEquals(2000, count, "iterator should visit old and new buckets");
+                }
+        );
+    }
+
+    /**
+     * Tests updates and deletes land on the right bucket while a rehash is in progress.
+     */
+    @Test
+    void incrementalRehashUpdateAndDelete() {
+        HashTable<Integer, Player> table =
+                new HashTable<>(Integer.class, Player.class, 16, RehashMode.INCREMENTAL);
+
+        for (int i = 0; i < 13; i++) {
+            table.put(i, makePlayer(i, "P" + i, "WR", 11, i));
+        }
+        assertTrue(table.isRehashing(), "crossing the threshold should start a rehash");
+
+        table.put(15, makePlayer(15, "Updated", "WR", 11, 999));
+        table.put(3, makePlayer(3, "Updated", "WR", 11, 333));
+        Player removed = table.delete(7);
+
+        assertAll("update and delete mid rehash",
+                () -> assertEquals(7, removed.yards()),
+                () -> assertNull(table.get(7)),
+                () -> assertEquals(333, table.get(3).yards()),
+                () -> assertEquals(999, table.get(15).yards()),
+                () -> assertEquals(13, table.size())
+        );
+    }
+
+    /**
+     * Tests containsKey advances an in flight rehash like get does.
+     */
+    @Test
+    void incrementalRehashAdvancesOnContainsKey() {
+        HashTable<Integer, Player> table =
+                new HashTable<>(Integer.class, Player.class, 16, RehashMode.INCREMENTAL);
+
+        for (int i = 0; i < 13; i++) {
+            table.put(i, makePlayer(i, "P" + i, "WR", 11, i));
+        }
+        assertTrue(table.isRehashing(), "crossing the threshold should start a rehash");
+
+        for (int step = 0; step < 16 && table.isRehashing(); step++) {
+            assertTrue(table.containsKey(step % 13));
+        }
+
+        assertAll("rehash driven by containsKey",
+                () -> assertFalse(table.isRehashing(), "containsKey should finish the migration"),
+                () -> assertEquals(1.0, table.rehashProgress()),
+                () -> assertEquals(13, table.size())
+        );
+    }
+
+    /**
+     * Tests a node can be unlinked from the front, middle and end of a chain.
+     * Keys 1, 17 and 33 all land in bucket 0 of a 16 bucket table.
+     */
+    @Test
+    void deleteUnlinksAnyNodeInChain() {
+        HashTable<Integer, Player> table = new HashTable<>(Integer.class, Player.class, 16);
+        for (int id : new int[] {1, 17, 33, 49}) {
+            table.put(id, makePlayer(id, "P" + id, "WR", 11, id));
+        }
+        int collisions = table.getCollisions();
+
+        // chain is 49 -> 33 -> 17 -> 1 since new nodes are linked at the front.
+        Player middle = table.delete(17);
+        Player head = table.delete(49);
+        Player tail = table.delete(1);
+
+        assertAll("unlinking nodes",
+                () -> assertEquals(3, collisions, "every key after the first collides"),
+                () -> assertEquals(17, middle.yards()),
+                () -> assertEquals(49, head.yards()),
+                () -> assertEquals(1, tail.yards()),
+                () -> assertNull(table.delete(1), "deleting twice should return null"),
+                () -> assertEquals(33, table.get(33).yards()),
+                () -> assertEquals(1, table.size())
+        );
+    }
+
+    /**
+     * Tests comparisons are counted by the table itself while walking a chain.
+     */
+    @Test
+    void chainWalkCountsComparisons() {
+        HashTable<Integer, Player> table = new HashTable<>(Integer.class, Player.class, 16);
+        table.put(1, makePlayer(1, "A", "WR", 11, 1));
+        table.put(17, makePlayer(17, "B", "WR", 11, 17));
+        table.resetCounter();
+
+        table.get(1);
+        int afterGet = table.getComparisons();
+        table.containsKey(2);
+        int afterMiss = table.getComparisons();
+
+        assertAll("comparison counts",
+                () -> assertEquals(2, afterGet, "1 sits behind 17 in the chain"),
+                () -> assertEquals(2, afterMiss, "an empty bucket needs no comparisons")
+        );
+    }
+
+    /**
+     * Tests clear empties the buckets without shrinking the table and the table stays usable.
+     */
+    @Test
+    void clearKeepsCapacity() {
+        HashTable<Integer, Player> table = new HashTable<>(Integer.class, Player.class, 16);
+        for (int i = 0; i < 100; i++) {
+            table.put(i, makePlayer(i, "P" + i, "WR", 11, i));
+        }
+        int capacity = table.capacity();
+        table.clear();
+
+        assertAll("clear",
+                () -> assertTrue(capacity > 16, "table should have grown"),
+                () -> assertEquals(capacity, table.capacity()),
+                () -> assertTrue(table.isEmpty()),
+                () -> assertEquals(0.0, table.loadFactor(), 0.001),
+                () -> assertNull(table.get(5)),
+                () -> assertFalse(table.iterator().hasNext()),
+                () -> {
+                    table.put(5, makePlayer(5, "Again", "WR", 11, 55));
+                    assertEquals(55, table.get(5).yards());
+                    assertEquals(1, table.size());
+                }
+        );
+    }
+
+    /**
+     * Tests every strategy stores, finds and removes the same keys.
+     */
+    @Test
+    void everyStrategyKeepsData() {
+        for (HashStrategy strategy : HashStrategy.values()) {
+            HashTable<Integer, Player> table =
+                    new HashTable<>(Integer.class, Player.class, 16, RehashMode.EAGER, strategy);
+            for (int i = 0; i < 1000; i++) {
+                table.put(1001 + i, makePlayer(1001 + i, "P" + i, "WR", 11, i));
+            }
+            Player removed = table.delete(1500);
+
+            assertAll(strategy.name(),
+                    () -> assertEquals(strategy, table.getHashStrategy()),
+                    () -> assertEquals(999, table.size()),
+                    () -> assertEquals(499, removed.yards()),
+                    () -> assertNull(table.get(1500)),
+                    () -> assertEquals(998, table.get(1999).yards()),
+                    () -> assertFalse(table.containsKey(1001 + 1000))
+            );
+        }
+    }
+
+    /**
+     * Tests the capacity is rounded up to a power of two so a mask can replace the modulo.
+     */
+    @Test
+    void capacityIsPowerOfTwo() {
+        HashTable<Integer, Player> table = new HashTable<>(Integer.class, Player.class, 100);
+        HashTable<Integer, Player> exact = new HashTable<>(Integer.class, Player.class, 64);
+
+        assertAll("capacity",
+                () -> assertEquals(128, table.capacity()),
+                () -> assertEquals(64, exact.capacity()),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new HashTable<>(Integer.class, Player.class, 0)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new HashTable<>(Integer.class, Player.class, 16, RehashMode.EAGER, null))
+        );
+    }
+
+    /**
+     * Tests ids that share a stride with the capacity pile into one bucket under
+     * IDENTITY but are spread out by FIBONACCI and MURMUR3. The pile is treeified,
+     * so its lookups stay logarithmic.
+     */
+    @Test
+    void stridedKeysNeedMixing() {
+        int[] maxChain = new int[HashStrategy.values().length];
+        int[] emptyBuckets = new int[HashStrategy.values().length];
+        for (HashStrategy strategy : HashStrategy.values()) {
+            HashTable<Integer, Player> table =
+                    new HashTable<>(Integer.class, Player.class, 1024, RehashMode.EAGER, strategy);
+            for (int i = 0; i < 512; i++) {
+                table.put(1024 * i, makePlayer(1024 * i, "P" + i, "WR", 11, i));
+            }
+            maxChain[strategy.ordinal()] = table.maxProbeLength();
+            emptyBuckets[strategy.ordinal()] = table.probeLengthHistogram()[0];
+        }
+
+        assertAll("strided keys",
+                () -> assertEquals(1023, emptyBuckets[HashStrategy.IDENTITY.ordinal()], "every key shares bucket 0"),
+                () -> assertEquals(10, maxChain[HashStrategy.IDENTITY.ordinal()], "a 512 node AVL tree is 10 tall"),
+                () -> assertTrue(maxChain[HashStrategy.FIBONACCI.ordinal()] < 8),
+                () -> assertTrue(maxChain[HashStrategy.MURMUR3.ordinal()] < 8)
+        );
+    }
+
+    /**
+     * Tests the histogram counts empty buckets and chain lengths, and covers every entry.
+     */
+    @Test
+    void probeLengthHistogram() {
+        HashTable<Integer, Player> table = new HashTable<>(Integer.class, Player.class, 16);
+        for (int id : new int[] {1, 17, 33, 2, 18, 3}) {
+            table.put(id, makePlayer(id, "P" + id, "WR", 11, id));
+        }
+        int[] histogram = table.probeLengthHistogram();
+        int entries = 0;
+        int buckets = 0;
+        for (int length = 0; length < histogram.length; length++) {
+            entries += length * histogram[length];
+            buckets += histogram[length];
+        }
+        int finalEntries = entries;
+        int finalBuckets = buckets;
+
+        assertAll("histogram",
+                () -> assertArrayEquals(new int[] {13, 1, 1, 1}, histogram),
+                () -> assertEquals(3, table.maxProbeLength()),
+                () -> assertEquals(table.size(), finalEntries),
+                () -> assertEquals(table.capacity(), finalBuckets),
+                () -> assertEquals(0, new HashTable<>(Integer.class, Player.class).maxProbeLength())
+        );
+    }
+
+    /**
+     * Tests putIfAbsent, computeIfAbsent and getOrDefault only add missing keys.
+     */
+    @Test
+    void absentOperations() {
+        Player first = makePlayer(1, "First", "WR", 11, 10);
+        Player second = makePlayer(1, "Second", "WR", 11, 20);
+        Player existing = playerTable.putIfAbsent(1, first);
+        Player kept = playerTable.putIfAbsent(1, second);
+        Player computed = playerTable.computeIfAbsent(2, id -> makePlayer(id, "Computed", "QB", 1, 30));
+        Player notComputed = playerTable.computeIfAbsent(2, id -> fail("key 2 is present"));
+        Player nothing = playerTable.computeIfAbsent(3, id -> null);
+
+        assertAll("absent operations",
+                () -> assertNull(existing, "nothing was there yet"),
+                () -> assertSame(first, kept),
+                () -> assertSame(first, playerTable.get(1)),
+                () -> assertEquals(30, computed.yards()),
+                () -> assertSame(computed, notComputed),
+                () -> assertNull(nothing),
+                () -> assertFalse(playerTable.containsKey(3), "a null mapping adds nothing"),
+                () -> assertSame(second, playerTable.getOrDefault(3, second)),
+                () -> assertSame(first, playerTable.getOrDefault(1, second)),
+                () -> assertEquals(2, playerTable.size())
+        );
+    }
+
+    /**
+     * Tests compute and merge update, add and remove keys.
+     */
+    @Test
+    void computeAndMerge() {
+        HashTable<String, Integer> totals = new HashTable<>(String.class, Integer.class);
+        for (String position : new String[] {"QB", "WR", "QB", "TE", "QB"}) {
+            totals.merge(position, 10, Integer::sum);
+        }
+        Integer doubled = totals.compute("WR", (key, yards) -> yards * 2);
+        Integer added = totals.compute("RB", (key, yards) -> yards == null ? 5 : yards + 5);
+        Integer removed = totals.compute("TE", (key, yards) -> null);
+        Integer mergedAway = totals.merge("RB", 5, (current, value) -> null);
+
+        assertAll("compute and merge",
+                () -> assertEquals(30, totals.get("QB")),
+                () -> assertEquals(20, doubled),
+                () -> assertEquals(5, added),
+                () -> assertNull(removed),
+                () -> assertFalse(totals.containsKey("TE")),
+                () -> assertNull(mergedAway),
+                () -> assertFalse(totals.containsKey("RB")),
+                () -> assertEquals(2, totals.size()),
+                () -> assertThrows(IllegalArgumentException.class, () -> totals.merge("QB", null, Integer::sum))
+        );
+    }
+
+    /**
+     * Tests remove returns the whole entry and tells a null value apart from a missing key.
+     */
+    @Test
+    void removeReturnsEntry() {
+        playerTable.put(1, makePlayer(1, "A", "WR", 11, 10));
+        playerTable.put(2, null);
+        Entry<Integer, Player> removed = playerTable.remove(1);
+        Entry<Integer, Player> nullValue = playerTable.remove(2);
+
+        assertAll("remove",
+                () -> assertEquals(1, removed.key()),
+                () -> assertEquals(10, removed.value().yards()),
+                () -> assertNotNull(nullValue, "a key put with a null value is present"),
+                () -> assertNull(nullValue.value()),
+                () -> assertNull(playerTable.remove(1)),
+                () -> assertTrue(playerTable.isEmpty())
+        );
+    }
+
+    /**
+     * Tests an update in one probe compares half as often as containsKey followed by put.
+     * Keys 1, 17, 33 and 49 share a chain, so each search walks it.
+     */
+    @Test
+    void singleProbeHalvesComparisons() {
+        HashTable<Integer, Player> table = new HashTable<>(Integer.class, Player.class, 16);
+        for (int id : new int[] {1, 17, 33, 49}) {
+            table.put(id, makePlayer(id, "P" + id, "WR", 11, id));
+        }
+        Player update = makePlayer(1, "Updated", "WR", 11, 100);
+
+        table.resetCounter();
+        if (table.containsKey(1)) {
+            table.put(1, update);
+        }
+        int twoProbes = table.getComparisons();
+
+        table.resetCounter();
+        table.compute(1, (id, current) -> current == null ? null : update);
+        int oneProbe = table.getComparisons();
+
+        assertAll("comparisons",
+                () -> assertEquals(8, twoProbes, "1 is at the end of a chain of 4"),
+                () -> assertEquals(4, oneProbe),
+                () -> assertSame(update, table.get(1))
+        );
+    }
+
+    /**
+     * Tests the manager updates through one probe and aggregates yards with merge.
+     */
+    @Test
+    void managerSingleProbeUpdates() throws IOException {
+        PlayerManager manager = new PlayerManager();
+        manager.loadCsvData(PLAYER_50);
+        PlayerEnhanced first = manager.getData().iterator().next().value();
+        PlayerEnhanced updated = new PlayerEnhanced(first.player_id(), first.name(), first.position(),
+                first.yards() + 1, first.touchdowns(), first.injured());
+        int expectedQbYards = 0;
+        for (Entry<Integer, PlayerEnhanced> entry : manager.getData()) {
+            if (entry.value().position() == Position.QB) {
+                expectedQbYards += entry.value().yards();
+            }
+        }
+        int finalExpected = expectedQbYards;
+
+        assertAll("manager",
+                () -> assertTrue(manager.updateRecord(updated)),
+                () -> assertSame(updated, manager.searchById(first.player_id())),
+                () -> assertFalse(manager.updateRecord(
+                        new PlayerEnhanced(-5, "Nobody", Position.QB, 0, 0, false))),
+                () -> assertNull(manager.searchById(-5), "a failed update adds nothing"),
+                () -> assertEquals(finalExpected, manager.computeTotalYardsByPosition().get(Position.QB))
+        );
+    }
+
+    /**
+     * Tests a bucket of colliding Comparable keys is treeified so a get compares O(log n) keys.
+     */
+    @Test
+    void collidingKeysAreTreeified() {
+        HashTable<CollidingKey, Integer> table = new HashTable<>(CollidingKey.class, Integer.class);
+        for (int i = 0; i < 1000; i++) {
+            table.put(new CollidingKey(i), i);
+        }
+        table.resetCounter();
+        Integer found = table.get(new CollidingKey(777));
+        int comparisons = table.getComparisons();
+        int[] histogram = table.probeLengthHistogram();
+
+        assertAll("treeified bucket",
+                () -> assertEquals(777, found),
+                () -> assertTrue(comparisons <= table.maxProbeLength(), "a get is bounded by the tree height"),
+                () -> assertTrue(table.maxProbeLength() <= 15, "an AVL tree of 1000 keys is at most 15 tall"),
+                () -> assertEquals(table.capacity() - 1, histogram[0], "every key shares one bucket"),
+                () -> assertNull(table.get(new CollidingKey(1000))),
+                () -> assertEquals(1000, table.size())
+        );
+    }
+
+    /**
+     * Tests keys with equal hash codes that cannot be ordered are still found, updated and removed.
+     */
+    @Test
+    void unorderedCollidingKeys() {
+        HashTable<PlainKey, Integer> table = new HashTable<>(PlainKey.class, Integer.class);
+        for (int i = 0; i < 50; i++) {
+            table.put(new PlainKey(i), i);
+        }
+        table.put(new PlainKey(10), 100);
+        Integer removed = table.delete(new PlainKey(20));
+        int missing = 0;
+        for (int i = 0; i < 50; i++) {
+            if (i != 20 && table.get(new PlainKey(i)) == null) {
+                missing++;
+            }
+        }
+        int finalMissing = missing;
+
+        assertAll("unordered keys",
+                () -> assertEquals(0, finalMissing),
+                () -> assertEquals(100, table.get(new PlainKey(10))),
+                () -> assertEquals(20, removed),
+                () -> assertNull(table.get(new PlainKey(20))),
+                () -> assertEquals(49, table.size())
+        );
+    }
+
+    /**
+     * Tests tied keys stay reachable while a tree of them is rotated by many removals.
+     */
+    @Test
+    void unorderedCollidingKeysSurviveRemovals() {
+        HashTable<PlainKey, Integer> table = new HashTable<>(PlainKey.class, Integer.class);
+        for (int i = 0; i < 200; i++) {
+            table.put(new PlainKey(i), i);
+        }
+        int removed = 0;
+        for (int i = 0; i < 200; i += 3) {
+            if (table.delete(new PlainKey(i)) != null) {
+                removed++;
+            }
+        }
+        int missing = 0;
+        for (int i = 0; i < 200; i++) {
+            if (i % 3 != 0 && table.get(new PlainKey(i)) == null) {
+                missing++;
+            }
+        }
+        int finalRemoved = removed;
+        int finalMissing = missing;
+
+        assertAll("tied keys",
+                () -> assertEquals(67, finalRemoved),
+                () -> assertEquals(0, finalMissing),
+                () -> assertEquals(133, table.size()),
+                () -> assertNull(table.get(new PlainKey(99)))
+        );
+    }
+
+    /**
+     * Tests a tree turns back into a chain when it shrinks and iteration sees every key either way.
+     */
+    @Test
+    void treeTurnsBackIntoChain() {
+        HashTable<CollidingKey, Integer> table = new HashTable<>(CollidingKey.class, Integer.class);
+        for (int i = 0; i < 9; i++) {
+            table.put(new CollidingKey(i), i);
+        }
+        int treeHeight = table.maxProbeLength();
+        int treeEntries = 0;
+        for (Entry<CollidingKey, Integer> ignored : table) {
+            treeEntries++;
+        }
+        int finalTreeEntries = treeEntries;
+        table.delete(new CollidingKey(0));
+        table.delete(new CollidingKey(4));
+        int stillTree = table.maxProbeLength();
+        table.delete(new CollidingKey(8));
+
+        assertAll("untreeify",
+                () -> assertEquals(4, treeHeight, "9 keys make a tree 4 tall"),
+                () -> assertEquals(9, finalTreeEntries),
+                () -> assertEquals(3, stillTree, "7 keys stay a tree"),
+                () -> assertEquals(6, table.maxProbeLength(), "6 keys are a chain again"),
+                () -> assertEquals(6, table.size()),
+                () -> assertEquals(7, table.get(new CollidingKey(7)))
+        );
+    }
+
+    /**
+     * Tests tree buckets survive eager and incremental resizes.
+     */
+    @Test
+    void treeBucketsSurviveResize() {
+        for (RehashMode mode : RehashMode.values()) {
+            HashTable<Integer, Integer> table =
+                    new HashTable<>(Integer.class, Integer.class, 16, mode, HashStrategy.IDENTITY);
+            // multiples of 2^20 share bucket 0 at every capacity below 2^20.
+            for (int i = 0; i < 100; i++) {
+                table.put(i << 20, i);
+                table.put(i + 1, i);
+            }
+            int count = 0;
+            for (Entry<Integer, Integer> ignored : table) {
+                count++;
+            }
+            int finalCount = count;
+            int missing = 0;
+            for (int i = 0; i < 100; i++) {
+                if (table.get(i << 20) == null || table.get(i + 1) == null) {
+                    missing++;
+                }
+            }
+            int finalMissing = missing;
+
+            assertAll(mode.name(),
+                    () -> assertEquals(200, table.size()),
+                    () -> assertEquals(200, finalCount),
+                    () -> assertEquals(0, finalMissing),
+                    () -> assertTrue(table.maxProbeLength() < 10, "the pile in bucket 0 is a tree")
+            );
+        }
+    }
+}
@@ -0,0 +1,206 @@
+import manager.PlayerManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import types.PlayerEnhanced;
+import types.Position;
+import util.Entry;
+import util.IntHashTable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for IntHashTable
+ * @author Chris Chun, Ayush
+ * @version 1.3
+ */
+public class IntHashTableTest {
+
+    final static String PLAYER_5000 = "data/seahawks_players_5000.csv";
+
+    private IntHashTable<String> table;
+
+    @BeforeEach
+    void setup() {
+        table = new IntHashTable<>();
+    }
+
+    @Test
+    void putAndGet() {
+        table.putInt(1001, "Smith");
+        table.putInt(1002, "Johnson");
+        table.putInt(-7, "Negative");
+        table.putInt(0, "Zero");
+
+        assertAll("put and get",
+                () -> assertEquals("Smith", table.getInt(1001)),
+                () -> assertEquals("Johnson", table.getInt(1002)),
+                () -> assertEquals("Negative", table.getInt(-7)),
+                () -> assertEquals("Zero", table.getInt(0)),
+                () -> assertNull(table.getInt(999)),
+                () -> assertEquals(4, table.size())
+        );
+    }
+
+    @Test
+    void integerValuesUseTheBoxedAndPrimitiveOperations() {
+        IntHashTable<Integer> counts = new IntHashTable<>();
+        counts.putInt(1, 2);
+        counts.put(3, 4);
+
+        assertAll("integer values",
+                () -> assertEquals(2, counts.get(1)),
+                () -> assertEquals(4, counts.getInt(3)),
+                () -> assertTrue(counts.containsInt(1)),
+                () -> assertEquals(2, counts.deleteInt(1)),
+                () -> assertEquals(4, counts.delete(3)),
+                () -> assertTrue(counts.isEmpty())
+        );
+    }
+
+    @Test
+    void duplicateKeyUpdatesValue() {
+        table.putInt(17, "Brown");
+        table.putInt(17, "Brown Updated");
+
+        assertAll("update existing key",
+                () -> assertEquals("Brown Updated", table.getInt(17)),
+                () -> assertEquals(1, table.size())
+        );
+    }
+
+    @Test
+    void resizeKeepsData() {
+        for (int i = 0; i < 10_000; i++) {
+            table.putInt(i * 16, "player " + i);
+        }
+        assertEquals(10_000, table.size());
+        assertTrue(table.loadFactor() <= 0.75, "load factor should stay under the resize threshold");
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("player " + i, table.getInt(i * 16));
+        }
+    }
+
+    @Test
+    void deleteKeepsProbeChainsIntact() {
+        for (int i = 0; i < 1000; i++) {
+            table.putInt(i, "v" + i);
+        }
+        // delete every other key, backward shifting must keep the rest reachable.
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals("v" + i, table.deleteInt(i));
+        }
+        assertAll("delete",
+                () -> assertEquals(500, table.size()),
+                () -> assertNull(table.deleteInt(0), "deleting a missing key should return null"),
+                () -> {
+                    for (int i = 0; i < 1000; i++) {
+                        assertEquals(i % 2 == 1, table.containsInt(i), "key " + i);
+                    }
+                }
+        );
+    }
+
+    @Test
+    void iteratesEveryEntry() {
+        for (int i = 1; i <= 100; i++) {
+            table.putInt(i, "v" + i);
+        }
+        int count = 0;
+        long keySum = 0;
+        for (Entry<Integer, String> entry : table) {
+            assertEquals("v" + entry.key(), entry.value());
+            keySum += entry.key();
+            count++;
+        }
+        assertEquals(100, count);
+        assertEquals(5050, keySum);
+    }
+
+    @Test
+    void clearResetsTable() {
+        table.putInt(1, "a");
+        table.putInt(2, "b");
+        table.getInt(1);
+        table.clear();
+
+        assertAll("clear",
+                () -> assertTrue(table.isEmpty()),
+                () -> assertNull(table.getInt(1)),
+                () -> assertEquals(0, table.getCollisions())
+        );
+    }
+
+    @Test
+    void playerManagerWithIntHashTable() throws Exception {
+        PlayerManager PM = new PlayerManager(IntHashTable::new);
+        PM.loadCsvData(PLAYER_5000);
+        PlayerManager chained = new PlayerManager();
+        chained.loadCsvData(PLAYER_5000);
+
+        PM.addPlayer(new PlayerEnhanced(97, "Ayush", Position.QB, 1000, 110, false));
+        chained.addPlayer(new PlayerEnhanced(97, "Ayush", Position.QB, 1000, 110, false));
+
+        assertAll("IntHashTable backed PlayerManager",
+                () -> assertEquals(IntHashTable.class, PM.getData().getClass()),
+                () -> assertEquals(5001, PM.getData().size()),
+                () -> assertEquals("Ayush", PM.searchById(97).name()),
+                () -> assertEquals(chained.countInjuredPlayers(), PM.countInjuredPlayers()),
+                () -> assertEquals(chained.getTotalYardsByPosition(Position.QB),
+                        PM.getTotalYardsByPosition(Position.QB))
+        );
+    }
+
+    @Test
+    void probeLengthHistogramCoversEveryEntry() {
+        for (int i = 0; i < 1000; i++) {
+            table.putInt(i * 7, "v" + i);
+        }
+        int[] histogram = table.probeLengthHistogram();
+        int entries = 0;
+        int slots = 0;
+        for (int probe = 0; probe < histogram.length; probe++) {
+            slots += histogram[probe];
+            entries += probe == 0 ? 0 : histogram[probe];
+        }
+        int finalEntries = entries;
+        int finalSlots = slots;
+
+        assertAll("histogram",
+                () -> assertEquals(1000, finalEntries),
+                () -> assertEquals(table.capacity(), finalSlots),
+                () -> assertTrue(histogram[1] > 0, "some entries sit in their home slot"),
+                () -> assertEquals(histogram.length - 1, table.maxProbeLength())
+        );
+    }
+
+    @Test
+    void singleProbeOperations() {
+        for (int i = 0; i < 100; i++) {
+            table.putInt(i, "v" + i);
+        }
+        String kept = table.putIfAbsent(5, "new");
+        String added = table.computeIfAbsent(500, key -> "computed");
+        String merged = table.merge(7, "!", String::concat);
+        String removed = table.compute(8, (key, value) -> null);
+        Entry<Integer, String> entry = table.remove(9);
+
+        assertAll("single probe operations",
+                () -> assertEquals("v5", kept),
+                () -> assertEquals("computed", table.getInt(500)),
+                () -> assertEquals("computed", added),
+                () -> assertEquals("v7!", merged),
+                () -> assertNull(removed),
+                () -> assertFalse(table.containsInt(8)),
+                () -> assertEquals(9, entry.key()),
+                () -> assertEquals("v9", entry.value()),
+                () -> assertEquals("x", table.getOrDefault(9, "x")),
+                () -> assertEquals(99, table.size()),
+                () -> {
+                    // every key left is still reachable after the removals shifted clusters back.
+                    for (int i = 10; i < 100; i++) {
+                        assertEquals(i == 7 ? "v7!" : "v" + i, table.getInt(i), "key " + i);
+                    }
+                }
+        );
+    }
+}
@@ -0,0 +1,123 @@
+import manager.PlayerManager;
+import org.junit.jupiter.api.Test;
+import types.PlayerEnhanced;
+import types.Position;
+import util.Entry;
+import util.MapContainer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests every int keyed {@link MapContainer} has to pass, each table's
+ * own test class extends this and adds the tests for what only it does.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public abstract class IntKeyedMapContainerTest {
+
+    final static String PLAYER_5000 = "data/seahawks_players_5000.csv";
+
+    /**
+     * @return a new empty table with its default capacity.
+     */
+    protected abstract <V> MapContainer<Integer, V> newTable();
+
+    /**
+     * @return the highest load factor the table lets itself reach before growing.
+     */
+    protected abstract double maxLoadFactor();
+
+    @Test
+    void putGetAndDelete() {
+        MapContainer<Integer, String> table = newTable();
+        table.put(1001, "Smith");
+        table.put(1002, "Johnson");
+        table.put(-7, "Negative");
+        table.put(0, "Zero");
+        table.put(1001, "Smith Updated");
+
+        assertAll("put, get and delete",
+                () -> assertEquals("Smith Updated", table.get(1001)),
+                () -> assertEquals("Negative", table.get(-7)),
+                () -> assertEquals("Zero", table.get(0)),
+                () -> assertNull(table.get(999)),
+                () -> assertEquals(4, table.size()),
+                () -> assertEquals("Johnson", table.delete(1002)),
+                () -> assertNull(table.delete(1002)),
+                () -> assertEquals(3, table.size())
+        );
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomChanges() {
+        MapContainer<Integer, Integer> random = newTable();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random rng = new Random(19);
+        for (int i = 0; i < 100_000; i++) {
+            // small keys repeat so updates and deletes hit, any int reaches every bit of the hash.
+            int key = rng.nextBoolean() ? rng.nextInt(20_000) : rng.nextInt();
+            if (rng.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), random.delete(key));
+            } else {
+                random.put(key, i);
+                expected.put(key, i);
+            }
+        }
+        Map<Integer, Integer> iterated = new HashMap<>();
+        for (Entry<Integer, Integer> entry : random) {
+            assertNull(iterated.put(entry.key(), entry.value()), "each key is iterated once");
+        }
+        assertAll("random changes",
+                () -> assertEquals(expected.size(), random.size()),
+                () -> assertEquals(expected, iterated),
+                () -> assertTrue(random.loadFactor() <= maxLoadFactor())
+        );
+    }
+
+    @Test
+    void nullValuesAndSingleProbeOperations() {
+        MapContainer<Integer, Integer> counts = newTable();
+        for (int i = 0; i < 30; i++) {
+            counts.merge(i % 3, 1, Integer::sum);
+        }
+        counts.put(7, null);
+        assertAll("operations",
+                () -> assertEquals(10, counts.get(0)),
+                () -> assertTrue(counts.containsKey(7)),
+                () -> assertNull(counts.getOrDefault(7, -1)),
+                () -> assertEquals(-1, counts.getOrDefault(8, -1)),
+                () -> assertNull(counts.putIfAbsent(7, 1)),
+                () -> assertEquals(4, counts.computeIfAbsent(4, key -> key)),
+                () -> assertNull(counts.compute(1, (key, value) -> null)),
+                () -> assertFalse(counts.containsKey(1)),
+                () -> assertEquals(2, counts.remove(2).key()),
+                () -> assertEquals(3, counts.size()),
+                () -> assertThrows(IllegalArgumentException.class, () -> counts.merge(1, null, Integer::sum))
+        );
+    }
+
+    @Test
+    void backsAPlayerManager() throws Exception {
+        PlayerManager PM = new PlayerManager(this::newTable);
+        PM.loadCsvData(PLAYER_5000);
+        PlayerManager chained = new PlayerManager();
+        chained.loadCsvData(PLAYER_5000);
+        PM.addPlayer(new PlayerEnhanced(97, "Ayush", Position.QB, 1000, 110, false));
+        chained.addPlayer(new PlayerEnhanced(97, "Ayush", Position.QB, 1000, 110, false));
+
+        assertAll("table backed PlayerManager",
+                () -> assertEquals(newTable().getClass(), PM.getData().getClass()),
+                () -> assertEquals(chained.getData().size(), PM.getData().size()),
+                () -> assertEquals("Ayush", PM.searchById(97).name()),
+                () -> assertEquals(chained.countInjuredPlayers(), PM.countInjuredPlayers()),
+                () -> assertEquals(chained.listPlayersByPosition(Position.TE).size(),
+                        PM.listPlayersByPosition(Position.TE).size()),
+                () -> assertEquals(chained.getTotalYardsByPosition(Position.QB),
+                        PM.getTotalYardsByPosition(Position.QB))
+        );
+    }
+}
@@ -0,0 +1,90 @@
+import benchmark.BenchmarkStats;
+import benchmark.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for LatencyHistogram and BenchmarkStats
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    void exactStatistics() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertAll("min, max, mean and stddev are exact",
+                () -> assertEquals(10, histogram.getCount()),
+                () -> assertEquals(1, histogram.getMin()),
+                () -> assertEquals(10, histogram.getMax()),
+                () -> assertEquals(5.5, histogram.getMean(), 1e-9),
+                () -> assertEquals(Math.sqrt(8.25), histogram.getStdDev(), 1e-9),
+                // values below 64ns have a bucket each so percentiles are exact
+                () -> assertEquals(5, histogram.getPercentile(50)),
+                () -> assertEquals(9, histogram.getPercentile(90)),
+                () -> assertEquals(10, histogram.getPercentile(100))
+        );
+    }
+
+    @Test
+    void percentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000);
+        }
+        assertAll("large values are within ~3% of the true percentile",
+                () -> assertEquals(50_000_000, histogram.getPercentile(50), 50_000_000 * 0.035),
+                () -> assertEquals(99_000_000, histogram.getPercentile(99), 99_000_000 * 0.035),
+                () -> assertEquals(100_000_000, histogram.getPercentile(100))
+        );
+    }
+
+    @Test
+    void tailIsNotAveragedAway() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 990; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000);
+        }
+        assertAll("outliers show up in the tail",
+                () -> assertEquals(100, histogram.getPercentile(50), 100 * 0.035),
+                () -> assertEquals(100, histogram.getPercentile(99), 100 * 0.035),
+                () -> assertEquals(1_000_000, histogram.getPercentile(99.9), 1_000_000 * 0.035),
+                () -> assertEquals(1_000_000, histogram.getMax())
+        );
+    }
+
+    @Test
+    void emptyAndInvalid() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertAll("empty histogram",
+                () -> assertEquals(0, histogram.getMin()),
+                () -> assertEquals(0, histogram.getPercentile(99)),
+                () -> assertThrows(IllegalArgumentException.class, () -> histogram.record(-1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101))
+        );
+        histogram.record(5);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    void statsAreInMilliseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(2_000_000);
+        BenchmarkStats stats = BenchmarkStats.from(histogram, 64);
+        assertAll("converted to ms",
+                () -> assertEquals(1, stats.samples()),
+                () -> assertEquals(2.0, stats.min(), 1e-9),
+                () -> assertEquals(2.0, stats.p99(), 1e-9),
+                () -> assertEquals(64, stats.allocatedBytes()),
+                () -> assertTrue(stats.hasAllocation())
+        );
+    }
+}
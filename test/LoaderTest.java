@@ -1,5 +1,9 @@
 
+import loader.CodecRegistry;
+import loader.CsvLine;
 import loader.DataLoader;
+import loader.LoadMode;
+import loader.RecordCodec;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import types.*;
@@ -12,7 +16,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Chris Chun, Ayush
- * @version 1.3
+ * @version 1.5
  * Tests for loader class.
  */
 public class LoaderTest {
@@ -201,6 +205,226 @@ public class LoaderTest {
         });
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Mapped loading matches buffered loading")
+    public void testMappedMatchesBuffered() {
+        String[] paths = {
+                "data/seahawks_players.csv", roster5000, trans5000, undo5000, fan5000,
+                "data/seahawks_drills_5000.csv", "data/seahawks_players_5000.csv"
+        };
+        Class<?>[] classes = {
+                Player.class, Player.class, Transaction.class, Action.class, FanRequest.class,
+                Drill.class, PlayerEnhanced.class
+        };
+
+        assertAll("Mapped Integrity", () -> {
+            for (int i = 0; i < paths.length; i++) {
+                Class<DataType> dataClass = (Class<DataType>) classes[i];
+                DataContainer<DataType> buffered =
+                        new DataLoader<>(dataClass, getSupplier(dataClass, "array")).loadData(paths[i]);
+                DataContainer<DataType> mapped =
+                        new DataLoader<>(dataClass, getSupplier(dataClass, "array"), LoadMode.MAPPED).loadData(paths[i]);
+
+                assertEquals(buffered.size(), mapped.size(), "Size mismatch for " + paths[i]);
+                for (int row = 0; row < buffered.size(); row++) {
+                    assertEquals(buffered.get(row).toString(), mapped.get(row).toString(),
+                            "Row " + row + " differs for " + paths[i]);
+                }
+            }
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Parallel loading keeps file order for any number of chunks")
+    public void testParallelMatchesBuffered() {
+        String[] paths = {trans5000, undo5000, "data/seahawks_players_5000.csv", trans50};
+        Class<?>[] classes = {Transaction.class, Action.class, PlayerEnhanced.class, Transaction.class};
+
+        assertAll("Parallel Integrity", () -> {
+            for (int i = 0; i < paths.length; i++) {
+                Class<DataType> dataClass = (Class<DataType>) classes[i];
+                DataContainer<DataType> buffered =
+                        new DataLoader<>(dataClass, getSupplier(dataClass, "array")).loadData(paths[i]);
+
+                for (int threads : new int[] {1, 2, 3, 8}) {
+                    for (String container : new String[] {"array", "queue"}) {
+                        DataContainer<DataType> parallel = new DataLoader<>(
+                                dataClass, getSupplier(dataClass, container), LoadMode.PARALLEL, threads)
+                                .loadData(paths[i]);
+
+                        assertEquals(buffered.size(), parallel.size(), "Size mismatch for " + paths[i]);
+                        int row = 0;
+                        for (DataType data : parallel) {
+                            assertEquals(buffered.get(row).toString(), data.toString(),
+                                    "Row " + row + " out of order for " + paths[i] + " on " + threads + " threads");
+                            row++;
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testParallelErrorHandling() {
+        DataLoader<Player> loader =
+                new DataLoader<>(Player.class, getSupplier(Player.class, "array"), LoadMode.PARALLEL, 4);
+
+        assertAll("Test Parallel Error Handling",
+                () -> assertThrows(IOException.class, ()-> loader.loadData("bad path")),
+                () -> assertThrows(IllegalArgumentException.class, ()-> loader.loadData("test/badFormatPlayers.csv")),
+                () -> assertThrows(IllegalArgumentException.class, ()-> loader.loadData("test/empty.csv")),
+                () -> assertEquals(5000, loader.loadArray(roster5000).size()),
+                () -> assertThrows(IllegalArgumentException.class,
+                        ()-> new DataLoader<>(Player.class, getSupplier(Player.class, "array"), LoadMode.PARALLEL, 0))
+        );
+    }
+
+    @Test
+    public void testMappedErrorHandling() {
+        DataLoader<Player> loader =
+                new DataLoader<>(Player.class, getSupplier(Player.class, "array"), LoadMode.MAPPED);
+
+        assertAll("Test Mapped Error Handling",
+                () -> assertThrows(IOException.class, ()-> loader.loadData("bad path")),
+                () -> assertThrows(IllegalArgumentException.class, ()-> loader.loadData("test/badFormatPlayers.csv")),
+                () -> assertThrows(IllegalArgumentException.class, ()-> loader.loadData("test/empty.csv")),
+                () -> assertThrows(IllegalArgumentException.class, ()-> loader.loadData(trans50)),
+                () -> assertEquals(LoadMode.MAPPED, loader.getLoadMode()),
+                () -> assertThrows(IllegalArgumentException.class,
+                        ()-> new DataLoader<>(Player.class, getSupplier(Player.class, "array"), null))
+        );
+    }
+
+    @Test
+    @DisplayName("forEachRow streams the same rows as loadData in file order")
+    @SuppressWarnings("unchecked")
+    public void testForEachRowMatchesLoadData() {
+        String[] paths = {trans5000, undo5000, "data/seahawks_players_5000.csv", trans50};
+        Class<?>[] classes = {Transaction.class, Action.class, PlayerEnhanced.class, Transaction.class};
+
+        assertAll("Streaming Integrity", () -> {
+            for (int i = 0; i < paths.length; i++) {
+                Class<DataType> dataClass = (Class<DataType>) classes[i];
+                DataContainer<DataType> loaded =
+                        new DataLoader<>(dataClass, getSupplier(dataClass, "array")).loadData(paths[i]);
+
+                for (LoadMode mode : LoadMode.values()) {
+                    ArrayStore<DataType> streamed = new ArrayStore<>(dataClass);
+                    new DataLoader<>(dataClass, getSupplier(dataClass, "queue"), mode, 3)
+                            .forEachRow(paths[i], streamed::add);
+
+                    assertEquals(loaded.size(), streamed.size(), "Size mismatch for " + paths[i] + " " + mode);
+                    for (int row = 0; row < loaded.size(); row++) {
+                        assertEquals(loaded.get(row).toString(), streamed.get(row).toString(),
+                                "Row " + row + " out of order for " + paths[i] + " " + mode);
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testForEachRowErrorHandling() {
+        assertAll("Test Streaming Error Handling", () -> {
+            for (LoadMode mode : LoadMode.values()) {
+                DataLoader<Player> loader =
+                        new DataLoader<>(Player.class, getSupplier(Player.class, "array"), mode);
+                ArrayStore<Player> streamed = new ArrayStore<>(Player.class);
+
+                assertThrows(IOException.class, ()-> loader.forEachRow("bad path", streamed::add));
+                assertThrows(IllegalArgumentException.class, ()-> loader.forEachRow("test/empty.csv", streamed::add));
+                assertThrows(IllegalArgumentException.class, ()-> loader.forEachRow(trans50, streamed::add));
+                assertThrows(IllegalArgumentException.class, ()-> loader.forEachRow(roster50, null));
+                assertEquals(0, streamed.size(), "Nothing should be streamed before the header is validated");
+
+                // an exception thrown by the consumer is not reported as a malformed csv.
+                IllegalStateException stop = assertThrows(IllegalStateException.class,
+                        ()-> loader.forEachRow(roster50, player -> {
+                            throw new IllegalStateException("stop");
+                        }));
+                assertEquals("stop", stop.getMessage());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Every csv type has a codec resolved by class")
+    @SuppressWarnings("unchecked")
+    public void testCodecRegistry() {
+        Class<?>[] supported = {Player.class, Drill.class, Transaction.class,
+                Action.class, FanRequest.class, PlayerEnhanced.class};
+
+        assertAll("Test Codec Registry",
+                () -> {
+                    for (Class<?> dataClass : supported) {
+                        RecordCodec<?> codec = CodecRegistry.forType((Class<DataType>) dataClass);
+                        assertEquals(dataClass, codec.type());
+                        assertTrue(CodecRegistry.isSupported((Class<DataType>) dataClass));
+                    }
+                },
+                () -> assertFalse(CodecRegistry.isSupported(UndoRecord.class)),
+                () -> assertThrows(IllegalArgumentException.class, () -> CodecRegistry.forType(UndoRecord.class)),
+                () -> assertThrows(IllegalArgumentException.class, () -> CodecRegistry.forType(null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> CodecRegistry.register(null)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new RecordCodec<>(Player.class, null, row -> null)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new DataLoader<>(UndoRecord.class, () -> new ArrayStore<>(UndoRecord.class))
+                                .loadData(roster50))
+        );
+    }
+
+    @Test
+    public void testRegisteredCodecIsUsed() throws IOException {
+        RecordCodec<Player> original = CodecRegistry.forType(Player.class);
+        // same columns, but every player is read with 0 yards.
+        CodecRegistry.register(new RecordCodec<>(Player.class, original.header(), row -> {
+            Player player = original.decode(row);
+            return new Player(player.player_id(), player.name(), player.position(), player.jersey(), 0);
+        }));
+        try {
+            DataContainer<Player> players =
+                    new DataLoader<>(Player.class, getSupplier(Player.class, "array")).loadData(roster50);
+            assertAll("Test Registered Codec",
+                    () -> assertEquals(50, players.size()),
+                    () -> {
+                        for (Player player : players) {
+                            assertEquals(0, player.yards());
+                        }
+                    });
+        } finally {
+            CodecRegistry.register(original);
+        }
+    }
+
+    @Test
+    public void testCsvLine() {
+        CsvLine line = new CsvLine();
+        RecordCodec<PlayerEnhanced> codec = CodecRegistry.forType(PlayerEnhanced.class);
+        PlayerEnhanced player = codec.decode(line.reset("7,Jane Doe,QB,-120,3,TRUE"));
+
+        assertAll("Test CsvLine",
+                () -> assertEquals(new PlayerEnhanced(7, "Jane Doe", Position.QB, -120, 3, true), player),
+                () -> assertEquals(false, line.reset("false").readBoolean()),
+                () -> {
+                    line.reset("1,,x");
+                    assertEquals(1, line.readInt());
+                    assertEquals("", line.readString(), "An empty field is an empty String");
+                    assertEquals("x", line.readString());
+                    assertThrows(IllegalArgumentException.class, line::readString);
+                },
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> codec.decode(line.reset("7,Jane Doe,QB,-120,3"))),
+                () -> assertThrows(NumberFormatException.class,
+                        () -> codec.decode(line.reset("7,Jane Doe,QB,lots,3,true"))),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> codec.decode(line.reset("7,Jane Doe,COACH,1,3,true")))
+        );
+    }
+
     private <T extends DataType> DataLoader<T>  // return type
     createDataLoader(Class<T> theDataClass,
                      Supplier<DataContainer<T>> theSupplier) {
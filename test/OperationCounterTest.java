@@ -1,8 +1,12 @@
+import counter.ConcurrentOperationCounter;
+import counter.NoOpOperationCounter;
+import counter.Operation;
 import counter.OperationCounter;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class OperationCounterTest {
 
@@ -42,4 +46,49 @@ public class OperationCounterTest {
         assertEquals(5, counter1.getCount("swaps"));
         assertEquals(3, counter2.getCount("swaps"));
     }
+
+    @Test
+    void testEnumKeyedCounting() {
+        OperationCounter counter = new OperationCounter();
+        counter.increment(Operation.COMPARISONS);
+        counter.increment(Operation.COMPARISONS, 4);
+        counter.increment(Operation.SWAPS);
+
+        assertAll("Test enum keyed counting",
+                () -> assertEquals(5, counter.getCount(Operation.COMPARISONS)),
+                () -> assertEquals(5, counter.getCount("comparisons"),
+                        "named and enum keyed counts should agree"),
+                () -> assertEquals(1, counter.getCount(Operation.SWAPS)),
+                () -> assertThrows(IllegalArgumentException.class, () -> counter.increment("Swaps"),
+                        "unknown operation names should be rejected"));
+    }
+
+    @Test
+    void testCountingCanBePaused() {
+        OperationCounter counter = new OperationCounter();
+        OperationCounter concurrent = new ConcurrentOperationCounter();
+
+        OperationCounter.setCountingEnabled(false);
+        try {
+            counter.increment(Operation.SWAPS);
+            concurrent.increment(Operation.SWAPS);
+        } finally {
+            OperationCounter.setCountingEnabled(true);
+        }
+        counter.increment(Operation.COMPARISONS);
+        concurrent.increment(Operation.COMPARISONS);
+
+        assertAll("Test pausing counting",
+                () -> assertEquals(0, counter.getCount(Operation.SWAPS)),
+                () -> assertEquals(0, concurrent.getCount(Operation.SWAPS)),
+                () -> assertEquals(1, counter.getCount(Operation.COMPARISONS)),
+                () -> assertEquals(1, concurrent.getCount(Operation.COMPARISONS)));
+    }
+
+    @Test
+    void testNoOpCounter() {
+        OperationCounter counter = NoOpOperationCounter.INSTANCE;
+        counter.increment(Operation.COMPARISONS, 10);
+        assertEquals(0, counter.getCount(Operation.COMPARISONS));
+    }
 }
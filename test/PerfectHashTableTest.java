@@ -0,0 +1,178 @@
+import manager.PlayerManager;
+import org.junit.jupiter.api.Test;
+import types.PlayerEnhanced;
+import types.Position;
+import util.Entry;
+import util.HashTable;
+import util.IntHashTable;
+import util.PerfectHashTable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for PerfectHashTable and freezing a MapManager.
+ * @author Chris Chun, Ayush
+ * @version 1.2
+ */
+public class PerfectHashTableTest {
+
+    final static String PLAYER_5000 = "data/seahawks_players_5000.csv";
+
+    private static PerfectHashTable<String> frozen(int... theKeys) {
+        IntHashTable<String> source = new IntHashTable<>();
+        for (int key : theKeys) {
+            source.putInt(key, "v" + key);
+        }
+        return new PerfectHashTable<>(source);
+    }
+
+    @Test
+    void everyKeyIsFound() {
+        IntHashTable<String> source = new IntHashTable<>();
+        // strided, negative and zero keys all need their own slot.
+        for (int i = -5000; i < 5000; i++) {
+            source.putInt(i * 64, "v" + i);
+        }
+        PerfectHashTable<String> table = new PerfectHashTable<>(source);
+
+        assertEquals(10_000, table.size());
+        assertEquals(1, table.loadFactor());
+        for (int i = -5000; i < 5000; i++) {
+            assertEquals("v" + i, table.getInt(i * 64));
+        }
+        assertAll("misses",
+                () -> assertNull(table.getInt(1)),
+                () -> assertNull(table.getInt(Integer.MAX_VALUE)),
+                () -> assertFalse(table.containsInt(63)),
+                () -> assertEquals("default", table.getOrDefault(65, "default"))
+        );
+    }
+
+    @Test
+    void oneComparisonPerLookup() {
+        PerfectHashTable<String> table = frozen(1001, 1002, 1003, 5000, 7000);
+        table.getInt(1001);
+        table.getInt(7000);
+        table.getInt(4);
+        assertAll("operation counts",
+                () -> assertEquals(3, table.getComparisons()),
+                () -> assertEquals(0, table.getSwaps())
+        );
+    }
+
+    @Test
+    void emptyAndSingleKeyTables() {
+        PerfectHashTable<String> empty = frozen();
+        PerfectHashTable<String> single = frozen(42);
+        assertAll("small tables",
+                () -> assertTrue(empty.isEmpty()),
+                () -> assertEquals(0, empty.loadFactor()),
+                () -> assertNull(empty.getInt(42)),
+                () -> assertFalse(empty.iterator().hasNext()),
+                () -> assertEquals("v42", single.getInt(42)),
+                () -> assertNull(single.getInt(43))
+        );
+    }
+
+    @Test
+    void iteratesEveryEntryOnce() {
+        PerfectHashTable<String> table = frozen(3, 1, 4, 15, 9, 26, 5);
+        Set<Integer> keys = new HashSet<>();
+        for (Entry<Integer, String> entry : table) {
+            assertEquals("v" + entry.key(), entry.value());
+            assertTrue(keys.add(entry.key()), "duplicate key " + entry.key());
+        }
+        assertEquals(Set.of(3, 1, 4, 15, 9, 26, 5), keys);
+    }
+
+    @Test
+    void valuesCanBeReplacedButKeysAreFixed() {
+        PerfectHashTable<String> table = frozen(1, 2, 3);
+        table.put(1, "one");
+        table.compute(2, (key, value) -> value + "!");
+        table.merge(3, "+", String::concat);
+
+        assertAll("replacing values",
+                () -> assertEquals("one", table.getInt(1)),
+                () -> assertEquals("v2!", table.getInt(2)),
+                () -> assertEquals("v3+", table.getInt(3)),
+                () -> assertEquals("one", table.putIfAbsent(1, "ignored")),
+                () -> assertNull(table.computeIfAbsent(4, key -> null)),
+                () -> assertNull(table.delete(4), "deleting a missing key changes nothing")
+        );
+        assertAll("changing keys",
+                () -> assertThrows(UnsupportedOperationException.class, () -> table.put(4, "four")),
+                () -> assertThrows(UnsupportedOperationException.class, () -> table.putIfAbsent(4, "four")),
+                () -> assertThrows(UnsupportedOperationException.class, () -> table.computeIfAbsent(4, key -> "four")),
+                () -> assertThrows(UnsupportedOperationException.class, () -> table.compute(1, (key, value) -> null)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> table.merge(5, "five", String::concat)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> table.delete(1)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> table.remove(2)),
+                () -> assertThrows(IllegalArgumentException.class, () -> table.merge(1, null, String::concat)),
+                () -> assertEquals(3, table.size())
+        );
+    }
+
+    @Test
+    void freezeServesTheSamePlayers() throws Exception {
+        PlayerManager chained = new PlayerManager();
+        chained.loadCsvData(PLAYER_5000);
+        PlayerManager frozen = new PlayerManager();
+        frozen.loadCsvData(PLAYER_5000);
+        frozen.freeze();
+
+        assertTrue(frozen.isFrozen());
+        for (Entry<Integer, PlayerEnhanced> entry : chained.getData()) {
+            assertEquals(entry.value(), frozen.searchById(entry.key().intValue()));
+        }
+        assertNull(frozen.searchById(-1));
+        assertTrue(new PerfectHashTable<>(new HashTable<>(Integer.class, PlayerEnhanced.class)).isEmpty());
+    }
+
+    @Test
+    void writesKeepTheManagerConsistent() throws Exception {
+        PlayerManager PM = new PlayerManager();
+        PM.loadCsvData(PLAYER_5000);
+        PlayerEnhanced first = PM.getData().iterator().next().value();
+        PM.freeze();
+
+        // replacing a record keeps the frozen copy.
+        PlayerEnhanced updated = new PlayerEnhanced(first.player_id(), first.name(), first.position(),
+                first.yards() + 10, first.touchdowns(), first.injured());
+        PM.updatePlayerStats(updated);
+        assertAll("replace while frozen",
+                () -> assertTrue(PM.isFrozen()),
+                () -> assertEquals(first.yards() + 10, PM.searchById(first.id()).yards())
+        );
+
+        // adding a new id drops it, a later freeze sees the new player.
+        PlayerEnhanced rookie = new PlayerEnhanced(99_999, "Rookie", Position.WR, 0, 0, false);
+        PM.addData(rookie);
+        assertAll("add drops the frozen copy",
+                () -> assertFalse(PM.isFrozen()),
+                () -> assertEquals(rookie, PM.searchById(99_999))
+        );
+        PM.freeze();
+        assertEquals(rookie, PM.searchById(99_999));
+
+        PM.removeData(rookie);
+        assertAll("remove drops the frozen copy",
+                () -> assertFalse(PM.isFrozen()),
+                () -> assertNull(PM.searchById(99_999))
+        );
+        PM.freeze();
+        PlayerEnhanced stranger = new PlayerEnhanced(123_456, "Stranger", Position.K, 0, 0, false);
+        assertAll("removing a missing id keeps the frozen copy",
+                () -> assertNull(PM.removeData(stranger)),
+                () -> assertTrue(PM.isFrozen())
+        );
+        PM.clearData();
+        assertAll("clear drops the frozen copy",
+                () -> assertFalse(PM.isFrozen()),
+                () -> assertNull(PM.searchById(first.id()))
+        );
+    }
+}
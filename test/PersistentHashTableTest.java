@@ -0,0 +1,221 @@
+import manager.PlayerManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import types.PlayerEnhanced;
+import types.Position;
+import util.Entry;
+import util.HashStrategy;
+import util.PersistentHashTable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for PersistentHashTable
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public class PersistentHashTableTest {
+
+    final static String PLAYER_5000 = "data/seahawks_players_5000.csv";
+
+    private PersistentHashTable<Integer, String> table;
+
+    @BeforeEach
+    void setup() {
+        table = new PersistentHashTable<>();
+    }
+
+    /**
+     * A key whose hash code always collides, every bit of the hash is the same.
+     */
+    private record CollidingKey(int id) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    void putGetAndDelete() {
+        table.put(1001, "Smith");
+        table.put(1002, "Johnson");
+        table.put(-7, "Negative");
+        table.put(1001, "Smith Updated");
+
+        assertAll("dictionary",
+                () -> assertEquals("Smith Updated", table.get(1001)),
+                () -> assertEquals("Negative", table.get(-7)),
+                () -> assertNull(table.get(999)),
+                () -> assertEquals(3, table.size()),
+                () -> assertEquals("Johnson", table.delete(1002)),
+                () -> assertNull(table.delete(1002)),
+                () -> assertFalse(table.containsKey(1002)),
+                () -> assertEquals(2, table.size())
+        );
+    }
+
+    @Test
+    void snapshotsDoNotSeeLaterWrites() {
+        for (int id = 0; id < 1000; id++) {
+            table.put(id, "player " + id);
+        }
+        PersistentHashTable<Integer, String> before = table.snapshot();
+        table.put(5, "changed");
+        table.delete(6);
+        table.put(5000, "added");
+
+        assertAll("snapshot",
+                () -> assertEquals("player 5", before.get(5)),
+                () -> assertEquals("player 6", before.get(6)),
+                () -> assertFalse(before.containsKey(5000)),
+                () -> assertEquals(1000, before.size()),
+                () -> assertEquals("changed", table.get(5)),
+                () -> assertFalse(table.containsKey(6)),
+                () -> assertEquals(1000, table.size()),
+                () -> assertFalse(before.sharesVersionWith(table))
+        );
+    }
+
+    @Test
+    void versionsShareTheirOrigin() {
+        PersistentHashTable<Integer, String> empty = table;
+        PersistentHashTable<Integer, String> one = empty.with(1, "one");
+        PersistentHashTable<Integer, String> two = one.with(2, "two");
+        PersistentHashTable<Integer, String> back = two.without(2);
+
+        assertAll("versions",
+                () -> assertTrue(empty.isEmpty()),
+                () -> assertEquals(1, one.size()),
+                () -> assertEquals(2, two.size()),
+                () -> assertEquals("two", two.get(2)),
+                () -> assertNull(one.get(2)),
+                () -> assertEquals(1, back.size()),
+                () -> assertTrue(one.without(7).sharesVersionWith(one), "removing a missing key changes nothing"),
+                () -> assertTrue(two.with(2, two.get(2)).sharesVersionWith(two), "putting the same value changes nothing"),
+                () -> assertTrue(two.snapshot().sharesVersionWith(two))
+        );
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomChanges() {
+        // MURMUR3 spreads the keys so both bitmaps of many nodes are used.
+        PersistentHashTable<Integer, Integer> random = new PersistentHashTable<>(HashStrategy.MURMUR3);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random rng = new Random(17);
+        for (int i = 0; i < 50_000; i++) {
+            int key = rng.nextInt(5_000);
+            if (rng.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), random.delete(key));
+            } else {
+                random.put(key, i);
+                expected.put(key, i);
+            }
+        }
+        Map<Integer, Integer> iterated = new HashMap<>();
+        for (Entry<Integer, Integer> entry : random) {
+            assertNull(iterated.put(entry.key(), entry.value()), "each key is iterated once");
+        }
+        assertAll("random changes",
+                () -> assertEquals(expected.size(), random.size()),
+                () -> assertEquals(expected, iterated)
+        );
+    }
+
+    @Test
+    void keysWithEqualHashes() {
+        PersistentHashTable<CollidingKey, String> colliding = new PersistentHashTable<>();
+        for (int id = 0; id < 10; id++) {
+            colliding.put(new CollidingKey(id), "key " + id);
+        }
+        PersistentHashTable<CollidingKey, String> before = colliding.snapshot();
+        for (int id = 0; id < 9; id++) {
+            colliding.delete(new CollidingKey(id));
+        }
+        assertAll("same hash",
+                () -> assertEquals(10, before.size()),
+                () -> assertEquals("key 3", before.get(new CollidingKey(3))),
+                () -> assertEquals(1, colliding.size()),
+                () -> assertEquals("key 9", colliding.get(new CollidingKey(9))),
+                () -> assertNull(colliding.get(new CollidingKey(3))),
+                () -> assertEquals(9, colliding.getCollisions(), "each key after the first shares the whole hash"),
+                () -> assertEquals(1, colliding.maxProbeLength(), "the last key folds back into the root")
+        );
+    }
+
+    @Test
+    void singleProbeOperationsAndNullValues() {
+        PersistentHashTable<Integer, Integer> counts = new PersistentHashTable<>();
+        for (int i = 0; i < 30; i++) {
+            counts.merge(i % 3, 1, Integer::sum);
+        }
+        counts.put(7, null);
+        assertAll("operations",
+                () -> assertEquals(10, counts.get(0)),
+                () -> assertTrue(counts.containsKey(7)),
+                () -> assertNull(counts.getOrDefault(7, -1)),
+                () -> assertEquals(-1, counts.getOrDefault(8, -1)),
+                () -> assertNull(counts.putIfAbsent(7, 1)),
+                () -> assertEquals(10, counts.putIfAbsent(0, 1)),
+                () -> assertEquals(4, counts.computeIfAbsent(4, key -> key)),
+                () -> assertEquals(4, counts.computeIfAbsent(4, key -> 99)),
+                () -> assertNull(counts.compute(1, (key, value) -> null)),
+                () -> assertFalse(counts.containsKey(1)),
+                () -> assertEquals(2, counts.remove(2).key()),
+                () -> assertEquals(3, counts.size()),
+                () -> assertThrows(IllegalArgumentException.class, () -> counts.merge(1, null, Integer::sum))
+        );
+    }
+
+    @Test
+    void sequentialIdsFillTheNodes() {
+        for (int id = 0; id < 1 << 10; id++) {
+            table.put(id, "player " + id);
+        }
+        int[] histogram = table.probeLengthHistogram();
+        assertAll("identity hash",
+                () -> assertEquals(1.0, table.loadFactor()),
+                () -> assertEquals(32, table.getCollisions(), "the first entry of each root branch moves down once"),
+                () -> assertEquals(2, table.maxProbeLength(), "1024 ids fill the root and its 32 children"),
+                () -> assertEquals(1 << 10, histogram[2])
+        );
+    }
+
+    @Test
+    void managerSnapshotsAndRestores() throws Exception {
+        PlayerManager persistent = new PlayerManager(PersistentHashTable::new);
+        persistent.loadCsvData(PLAYER_5000);
+        PlayerManager chained = new PlayerManager();
+        chained.loadCsvData(PLAYER_5000);
+
+        PersistentHashTable<Integer, PlayerEnhanced> persistentBefore = persistent.snapshot();
+        PersistentHashTable<Integer, PlayerEnhanced> chainedBefore = chained.snapshot();
+        PlayerEnhanced first = persistentBefore.iterator().next().value();
+        for (PlayerManager manager : new PlayerManager[]{persistent, chained}) {
+            manager.addPlayer(new PlayerEnhanced(97, "Ayush", Position.QB, 1000, 110, false));
+            manager.removePlayer(first);
+        }
+
+        assertAll("after writes",
+                () -> assertFalse(persistentBefore.sharesVersionWith(persistent.snapshot())),
+                () -> assertEquals(first, persistentBefore.get(first.id())),
+                () -> assertNull(persistent.searchById(first.id())),
+                () -> assertEquals(persistentBefore.size(), chainedBefore.size())
+        );
+
+        persistent.restore(persistentBefore);
+        chained.restore(chainedBefore);
+        assertAll("after restore",
+                () -> assertTrue(persistentBefore.sharesVersionWith(persistent.snapshot())),
+                () -> assertEquals(first, persistent.searchById(first.id())),
+                () -> assertNull(persistent.searchById(97)),
+                () -> assertNull(chained.searchById(97)),
+                () -> assertEquals(chained.countInjuredPlayers(), persistent.countInjuredPlayers()),
+                () -> assertEquals(chained.getTotalYardsByPosition(Position.QB),
+                        persistent.getTotalYardsByPosition(Position.QB))
+        );
+    }
+}
@@ -0,0 +1,153 @@
+import org.junit.jupiter.api.Test;
+import util.BinaryHeapPQ;
+import util.DoubleArrayStore;
+import util.DoubleBinaryHeapPQ;
+import util.DoubleComparator;
+import util.IntArrayStack;
+import util.IntArrayStore;
+import util.IntBinaryHeapPQ;
+import util.IntComparator;
+import util.LongArrayStack;
+import util.LongArrayStore;
+import util.LongBinaryHeapPQ;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the int, long and double stores, stacks and heaps.
+ * @author Chris Chun, Ayush
+ * @version 1.0
+ */
+public class PrimitiveCollectionsTest {
+
+    @Test
+    void storesGrowInsertRemoveAndSearch() {
+        IntArrayStore store = new IntArrayStore(2);
+        for (int i = 0; i < 10; i++) {
+            store.add(9 - i);
+        }
+        store.add(0, 42);
+        assertAll("int store",
+                () -> assertEquals(11, store.size()),
+                () -> assertEquals(42, store.get(0)),
+                () -> assertEquals(87, store.sum()),
+                () -> assertEquals(3, store.indexOf(7)),
+                () -> assertEquals(-1, store.indexOf(100)),
+                () -> assertEquals("[42, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0]", store.toString())
+        );
+        assertEquals(42, store.removeAt(0));
+        assertEquals(0, store.remove());
+        store.sort();
+        assertAll("sorted",
+                () -> assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9}, store.toArray()),
+                () -> assertEquals(4, store.binarySearch(5)),
+                () -> assertEquals(-1, store.binarySearch(0)),
+                () -> assertEquals(-10, store.binarySearch(10)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> store.get(9)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new IntArrayStore(0))
+        );
+        store.clear();
+        assertThrows(NoSuchElementException.class, store::remove);
+
+        LongArrayStore longs = new LongArrayStore();
+        longs.add(Long.MAX_VALUE);
+        longs.add(Long.MIN_VALUE);
+        longs.sort();
+        assertEquals(1, longs.binarySearch(Long.MAX_VALUE));
+
+        DoubleArrayStore doubles = new DoubleArrayStore();
+        doubles.add(Double.NaN);
+        doubles.add(-0.0);
+        doubles.add(0.5);
+        assertAll("double store",
+                () -> assertEquals(0, doubles.indexOf(Double.NaN), "NaN is found like Double.equals"),
+                () -> assertEquals(-1, doubles.indexOf(0.0), "0.0 and -0.0 differ like Double.equals"),
+                () -> assertEquals(Double.NaN, doubles.sum())
+        );
+    }
+
+    @Test
+    void stacksAreLastInFirstOut() {
+        IntArrayStack ints = new IntArrayStack();
+        LongArrayStack longs = new LongArrayStack();
+        for (int i = 0; i < 100; i++) {
+            ints.push(i);
+            longs.push((long) i << 40);
+        }
+        assertEquals(99, ints.peek());
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(i, ints.pop());
+            assertEquals((long) i << 40, longs.pop());
+        }
+        assertAll("empty",
+                () -> assertTrue(ints.isEmpty()),
+                () -> assertThrows(NoSuchElementException.class, ints::pop),
+                () -> assertThrows(NoSuchElementException.class, ints::peek),
+                () -> assertThrows(NoSuchElementException.class, longs::pop)
+        );
+    }
+
+    @Test
+    void heapsExtractInTheSameOrderAsTheBoxedHeap() {
+        Random random = new Random(25);
+        IntBinaryHeapPQ ints = new IntBinaryHeapPQ();
+        BinaryHeapPQ<Integer> boxed = new BinaryHeapPQ<>(Integer.class);
+        LongBinaryHeapPQ longs = new LongBinaryHeapPQ();
+        DoubleBinaryHeapPQ doubles = new DoubleBinaryHeapPQ(DoubleComparator.reverseOrder());
+        double[] expectedDoubles = new double[1000];
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(500) - 250;
+            ints.insert(value);
+            boxed.insert(value);
+            longs.insert((long) value * Integer.MAX_VALUE);
+            expectedDoubles[i] = random.nextDouble();
+            doubles.insert(expectedDoubles[i]);
+        }
+        Arrays.sort(expectedDoubles);
+        for (int i = 0; i < 1000; i++) {
+            int expected = boxed.extract();
+            assertEquals(expected, ints.extract());
+            assertEquals((long) expected * Integer.MAX_VALUE, longs.extract());
+            assertEquals(expectedDoubles[999 - i], doubles.extract());
+        }
+
+        IntBinaryHeapPQ reordered = new IntBinaryHeapPQ();
+        for (int i = 0; i < 10; i++) {
+            reordered.addUnordered(i);
+        }
+        reordered.reorder(IntComparator.reverseOrder());
+        assertAll("reordered",
+                () -> assertEquals(9, reordered.extract()),
+                () -> assertEquals(8, reordered.peek()),
+                () -> assertThrows(NoSuchElementException.class, ints::extract),
+                () -> assertThrows(IllegalArgumentException.class, () -> new IntBinaryHeapPQ(null))
+        );
+    }
+
+    @Test
+    void operationsAreCountedAndReset() {
+        IntArrayStore store = new IntArrayStore();
+        IntBinaryHeapPQ heap = new IntBinaryHeapPQ();
+        for (int i = 100; i > 0; i--) {
+            store.add(i);
+            heap.insert(i);
+        }
+        store.indexOf(1);
+        assertAll("counted",
+                () -> assertEquals(100, store.getComparisons()),
+                () -> assertTrue(heap.getComparisons() > 0),
+                () -> assertTrue(heap.getSwaps() > 0)
+        );
+        store.resetCounter();
+        heap.resetCounter();
+        assertAll("reset",
+                () -> assertEquals(0, store.getComparisons()),
+                () -> assertEquals(0, heap.getComparisons()),
+                () -> assertEquals(0, heap.getSwaps())
+        );
+    }
+}
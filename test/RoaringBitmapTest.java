@@ -0,0 +1,202 @@
+import manager.BitmapIndex;
+import manager.PlayerManager;
+import org.junit.jupiter.api.Test;
+import types.PlayerEnhanced;
+import types.Position;
+import util.ArrayStore;
+import util.Entry;
+import util.RoaringBitmap;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for RoaringBitmap and the bitmap index of a PlayerManager
+ * @author Chris Chun, Ayush
+ * @version 1.1
+ */
+public class RoaringBitmapTest {
+
+    final static String PLAYER_500 = "data/seahawks_players_500.csv";
+
+    @Test
+    void addRemoveAcrossContainerConversions() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(24);
+        // a dense chunk becomes a bitmap, a sparse one stays an array
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextBoolean() ? random.nextInt(10000) : 1 << 20 | random.nextInt(1 << 16);
+            assertEquals(expected.add(value), bitmap.add(value));
+        }
+        assertMatches(expected, bitmap);
+        // removes convert the dense chunk back to an array and drop empty chunks
+        for (int i = 0; i < 40000; i++) {
+            int value = random.nextBoolean() ? random.nextInt(10000) : 1 << 20 | random.nextInt(1 << 16);
+            assertEquals(expected.remove(value), bitmap.remove(value));
+        }
+        assertMatches(expected, bitmap);
+        for (int value : expected) {
+            assertTrue(bitmap.contains(value));
+            bitmap.remove(value);
+        }
+        assertAll("emptied",
+                () -> assertTrue(bitmap.isEmpty()),
+                () -> assertEquals(0, bitmap.toArray().length),
+                () -> assertFalse(bitmap.contains(5))
+        );
+    }
+
+    @Test
+    void setOperationsMatchTreeSets() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> first = randomSet(random);
+            TreeSet<Integer> second = randomSet(random);
+            RoaringBitmap a = toBitmap(first);
+            RoaringBitmap b = toBitmap(second);
+
+            TreeSet<Integer> and = new TreeSet<>(first);
+            and.retainAll(second);
+            TreeSet<Integer> or = new TreeSet<>(first);
+            or.addAll(second);
+            TreeSet<Integer> andNot = new TreeSet<>(first);
+            andNot.removeAll(second);
+
+            assertMatches(and, a.and(b));
+            assertMatches(or, a.or(b));
+            assertMatches(andNot, a.andNot(b));
+            assertEquals(and.size(), a.andCardinality(b));
+            assertMatches(first, a);
+            assertMatches(second, b);
+        }
+        RoaringBitmap unsigned = RoaringBitmap.of(-1, 5, Integer.MIN_VALUE, 70000);
+        assertAll("unsigned order",
+                () -> assertArrayEquals(new int[] {5, 70000, Integer.MIN_VALUE, -1}, unsigned.toArray()),
+                () -> assertTrue(unsigned.contains(-1)),
+                () -> assertEquals(4, unsigned.copy().cardinality()),
+                () -> assertThrows(IllegalArgumentException.class, () -> unsigned.and(null))
+        );
+    }
+
+    @Test
+    void playerIndexMatchesScans() throws Exception {
+        PlayerManager PM = PlayerManager.withIndexes();
+        PM.loadCsvData(PLAYER_500);
+        Random random = new Random(500);
+        for (int step = 0; step < 3000; step++) {
+            int id = 1001 + random.nextInt(700);
+            PlayerEnhanced player = new PlayerEnhanced(id, "Player " + id,
+                    Position.values()[random.nextInt(Position.values().length)],
+                    random.nextInt(1000), random.nextInt(10), random.nextInt(4) == 0);
+            switch (random.nextInt(3)) {
+                case 0 -> PM.addPlayer(player);
+                case 1 -> PM.removePlayer(player);
+                default -> {
+                    if (PM.searchByPlayerId(id) != null) {
+                        PM.updatePlayerStats(player);
+                    }
+                }
+            }
+        }
+
+        for (Position position : Position.values()) {
+            TreeSet<Integer> atPosition = new TreeSet<>();
+            TreeSet<Integer> injuredAtPosition = new TreeSet<>();
+            for (Entry<Integer, PlayerEnhanced> entry : PM.getData()) {
+                if (entry.value().position() == position) {
+                    atPosition.add(entry.key());
+                    if (entry.value().injured()) {
+                        injuredAtPosition.add(entry.key());
+                    }
+                }
+            }
+            assertEquals(atPosition, ids(PM.listPlayersByPosition(position)), position.name());
+            assertEquals(injuredAtPosition, ids(PM.listInjuredPlayersByPosition(position)));
+            assertEquals(atPosition.size(), PM.countPlayersByPosition(position));
+            assertEquals(injuredAtPosition.size(), PM.countInjuredPlayersByPosition(position));
+            assertEquals(injuredAtPosition.size(),
+                    PM.playersByPosition(position).andCardinality(PM.playersByInjury(true)));
+        }
+
+        RoaringBitmap healthy = PM.notPlayers(PM.playersByInjury(true));
+        assertAll("not",
+                () -> assertArrayEquals(PM.playersByInjury(false).toArray(), healthy.toArray()),
+                () -> assertEquals(PM.getData().size() - PM.countInjuredPlayers(), healthy.cardinality()),
+                () -> assertEquals(PM.getData().size(), PM.listPlayers(PM.notPlayers(new RoaringBitmap())).size())
+        );
+
+        PM.clearData();
+        assertAll("cleared",
+                () -> assertEquals(0, PM.countPlayersByPosition(Position.QB)),
+                () -> assertEquals(0, PM.listInjuredPlayersByPosition(Position.QB).size()),
+                () -> assertTrue(PM.notPlayers(new RoaringBitmap()).isEmpty())
+        );
+    }
+
+    @Test
+    void columnsAddedAfterRegistrationAreFilled() throws Exception {
+        PlayerManager PM = new PlayerManager();
+        PM.loadCsvData(PLAYER_500);
+        BitmapIndex<PlayerEnhanced> index = PM.registerBitmapIndex(new BitmapIndex<>(PlayerEnhanced.class));
+        BitmapIndex.Column<PlayerEnhanced, Integer> touchdowns =
+                index.column(Integer.class, PlayerEnhanced::touchdowns);
+
+        int expected = 0;
+        for (Entry<Integer, PlayerEnhanced> entry : PM.getData()) {
+            if (entry.value().touchdowns() == 3) {
+                expected++;
+            }
+        }
+        int withThree = expected;
+        assertAll("late column",
+                () -> assertEquals(500, index.size()),
+                () -> assertEquals(withThree, touchdowns.count(3)),
+                () -> assertEquals(withThree, index.records(touchdowns.matching(3)).size()),
+                () -> assertEquals(0, touchdowns.count(-1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> PM.registerBitmapIndex(index)),
+                () -> assertThrows(IllegalArgumentException.class, () -> index.column(null, PlayerEnhanced::name))
+        );
+    }
+
+    private static TreeSet<Integer> randomSet(Random theRandom) {
+        TreeSet<Integer> set = new TreeSet<>();
+        // chunk 0 dense or sparse, chunk 1 sparse, chunk 3 in only some sets
+        int dense = theRandom.nextBoolean() ? 6000 : 300;
+        for (int i = 0; i < dense; i++) {
+            set.add(theRandom.nextInt(1 << 16));
+        }
+        for (int i = 0; i < 200; i++) {
+            set.add(1 << 16 | theRandom.nextInt(1 << 16));
+        }
+        if (theRandom.nextBoolean()) {
+            for (int i = 0; i < 5000; i++) {
+                set.add(3 << 16 | theRandom.nextInt(1 << 16));
+            }
+        }
+        return set;
+    }
+
+    private static RoaringBitmap toBitmap(TreeSet<Integer> theValues) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : theValues) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    private static void assertMatches(TreeSet<Integer> theExpected, RoaringBitmap theActual) {
+        assertEquals(theExpected.size(), theActual.cardinality());
+        assertArrayEquals(theExpected.stream().mapToInt(Integer::intValue).toArray(), theActual.toArray());
+    }
+
+    private static TreeSet<Integer> ids(ArrayStore<PlayerEnhanced> thePlayers) {
+        TreeSet<Integer> ids = new TreeSet<>();
+        for (PlayerEnhanced player : thePlayers) {
+            ids.add(player.id());
+        }
+        return ids;
+    }
+}
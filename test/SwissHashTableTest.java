@@ -0,0 +1,96 @@
+import org.junit.jupiter.api.Test;
+import util.HashStrategy;
+import util.MapContainer;
+import util.SwissHashTable;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for SwissHashTable, the shared map tests are in {@link IntKeyedMapContainerTest}.
+ * @author Chris Chun, Ayush
+ * @version 1.3
+ */
+public class SwissHashTableTest extends IntKeyedMapContainerTest {
+
+    @Override
+    protected <V> MapContainer<Integer, V> newTable() {
+        return new SwissHashTable<>();
+    }
+
+    @Override
+    protected double maxLoadFactor() {
+        return 0.875;
+    }
+
+    @Test
+    void fullGroupsLeaveTombstones() {
+        // with no mixing, ids 128 apart share their control byte and their home group.
+        SwissHashTable<Integer> grouped = new SwissHashTable<>(64, HashStrategy.IDENTITY);
+        for (int i = 0; i < 20; i++) {
+            grouped.putInt(i << 11, i);
+        }
+        int[] histogram = grouped.probeLengthHistogram();
+        grouped.resetCounter();
+        Integer last = grouped.getInt(19 << 11);
+        int comparisons = grouped.getComparisons();
+
+        assertAll("full home group",
+                () -> assertEquals(19, last),
+                () -> assertEquals(16, histogram[1], "the home group holds 16"),
+                () -> assertEquals(4, histogram[2], "the rest spill into the next group"),
+                () -> assertEquals(4, grouped.getCollisions()),
+                () -> assertEquals(20, comparisons, "every key has the same fingerprint")
+        );
+
+        grouped.deleteInt(0);
+        grouped.deleteInt(16 << 11);
+        assertAll("tombstones",
+                () -> assertEquals(1, grouped.tombstones(), "only the full home group needs one"),
+                () -> assertNull(grouped.getInt(0)),
+                () -> assertEquals(19, grouped.getInt(19 << 11))
+        );
+        grouped.putInt(0, 0);
+        assertEquals(0, grouped.tombstones(), "a new key reuses the tombstone");
+    }
+
+    @Test
+    void deletesDoNotFillTheTable() {
+        SwissHashTable<Integer> churn = new SwissHashTable<>(64);
+        int[] live = new int[20];
+        Random rng = new Random(64);
+        for (int i = 0; i < live.length; i++) {
+            live[i] = rng.nextInt();
+            churn.putInt(live[i], i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            int replaced = rng.nextInt(live.length);
+            churn.deleteInt(live[replaced]);
+            live[replaced] = rng.nextInt();
+            churn.putInt(live[replaced], replaced);
+        }
+        for (int i = 0; i < live.length; i++) {
+            assertEquals(i, churn.getInt(live[i]));
+        }
+        assertAll("churn",
+                () -> assertEquals(20, churn.size()),
+                () -> assertEquals(64, churn.capacity(), "tombstones are cleared without growing")
+        );
+    }
+
+    @Test
+    void constructorArgumentsAreChecked() {
+        assertAll("constructor",
+                () -> assertThrows(IllegalArgumentException.class, () -> new SwissHashTable<>(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new SwissHashTable<>(16, null))
+        );
+    }
+
+    @Test
+    void groupsUseTheVectorApiOnlyWhenItsModuleIsPresent() {
+        boolean vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        boolean turnedOff = "false".equalsIgnoreCase(System.getProperty("soas.vectorGroups"));
+        assertEquals(vectorModule && !turnedOff ? "vector" : "swar", SwissHashTable.groupMatching());
+    }
+}